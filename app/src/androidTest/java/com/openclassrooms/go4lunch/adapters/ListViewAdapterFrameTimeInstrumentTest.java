@@ -0,0 +1,161 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import android.util.Log;
+import android.view.Choreographer;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.openclassrooms.go4lunch.di.DI;
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
+import com.openclassrooms.go4lunch.ui.activities.MainActivity;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing a frame time measurement harness for @{@link ListViewAdapter} class file :
+ * a RecyclerView of NB_ROWS restaurants is scrolled from top to bottom, and the duration of
+ * each frame and of each item binding is measured.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListViewAdapterFrameTimeInstrumentTest {
+
+    private static final String TAG = "FRAME_TIME";
+    private static final int NB_ROWS = 80;
+    private static final long FRAME_DURATION = 16_666_667L; // ns, 60 fps
+
+    private RecyclerView recyclerView;
+    private ListViewAdapter adapter;
+
+    @Rule
+    public final ActivityScenarioRule<MainActivity> rule =
+                                                  new ActivityScenarioRule<>(MainActivity.class);
+
+    @Before
+    public void setUp() throws InterruptedException {
+        // Location answered immediately
+        LocationSnapshotProvider provider = new LocationSnapshotProvider(callback ->
+                callback.onLocationAvailable(new LocationSnapshot(48.8434, 2.2317,
+                                                                  System.currentTimeMillis())),
+                LocationSnapshotProvider.DEFAULT_FRESHNESS_WINDOW);
+        CountDownLatch rowModelsLatch = new CountDownLatch(1);
+        rule.getScenario().onActivity(activity -> {
+            recyclerView = new RecyclerView(activity);
+            recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+            adapter = new ListViewAdapter(provider, DI.provideExecutor(), activity,
+                                          position -> { });
+            adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    if (adapter.getItemCount() == NB_ROWS) rowModelsLatch.countDown();
+                }
+            });
+            recyclerView.setAdapter(adapter);
+            activity.setContentView(recyclerView);
+            adapter.updateListRestaurants(createRestaurants());
+        });
+        assertTrue(rowModelsLatch.await(10, TimeUnit.SECONDS));
+    }
+
+    private List<Restaurant> createRestaurants() {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < NB_ROWS; i++) {
+            Restaurant restaurant = new Restaurant("ID_" + i, "Restaurant " + i,
+                                                   i + " Avenue Jean Baptiste Clement",
+                                                   48.8434 + i * 0.0001, 2.2317, (i % 11) * 0.5);
+            WeekSchedule.Builder hours = new WeekSchedule.Builder();
+            for (int day = 0; day < 7; day++) {
+                hours.addPeriod(WeekSchedule.getMinuteOfWeek(day, "1200"),
+                                WeekSchedule.getMinuteOfWeek(day, "1430"));
+                hours.addPeriod(WeekSchedule.getMinuteOfWeek(day, "1900"),
+                                WeekSchedule.getMinuteOfWeek(day, "2300"));
+            }
+            restaurant.setWeekSchedule(hours.build());
+            restaurants.add(restaurant);
+        }
+        return restaurants;
+    }
+
+    /**
+     * TEST #1 : Scrolls the whole list and measures frame durations. Results are logged, and
+     * the 90th percentile frame must stay below 3 frames at 60 fps.
+     */
+    @Test
+    public void test_frame_time_while_scrolling_list() throws InterruptedException {
+        List<Long> frameDurations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch scrollLatch = new CountDownLatch(1);
+        Choreographer.FrameCallback[] frameCallback = new Choreographer.FrameCallback[1];
+
+        rule.getScenario().onActivity(activity -> {
+            frameCallback[0] = new Choreographer.FrameCallback() {
+                private long lastFrameTime;
+
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    if (lastFrameTime != 0) frameDurations.add(frameTimeNanos - lastFrameTime);
+                    lastFrameTime = frameTimeNanos;
+                    if (scrollLatch.getCount() > 0)
+                        Choreographer.getInstance().postFrameCallback(this);
+                }
+            };
+            recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrollStateChanged(@NonNull RecyclerView view, int newState) {
+                    if (newState == RecyclerView.SCROLL_STATE_IDLE) scrollLatch.countDown();
+                }
+            });
+            Choreographer.getInstance().postFrameCallback(frameCallback[0]);
+            recyclerView.smoothScrollToPosition(NB_ROWS - 1);
+        });
+        assertTrue(scrollLatch.await(30, TimeUnit.SECONDS));
+
+        List<Long> durations = new ArrayList<>(frameDurations);
+        assertTrue(!durations.isEmpty());
+        Collections.sort(durations);
+        long total = 0;
+        int nbJankyFrames = 0;
+        for (int i = 0; i < durations.size(); i++) {
+            total += durations.get(i);
+            if (durations.get(i) > 2 * FRAME_DURATION) nbJankyFrames++;
+        }
+        long percentile90 = durations.get((int) (durations.size() * 0.9));
+        Log.i(TAG, "frames=" + durations.size()
+                   + " mean=" + (total / durations.size()) / 1000 + "us"
+                   + " p90=" + percentile90 / 1000 + "us"
+                   + " max=" + durations.get(durations.size() - 1) / 1000 + "us"
+                   + " janky=" + nbJankyFrames);
+        assertTrue(percentile90 < 3 * FRAME_DURATION);
+    }
+
+    /**
+     * TEST #2 : Binds each row of the list in the same ViewHolder and measures the average
+     * binding time, which must stay below 1 ms since binding only copies precomputed values.
+     */
+    @Test
+    public void test_bind_time_of_each_row() {
+        long[] totalBindTime = new long[1];
+        rule.getScenario().onActivity(activity -> {
+            RecyclerView.ViewHolder holder = adapter.onCreateViewHolder(recyclerView, 0);
+            // Warm up
+            for (int i = 0; i < NB_ROWS - 1; i++) adapter.onBindViewHolder(holder, i);
+            long start = System.nanoTime();
+            for (int i = 0; i < NB_ROWS - 1; i++) adapter.onBindViewHolder(holder, i);
+            totalBindTime[0] = System.nanoTime() - start;
+        });
+        long averageBindTime = totalBindTime[0] / (NB_ROWS - 1);
+        Log.i(TAG, "bind mean=" + averageBindTime / 1000 + "us");
+        assertTrue(averageBindTime < 1_000_000L);
+    }
+}
@@ -10,6 +10,7 @@ import com.google.android.libraries.places.api.Places;
 import com.google.android.libraries.places.api.net.PlacesClient;
 import com.openclassrooms.go4lunch.service.autocomplete.AutocompleteService;
 import com.openclassrooms.go4lunch.service.autocomplete.ServiceAutocompleteCallback;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,7 +35,8 @@ public class AutocompleteServiceInstrumentTest {
         PlacesClient placesClient = Places.createClient(context);
         FusedLocationProviderClient locationProviderClient = LocationServices
                                                            .getFusedLocationProviderClient(context);
-        service = new AutocompleteService(placesClient, locationProviderClient);
+        service = new AutocompleteService(placesClient,
+                                         LocationSnapshotProvider.create(locationProviderClient));
     }
 
     /**
@@ -47,6 +49,6 @@ public class AutocompleteServiceInstrumentTest {
     public void test_check_if_autocomplete_request_returns_results() {
         ServiceAutocompleteCallback callback = autocompleteIdRestaurantsList ->
                 assertFalse(autocompleteIdRestaurantsList.isEmpty());
-       service.performAutocompleteRequest("GEMINI", callback);
+       service.performAutocompleteRequest("GEMINI", callback, Throwable::printStackTrace);
     }
 }
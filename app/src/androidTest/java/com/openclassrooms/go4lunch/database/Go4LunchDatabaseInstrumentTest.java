@@ -10,9 +10,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * File providing tests to cover DAO class files.
@@ -20,6 +24,10 @@ import static org.junit.Assert.assertNotNull;
 @RunWith(JUnit4.class)
 public class Go4LunchDatabaseInstrumentTest {
 
+    private static final String TILE_1 = "u09t4v";
+    private static final String TILE_2 = "u09t4y";
+    private static final String TILE_3 = "u09t61";
+
     private Go4LunchDatabase database;
     private RestaurantData restaurantDataToInsert1;
     private RestaurantData restaurantDataToInsert2;
@@ -236,4 +244,230 @@ public class Go4LunchDatabaseInstrumentTest {
         // Add observer to LiveData loadAllRestaurantsWithHours() result
         database.restaurantAndHoursDao().loadAllRestaurantsWithHours().observeForever(observer);
     }
+
+    /**
+     * TEST #6 : Check RestaurantDao and HoursDao bulk insertion queries.
+     */
+    @Test
+    public void test_insert_all_restaurants_and_hours_data_in_database() {
+        // Insert Data
+        database.restaurantDao().insertAllRestaurantsData(Arrays.asList(restaurantDataToInsert1,
+                                                  restaurantDataToInsert2, restaurantDataToInsert3));
+        database.hoursDao().insertAllHoursData(Arrays.asList(hoursDataToInsert1, hoursDataToInsert2,
+                                   hoursDataToInsert3, hoursDataToInsert4, hoursDataToInsert5,
+                                   hoursDataToInsert6, hoursDataToInsert7));
+
+        // Check values
+        assertEquals(FakeDataTest.RESTAURANT_2_PLACE_ID,
+                     database.restaurantDao().getRestaurantData(2).getPlaceId());
+        assertEquals(3, database.restaurantDao().deleteAllRestaurantsData());
+        assertEquals(7, database.hoursDao().deleteAllHoursData());
+    }
+
+    /**
+     * TEST #7 : Check RestaurantAndHoursDao tile synchronization transaction.
+     */
+    @Test
+    public void test_synchronize_tile_in_database() {
+        // Insert a first snapshot
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_1, 0L, 0L),
+                Arrays.asList(restaurantDataToInsert2, restaurantDataToInsert3),
+                Collections.emptyList(), 10);
+
+        // Synchronize with a new snapshot
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_1, 1L, 1L),
+                Collections.singletonList(restaurantDataToInsert1),
+                Arrays.asList(hoursDataToInsert1, hoursDataToInsert2), 10);
+
+        // Check values
+        List<RestaurantAndHoursData> restaurantAndHoursData =
+                                  database.restaurantAndHoursDao().getRestaurantsWithHoursInTile(TILE_1);
+        assertEquals(1, restaurantAndHoursData.size());
+        assertEquals(FakeDataTest.RESTAURANT_1_PLACE_ID,
+                     restaurantAndHoursData.get(0).restaurantData.getPlaceId());
+        assertEquals(2, restaurantAndHoursData.get(0).hoursData.size());
+        assertEquals(1L, database.tileDao().getTileData(TILE_1).getFetchedAt());
+        // Restaurants no longer referenced by any tile are deleted
+        assertEquals(1, database.restaurantDao().deleteAllRestaurantsData());
+    }
+
+    /**
+     * TEST #8 : Check if RestaurantAndHoursDao tile synchronization keeps the rows of
+     * unchanged places, and shares restaurants between tiles.
+     */
+    @Test
+    public void test_synchronize_tile_keeps_unchanged_restaurants_rows_in_database() {
+        // Insert a first snapshot
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_1, 0L, 0L),
+                Arrays.asList(restaurantDataToInsert1, restaurantDataToInsert2),
+                Arrays.asList(hoursDataToInsert1, hoursDataToInsert2), 10);
+
+        // Synchronize a second tile containing one new place
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_2, 1L, 1L),
+                Arrays.asList(restaurantDataToInsert1, restaurantDataToInsert2,
+                              restaurantDataToInsert3),
+                Arrays.asList(hoursDataToInsert1, hoursDataToInsert2), 10);
+
+        // Check values : existing rows keep their ids
+        assertEquals(FakeDataTest.RESTAURANT_1_PLACE_ID,
+                     database.restaurantDao().getRestaurantData(1).getPlaceId());
+        assertEquals(FakeDataTest.RESTAURANT_2_PLACE_ID,
+                     database.restaurantDao().getRestaurantData(2).getPlaceId());
+        assertEquals(FakeDataTest.RESTAURANT_3_PLACE_ID,
+                     database.restaurantDao().getRestaurantData(3).getPlaceId());
+        assertEquals(2, database.restaurantAndHoursDao().getRestaurantsWithHoursInTile(TILE_1).size());
+        assertEquals(3, database.restaurantAndHoursDao().getRestaurantsWithHoursInTile(TILE_2).size());
+        assertEquals(2, database.hoursDao().deleteAllHoursData());
+    }
+
+    /**
+     * TEST #9 : Check if least recently used tiles are evicted, with the restaurants
+     * they were the only ones to reference.
+     */
+    @Test
+    public void test_synchronize_tile_evicts_least_recently_used_tiles_in_database() {
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_1, 0L, 0L),
+                Collections.singletonList(restaurantDataToInsert1),
+                Arrays.asList(hoursDataToInsert1, hoursDataToInsert2), 2);
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_2, 1L, 1L),
+                Collections.singletonList(restaurantDataToInsert2), Collections.emptyList(), 2);
+        // Access first tile
+        database.tileDao().updateLastAccess(TILE_1, 2L);
+        database.restaurantAndHoursDao().synchronizeTile(new TileData(TILE_3, 3L, 3L),
+                Collections.singletonList(restaurantDataToInsert3), Collections.emptyList(), 2);
+
+        // Check values : second tile evicted
+        assertEquals(2, database.tileDao().getNbTiles());
+        assertNull(database.tileDao().getTileData(TILE_2));
+        assertEquals(1, database.restaurantAndHoursDao().getRestaurantsWithHoursInTile(TILE_1).size());
+        assertEquals(2, database.restaurantDao().deleteAllRestaurantsData());
+        assertEquals(2, database.hoursDao().deleteAllHoursData());
+    }
+
+    /**
+     * TEST #10 : Check if SearchSessionDao replaces the stored search session and its pages.
+     */
+    @Test
+    public void test_search_session_in_database() {
+        database.searchSessionDao().startSearchSession(
+                new SearchSessionData(SearchSessionData.CURRENT_SESSION_ID, "bar", 48.84, 2.23, 0L),
+                new SearchPageData(0, "TOKEN_A", 0L));
+        database.searchSessionDao().insertSearchPageData(new SearchPageData(1, "TOKEN_B", 1L));
+        database.searchSessionDao().startSearchSession(
+                new SearchSessionData(SearchSessionData.CURRENT_SESSION_ID, "restaurant", 48.85,
+                                      2.24, 2L),
+                new SearchPageData(0, "TOKEN_C", 2L));
+
+        // Check values : only the last session is stored
+        SearchSessionData sessionData = database.searchSessionDao()
+                                    .getSearchSessionData(SearchSessionData.CURRENT_SESSION_ID);
+        assertNotNull(sessionData);
+        assertEquals("restaurant", sessionData.getQuery());
+        List<SearchPageData> listPagesData = database.searchSessionDao().getAllSearchPagesData();
+        assertEquals(1, listPagesData.size());
+        assertEquals("TOKEN_C", listPagesData.get(0).getNextPageToken());
+    }
+
+    /**
+     * TEST #11 : Check if WorkmatesDao applies a batch of workmate changes with its marker.
+     */
+    @Test
+    public void test_workmates_changes_in_database() {
+        database.workmatesDao().applyWorkmatesChanges(Arrays.asList(
+                new WorkmateData("DOC_1", "Amy", "amy@gmail.com", "", "", "", 1L),
+                new WorkmateData("DOC_2", "Paul", "paul@gmail.com", "", "", "", 2L)),
+                Collections.emptyList(),
+                new WorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID, 2L));
+        database.workmatesDao().applyWorkmatesChanges(Collections.singletonList(
+                new WorkmateData("DOC_2", "Paul", "paul@gmail.com", "PLACE_1", "", "Pizza", 3L)),
+                Collections.singletonList("DOC_1"),
+                new WorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID, 3L));
+
+        // Check values
+        List<WorkmateData> listWorkmatesData = database.workmatesDao().getAllWorkmatesData();
+        assertEquals(1, listWorkmatesData.size());
+        assertEquals("PLACE_1", listWorkmatesData.get(0).getRestaurantSelectedId());
+        WorkmatesSyncData workmatesSyncData = database.workmatesDao()
+                                    .getWorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID);
+        assertNotNull(workmatesSyncData);
+        assertEquals(3L, workmatesSyncData.getLastSyncedAt());
+    }
+
+    /**
+     * TEST #12 : Check if RestaurantAndHoursDao bounding box, radius and k-nearest queries
+     * only return the restaurants around a location.
+     */
+    @Test
+    public void test_spatial_queries_in_database() {
+        // Restaurants at 0, ~220 m, ~1.1 km and ~11 km north of a location
+        double latitude = 48.8434;
+        double longitude = 2.2317;
+        database.restaurantDao().insertAllRestaurantsData(Arrays.asList(
+                new RestaurantData("PLACE_1", "Name 1", "Address 1", latitude, longitude, 4.0,
+                                   null, null, null, 0, 0),
+                new RestaurantData("PLACE_2", "Name 2", "Address 2", latitude + 0.002, longitude,
+                                   4.0, null, null, null, 0, 0),
+                new RestaurantData("PLACE_3", "Name 3", "Address 3", latitude + 0.01, longitude,
+                                   4.0, null, null, null, 0, 0),
+                new RestaurantData("PLACE_4", "Name 4", "Address 4", latitude + 0.1, longitude,
+                                   4.0, null, null, null, 0, 0)));
+
+        // Bounding box
+        List<RestaurantAndHoursData> inBounds = database.restaurantAndHoursDao()
+                .getRestaurantsWithHoursInBounds(latitude - 0.005, longitude - 0.005,
+                                                 latitude + 0.015, longitude + 0.005);
+        assertEquals(3, inBounds.size());
+
+        // Radius, nearest first
+        List<RestaurantAndHoursData> inRadius = database.restaurantAndHoursDao()
+                .getRestaurantsWithHoursInRadius(latitude, longitude, 500.0);
+        assertEquals(2, inRadius.size());
+        assertEquals("PLACE_1", inRadius.get(0).restaurantData.getPlaceId());
+        assertEquals("PLACE_2", inRadius.get(1).restaurantData.getPlaceId());
+
+        // K-nearest, with an expanding radius
+        List<RestaurantAndHoursData> nearest = database.restaurantAndHoursDao()
+                .getNearestRestaurantsWithHours(latitude + 0.011, longitude, 3, 20000.0);
+        assertEquals(3, nearest.size());
+        assertEquals("PLACE_3", nearest.get(0).restaurantData.getPlaceId());
+        assertEquals("PLACE_2", nearest.get(1).restaurantData.getPlaceId());
+        assertEquals("PLACE_1", nearest.get(2).restaurantData.getPlaceId());
+    }
+
+    /**
+     * TEST #13 : Check if RestaurantSearchDao prefix queries are ranked by name, then address,
+     * and if the full-text index is kept in sync with restaurant_table.
+     */
+    @Test
+    public void test_full_text_search_in_database() {
+        database.restaurantDao().insertAllRestaurantsData(Arrays.asList(
+                new RestaurantData("PLACE_1", "Le Bistrot", "12 Rue de la Pizzeria", 48.84, 2.23,
+                                   4.5, null, null, null, 0, 0),
+                new RestaurantData("PLACE_2", "Chez Luigi Pizzeria", "3 Avenue Foch", 48.84,
+                                   2.23, 3.0, null, null, null, 0, 0),
+                new RestaurantData("PLACE_3", "Pizza Roma", "8 Rue Verte", 48.84, 2.23, 4.0,
+                                   null, null, null, 0, 0),
+                new RestaurantData("PLACE_4", "Sushi Bar", "5 Rue Verte", 48.84, 2.23, 4.0,
+                                   null, null, null, 0, 0)));
+
+        // Name starting with the query, then query in name, then query in address
+        List<RestaurantAndHoursData> results = database.restaurantSearchDao()
+                .searchRestaurantsWithHours("PIZZ", 10);
+        assertEquals(3, results.size());
+        assertEquals("PLACE_3", results.get(0).restaurantData.getPlaceId());
+        assertEquals("PLACE_2", results.get(1).restaurantData.getPlaceId());
+        assertEquals("PLACE_1", results.get(2).restaurantData.getPlaceId());
+
+        // Every word must match, limit applied
+        assertEquals(1, database.restaurantSearchDao()
+                                .searchRestaurantsWithHours("rue sush", 10).size());
+        assertEquals(2, database.restaurantSearchDao()
+                                .searchRestaurantsWithHours("pizz", 2).size());
+        assertTrue(database.restaurantSearchDao().searchRestaurantsWithHours(" ", 10).isEmpty());
+
+        // Deleted restaurants are removed from the index
+        database.restaurantDao().deleteAllRestaurantsData();
+        assertTrue(database.restaurantSearchDao().searchRestaurantsWithHours("pizz", 10)
+                           .isEmpty());
+    }
 }
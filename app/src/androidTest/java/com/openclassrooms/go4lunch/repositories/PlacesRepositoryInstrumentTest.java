@@ -1,20 +1,22 @@
 package com.openclassrooms.go4lunch.repositories;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import androidx.test.ext.junit.rules.ActivityScenarioRule;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.platform.app.InstrumentationRegistry;
+import com.openclassrooms.go4lunch.dao.DetailsDao;
 import com.openclassrooms.go4lunch.dao.HoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantAndHoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantDao;
+import com.openclassrooms.go4lunch.dao.RestaurantSearchDao;
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import com.openclassrooms.go4lunch.dao.TileDao;
 import com.openclassrooms.go4lunch.database.FakeDataTest;
 import com.openclassrooms.go4lunch.di.DI;
 import com.openclassrooms.go4lunch.model.Restaurant;
 import com.openclassrooms.go4lunch.service.places.ServiceDetailsCallback;
 import com.openclassrooms.go4lunch.service.places.ServicePlacesCallback;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
-import com.openclassrooms.go4lunch.utils.AppInfo;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,9 +24,11 @@ import org.junit.runner.RunWith;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * File providing tests to cover methods from @{@link PlacesRepository} class file.
@@ -36,6 +40,10 @@ public class PlacesRepositoryInstrumentTest {
     RestaurantDao restaurantDao;
     HoursDao hoursDao;
     RestaurantAndHoursDao restaurantAndHoursDao;
+    RestaurantSearchDao restaurantSearchDao;
+    TileDao tileDao;
+    DetailsDao detailsDao;
+    SearchSessionDao searchSessionDao;
 
     @Rule
     public final ActivityScenarioRule rule = new ActivityScenarioRule<>(MainActivity.class);
@@ -50,13 +58,15 @@ public class PlacesRepositoryInstrumentTest {
         // Initialize parameters
         restaurantDao = DI.provideDatabase(context).restaurantDao();
         restaurantAndHoursDao = DI.provideDatabase(context).restaurantAndHoursDao();
+        restaurantSearchDao = DI.provideDatabase(context).restaurantSearchDao();
         hoursDao = DI.provideDatabase(context).hoursDao();
-        // Clear SharedPreferences file
-        context.getSharedPreferences(AppInfo.FILE_PREF_NEXT_PAGE_TOKEN, Context.MODE_PRIVATE)
-               .edit().clear().apply();
+        tileDao = DI.provideDatabase(context).tileDao();
+        detailsDao = DI.provideDatabase(context).detailsDao();
+        searchSessionDao = DI.provideDatabase(context).searchSessionDao();
         // Initialize repository
         placesRepository = new PlacesRepository(restaurantDao, hoursDao, restaurantAndHoursDao,
-                                                       context, null, null);
+                                                restaurantSearchDao, tileDao, detailsDao,
+                                                searchSessionDao, null, null);
         // Initialize list of restaurants
         initializeListRestaurants();
     }
@@ -94,27 +104,26 @@ public class PlacesRepositoryInstrumentTest {
      */
     @Test
     public void test_if_method_find_places_nearby_correctly_works() throws IOException {
-        SharedPreferences sharedPreferences =
-                context.getSharedPreferences(AppInfo.FILE_PREF_NEXT_PAGE_TOKEN, Context.MODE_PRIVATE);
-
         ServicePlacesCallback callback = listRestaurant -> {
             // Check results
             assertFalse(listRestaurant.isEmpty());
-            assertNotNull(sharedPreferences.getString(AppInfo.PREF_FIRST_NEXT_PAGE_TOKEN_KEY, null));
+            // Next pages are being prefetched
+            assertTrue(placesRepository.hasNextPlacesNearby());
         };
 
-        placesRepository.findPlacesNearby("48.8434249,2.2317602", "restaurant", callback);
+        placesRepository.findPlacesNearby(48.8434249, 2.2317602, "restaurant", callback);
     }
 
     /**
      * TEST #2 : test getPlacesDetails() method.
      * Checks if a list of restaurants is correctly updated with details after a Details request
-     * @throws IOException : exception
+     * @throws InterruptedException : exception
      */
     @Test
-    public void test_if_method_get_place_details_correctly_works() throws IOException {
+    public void test_if_method_get_place_details_correctly_works() throws InterruptedException {
 
         // Initialize callback to retrieve updated list
+        CountDownLatch latch = new CountDownLatch(1);
         ServiceDetailsCallback callback = (listRestaurant, listOfListHoursData) -> {
             assertFalse(listOfListHoursData.isEmpty());
             for (int i = 0; i < listRestaurant.size(); i++) {
@@ -133,33 +142,38 @@ public class PlacesRepositoryInstrumentTest {
                         break;
                 }
             }
+            latch.countDown();
         };
 
         // Request details
-        placesRepository.getPlacesDetails(listRestaurants, callback);
+        placesRepository.getPlacesDetails(listRestaurants, restaurant -> { }, callback,
+                                          (listRestaurant, listOfListHoursData) -> { });
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
     }
 
     /**
      * TEST #3 : test getNextPlacesNearby() method.
-     * Checks if a list of restaurants is correctly updated with details after a Details request
-     * @throws IOException : exception
+     * Checks if the next page of places prefetched after a search request is correctly sent
+     * back
+     * @throws Exception : exception
      */
     @Test
-    public void test_if_method_get_newt_places_nearby_correctly_works() throws IOException {
-        // Service to handle callback results
-        ServicePlacesCallback callback = new ServicePlacesCallback() {
-            @Override
-            public void onPlacesAvailable(List<Restaurant> newListRestaurant) {
-                assertFalse(newListRestaurant.isEmpty());
-            }
-        };
-        // Initialize SharedPreferences file to contain correct next_page_token value
-        SharedPreferences sharedPreferences = context.getSharedPreferences(
-                                           AppInfo.FILE_PREF_NEXT_PAGE_TOKEN, Context.MODE_PRIVATE);
-        sharedPreferences.edit().putString(AppInfo.PREF_FIRST_NEXT_PAGE_TOKEN_KEY,
-                                           FakeDataTest.NEXT_PLACE_TOKEN_VALUE).apply();
-
-        // Request first page of data
-        placesRepository.getNextPlacesNearby(callback, listRestaurants, 0);
+    public void test_if_method_get_newt_places_nearby_correctly_works() throws Exception {
+        List<String> listFirstPageIds = new ArrayList<>();
+        placesRepository.findPlacesNearby(48.8434249, 2.2317602, "restaurant",
+                                          listFirstPage -> {
+            for (int i = 0; i < listFirstPage.size(); i++)
+                listFirstPageIds.add(listFirstPage.get(i).getPlaceId());
+        });
+
+        // Request next page of data
+        CountDownLatch latch = new CountDownLatch(1);
+        placesRepository.getNextPlacesNearby(newListRestaurant -> {
+            assertFalse(newListRestaurant.isEmpty());
+            for (int i = 0; i < newListRestaurant.size(); i++)
+                assertFalse(listFirstPageIds.contains(newListRestaurant.get(i).getPlaceId()));
+            latch.countDown();
+        });
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
     }
 }
@@ -4,6 +4,7 @@ import android.content.Context;
 import androidx.test.ext.junit.rules.ActivityScenarioRule;
 import androidx.test.platform.app.InstrumentationRegistry;
 import com.google.firebase.firestore.DocumentReference;
+import com.openclassrooms.go4lunch.di.DI;
 import com.openclassrooms.go4lunch.service.workmates.ServiceWorkmatesCallback;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import org.junit.Before;
@@ -26,7 +27,8 @@ public class WorkmatesRepositoryInstrumentTest {
     @Before
     public void setUp() {
         Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
-        workmatesRepository = new WorkmatesRepository(context);
+        workmatesRepository = new WorkmatesRepository(context,
+                DI.provideDatabase(context).workmatesDao(), DI.provideExecutor());
     }
 
     /**
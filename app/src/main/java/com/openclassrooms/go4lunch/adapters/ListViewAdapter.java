@@ -3,33 +3,30 @@ package com.openclassrooms.go4lunch.adapters;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import java.util.Calendar;
-import android.graphics.Typeface;
-import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
-import android.widget.TextView;
-import androidx.annotation.ColorRes;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
-import com.google.android.gms.location.FusedLocationProviderClient;
-import com.google.android.gms.location.LocationRequest;
-import com.openclassrooms.go4lunch.BuildConfig;
 import com.openclassrooms.go4lunch.R;
 import com.openclassrooms.go4lunch.databinding.ListViewFooterItemBinding;
 import com.openclassrooms.go4lunch.databinding.ListViewItemBinding;
-import com.openclassrooms.go4lunch.model.OpeningAndClosingHours;
 import com.openclassrooms.go4lunch.model.Restaurant;
-import com.openclassrooms.go4lunch.model.ScheduleType;
-import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.model.WorkmatesIndex;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
 import com.openclassrooms.go4lunch.utils.AppInfo;
-import com.openclassrooms.go4lunch.utils.CustomComparators;
-import com.openclassrooms.go4lunch.utils.RatingDisplayHandler;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Adapter class to display all restaurants from list in ListViewFragment RecyclerView,
@@ -40,10 +37,21 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
     // Lists
     private final ArrayList<Restaurant> listRestaurant = new ArrayList<>();
     private final ArrayList<Restaurant> listRestaurantBackup = new ArrayList<>();
-    private final ArrayList<Workmate> listWorkmates = new ArrayList<>();
+
+    // Index of workmates by selected restaurant
+    private WorkmatesIndex workmatesIndex = new WorkmatesIndex();
+
+    // Display records of the restaurants currently displayed, updated from background diffs
+    private final AsyncListDiffer<RestaurantRowModel> rowModelsDiffer;
+    // Incremented for each update, to discard display records built for a previous update
+    private int rowModelsGeneration;
 
     // To access user location
-    private final FusedLocationProviderClient locationClient;
+    private final LocationSnapshotProvider locationSnapshotProvider;
+    // To build display records in background
+    private final RestaurantRowModelFactory rowModelFactory;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     private final Context context;
     private final OnItemRestaurantClickListener onItemRestaurantClickListener;
 
@@ -54,11 +62,25 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
     // ProgressBar visibility status value
     private int progressBarVisibilityStatus = View.INVISIBLE;
 
-    public ListViewAdapter(FusedLocationProviderClient locationClient, Context context,
+    public ListViewAdapter(LocationSnapshotProvider locationSnapshotProvider, Executor executor,
+                           Context context,
                            OnItemRestaurantClickListener onItemRestaurantClickListener) {
-        this.locationClient = locationClient;
+        this.locationSnapshotProvider = locationSnapshotProvider;
+        this.executor = executor;
         this.context = context;
+        this.rowModelFactory = new RestaurantRowModelFactory(context.getResources());
         this.onItemRestaurantClickListener = onItemRestaurantClickListener;
+        this.rowModelsDiffer = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(new RestaurantRowModelDiffCallback())
+                        .setBackgroundThreadExecutor(executor)
+                        .build());
+        // The last position displays the footer : rebind items moving to or from this position
+        this.rowModelsDiffer.addListListener((previousList, currentList) -> {
+            if (previousList.size() == currentList.size()) return;
+            if (!previousList.isEmpty() && previousList.size() - 1 < currentList.size())
+                notifyItemChanged(previousList.size() - 1);
+            if (!currentList.isEmpty()) notifyItemChanged(currentList.size() - 1);
+        });
     }
 
     @NonNull
@@ -76,36 +98,26 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
         }
     }
 
-    @SuppressLint("UseCompatLoadingForDrawables")
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        // Handle item display
+        // Handle item display : values are copied from the precomputed display record
         if (holder instanceof ViewHolderListView) {
-            // Name
-            ((ViewHolderListView) holder).binding.name.setText(listRestaurant.get(position).getName());
-
-            // Address
-            ((ViewHolderListView) holder).binding.address.setText(listRestaurant.get(position)
-                    .getAddress());
-
-            // Distance between restaurant location and user location
-            displayDistanceBetweenRestaurantAndUserLocation(((ViewHolderListView) holder), position);
-
+            ViewHolderListView itemHolder = (ViewHolderListView) holder;
+            RestaurantRowModel rowModel = rowModelsDiffer.getCurrentList().get(position);
+            itemHolder.binding.name.setText(rowModel.getName());
+            itemHolder.binding.address.setText(rowModel.getAddress());
+            itemHolder.binding.distance.setText(rowModel.getDistance());
             // Rating
-            RatingDisplayHandler.displayRating(((ViewHolderListView) holder).rating.get(0),
-                    ((ViewHolderListView) holder).rating.get(1), ((ViewHolderListView) holder).rating.get(2),
-                    ((ViewHolderListView) holder).rating.get(3), ((ViewHolderListView) holder).rating.get(4),
-                    listRestaurant.get(position).getRating(), context);
-
+            for (int i = 0; i < rowModel.getNbStars(); i++)
+                itemHolder.rating.get(i).setImageResource(rowModel.getStarDrawable(i));
             // Closing hours
-            if (listRestaurant.get(position).getOpeningAndClosingHours() != null)
-                displayClosingHours(((ViewHolderListView) holder),position);
-
+            itemHolder.binding.hour.setText(rowModel.getHours());
+            itemHolder.binding.hour.setTextColor(rowModel.getHoursColor());
+            itemHolder.binding.hour.setTypeface(null, rowModel.getHoursTypeface());
             // Photo
-            displayRestaurantPhoto(((ViewHolderListView) holder), position);
-
+            displayRestaurantPhoto(itemHolder, rowModel);
             // Number of workmates
-            displayNumberOfWorkmates(holder, position);
+            itemHolder.binding.nbWorkmates.setText(rowModel.getNbWorkmates());
         }
         // Handle footer item display
         if (holder instanceof ViewHolderFooterListView)
@@ -114,9 +126,35 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
     }
 
 
+    /**
+     * Updates only the views of an item whose distance or number of workmates changed,
+     * according to the RestaurantRowModel CHANGE_* flags sent as payloads.
+     * @param holder : Holder containing the item view
+     * @param position : Position in the RecyclerView
+     * @param payloads : List of payloads, or empty list for a full rebind
+     */
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !(holder instanceof ViewHolderListView)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        int changes = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) instanceof Integer) changes |= (Integer) payloads.get(i);
+        }
+        ViewHolderListView itemHolder = (ViewHolderListView) holder;
+        RestaurantRowModel rowModel = rowModelsDiffer.getCurrentList().get(position);
+        if ((changes & RestaurantRowModel.CHANGE_DISTANCE) != 0)
+            itemHolder.binding.distance.setText(rowModel.getDistance());
+        if ((changes & RestaurantRowModel.CHANGE_NB_WORKMATES) != 0)
+            itemHolder.binding.nbWorkmates.setText(rowModel.getNbWorkmates());
+    }
+
     @Override
     public int getItemCount() {
-        return listRestaurant.size();
+        return rowModelsDiffer.getCurrentList().size();
     }
 
     /**
@@ -125,14 +163,17 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
     public void updateListRestaurants(List<Restaurant> newList) {
         listRestaurant.clear();
         listRestaurant.addAll(newList);
-        notifyDataSetChanged();
+        updateRowModels();
     }
 
     /**
      * Updates the backup list of Restaurants, containing the list of all detected restaurants
      * around user location.
      */
-    public void updateListRestaurantsBackup() { listRestaurantBackup.addAll(listRestaurant); }
+    public void updateListRestaurantsBackup() {
+        listRestaurantBackup.clear();
+        listRestaurantBackup.addAll(listRestaurant);
+    }
 
     /**
      * Restores the list of all restaurants in backup to reinitialize display after autocompletion
@@ -141,229 +182,75 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
     public void restoreListRestaurants() {
         listRestaurant.clear();
         listRestaurant.addAll(listRestaurantBackup);
-        notifyDataSetChanged();
+        updateRowModels();
     }
 
     /**
-     * Updates the list of workmates.
-     * @param newList : List of workmates get from Firestore database
+     * Updates the number of workmates displayed for each restaurant.
+     * @param newWorkmatesIndex : Index of workmates updated from Firestore database
      */
-    public void updateListWorkmates(List<Workmate> newList) {
-        listWorkmates.clear();
-        listWorkmates.addAll(newList);
-        notifyDataSetChanged();
+    public void updateWorkmatesIndex(WorkmatesIndex newWorkmatesIndex) {
+        workmatesIndex = newWorkmatesIndex;
+        updateRowModels();
     }
 
     /**
-     * This method is used to display the distance between user location and a restaurant location
-     * in each recyclerview item.
-     * @param holder : Holder containing the item view
-     * @param position : Restaurant at the indice "position" in list
+     * Builds in background the display records of the list of restaurants, and displays them
+     * once built. Records are first built with the last known user location, then built again
+     * if a more recent location is received. Records built for a previous update are discarded.
      */
-    @SuppressLint("MissingPermission")
-    private void displayDistanceBetweenRestaurantAndUserLocation(@NonNull ViewHolderListView holder,
-                                                                 int position) {
-        if (AppInfo.checkIfLocationPermissionIsGranted(context)) {
-            locationClient.getCurrentLocation(LocationRequest.PRIORITY_HIGH_ACCURACY,
-                    null)
-                    .addOnSuccessListener(location -> {
-                        try {
-                            double userLatitude = location.getLatitude();
-                            double userLongitude = location.getLongitude();
-                            double restaurantLatitude = listRestaurant.get(position).getLatitude();
-                            double restaurantLongitude = listRestaurant.get(position).getLongitude();
-                            float[] result = new float[1];
-                            Location.distanceBetween(userLatitude, userLongitude, restaurantLatitude,
-                                    restaurantLongitude, result);
-                            String distance = context.getResources()
-                                    .getString(R.string.distance, (int) result[0]);
-                            holder.binding.distance.setText(distance);
-                        } catch (IndexOutOfBoundsException exception) { exception.printStackTrace(); }
-                    }).addOnFailureListener(Throwable::printStackTrace);
+    private void updateRowModels() {
+        int generation = ++rowModelsGeneration;
+        List<Restaurant> restaurants = new ArrayList<>(listRestaurant);
+        WorkmatesIndex workmates = workmatesIndex;
+        LocationSnapshot lastLocation = locationSnapshotProvider.getLastSnapshot();
+        executor.execute(() -> buildRowModels(generation, restaurants, lastLocation, workmates));
+        if (!restaurants.isEmpty() && AppInfo.checkIfLocationPermissionIsGranted(context)) {
+            locationSnapshotProvider.getLocation(location -> {
+                if (location != lastLocation)
+                    executor.execute(() -> buildRowModels(generation, restaurants, location,
+                                                          workmates));
+            });
         }
     }
 
     /**
-     * Displays closing hours for a restaurant in each recyclerview item.
-     * @param holder : Holder containing the item view
-     * @param position : Restaurant at the indice "position" in list
+     * Builds the display records of a list of restaurants, and submits them to the main
+     * thread, where only the differences with the displayed records are applied.
+     * @param generation : Update of the records
+     * @param restaurants : List of restaurants to display
+     * @param location : User location, or null if unknown
+     * @param workmates : Index of workmates
      */
-    private void displayClosingHours(@NonNull ViewHolderListView holder, int position) {
-        boolean colorText = false;
-        Calendar calendar = Calendar.getInstance();
-        int currentDay = calendar.get(Calendar.DAY_OF_WEEK)-1;
-        int currentHour = calendar.get(Calendar.HOUR_OF_DAY);
-        int currentMinutes = calendar.get(Calendar.MINUTE);
-
-        // Get Opening/Closing hours associated to the current day
-        List<String> closingHours = getOpeningAndClosingHoursForADay(position,
-                ScheduleType.CLOSE, currentDay);
-        List<String> openingHours = getOpeningAndClosingHoursForADay(position,
-                ScheduleType.OPEN, currentDay);
-
-        try {
-            // Check number of opening and closing hours for a day
-            if (closingHours.size() == 1) { // Restaurant closed once
-                int closingHour = Integer.parseInt(closingHours.get(0).substring(0,2));
-                int closingMinutes = Integer.parseInt(closingHours.get(0).substring(2,4));
-                int openingHour = Integer.parseInt(openingHours.get(0).substring(0,2));
-                int openingMinutes = Integer.parseInt(openingHours.get(0).substring(2,4));
-                // Update text
-                if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                        closingHour, closingMinutes) >= 0) { // CLOSED
-                    holder.binding.hour.setText(context.getResources().getString(R.string.closed));
-                }
-                else {
-                    if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                            closingHour, closingMinutes) > -60) { // CLOSED SOON
-                        holder.binding.hour.setText(context.getResources().getString(R.string.closing_soon));
-                        colorText = true;
-                    }
-                    else {
-                        if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                                openingHour, openingMinutes) > 0) { // OPEN UNTIL
-                            String text = context.getResources().getString(R.string.open_until,
-                                    closingHours.get(0).substring(0,2),
-                                    closingHours.get(0).substring(2,4));
-                            holder.binding.hour.setText(text);
-                        }
-                        else { // CLOSED (NOT OPENED YET)
-                            holder.binding.hour.setText(context.getResources().getString(R.string.closed));
-                        }
-                    }
-                }
-            }
-            if (closingHours.size() == 2) { // Restaurant closed twice
-                int firstClosingHour = Integer.parseInt(closingHours.get(0).substring(0,2));
-                int firstClosingMinutes = Integer.parseInt(closingHours.get(0).substring(2,4));
-                int firstOpeningHour = Integer.parseInt(openingHours.get(0).substring(0,2));
-                int firstOpeningMinutes = Integer.parseInt(openingHours.get(0).substring(2,4));
-
-                int secondClosingHour = Integer.parseInt(closingHours.get(1).substring(0,2));
-                int secondClosingMinutes = Integer.parseInt(closingHours.get(1).substring(2,4));
-                int secondOpeningHour = Integer.parseInt(openingHours.get(1).substring(0,2));
-                int secondOpeningMinutes = Integer.parseInt(openingHours.get(1).substring(2,4));
-                // Update text
-                if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                        firstOpeningHour, firstOpeningMinutes) < 0) { // CLOSED (NOT OPENING YET)
-                    holder.binding.hour.setText(context.getResources().getString(R.string.closed));
-                }
-                else if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                        firstOpeningHour, firstOpeningMinutes) >= 0 &&
-                        CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                                firstClosingHour, firstClosingMinutes) < 0) {
-                    if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                            firstClosingHour, firstClosingMinutes) > -60) { // CLOSING SOON
-                        holder.binding.hour.setText(context.getResources().getString(R.string.closing_soon));
-                        colorText = true;
-                    }
-                    else { // else
-                        String text = context.getResources().getString(R.string.open_until,
-                                closingHours.get(0).substring(0,2),
-                                closingHours.get(0).substring(2,4));
-                        holder.binding.hour.setText(text);
-                    }
-                }
-                else if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                        firstClosingHour, firstClosingMinutes) >= 0 &&
-                        CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                                secondOpeningHour, secondOpeningMinutes) < 0) {  // CLOSED (NOT OPENING YET)
-                    holder.binding.hour.setText(context.getResources().getString(R.string.closed));
-                }
-                else if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                        secondOpeningHour, secondOpeningMinutes) >= 0 &&
-                        CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                                secondClosingHour, secondClosingMinutes) < 0) {
-                    if (CustomComparators.getTimeDiff(currentHour, currentMinutes,
-                            secondClosingHour, secondClosingHour) > -60) { // CLOSING SOON
-                        holder.binding.hour.setText(context.getResources().getString(R.string.closing_soon));
-                        colorText = true;
-                    }
-                    else { // OPEN UNTIL
-                        String text = context.getResources().getString(R.string.open_until,
-                                closingHours.get(1).substring(0,2),
-                                closingHours.get(1).substring(2,4));
-                        holder.binding.hour.setText(text);
-                    }
-                }
-                else { // CLOSED
-                    holder.binding.hour.setText(context.getResources().getString(R.string.closed));
-                }
-            }
-            // Update color text for "closing soon" hours
-            if (colorText) displayStyleTextViewForHoursDisplay(holder.binding.hour,
-                    R.color.red, Typeface.BOLD_ITALIC);
-            else displayStyleTextViewForHoursDisplay(holder.binding.hour,
-                    R.color.grey_50, Typeface.ITALIC);
-        }
-        catch (IndexOutOfBoundsException exception) {
-            exception.printStackTrace();
-        }
-    }
-
-    /**
-     * Retrieves OpeningAndClosingHours object for a Restaurant in the list.
-     * @param position : Position in the list of restaurants
-     * @param type : Type of hours to return (Closing or opening)
-     * @param currentDay : Day of the week
-     * @return : OpeningAndClosingHours
-     */
-    private List<String> getOpeningAndClosingHoursForADay(int position,
-                                                          ScheduleType type, int currentDay) {
-        OpeningAndClosingHours openingAndClosingHours = listRestaurant.get(position)
-                .getOpeningAndClosingHours();
-        return openingAndClosingHours.getHours(type, currentDay);
-    }
-
-    /**
-     * Updates the "closing hour" text with a color and a style.
-     * @param text : "closing hour" text for a recyclerview item
-     * @param color : Color to apply
-     * @param typeface : Style to apply
-     */
-    private void displayStyleTextViewForHoursDisplay(TextView text,
-                                                     @ColorRes int color, int typeface) {
-        text.setTextColor(context.getResources().getColor(color));
-        text.setTypeface(null, typeface);
+    private void buildRowModels(int generation, List<Restaurant> restaurants,
+                                LocationSnapshot location, WorkmatesIndex workmates) {
+        List<RestaurantRowModel> newListRowModels = rowModelFactory.createRowModels(restaurants,
+                location, workmates, Calendar.getInstance());
+        mainHandler.post(() -> {
+            if (generation == rowModelsGeneration) rowModelsDiffer.submitList(newListRowModels);
+        });
     }
 
     /**
      * Displays the associated photo of a restaurant.
      * @param holder : Holder containing the item view
-     * @param position : Restaurant at the indice "position" in list
+     * @param rowModel : Display record of the restaurant
      */
-    @SuppressLint("UseCompatLoadingForDrawables")
-    private void displayRestaurantPhoto(@NonNull ViewHolderListView holder, int position) {
-        if (listRestaurant.get(position).getPhotoReference() != null) {
+    private void displayRestaurantPhoto(@NonNull ViewHolderListView holder,
+                                        RestaurantRowModel rowModel) {
+        if (rowModel.getPhotoUrl() != null) {
             Glide.with(context)
-                    .load("https://maps.googleapis.com/maps/api/place/photo?&maxwidth=400&" +
-                            "maxheight=400&photo_reference=" +
-                            listRestaurant.get(position).getPhotoReference() + "&key=" + BuildConfig.API_KEY)
+                    .load(rowModel.getPhotoUrl())
                     .centerCrop()
                     .override(holder.binding.photoRestaurant.getWidth(),
                             holder.binding.photoRestaurant.getHeight())
                     .into(holder.binding.photoRestaurant);
         }
         else {
-            holder.binding.photoRestaurant.setImageDrawable(context.getResources()
-                    .getDrawable(R.drawable.ic_baseline_image_not_supported_24dp_oyster_white));
-        }
-    }
-
-    /**
-     * Displays the number of workmates going to a selected restaurant.
-     * @param holder : Holder containing the item view
-     * @param position : Restaurant at the indice "position" in list
-     */
-    private void displayNumberOfWorkmates(@NonNull RecyclerView.ViewHolder holder, int position) {
-        String restaurantId = listRestaurant.get(position).getPlaceId();
-        int nbWorkmates = 0;
-        for (int i = 0; i < listWorkmates.size(); i++) {
-            if (listWorkmates.get(i).getRestaurantSelectedID().equals(restaurantId))
-                nbWorkmates++;
+            Glide.with(context).clear(holder.binding.photoRestaurant);
+            holder.binding.photoRestaurant.setImageResource(
+                    R.drawable.ic_baseline_image_not_supported_24dp_oyster_white);
         }
-        String text = context.getResources().getString(R.string.nb_workmates, nbWorkmates);
-        ((ViewHolderListView) holder).binding.nbWorkmates.setText(text);
     }
 
     /**
@@ -444,10 +331,20 @@ public class ListViewAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolde
      */
     public void updateVisibilityProgressBarStatus(int visibility) {
         progressBarVisibilityStatus = visibility;
-        notifyDataSetChanged();
+        // Only the footer displays the progress bar
+        if (getItemCount() > 0) notifyItemChanged(getItemCount() - 1);
     }
 
     // Getter
+    /**
+     * Returns the restaurant displayed at a position.
+     * @param position : Position in the RecyclerView
+     * @return : Restaurant object
+     */
+    public Restaurant getRestaurant(int position) {
+        return rowModelsDiffer.getCurrentList().get(position).getRestaurant();
+    }
+
     public List<Restaurant> getListRestaurant() {
         return listRestaurant;
     }
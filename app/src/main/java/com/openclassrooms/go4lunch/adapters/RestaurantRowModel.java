@@ -0,0 +1,94 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.utils.RatingDisplayHandler;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable display record of a @{@link Restaurant} item in the @{@link ListViewAdapter}
+ * RecyclerView. All values are computed in background by a @{@link RestaurantRowModelFactory},
+ * so that binding an item only copies them into its views.
+ */
+public class RestaurantRowModel {
+
+    // Flags describing which displayed values differ between two records
+    public static final int CHANGE_DISTANCE = 1;
+    public static final int CHANGE_NB_WORKMATES = 1 << 1;
+    public static final int CHANGE_DETAILS = 1 << 2;
+
+    private final Restaurant restaurant;
+    private final String distance;
+    private final String hours;
+    private final int hoursColor;
+    private final int hoursTypeface;
+    // Drawable resources of star1 to star5
+    private final int[] starDrawables;
+    private final String nbWorkmates;
+    private final String photoUrl;
+
+    public RestaurantRowModel(Restaurant restaurant, String distance, String hours,
+                              int hoursColor, int hoursTypeface, int[] starDrawables,
+                              String nbWorkmates, String photoUrl) {
+        this.restaurant = restaurant;
+        this.distance = distance;
+        this.hours = hours;
+        this.hoursColor = hoursColor;
+        this.hoursTypeface = hoursTypeface;
+        this.starDrawables = starDrawables.clone();
+        this.nbWorkmates = nbWorkmates;
+        this.photoUrl = photoUrl;
+    }
+
+    /**
+     * Returns the drawable resource to display in a star.
+     * @param index : Index of the star, from 0 (star1) to 4 (star5)
+     * @return : Drawable resource
+     */
+    public int getStarDrawable(int index) {
+        return starDrawables[index];
+    }
+
+    /**
+     * Compares the displayed values of two records of the same restaurant.
+     * @param other : Other record
+     * @return : Combination of CHANGE_DISTANCE, CHANGE_NB_WORKMATES and CHANGE_DETAILS flags,
+     *           or 0 if both records display the same values
+     */
+    public int getChanges(RestaurantRowModel other) {
+        int changes = 0;
+        if (!Objects.equals(distance, other.distance)) changes |= CHANGE_DISTANCE;
+        if (!Objects.equals(nbWorkmates, other.nbWorkmates)) changes |= CHANGE_NB_WORKMATES;
+        if (!Objects.equals(getName(), other.getName())
+                || !Objects.equals(getAddress(), other.getAddress())
+                || !Objects.equals(hours, other.hours) || hoursColor != other.hoursColor
+                || hoursTypeface != other.hoursTypeface
+                || !Arrays.equals(starDrawables, other.starDrawables)
+                || !Objects.equals(photoUrl, other.photoUrl))
+            changes |= CHANGE_DETAILS;
+        return changes;
+    }
+
+    // Getters
+    public String getPlaceId() { return restaurant.getPlaceId(); }
+
+    public Restaurant getRestaurant() { return restaurant; }
+
+    public String getName() { return restaurant.getName(); }
+
+    public String getAddress() { return restaurant.getAddress(); }
+
+    public String getDistance() { return distance; }
+
+    public String getHours() { return hours; }
+
+    public int getHoursColor() { return hoursColor; }
+
+    public int getHoursTypeface() { return hoursTypeface; }
+
+    public int getNbStars() { return RatingDisplayHandler.NB_STARS; }
+
+    public String getNbWorkmates() { return nbWorkmates; }
+
+    public String getPhotoUrl() { return photoUrl; }
+}
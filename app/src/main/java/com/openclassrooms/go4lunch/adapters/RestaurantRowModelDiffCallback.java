@@ -0,0 +1,37 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * Callback class used to compute in background the differences between two lists of
+ * @{@link RestaurantRowModel} records, identified by their placeId.
+ * When only the distance or the number of workmates of a record differs, the change is
+ * described by a payload containing RestaurantRowModel CHANGE_* flags, so that only the
+ * corresponding views are updated.
+ */
+public class RestaurantRowModelDiffCallback extends DiffUtil.ItemCallback<RestaurantRowModel> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull RestaurantRowModel oldItem,
+                                   @NonNull RestaurantRowModel newItem) {
+        return oldItem.getPlaceId().equals(newItem.getPlaceId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull RestaurantRowModel oldItem,
+                                      @NonNull RestaurantRowModel newItem) {
+        return oldItem.getChanges(newItem) == 0;
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull RestaurantRowModel oldItem,
+                                   @NonNull RestaurantRowModel newItem) {
+        int changes = oldItem.getChanges(newItem);
+        // Full rebind
+        if ((changes & RestaurantRowModel.CHANGE_DETAILS) != 0) return null;
+        return changes;
+    }
+}
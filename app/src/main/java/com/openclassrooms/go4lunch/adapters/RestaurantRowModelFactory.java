@@ -0,0 +1,161 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import com.openclassrooms.go4lunch.BuildConfig;
+import com.openclassrooms.go4lunch.R;
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import com.openclassrooms.go4lunch.model.WorkmatesIndex;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.utils.GeometricUtils;
+import com.openclassrooms.go4lunch.utils.RatingDisplayHandler;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class converting a list of @{@link Restaurant} objects into @{@link RestaurantRowModel}
+ * display records. It queries opening hours, resolves rating stars, counts workmates and formats
+ * distances once per list update, and is meant to run in background.
+ */
+public class RestaurantRowModelFactory {
+
+    // A restaurant closing within this delay is displayed as "closing soon"
+    public static final int CLOSING_SOON_DELAY = 60; // min
+
+    /**
+     * Opening state of a restaurant at a given time.
+     */
+    public enum HoursState {
+        UNAVAILABLE, CLOSED, CLOSING_SOON, OPEN_UNTIL, ALWAYS_OPEN
+    }
+
+    private final Resources resources;
+
+    public RestaurantRowModelFactory(Resources resources) {
+        this.resources = resources;
+    }
+
+    /**
+     * Creates the display records of a list of restaurants.
+     * @param restaurants : List of restaurants to display
+     * @param location : User location, or null if unknown
+     * @param workmatesIndex : Index of workmates, to count workmates going to each restaurant
+     * @param calendar : Current time
+     * @return : List of RestaurantRowModel objects, in the same order
+     */
+    public List<RestaurantRowModel> createRowModels(List<Restaurant> restaurants,
+                                                    LocationSnapshot location,
+                                                    WorkmatesIndex workmatesIndex,
+                                                    Calendar calendar) {
+        List<RestaurantRowModel> rowModels = new ArrayList<>(restaurants.size());
+        for (int i = 0; i < restaurants.size(); i++) {
+            rowModels.add(createRowModel(restaurants.get(i), location,
+                    workmatesIndex.getNbWorkmates(restaurants.get(i).getPlaceId()), calendar));
+        }
+        return rowModels;
+    }
+
+    /**
+     * Creates the display record of a restaurant.
+     * @param restaurant : Restaurant to display
+     * @param location : User location, or null if unknown
+     * @param nbWorkmates : Number of workmates going to this restaurant
+     * @param calendar : Current time
+     * @return : RestaurantRowModel object
+     */
+    public RestaurantRowModel createRowModel(Restaurant restaurant, LocationSnapshot location,
+                                             int nbWorkmates, Calendar calendar) {
+        // Distance between restaurant location and user location
+        String distance = null;
+        if (location != null) {
+            double meters = GeometricUtils.getDistance(location.getLatitude(),
+                    location.getLongitude(), restaurant.getLatitude(), restaurant.getLongitude());
+            distance = resources.getString(R.string.distance, (int) meters);
+        }
+
+        // Closing hours
+        HoursStatus hoursStatus = getHoursStatus(restaurant.getWeekSchedule(),
+                                                 WeekSchedule.getMinuteOfWeek(calendar));
+        String hours;
+        switch (hoursStatus.getState()) {
+            case CLOSED:
+                hours = resources.getString(R.string.closed);
+                break;
+            case CLOSING_SOON:
+                hours = resources.getString(R.string.closing_soon);
+                break;
+            case OPEN_UNTIL:
+                hours = resources.getString(R.string.open_until,
+                        String.format(Locale.ROOT, "%02d", hoursStatus.getClosingHour()),
+                        String.format(Locale.ROOT, "%02d", hoursStatus.getClosingMinutes()));
+                break;
+            case ALWAYS_OPEN:
+                hours = resources.getString(R.string.always_open);
+                break;
+            default:
+                hours = resources.getString(R.string.schedules_unavailable);
+                break;
+        }
+        boolean closingSoon = hoursStatus.getState() == HoursState.CLOSING_SOON;
+        @SuppressWarnings("deprecation")
+        int hoursColor = resources.getColor(closingSoon ? R.color.red : R.color.grey_50);
+        int hoursTypeface = closingSoon ? Typeface.BOLD_ITALIC : Typeface.ITALIC;
+
+        // Photo
+        String photoUrl = null;
+        if (restaurant.getPhotoReference() != null) {
+            photoUrl = "https://maps.googleapis.com/maps/api/place/photo?&maxwidth=400&" +
+                       "maxheight=400&photo_reference=" + restaurant.getPhotoReference() +
+                       "&key=" + BuildConfig.API_KEY;
+        }
+
+        return new RestaurantRowModel(restaurant, distance, hours, hoursColor, hoursTypeface,
+                                      RatingDisplayHandler.getStarDrawables(restaurant.getRating()),
+                                      resources.getString(R.string.nb_workmates, nbWorkmates),
+                                      photoUrl);
+    }
+
+    /**
+     * Determines the opening state of a restaurant at a given time of the week.
+     * @param weekSchedule : Opening hours of the restaurant, or null
+     * @param minuteOfWeek : Current minute of the week
+     * @return : HoursStatus object
+     */
+    public static HoursStatus getHoursStatus(WeekSchedule weekSchedule, int minuteOfWeek) {
+        if (weekSchedule == null || weekSchedule.isEmpty())
+            return new HoursStatus(HoursState.UNAVAILABLE, -1);
+        if (!weekSchedule.isOpenAt(minuteOfWeek)) return new HoursStatus(HoursState.CLOSED, -1);
+        int closingTime = weekSchedule.nextTransitionAfter(minuteOfWeek);
+        // Always open restaurants have no closing time
+        if (closingTime < 0) return new HoursStatus(HoursState.ALWAYS_OPEN, -1);
+        if (weekSchedule.closesWithin(minuteOfWeek, CLOSING_SOON_DELAY))
+            return new HoursStatus(HoursState.CLOSING_SOON, closingTime);
+        return new HoursStatus(HoursState.OPEN_UNTIL, closingTime);
+    }
+
+    /**
+     * Opening state of a restaurant, with the closing hour of the current period.
+     */
+    public static class HoursStatus {
+        private final HoursState state;
+        // Closing minute of the week if open, or -1
+        private final int closingTime;
+
+        HoursStatus(HoursState state, int closingTime) {
+            this.state = state;
+            this.closingTime = closingTime;
+        }
+
+        // Getters
+        public HoursState getState() { return state; }
+
+        public int getClosingTime() { return closingTime; }
+
+        public int getClosingHour() { return (closingTime % WeekSchedule.MINUTES_PER_DAY) / 60; }
+
+        public int getClosingMinutes() { return closingTime % 60; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import com.openclassrooms.go4lunch.model.Workmate;
+import java.util.Objects;
+
+/**
+ * Callback class used to compute in background the differences between two lists of
+ * @{@link Workmate} objects, identified by their email.
+ * When the photo of a workmate is unchanged, the change is described by the PAYLOAD_TEXT
+ * payload, so that the photo is not loaded again.
+ */
+public class WorkmateDiffCallback extends DiffUtil.ItemCallback<Workmate> {
+
+    // Payload sent when only the displayed text of a workmate changes
+    public static final String PAYLOAD_TEXT = "PAYLOAD_TEXT";
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Workmate oldItem, @NonNull Workmate newItem) {
+        return Objects.equals(oldItem.getEmail(), newItem.getEmail());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Workmate oldItem, @NonNull Workmate newItem) {
+        return Objects.equals(oldItem.getPhotoUrl(), newItem.getPhotoUrl())
+               && hasSameText(oldItem, newItem);
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull Workmate oldItem, @NonNull Workmate newItem) {
+        // Full rebind
+        if (!Objects.equals(oldItem.getPhotoUrl(), newItem.getPhotoUrl())) return null;
+        return PAYLOAD_TEXT;
+    }
+
+    /**
+     * Checks if two workmates are displayed with the same text.
+     * @param oldItem : Old workmate
+     * @param newItem : New workmate
+     * @return : true if name and selected restaurant are the same
+     */
+    private boolean hasSameText(Workmate oldItem, Workmate newItem) {
+        return Objects.equals(oldItem.getName(), newItem.getName())
+               && Objects.equals(oldItem.getRestaurantSelectedID(),
+                                 newItem.getRestaurantSelectedID())
+               && Objects.equals(oldItem.getRestaurantName(), newItem.getRestaurantName());
+    }
+}
@@ -9,6 +9,7 @@ import android.widget.TextView;
 import androidx.annotation.ColorRes;
 import androidx.annotation.NonNull;
 import androidx.core.content.res.ResourcesCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.openclassrooms.go4lunch.R;
@@ -23,8 +24,9 @@ import java.util.List;
  */
 public class WorkmatesAdapter extends RecyclerView.Adapter<WorkmatesAdapter.ViewHolderWorkmates>{
 
-    // List of workmates to display
-    private final ArrayList<Workmate> listWorkmates = new ArrayList<>();
+    // List of workmates to display, updated from background diffs keyed on workmate email
+    private final AsyncListDiffer<Workmate> listWorkmatesDiffer =
+                                          new AsyncListDiffer<>(this, new WorkmateDiffCallback());
     // Context parameter
     private final Context context;
     // Defines the type of list to display using workmates information
@@ -47,39 +49,54 @@ public class WorkmatesAdapter extends RecyclerView.Adapter<WorkmatesAdapter.View
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolderWorkmates holder, int position) {
+        Workmate workmate = listWorkmatesDiffer.getCurrentList().get(position);
         // Display text
-        displayText(holder.binding.textWorkmate, position);
+        displayText(holder.binding.textWorkmate, workmate);
 
         // Display icon
         Glide.with(context).clear(holder.binding.photoWorkmate); // Cancel any pending loads
-        loadUserIcon(holder.binding.photoWorkmate, listWorkmates.get(position).getPhotoUrl());
+        loadUserIcon(holder.binding.photoWorkmate, workmate.getPhotoUrl());
+    }
+
+    /**
+     * Updates only the text of an item if its photo is unchanged (PAYLOAD_TEXT payload).
+     * @param holder : Holder containing the item view
+     * @param position : Position in the RecyclerView
+     * @param payloads : List of payloads, or empty list for a full rebind
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolderWorkmates holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) onBindViewHolder(holder, position);
+        else displayText(holder.binding.textWorkmate,
+                         listWorkmatesDiffer.getCurrentList().get(position));
     }
 
     @Override
     public int getItemCount() {
-        return listWorkmates.size();
+        return listWorkmatesDiffer.getCurrentList().size();
     }
 
     /**
      * Displays the text associated to a workmates, and corresponding to its restaurant selection.
      * @param textView : View in which the text must be displayed
-     * @param position : Position in the RecyclerView
+     * @param workmate : Workmate to display
      */
-    private void displayText(TextView textView, int position) {
+    private void displayText(TextView textView, Workmate workmate) {
         if (typeOfList) {
             // Text
             String text;
-            if (listWorkmates.get(position).getRestaurantName() != null) {
-                if (listWorkmates.get(position).getRestaurantName().length() == 0) {
+            if (workmate.getRestaurantName() != null) {
+                if (workmate.getRestaurantName().length() == 0) {
                     text = context.getResources().getString(R.string.no_decision,
-                                                            listWorkmates.get(position).getName());
+                                                            workmate.getName());
                     textView.setText(text);
                     displayStyleTextView(textView, R.color.light_grey, Typeface.ITALIC);
                 }
                 else {
                     text = context.getResources().getString(R.string.is_eating_at,
-                                                            listWorkmates.get(position).getName(),
-                            listWorkmates.get(position).getRestaurantName());
+                                                            workmate.getName(),
+                            workmate.getRestaurantName());
                     textView.setText(text);
                     displayStyleTextView(textView, R.color.black, Typeface.NORMAL);
                 }
@@ -88,7 +105,7 @@ public class WorkmatesAdapter extends RecyclerView.Adapter<WorkmatesAdapter.View
         else {
             // Text
             String text = context.getResources().getString(R.string.is_going,
-                                                           listWorkmates.get(position).getName());
+                                                           workmate.getName());
             textView.setText(text);
         }
     }
@@ -138,9 +155,7 @@ public class WorkmatesAdapter extends RecyclerView.Adapter<WorkmatesAdapter.View
      * @param newList : New list of workmates to display
      */
     public void updateList(List<Workmate> newList) {
-        listWorkmates.clear();
-        listWorkmates.addAll(newList);
-        notifyDataSetChanged();
+        listWorkmatesDiffer.submitList(new ArrayList<>(newList));
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.openclassrooms.go4lunch.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import com.openclassrooms.go4lunch.database.DetailsData;
+import java.util.List;
+
+/**
+ * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
+ * details_table.
+ */
+@Dao
+public interface DetailsDao {
+
+    /**
+     * Gets the DetailsData objects stored for a list of places.
+     * @param placeIds : List of place ids
+     * @return : List of DetailsData objects found in table
+     */
+    @Query("SELECT * FROM details_table WHERE place_id IN (:placeIds)")
+    List<DetailsData> getDetailsData(List<String> placeIds);
+
+    /**
+     * Inserts a list of DetailsData objects in details_table in database, replacing the
+     * existing rows of the same places, in a single transaction.
+     * @param listDetailsData : List of DetailsData objects to add to table
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAllDetailsData(List<DetailsData> listDetailsData);
+
+    /**
+     * Deletes all rows received before a given time.
+     * @param time : Time in ms
+     * @return : Number of deleted rows
+     */
+    @Query("DELETE FROM details_table WHERE fetched_at < :time")
+    int deleteDetailsDataFetchedBefore(long time);
+}
@@ -6,6 +6,7 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import com.openclassrooms.go4lunch.database.HoursData;
+import java.util.List;
 
 /**
  * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
@@ -21,6 +22,13 @@ public interface HoursDao {
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     void insertHoursData(HoursData hoursData);
 
+    /**
+     * Inserts a list of HoursData objects in hours_table in database, in a single transaction.
+     * @param listHoursData : List of HoursData objects to add to table
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertAllHoursData(List<HoursData> listHoursData);
+
     /**
      * Deletes all data in hours_table.
      */
@@ -2,17 +2,39 @@ package com.openclassrooms.go4lunch.dao;
 
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Transaction;
+import androidx.room.Update;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import com.openclassrooms.go4lunch.database.HoursData;
 import com.openclassrooms.go4lunch.database.RestaurantAndHoursData;
+import com.openclassrooms.go4lunch.database.RestaurantData;
+import com.openclassrooms.go4lunch.database.SnapshotDiff;
+import com.openclassrooms.go4lunch.database.TileData;
+import com.openclassrooms.go4lunch.database.TileRestaurantData;
+import com.openclassrooms.go4lunch.utils.SpatialCells;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
- * hours_table and restaurant_table tables.
+ * hours_table, restaurant_table, tile_table and tile_restaurant_table tables.
  */
 @Dao
-public interface RestaurantAndHoursDao {
+public abstract class RestaurantAndHoursDao {
+
+    // Maximum number of variables bound to a single SQLite query
+    private static final int MAX_BOUND_VARIABLES = 900;
+
+    // First search radius of a k-nearest query, doubled until enough restaurants are found
+    private static final double NEAREST_INITIAL_RADIUS = 500.0; // m
 
     /**
      * Get all Restaurant data in database with their associated hours data.
@@ -20,6 +42,252 @@ public interface RestaurantAndHoursDao {
      */
     @Transaction
     @Query("SELECT * FROM restaurant_table")
-    LiveData<List<RestaurantAndHoursData>> loadAllRestaurantsWithHours();
+    public abstract LiveData<List<RestaurantAndHoursData>> loadAllRestaurantsWithHours();
+
+    /**
+     * Get all Restaurant data stored in a tile with their associated hours data.
+     * @param geohash : Geohash of the tile
+     * @return : List of all RestaurantAndHours objects of the tile
+     */
+    @Transaction
+    @Query("SELECT restaurant_table.* FROM restaurant_table INNER JOIN tile_restaurant_table "
+            + "ON restaurant_table.place_id = tile_restaurant_table.place_id "
+            + "WHERE tile_restaurant_table.geohash = :geohash")
+    public abstract List<RestaurantAndHoursData> getRestaurantsWithHoursInTile(String geohash);
+
+    /**
+     * Get all Restaurant data located in a bounding box, with their associated hours data.
+     * Only the rows of the cells covering the box are read, using the "cell_id" index.
+     * @param minLatitude : South latitude
+     * @param minLongitude : West longitude
+     * @param maxLatitude : North latitude
+     * @param maxLongitude : East longitude
+     * @return : List of RestaurantAndHours objects in the box
+     */
+    public List<RestaurantAndHoursData> getRestaurantsWithHoursInBounds(double minLatitude,
+                                                                       double minLongitude,
+                                                                       double maxLatitude,
+                                                                       double maxLongitude) {
+        List<Object> args = new ArrayList<>();
+        String where = getBoundsClause(minLatitude, minLongitude, maxLatitude, maxLongitude, args);
+        return getRestaurantsWithHours(new SimpleSQLiteQuery(
+                               "SELECT * FROM restaurant_table WHERE " + where, args.toArray()));
+    }
+
+    /**
+     * Get all Restaurant data located within a radius around a location, with their associated
+     * hours data, nearest first.
+     * @param latitude : Latitude of the center
+     * @param longitude : Longitude of the center
+     * @param radius : Radius in meters
+     * @return : List of RestaurantAndHours objects in the circle
+     */
+    public List<RestaurantAndHoursData> getRestaurantsWithHoursInRadius(double latitude,
+                                                                       double longitude,
+                                                                       double radius) {
+        return getRestaurantsWithHoursInRadius(latitude, longitude, radius, -1);
+    }
+
+    /**
+     * Get the k nearest Restaurant data around a location, with their associated hours data,
+     * nearest first. The search radius is doubled until k restaurants are found, or until
+     * "maxRadius" is reached.
+     * @param latitude : Latitude of the center
+     * @param longitude : Longitude of the center
+     * @param nbRestaurants : Number of restaurants to find
+     * @param maxRadius : Maximum distance in meters
+     * @return : List of at most k RestaurantAndHours objects
+     */
+    public List<RestaurantAndHoursData> getNearestRestaurantsWithHours(double latitude,
+                                                                      double longitude,
+                                                                      int nbRestaurants,
+                                                                      double maxRadius) {
+        double radius = Math.min(NEAREST_INITIAL_RADIUS, maxRadius);
+        while (true) {
+            List<RestaurantAndHoursData> restaurants =
+                    getRestaurantsWithHoursInRadius(latitude, longitude, radius, nbRestaurants);
+            if (restaurants.size() >= nbRestaurants || radius >= maxRadius) return restaurants;
+            radius = Math.min(2 * radius, maxRadius);
+        }
+    }
+
+    /**
+     * Get Restaurant data within a radius, nearest first. Distances are computed in SQL with
+     * an equirectangular approximation, accurate at the scale of a city.
+     * @param latitude : Latitude of the center
+     * @param longitude : Longitude of the center
+     * @param radius : Radius in meters
+     * @param limit : Maximum number of rows, or -1
+     * @return : List of RestaurantAndHours objects
+     */
+    private List<RestaurantAndHoursData> getRestaurantsWithHoursInRadius(double latitude,
+                                                                        double longitude,
+                                                                        double radius,
+                                                                        int limit) {
+        double latitudeDegrees = SpatialCells.getLatitudeDegrees(radius);
+        double longitudeDegrees = SpatialCells.getLongitudeDegrees(radius, latitude);
+        double cos = Math.cos(Math.toRadians(latitude));
+        List<Object> args = new ArrayList<>();
+        String where = getBoundsClause(latitude - latitudeDegrees, longitude - longitudeDegrees,
+                                       latitude + latitudeDegrees, longitude + longitudeDegrees,
+                                       args);
+        String distance = "((latitude - ?) * (latitude - ?) "
+                          + "+ (longitude - ?) * (longitude - ?) * ?)";
+        Object[] distanceArgs = { latitude, latitude, longitude, longitude, cos * cos };
+        StringBuilder sql = new StringBuilder("SELECT * FROM restaurant_table WHERE ")
+                .append(where).append(" AND ").append(distance).append(" <= ?")
+                .append(" ORDER BY ").append(distance);
+        args.addAll(Arrays.asList(distanceArgs));
+        args.add(latitudeDegrees * latitudeDegrees);
+        args.addAll(Arrays.asList(distanceArgs));
+        if (limit >= 0) sql.append(" LIMIT ").append(limit);
+        return getRestaurantsWithHours(new SimpleSQLiteQuery(sql.toString(), args.toArray()));
+    }
+
+    /**
+     * Builds the WHERE clause selecting the rows of a bounding box : cell ranges first, to use
+     * the "cell_id" index, then exact coordinates.
+     * @param minLatitude : South latitude
+     * @param minLongitude : West longitude
+     * @param maxLatitude : North latitude
+     * @param maxLongitude : East longitude
+     * @param args : List to fill with bound arguments
+     * @return : WHERE clause
+     */
+    private static String getBoundsClause(double minLatitude, double minLongitude,
+                                          double maxLatitude, double maxLongitude,
+                                          List<Object> args) {
+        long[] ranges = SpatialCells.getCellRanges(minLatitude, minLongitude,
+                                                   maxLatitude, maxLongitude);
+        StringBuilder clause = new StringBuilder("(");
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (i > 0) clause.append(" OR ");
+            clause.append("cell_id BETWEEN ? AND ?");
+            args.add(ranges[i]);
+            args.add(ranges[i + 1]);
+        }
+        clause.append(") AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?");
+        args.add(minLatitude);
+        args.add(maxLatitude);
+        args.add(minLongitude);
+        args.add(maxLongitude);
+        return clause.toString();
+    }
+
+    @Transaction
+    @RawQuery(observedEntities = {RestaurantData.class, HoursData.class})
+    protected abstract List<RestaurantAndHoursData> getRestaurantsWithHours(
+                                                                    SupportSQLiteQuery query);
+
+    /**
+     * Stores a new snapshot (result of a search request) of restaurant_table and hours_table
+     * content for a tile, using "place_id" as key : new places are inserted, changed places are
+     * updated, and identical places are left untouched. Places which are no longer referenced
+     * by any tile are deleted, and least recently used tiles are evicted if the number of
+     * stored tiles exceeds "maxNbTiles". All operations are done in a single transaction.
+     * @param tileData : Tile of the search request
+     * @param listRestaurantData : Restaurants found in the tile
+     * @param listHoursData : Hours of the restaurants found in the tile
+     * @param maxNbTiles : Maximum number of tiles to keep in database
+     */
+    @Transaction
+    public void synchronizeTile(TileData tileData, List<RestaurantData> listRestaurantData,
+                                List<HoursData> listHoursData, int maxNbTiles) {
+        // Current content of database for the restaurants of the tile (old and new ones)
+        Set<String> placeIds = new HashSet<>(getPlaceIdsInTile(tileData.getGeohash()));
+        for (int i = 0; i < listRestaurantData.size(); i++) {
+            placeIds.add(listRestaurantData.get(i).getPlaceId());
+        }
+        List<RestaurantData> currentRestaurantsData = new ArrayList<>();
+        List<HoursData> currentHoursData = new ArrayList<>();
+        for (List<String> ids : splitIds(new ArrayList<>(placeIds))) {
+            currentRestaurantsData.addAll(getRestaurantsData(ids));
+            currentHoursData.addAll(getHoursData(ids));
+        }
+
+        // Update restaurant_table and hours_table
+        SnapshotDiff diff = SnapshotDiff.compute(currentRestaurantsData, currentHoursData,
+                                                 listRestaurantData, listHoursData);
+        for (List<String> ids : splitIds(diff.getHoursToDelete())) deleteHoursData(ids);
+        updateAllRestaurantsData(diff.getRestaurantsToUpdate());
+        insertAllRestaurantsData(diff.getRestaurantsToInsert());
+        insertAllHoursData(diff.getHoursToInsert());
+
+        // Update tile_table and tile_restaurant_table
+        List<TileRestaurantData> listTileRestaurantData = new ArrayList<>();
+        for (int i = 0; i < listRestaurantData.size(); i++) {
+            listTileRestaurantData.add(new TileRestaurantData(tileData.getGeohash(),
+                                                          listRestaurantData.get(i).getPlaceId()));
+        }
+        insertTileData(tileData);
+        deleteTileRestaurantsData(tileData.getGeohash());
+        insertAllTileRestaurantsData(listTileRestaurantData);
+
+        // Evict least recently used tiles, and restaurants no longer referenced by any tile
+        int nbEvictedTiles = evictLeastRecentlyUsedTiles(maxNbTiles);
+        if (nbEvictedTiles > 0) deleteOrphanTileRestaurantsData();
+        if (nbEvictedTiles > 0 || !diff.getRestaurantsToDelete().isEmpty()) {
+            deleteOrphanHoursData();
+            deleteOrphanRestaurantsData();
+        }
+    }
+
+    /**
+     * Splits a list of ids into sublists, to keep the number of bound variables of each
+     * "IN" query under the SQLite limit.
+     * @param ids : List of ids
+     * @return : List of sublists
+     */
+    private static List<List<String>> splitIds(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += MAX_BOUND_VARIABLES) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + MAX_BOUND_VARIABLES)));
+        }
+        return chunks;
+    }
+
+    @Query("SELECT place_id FROM tile_restaurant_table WHERE geohash = :geohash")
+    protected abstract List<String> getPlaceIdsInTile(String geohash);
+
+    @Query("SELECT * FROM restaurant_table WHERE place_id IN (:placeIds)")
+    protected abstract List<RestaurantData> getRestaurantsData(List<String> placeIds);
+
+    @Query("SELECT * FROM hours_table WHERE restaurant_id IN (:placeIds)")
+    protected abstract List<HoursData> getHoursData(List<String> placeIds);
+
+    @Update
+    protected abstract void updateAllRestaurantsData(List<RestaurantData> listRestaurantData);
+
+    @Query("DELETE FROM hours_table WHERE restaurant_id IN (:placeIds)")
+    protected abstract int deleteHoursData(List<String> placeIds);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract void insertAllRestaurantsData(List<RestaurantData> listRestaurantData);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract void insertAllHoursData(List<HoursData> listHoursData);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void insertTileData(TileData tileData);
+
+    @Query("DELETE FROM tile_restaurant_table WHERE geohash = :geohash")
+    protected abstract int deleteTileRestaurantsData(String geohash);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract void insertAllTileRestaurantsData(List<TileRestaurantData> list);
+
+    @Query("DELETE FROM tile_table WHERE geohash NOT IN "
+            + "(SELECT geohash FROM tile_table ORDER BY last_access DESC LIMIT :maxNbTiles)")
+    protected abstract int evictLeastRecentlyUsedTiles(int maxNbTiles);
+
+    @Query("DELETE FROM tile_restaurant_table WHERE geohash NOT IN (SELECT geohash FROM tile_table)")
+    protected abstract int deleteOrphanTileRestaurantsData();
+
+    @Query("DELETE FROM hours_table WHERE restaurant_id NOT IN "
+            + "(SELECT place_id FROM tile_restaurant_table)")
+    protected abstract int deleteOrphanHoursData();
 
+    @Query("DELETE FROM restaurant_table WHERE place_id NOT IN "
+            + "(SELECT place_id FROM tile_restaurant_table)")
+    protected abstract int deleteOrphanRestaurantsData();
 }
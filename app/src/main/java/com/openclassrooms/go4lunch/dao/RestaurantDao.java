@@ -6,6 +6,7 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import com.openclassrooms.go4lunch.database.RestaurantData;
+import java.util.List;
 
 /**
  * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
@@ -21,6 +22,14 @@ public interface RestaurantDao {
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     void insertRestaurantData(RestaurantData restaurantData);
 
+    /**
+     * Inserts a list of RestaurantData objects in restaurant_table in database, in a
+     * single transaction.
+     * @param listRestaurantData : List of RestaurantData objects to add to table
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertAllRestaurantsData(List<RestaurantData> listRestaurantData);
+
     /**
      * Deletes all data in restaurant_table.
      */
@@ -0,0 +1,51 @@
+package com.openclassrooms.go4lunch.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.openclassrooms.go4lunch.database.RestaurantAndHoursData;
+import com.openclassrooms.go4lunch.utils.search.FullTextQuery;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
+ * restaurant_fts_table table, used to search all restaurants stored in restaurant_table
+ * without any network request.
+ */
+@Dao
+public abstract class RestaurantSearchDao {
+
+    /**
+     * Searches the Restaurant data whose name or address contains every word of a query as a
+     * prefix, with their associated hours data. Results are ranked :
+     *      - restaurants whose name starts with the query first
+     *      - then restaurants whose name contains every word of the query
+     *      - then restaurants matching the query in their address
+     * and by rating for a same rank.
+     * @param query : Query typed by user
+     * @param limit : Maximum number of results
+     * @return : List of RestaurantAndHours objects, best matches first
+     */
+    public List<RestaurantAndHoursData> searchRestaurantsWithHours(String query, int limit) {
+        String expression = FullTextQuery.getPrefixExpression(query, null);
+        if (expression == null) return new ArrayList<>();
+        return getMatchingRestaurantsWithHours(expression,
+                                               FullTextQuery.getPrefixExpression(query, "name"),
+                                               FullTextQuery.getLikePrefix(query), limit);
+    }
+
+    @Transaction
+    @Query("SELECT restaurant_table.* FROM restaurant_table INNER JOIN restaurant_fts_table "
+            + "ON restaurant_table.item_id = restaurant_fts_table.rowid "
+            + "WHERE restaurant_fts_table MATCH :expression "
+            + "ORDER BY CASE "
+            + "WHEN restaurant_table.name LIKE :namePrefix ESCAPE '\\' THEN 0 "
+            + "WHEN restaurant_table.item_id IN (SELECT rowid FROM restaurant_fts_table "
+            + "WHERE restaurant_fts_table MATCH :nameExpression) THEN 1 "
+            + "ELSE 2 END, restaurant_table.rating DESC "
+            + "LIMIT :limit")
+    protected abstract List<RestaurantAndHoursData> getMatchingRestaurantsWithHours(
+                                String expression, String nameExpression, String namePrefix,
+                                int limit);
+}
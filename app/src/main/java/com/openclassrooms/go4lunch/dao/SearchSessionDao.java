@@ -0,0 +1,68 @@
+package com.openclassrooms.go4lunch.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.openclassrooms.go4lunch.database.SearchPageData;
+import com.openclassrooms.go4lunch.database.SearchSessionData;
+import java.util.List;
+
+/**
+ * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
+ * search_session_table and search_page_table tables.
+ */
+@Dao
+public abstract class SearchSessionDao {
+
+    /**
+     * Gets the SearchSessionData object of the last search session.
+     * @param sessionId : Id of the session
+     * @return : SearchSessionData object, or null if no session is stored
+     */
+    @Query("SELECT * FROM search_session_table WHERE session_id = :sessionId")
+    public abstract SearchSessionData getSearchSessionData(int sessionId);
+
+    /**
+     * Gets all pages received for the last search session.
+     * @return : List of SearchPageData objects, ordered by page index
+     */
+    @Query("SELECT * FROM search_page_table ORDER BY page_index")
+    public abstract List<SearchPageData> getAllSearchPagesData();
+
+    /**
+     * Inserts a SearchSessionData object in search_session_table, replacing the previous one.
+     * @param searchSessionData : Session to store
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertSearchSessionData(SearchSessionData searchSessionData);
+
+    /**
+     * Inserts a SearchPageData object in search_page_table.
+     * @param searchPageData : Page to store
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertSearchPageData(SearchPageData searchPageData);
+
+    /**
+     * Deletes all pages stored after a given page.
+     * @param pageIndex : Index of the last page to keep
+     */
+    @Query("DELETE FROM search_page_table WHERE page_index > :pageIndex")
+    public abstract void deleteSearchPagesDataAfter(int pageIndex);
+
+    /**
+     * Replaces the stored search session by a new one, with its first page, in a single
+     * transaction.
+     * @param searchSessionData : New session
+     * @param firstPageData : First page of the new session
+     */
+    @Transaction
+    public void startSearchSession(SearchSessionData searchSessionData,
+                                   SearchPageData firstPageData) {
+        deleteSearchPagesDataAfter(-1);
+        insertSearchSessionData(searchSessionData);
+        insertSearchPageData(firstPageData);
+    }
+}
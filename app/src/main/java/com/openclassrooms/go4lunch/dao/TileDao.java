@@ -0,0 +1,37 @@
+package com.openclassrooms.go4lunch.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import com.openclassrooms.go4lunch.database.TileData;
+
+/**
+ * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
+ * tile_table.
+ */
+@Dao
+public interface TileDao {
+
+    /**
+     * Gets the TileData object associated with a geohash.
+     * @param geohash : Geohash of the tile
+     * @return : TileData object, or null if the tile is not stored in table
+     */
+    @Query("SELECT * FROM tile_table WHERE geohash = :geohash")
+    TileData getTileData(String geohash);
+
+    /**
+     * Updates the last access time of a tile (used for LRU eviction).
+     * @param geohash : Geohash of the tile
+     * @param lastAccess : Access time in ms
+     * @return : Number of updated rows
+     */
+    @Query("UPDATE tile_table SET last_access = :lastAccess WHERE geohash = :geohash")
+    int updateLastAccess(String geohash, long lastAccess);
+
+    /**
+     * Returns the number of tiles stored in tile_table.
+     * @return : Number of tiles
+     */
+    @Query("SELECT COUNT(*) FROM tile_table")
+    int getNbTiles();
+}
@@ -0,0 +1,71 @@
+package com.openclassrooms.go4lunch.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.openclassrooms.go4lunch.database.WorkmateData;
+import com.openclassrooms.go4lunch.database.WorkmatesSyncData;
+import java.util.List;
+
+/**
+ * Data Access Object to @{@link com.openclassrooms.go4lunch.database.Go4LunchDatabase} database
+ * workmates_table and workmates_sync_table tables.
+ */
+@Dao
+public abstract class WorkmatesDao {
+
+    /**
+     * Gets all workmates stored.
+     * @return : List of WorkmateData objects
+     */
+    @Query("SELECT * FROM workmates_table")
+    public abstract List<WorkmateData> getAllWorkmatesData();
+
+    /**
+     * Gets the last-synced marker of the stored workmates.
+     * @param syncId : Id of the marker
+     * @return : WorkmatesSyncData object, or null if workmates were never synchronized
+     */
+    @Query("SELECT * FROM workmates_sync_table WHERE sync_id = :syncId")
+    public abstract WorkmatesSyncData getWorkmatesSyncData(int syncId);
+
+    /**
+     * Inserts a list of WorkmateData objects in workmates_table, replacing the existing rows
+     * of the same documents.
+     * @param listWorkmatesData : List of workmates to store
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertWorkmatesData(List<WorkmateData> listWorkmatesData);
+
+    /**
+     * Deletes a list of workmates.
+     * @param documentIds : Ids of the documents of the workmates to delete
+     */
+    @Query("DELETE FROM workmates_table WHERE document_id IN (:documentIds)")
+    public abstract void deleteWorkmatesData(List<String> documentIds);
+
+    /**
+     * Inserts the last-synced marker, replacing the previous one.
+     * @param workmatesSyncData : Marker to store
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void insertWorkmatesSyncData(WorkmatesSyncData workmatesSyncData);
+
+    /**
+     * Applies a batch of changes to the stored workmates, and updates the last-synced marker,
+     * in a single transaction.
+     * @param listWorkmatesData : Workmates added or modified
+     * @param removedDocumentIds : Ids of the documents of the workmates removed
+     * @param workmatesSyncData : New marker
+     */
+    @Transaction
+    public void applyWorkmatesChanges(List<WorkmateData> listWorkmatesData,
+                                      List<String> removedDocumentIds,
+                                      WorkmatesSyncData workmatesSyncData) {
+        if (!removedDocumentIds.isEmpty()) deleteWorkmatesData(removedDocumentIds);
+        if (!listWorkmatesData.isEmpty()) insertWorkmatesData(listWorkmatesData);
+        insertWorkmatesSyncData(workmatesSyncData);
+    }
+}
@@ -0,0 +1,119 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.DetailsDao;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.utils.DataConverters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class handling a persistent cache of Place Details responses, stored in the
+ * @{@link Go4LunchDatabase} details_table table. Each entry is :
+ *      - fresh if received less than "timeToLive" ms ago : used as is
+ *      - stale if received less than "maxStaleAge" ms ago : used, but must be revalidated
+ *      - expired otherwise : considered as missing
+ * Numbers of fresh hits, stale hits and misses are counted.
+ */
+public class DetailsCache {
+
+    public static final long DEFAULT_TIME_TO_LIVE = 7 * 24 * 60 * 60 * 1000L; // 7 days
+    public static final long DEFAULT_MAX_STALE_AGE = 30 * 24 * 60 * 60 * 1000L; // 30 days
+
+    private final DetailsDao detailsDao;
+    private final long timeToLive;
+    private final long maxStaleAge;
+
+    // Counters
+    private final AtomicInteger nbHits = new AtomicInteger();
+    private final AtomicInteger nbStaleHits = new AtomicInteger();
+    private final AtomicInteger nbMisses = new AtomicInteger();
+
+    public DetailsCache(DetailsDao detailsDao, long timeToLive, long maxStaleAge) {
+        if (timeToLive > maxStaleAge)
+            throw new IllegalArgumentException("timeToLive must be <= maxStaleAge");
+        this.detailsDao = detailsDao;
+        this.timeToLive = timeToLive;
+        this.maxStaleAge = maxStaleAge;
+    }
+
+    /**
+     * Searches the cached details of a list of places.
+     * @param placeIds : List of place ids
+     * @param currentTime : Current time in ms
+     * @return : Lookup containing fresh details, stale details, and ids of missing places
+     */
+    public Lookup lookup(List<String> placeIds, long currentTime) {
+        Lookup lookup = new Lookup();
+        Map<String, DetailsData> cachedDetailsById = new HashMap<>();
+        if (!placeIds.isEmpty()) {
+            List<DetailsData> listDetailsData = detailsDao.getDetailsData(placeIds);
+            for (int i = 0; i < listDetailsData.size(); i++) {
+                cachedDetailsById.put(listDetailsData.get(i).getPlaceId(), listDetailsData.get(i));
+            }
+        }
+
+        for (int i = 0; i < placeIds.size(); i++) {
+            String placeId = placeIds.get(i);
+            DetailsData detailsData = cachedDetailsById.get(placeId);
+            long age = detailsData != null ? currentTime - detailsData.getFetchedAt() : -1;
+            DetailsResponse response = (detailsData != null && age <= maxStaleAge)
+                    ? DataConverters.converterDetailsDataToDetailsResponse(detailsData) : null;
+            if (response == null) {
+                lookup.missingPlaceIds.add(placeId);
+                nbMisses.incrementAndGet();
+            }
+            else if (age <= timeToLive) {
+                lookup.freshDetails.put(placeId, response);
+                nbHits.incrementAndGet();
+            }
+            else {
+                lookup.staleDetails.put(placeId, response);
+                nbStaleHits.incrementAndGet();
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * Stores a list of received details in cache, and removes expired entries.
+     * @param listDetailsData : List of details to store
+     * @param currentTime : Current time in ms
+     */
+    public void store(List<DetailsData> listDetailsData, long currentTime) {
+        if (!listDetailsData.isEmpty()) detailsDao.insertAllDetailsData(listDetailsData);
+        detailsDao.deleteDetailsDataFetchedBefore(currentTime - maxStaleAge);
+    }
+
+    // Getters
+    public int getNbHits() { return nbHits.get(); }
+
+    public int getNbStaleHits() { return nbStaleHits.get(); }
+
+    public int getNbMisses() { return nbMisses.get(); }
+
+    /**
+     * Result of a cache lookup.
+     */
+    public static class Lookup {
+        private final Map<String, DetailsResponse> freshDetails = new HashMap<>();
+        private final Map<String, DetailsResponse> staleDetails = new HashMap<>();
+        private final List<String> missingPlaceIds = new ArrayList<>();
+
+        /**
+         * Returns the cached details of a place (fresh or stale).
+         * @param placeId : Id of the place
+         * @return : Cached details, or null if missing
+         */
+        public DetailsResponse getDetails(String placeId) {
+            DetailsResponse response = freshDetails.get(placeId);
+            return response != null ? response : staleDetails.get(placeId);
+        }
+
+        public boolean isStale(String placeId) { return staleDetails.containsKey(placeId); }
+
+        public List<String> getMissingPlaceIds() { return missingPlaceIds; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} details_table table.
+ * Each row contains the "result" field of a Place Details response (JSON format) for a place,
+ * and the time this response was received.
+ */
+@Entity(tableName = "details_table")
+public class DetailsData {
+
+    @PrimaryKey @NonNull
+    @ColumnInfo(name = "place_id") private final String placeId;
+
+    @ColumnInfo(name = "result_json") private final String resultJson;
+
+    @ColumnInfo(name = "fetched_at") private final long fetchedAt;
+
+    public DetailsData(@NonNull String placeId, String resultJson, long fetchedAt) {
+        this.placeId = placeId;
+        this.resultJson = resultJson;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Getters
+    @NonNull
+    public String getPlaceId() { return placeId; }
+
+    public String getResultJson() { return resultJson; }
+
+    public long getFetchedAt() { return fetchedAt; }
+}
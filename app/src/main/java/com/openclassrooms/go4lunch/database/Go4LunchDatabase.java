@@ -4,23 +4,47 @@ import android.content.Context;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import com.openclassrooms.go4lunch.dao.DetailsDao;
 import com.openclassrooms.go4lunch.dao.HoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantAndHoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantDao;
+import com.openclassrooms.go4lunch.dao.RestaurantSearchDao;
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import com.openclassrooms.go4lunch.dao.TileDao;
+import com.openclassrooms.go4lunch.dao.WorkmatesDao;
 import com.openclassrooms.go4lunch.utils.AppInfo;
 
 /**
  * Go4Lunch application database containing :
  *      - a "restaurant_table" table storing a list of @{@link RestaurantData} object
+ *      - a "restaurant_fts_table" full-text index of restaurant_table storing a list of
+ *        {@link RestaurantFtsData} object
  *      - a "hours_table" table storing a list of {@link HoursData} object
+ *      - a "tile_table" table storing a list of {@link TileData} object
+ *      - a "tile_restaurant_table" table storing a list of {@link TileRestaurantData} object
+ *      - a "details_table" table storing a list of {@link DetailsData} object
+ *      - a "search_session_table" table storing a {@link SearchSessionData} object
+ *      - a "search_page_table" table storing a list of {@link SearchPageData} object
+ *      - a "workmates_table" table storing a list of {@link WorkmateData} object
+ *      - a "workmates_sync_table" table storing a {@link WorkmatesSyncData} object
  */
-@Database(entities = {RestaurantData.class, HoursData.class}, version = 1, exportSchema = false)
+@Database(entities = {RestaurantData.class, RestaurantFtsData.class, HoursData.class,
+                      TileData.class, TileRestaurantData.class, DetailsData.class,
+                      SearchSessionData.class, SearchPageData.class, WorkmateData.class,
+                      WorkmatesSyncData.class},
+          version = 8,
+          exportSchema = false)
 public abstract class Go4LunchDatabase extends RoomDatabase {
 
     // Dao
     public abstract RestaurantDao restaurantDao();
     public abstract HoursDao hoursDao();
     public abstract RestaurantAndHoursDao restaurantAndHoursDao();
+    public abstract RestaurantSearchDao restaurantSearchDao();
+    public abstract TileDao tileDao();
+    public abstract DetailsDao detailsDao();
+    public abstract SearchSessionDao searchSessionDao();
+    public abstract WorkmatesDao workmatesDao();
 
     // Application Database instance
     private static Go4LunchDatabase instance;
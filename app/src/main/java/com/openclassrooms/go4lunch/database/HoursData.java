@@ -4,14 +4,16 @@ import androidx.annotation.VisibleForTesting;
 import androidx.room.ColumnInfo;
 import androidx.room.Embedded;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.openclassrooms.go4lunch.service.places.response.details.ClosingHours;
 import com.openclassrooms.go4lunch.service.places.response.details.OpeningHours;
+import java.util.Objects;
 
 /**
  * Data class to store in a row of the @{@link Go4LunchDatabase} hours_table table.
  */
-@Entity(tableName = "hours_table")
+@Entity(tableName = "hours_table", indices = {@Index(value = "restaurant_id")})
 public class HoursData {
 
     @PrimaryKey(autoGenerate = true) public int id;
@@ -50,4 +52,23 @@ public class HoursData {
     public ClosingHours getClosingHours() {
         return closingHours;
     }
+
+    /**
+     * Two HoursData objects are equal if they contain the same hours for the same restaurant,
+     * whatever their row id in table.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        HoursData other = (HoursData) object;
+        return Objects.equals(restaurantId, other.restaurantId)
+                && Objects.equals(closingHours, other.closingHours)
+                && Objects.equals(openingHours, other.openingHours);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(restaurantId, closingHours, openingHours);
+    }
 }
@@ -3,12 +3,18 @@ package com.openclassrooms.go4lunch.database;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
+import com.openclassrooms.go4lunch.utils.SpatialCells;
+import java.util.Objects;
 
 /**
  * Data class to store in a row of the @{@link Go4LunchDatabase} restaurant_table table.
+ * Each place is stored only once (unique index on "place_id"), and is located by the
+ * @{@link SpatialCells} cell containing it (index on "cell_id"), for bounding box queries.
  */
-@Entity(tableName = "restaurant_table")
+@Entity(tableName = "restaurant_table", indices = {@Index(value = "place_id", unique = true),
+                                                   @Index(value = "cell_id")})
 public class RestaurantData {
 
     @PrimaryKey(autoGenerate = true)
@@ -26,6 +32,8 @@ public class RestaurantData {
 
     private final double longitude;
 
+    @ColumnInfo(name = "cell_id") private long cellId;
+
     @ColumnInfo(name = "phone_number") private final String phoneNumber;
 
     @ColumnInfo(name = "website_uri") private final String websiteUri;
@@ -47,6 +55,7 @@ public class RestaurantData {
         this.address = address;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.cellId = SpatialCells.getCellId(latitude, longitude);
         this.rating = rating;
         this.phoneNumber = phoneNumber;
         this.websiteUri = websiteUri;
@@ -70,6 +79,8 @@ public class RestaurantData {
 
     public double getLongitude() { return longitude; }
 
+    public long getCellId() { return cellId; }
+
     public String getPhoneNumber() { return phoneNumber; }
 
     public String getWebsiteUri() { return websiteUri; }
@@ -85,8 +96,37 @@ public class RestaurantData {
     // Setters
     public void setItemId(int itemId) { this.itemId = itemId; }
 
+    public void setCellId(long cellId) { this.cellId = cellId; }
+
     public void setName(String name) { this.name = name; }
 
     public void setRating(double rating) { this.rating = rating; }
 
+    /**
+     * Two RestaurantData objects are equal if they contain the same place data, whatever
+     * their row id in table.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        RestaurantData other = (RestaurantData) object;
+        return Double.compare(other.latitude, latitude) == 0
+                && Double.compare(other.longitude, longitude) == 0
+                && Double.compare(other.rating, rating) == 0
+                && photoHeight == other.photoHeight
+                && photoWidth == other.photoWidth
+                && placeId.equals(other.placeId)
+                && Objects.equals(name, other.name)
+                && address.equals(other.address)
+                && Objects.equals(phoneNumber, other.phoneNumber)
+                && Objects.equals(websiteUri, other.websiteUri)
+                && Objects.equals(photoReference, other.photoReference);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(placeId, name, address, latitude, longitude, phoneNumber, websiteUri,
+                            rating, photoReference, photoHeight, photoWidth);
+    }
 }
@@ -0,0 +1,30 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} restaurant_fts_table table.
+ * This FTS4 table indexes the names and addresses of the restaurant_table table (its content
+ * table) : rows share the "rowid" of their restaurant, and are kept in sync by the triggers
+ * created by Room on each insertion, update or deletion in restaurant_table.
+ * Prefix indexes of 2 and 3 characters are stored to answer short prefix queries quickly.
+ */
+@Fts4(contentEntity = RestaurantData.class, prefix = {2, 3})
+@Entity(tableName = "restaurant_fts_table")
+public class RestaurantFtsData {
+
+    private final String name;
+
+    private final String address;
+
+    public RestaurantFtsData(String name, String address) {
+        this.name = name;
+        this.address = address;
+    }
+
+    // Getters
+    public String getName() { return name; }
+
+    public String getAddress() { return address; }
+}
@@ -0,0 +1,33 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} search_page_table table.
+ * Each row describes a page received for the last search session : its index, the
+ * "next_page_token" it contains, and the time it was received.
+ */
+@Entity(tableName = "search_page_table")
+public class SearchPageData {
+
+    @PrimaryKey @ColumnInfo(name = "page_index") private final int pageIndex;
+
+    @ColumnInfo(name = "next_page_token") private final String nextPageToken;
+
+    @ColumnInfo(name = "fetched_at") private final long fetchedAt;
+
+    public SearchPageData(int pageIndex, String nextPageToken, long fetchedAt) {
+        this.pageIndex = pageIndex;
+        this.nextPageToken = nextPageToken;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Getters
+    public int getPageIndex() { return pageIndex; }
+
+    public String getNextPageToken() { return nextPageToken; }
+
+    public long getFetchedAt() { return fetchedAt; }
+}
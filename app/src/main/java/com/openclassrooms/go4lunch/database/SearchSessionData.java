@@ -0,0 +1,47 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in the single row of the @{@link Go4LunchDatabase} search_session_table
+ * table. This row describes the last Search Nearby request sent : its query and location.
+ * The pages received for this request are stored in search_page_table.
+ */
+@Entity(tableName = "search_session_table")
+public class SearchSessionData {
+
+    // Only the last search session is stored
+    public static final int CURRENT_SESSION_ID = 0;
+
+    @PrimaryKey @ColumnInfo(name = "session_id") private final int sessionId;
+
+    @ColumnInfo(name = "query") private final String query;
+
+    @ColumnInfo(name = "latitude") private final double latitude;
+
+    @ColumnInfo(name = "longitude") private final double longitude;
+
+    @ColumnInfo(name = "started_at") private final long startedAt;
+
+    public SearchSessionData(int sessionId, String query, double latitude, double longitude,
+                             long startedAt) {
+        this.sessionId = sessionId;
+        this.query = query;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.startedAt = startedAt;
+    }
+
+    // Getters
+    public int getSessionId() { return sessionId; }
+
+    public String getQuery() { return query; }
+
+    public double getLatitude() { return latitude; }
+
+    public double getLongitude() { return longitude; }
+
+    public long getStartedAt() { return startedAt; }
+}
@@ -0,0 +1,167 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class keeping the record of the last Search Nearby request in memory, and in the
+ * @{@link Go4LunchDatabase} search_session_table and search_page_table tables : query, location,
+ * and for each received page its "next_page_token" and reception time.
+ * The record is written once per received page, and read from database only once, so that
+ * paging can be resumed after the process was killed.
+ */
+public class SearchSessionStore {
+
+    // Next page tokens are only valid for a few minutes after being issued
+    public static final long TOKEN_TIME_TO_LIVE = 5 * 60 * 1000L; // 5 min
+
+    private final SearchSessionDao searchSessionDao;
+
+    // In-memory record of the last session
+    private SearchSession session;
+
+    // Indicates if the session stored in database has already been read
+    private boolean loaded;
+
+    public SearchSessionStore(SearchSessionDao searchSessionDao) {
+        this.searchSessionDao = searchSessionDao;
+    }
+
+    /**
+     * Records a new search session with its first page, replacing the previous one.
+     * @param query : Type of places searched
+     * @param latitude : Latitude of the search location
+     * @param longitude : Longitude of the search location
+     * @param nextPageToken : Token contained in the first page, or null
+     * @param currentTime : Reception time of the first page
+     */
+    public synchronized void startSession(String query, double latitude, double longitude,
+                                          String nextPageToken, long currentTime) {
+        session = new SearchSession(query, latitude, longitude, currentTime,
+                                    Collections.singletonList(nextPageToken),
+                                    Collections.singletonList(currentTime));
+        loaded = true;
+        searchSessionDao.startSearchSession(
+                new SearchSessionData(SearchSessionData.CURRENT_SESSION_ID, query, latitude,
+                                      longitude, currentTime),
+                new SearchPageData(0, nextPageToken, currentTime));
+    }
+
+    /**
+     * Records a new page received for the current search session.
+     * @param nextPageToken : Token contained in the page, or null
+     * @param currentTime : Reception time of the page
+     */
+    public synchronized void addPage(String nextPageToken, long currentTime) {
+        SearchSession currentSession = getSession();
+        if (currentSession == null) return;
+        session = currentSession.withPage(nextPageToken, currentTime);
+        searchSessionDao.insertSearchPageData(new SearchPageData(
+                                  session.getNbPages() - 1, nextPageToken, currentTime));
+    }
+
+    /**
+     * Removes all pages of the current search session after a given page, before these
+     * pages are requested again.
+     * @param pageIndex : Index of the last page to keep
+     */
+    public synchronized void truncatePages(int pageIndex) {
+        SearchSession currentSession = getSession();
+        if (currentSession == null || currentSession.getNbPages() <= pageIndex + 1) return;
+        session = currentSession.truncate(pageIndex + 1);
+        searchSessionDao.deleteSearchPagesDataAfter(pageIndex);
+    }
+
+    /**
+     * Returns the record of the last search session, read from database on first access.
+     * @return : SearchSession object, or null if no session is recorded
+     */
+    public synchronized SearchSession getSession() {
+        if (!loaded) {
+            loaded = true;
+            SearchSessionData sessionData =
+                    searchSessionDao.getSearchSessionData(SearchSessionData.CURRENT_SESSION_ID);
+            List<SearchPageData> listPagesData = searchSessionDao.getAllSearchPagesData();
+            if (sessionData != null && !listPagesData.isEmpty()) {
+                List<String> pageTokens = new ArrayList<>(listPagesData.size());
+                List<Long> fetchTimes = new ArrayList<>(listPagesData.size());
+                for (int i = 0; i < listPagesData.size(); i++) {
+                    pageTokens.add(listPagesData.get(i).getNextPageToken());
+                    fetchTimes.add(listPagesData.get(i).getFetchedAt());
+                }
+                session = new SearchSession(sessionData.getQuery(), sessionData.getLatitude(),
+                                            sessionData.getLongitude(), sessionData.getStartedAt(),
+                                            pageTokens, fetchTimes);
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Immutable record of a search session.
+     */
+    public static class SearchSession {
+        private final String query;
+        private final double latitude;
+        private final double longitude;
+        private final long startedAt;
+        // "next_page_token" of each received page, in order
+        private final List<String> pageTokens;
+        // Reception time of each received page, in order
+        private final List<Long> fetchTimes;
+
+        SearchSession(String query, double latitude, double longitude, long startedAt,
+                      List<String> pageTokens, List<Long> fetchTimes) {
+            this.query = query;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.startedAt = startedAt;
+            this.pageTokens = Collections.unmodifiableList(new ArrayList<>(pageTokens));
+            this.fetchTimes = Collections.unmodifiableList(new ArrayList<>(fetchTimes));
+        }
+
+        SearchSession withPage(String nextPageToken, long fetchTime) {
+            List<String> newPageTokens = new ArrayList<>(pageTokens);
+            newPageTokens.add(nextPageToken);
+            List<Long> newFetchTimes = new ArrayList<>(fetchTimes);
+            newFetchTimes.add(fetchTime);
+            return new SearchSession(query, latitude, longitude, startedAt, newPageTokens,
+                                     newFetchTimes);
+        }
+
+        SearchSession truncate(int nbPages) {
+            return new SearchSession(query, latitude, longitude, startedAt,
+                                     pageTokens.subList(0, nbPages),
+                                     fetchTimes.subList(0, nbPages));
+        }
+
+        /**
+         * Returns the token to request the pages following the first one again, if it is
+         * still valid.
+         * @param currentTime : Current time in ms
+         * @return : Token of the first page, or null if there is no other page or if the
+         *           token has expired
+         */
+        public String getResumeToken(long currentTime) {
+            if (currentTime - fetchTimes.get(0) > TOKEN_TIME_TO_LIVE) return null;
+            return pageTokens.get(0);
+        }
+
+        // Getters
+        public String getQuery() { return query; }
+
+        public double getLatitude() { return latitude; }
+
+        public double getLongitude() { return longitude; }
+
+        public long getStartedAt() { return startedAt; }
+
+        public List<String> getPageTokens() { return pageTokens; }
+
+        public List<Long> getFetchTimes() { return fetchTimes; }
+
+        public int getNbPages() { return pageTokens.size(); }
+    }
+}
@@ -0,0 +1,128 @@
+package com.openclassrooms.go4lunch.database;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class computing the minimal set of operations needed to update the content of
+ * restaurant_table and hours_table (current snapshot) to match a new snapshot, using
+ * "place_id" as key :
+ *      - new places are inserted
+ *      - changed places are updated
+ *      - vanished places are deleted (their hours are deleted with them by the caller)
+ *      - identical places are left untouched
+ */
+public class SnapshotDiff {
+
+    // Operations on restaurant_table
+    private final List<RestaurantData> restaurantsToInsert = new ArrayList<>();
+    private final List<RestaurantData> restaurantsToUpdate = new ArrayList<>();
+    private final List<String> restaurantsToDelete = new ArrayList<>();
+
+    // Operations on hours_table : rows of each listed (remaining) place are deleted,
+    // then new rows inserted
+    private final List<String> hoursToDelete = new ArrayList<>();
+    private final List<HoursData> hoursToInsert = new ArrayList<>();
+
+    private SnapshotDiff() { /* Use compute() */ }
+
+    /**
+     * Computes the operations needed to go from the current snapshot to the new one.
+     * Each RestaurantData to update is given the row id of the existing row.
+     * @param currentRestaurants : Current content of restaurant_table
+     * @param currentHours : Current content of hours_table
+     * @param newRestaurants : New content of restaurant_table
+     * @param newHours : New content of hours_table
+     * @return : SnapshotDiff containing all operations to apply
+     */
+    public static SnapshotDiff compute(List<RestaurantData> currentRestaurants,
+                                       List<HoursData> currentHours,
+                                       List<RestaurantData> newRestaurants,
+                                       List<HoursData> newHours) {
+        SnapshotDiff diff = new SnapshotDiff();
+
+        Map<String, RestaurantData> currentRestaurantsById = new HashMap<>();
+        for (int i = 0; i < currentRestaurants.size(); i++) {
+            currentRestaurantsById.put(currentRestaurants.get(i).getPlaceId(),
+                                       currentRestaurants.get(i));
+        }
+        Map<String, Set<HoursData>> currentHoursById = groupHoursByRestaurantId(currentHours);
+        Map<String, Set<HoursData>> newHoursById = groupHoursByRestaurantId(newHours);
+
+        // Inserted and updated places
+        Set<String> newIds = new HashSet<>();
+        for (int i = 0; i < newRestaurants.size(); i++) {
+            RestaurantData restaurantData = newRestaurants.get(i);
+            String placeId = restaurantData.getPlaceId();
+            if (!newIds.add(placeId)) continue; // Duplicated place in new snapshot
+
+            RestaurantData currentRestaurantData = currentRestaurantsById.get(placeId);
+            if (currentRestaurantData == null) {
+                diff.restaurantsToInsert.add(restaurantData);
+            }
+            else if (!currentRestaurantData.equals(restaurantData)) {
+                restaurantData.setItemId(currentRestaurantData.getItemId());
+                diff.restaurantsToUpdate.add(restaurantData);
+            }
+
+            Set<HoursData> currentHoursSet = currentHoursById.get(placeId);
+            Set<HoursData> newHoursSet = newHoursById.get(placeId);
+            if (currentHoursSet == null) currentHoursSet = new HashSet<>();
+            if (newHoursSet == null) newHoursSet = new HashSet<>();
+            if (!currentHoursSet.equals(newHoursSet)) {
+                if (!currentHoursSet.isEmpty()) diff.hoursToDelete.add(placeId);
+                diff.hoursToInsert.addAll(newHoursSet);
+            }
+        }
+
+        // Vanished places
+        for (String placeId : currentRestaurantsById.keySet()) {
+            if (!newIds.contains(placeId)) diff.restaurantsToDelete.add(placeId);
+        }
+        return diff;
+    }
+
+    /**
+     * Groups a list of HoursData by restaurant id.
+     * @param listHoursData : List to group
+     * @return : Map of HoursData sets, with restaurant id as key
+     */
+    private static Map<String, Set<HoursData>> groupHoursByRestaurantId(List<HoursData> listHoursData) {
+        Map<String, Set<HoursData>> hoursById = new HashMap<>();
+        for (int i = 0; i < listHoursData.size(); i++) {
+            HoursData hoursData = listHoursData.get(i);
+            Set<HoursData> set = hoursById.get(hoursData.getRestaurantId());
+            if (set == null) {
+                set = new HashSet<>();
+                hoursById.put(hoursData.getRestaurantId(), set);
+            }
+            set.add(hoursData);
+        }
+        return hoursById;
+    }
+
+    /**
+     * Returns true if both snapshots are identical, and no write operation is needed.
+     * @return : Boolean value
+     */
+    public boolean isEmpty() {
+        return restaurantsToInsert.isEmpty() && restaurantsToUpdate.isEmpty()
+                && restaurantsToDelete.isEmpty() && hoursToDelete.isEmpty()
+                && hoursToInsert.isEmpty();
+    }
+
+    // Getters
+    public List<RestaurantData> getRestaurantsToInsert() { return restaurantsToInsert; }
+
+    public List<RestaurantData> getRestaurantsToUpdate() { return restaurantsToUpdate; }
+
+    public List<String> getRestaurantsToDelete() { return restaurantsToDelete; }
+
+    public List<String> getHoursToDelete() { return hoursToDelete; }
+
+    public List<HoursData> getHoursToInsert() { return hoursToInsert; }
+}
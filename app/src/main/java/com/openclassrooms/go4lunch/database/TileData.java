@@ -0,0 +1,35 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} tile_table table.
+ * Each row describes a map tile (identified by its geohash) for which a search request
+ * result is stored in database.
+ */
+@Entity(tableName = "tile_table")
+public class TileData {
+
+    @PrimaryKey @NonNull @ColumnInfo(name = "geohash") private final String geohash;
+
+    @ColumnInfo(name = "fetched_at") private final long fetchedAt;
+
+    @ColumnInfo(name = "last_access") private final long lastAccess;
+
+    public TileData(@NonNull String geohash, long fetchedAt, long lastAccess) {
+        this.geohash = geohash;
+        this.fetchedAt = fetchedAt;
+        this.lastAccess = lastAccess;
+    }
+
+    // Getters
+    @NonNull
+    public String getGeohash() { return geohash; }
+
+    public long getFetchedAt() { return fetchedAt; }
+
+    public long getLastAccess() { return lastAccess; }
+}
@@ -0,0 +1,32 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} tile_restaurant_table table.
+ * Each row associates a tile of the tile_table table with a restaurant of the
+ * restaurant_table table (a restaurant can belong to several tiles).
+ */
+@Entity(tableName = "tile_restaurant_table", primaryKeys = {"geohash", "place_id"},
+        indices = {@Index(value = "place_id")})
+public class TileRestaurantData {
+
+    @NonNull @ColumnInfo(name = "geohash") private final String geohash;
+
+    @NonNull @ColumnInfo(name = "place_id") private final String placeId;
+
+    public TileRestaurantData(@NonNull String geohash, @NonNull String placeId) {
+        this.geohash = geohash;
+        this.placeId = placeId;
+    }
+
+    // Getters
+    @NonNull
+    public String getGeohash() { return geohash; }
+
+    @NonNull
+    public String getPlaceId() { return placeId; }
+}
@@ -0,0 +1,57 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in a row of the @{@link Go4LunchDatabase} workmates_table table.
+ * Each row is a copy of a workmate document of the Firestore database collection, with the
+ * server time of its last update, if known.
+ */
+@Entity(tableName = "workmates_table")
+public class WorkmateData {
+
+    @PrimaryKey @NonNull @ColumnInfo(name = "document_id") private final String documentId;
+
+    @ColumnInfo(name = "name") private final String name;
+
+    @ColumnInfo(name = "email") private final String email;
+
+    @ColumnInfo(name = "restaurant_selected_id") private final String restaurantSelectedId;
+
+    @ColumnInfo(name = "photo_url") private final String photoUrl;
+
+    @ColumnInfo(name = "restaurant_name") private final String restaurantName;
+
+    @ColumnInfo(name = "updated_at") private final long updatedAt;
+
+    public WorkmateData(@NonNull String documentId, String name, String email,
+                        String restaurantSelectedId, String photoUrl, String restaurantName,
+                        long updatedAt) {
+        this.documentId = documentId;
+        this.name = name;
+        this.email = email;
+        this.restaurantSelectedId = restaurantSelectedId;
+        this.photoUrl = photoUrl;
+        this.restaurantName = restaurantName;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    @NonNull
+    public String getDocumentId() { return documentId; }
+
+    public String getName() { return name; }
+
+    public String getEmail() { return email; }
+
+    public String getRestaurantSelectedId() { return restaurantSelectedId; }
+
+    public String getPhotoUrl() { return photoUrl; }
+
+    public String getRestaurantName() { return restaurantName; }
+
+    public long getUpdatedAt() { return updatedAt; }
+}
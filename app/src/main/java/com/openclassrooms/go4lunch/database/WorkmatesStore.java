@@ -0,0 +1,64 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.WorkmatesDao;
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.service.workmates.WorkmateChange;
+import com.openclassrooms.go4lunch.service.workmates.WorkmatesCache;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @{@link WorkmatesCache} implementation storing the workmates in the @{@link Go4LunchDatabase}
+ * workmates_table table, and the last-synced marker in workmates_sync_table.
+ * Must be used outside the main thread.
+ */
+public class WorkmatesStore implements WorkmatesCache {
+
+    private final WorkmatesDao workmatesDao;
+
+    public WorkmatesStore(WorkmatesDao workmatesDao) {
+        this.workmatesDao = workmatesDao;
+    }
+
+    @Override
+    public List<WorkmateChange> loadWorkmates() {
+        List<WorkmateData> listWorkmatesData = workmatesDao.getAllWorkmatesData();
+        List<WorkmateChange> changes = new ArrayList<>(listWorkmatesData.size());
+        for (int i = 0; i < listWorkmatesData.size(); i++) {
+            WorkmateData data = listWorkmatesData.get(i);
+            Workmate workmate = new Workmate(data.getName(), data.getEmail(),
+                                             data.getRestaurantSelectedId(), data.getPhotoUrl(),
+                                             data.getRestaurantName());
+            changes.add(new WorkmateChange(WorkmateChange.Type.ADDED, data.getDocumentId(),
+                                           workmate, null, data.getUpdatedAt()));
+        }
+        return changes;
+    }
+
+    @Override
+    public long getLastSyncedAt() {
+        WorkmatesSyncData workmatesSyncData =
+                workmatesDao.getWorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID);
+        return workmatesSyncData != null ? workmatesSyncData.getLastSyncedAt() : 0L;
+    }
+
+    @Override
+    public void saveChanges(List<WorkmateChange> changes, long lastSyncedAt) {
+        List<WorkmateData> listWorkmatesData = new ArrayList<>();
+        List<String> removedDocumentIds = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            WorkmateChange change = changes.get(i);
+            if (change.getType() == WorkmateChange.Type.REMOVED) {
+                removedDocumentIds.add(change.getDocumentId());
+            } else {
+                Workmate workmate = change.getWorkmate();
+                listWorkmatesData.add(new WorkmateData(change.getDocumentId(), workmate.getName(),
+                        workmate.getEmail(), workmate.getRestaurantSelectedID(),
+                        workmate.getPhotoUrl(), workmate.getRestaurantName(),
+                        change.getUpdatedAt()));
+            }
+        }
+        workmatesDao.applyWorkmatesChanges(listWorkmatesData, removedDocumentIds,
+                new WorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID, lastSyncedAt));
+    }
+}
@@ -0,0 +1,31 @@
+package com.openclassrooms.go4lunch.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Data class to store in the single row of the @{@link Go4LunchDatabase} workmates_sync_table
+ * table. This row contains the last-synced marker of workmates_table : the most recent server
+ * update time of the workmate documents already stored.
+ */
+@Entity(tableName = "workmates_sync_table")
+public class WorkmatesSyncData {
+
+    // Only one marker is stored
+    public static final int CURRENT_SYNC_ID = 0;
+
+    @PrimaryKey @ColumnInfo(name = "sync_id") private final int syncId;
+
+    @ColumnInfo(name = "last_synced_at") private final long lastSyncedAt;
+
+    public WorkmatesSyncData(int syncId, long lastSyncedAt) {
+        this.syncId = syncId;
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    // Getters
+    public int getSyncId() { return syncId; }
+
+    public long getLastSyncedAt() { return lastSyncedAt; }
+}
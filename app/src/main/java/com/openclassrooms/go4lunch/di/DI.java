@@ -3,11 +3,22 @@ package com.openclassrooms.go4lunch.di;
 import android.content.Context;
 import com.openclassrooms.go4lunch.BuildConfig;
 import com.openclassrooms.go4lunch.database.Go4LunchDatabase;
+import com.openclassrooms.go4lunch.service.network.CappedBodyLoggingInterceptor;
+import com.openclassrooms.go4lunch.service.network.NetworkMetricsInterceptor;
+import com.openclassrooms.go4lunch.service.network.NetworkMetricsRegistry;
+import com.openclassrooms.go4lunch.service.places.response.StreamingResponseConverterFactory;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
+import java.io.File;
+import java.util.Arrays;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
@@ -18,6 +29,23 @@ import retrofit2.converter.gson.GsonConverterFactory;
  */
 public class DI {
 
+    // Network stack parameters
+    public static final int MAX_IDLE_CONNECTIONS = 5;
+    public static final long KEEP_ALIVE_DURATION_MINUTES = 5L;
+    public static final int MAX_REQUESTS = 16;
+    public static final int MAX_REQUESTS_PER_HOST = 8;
+    public static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024; // 10 MB
+
+    // Process-wide network stack
+    private static final NetworkMetricsRegistry NETWORK_METRICS_REGISTRY =
+                  new NetworkMetricsRegistry(NetworkMetricsRegistry.DEFAULT_MAX_NB_RECORDS);
+    private static volatile OkHttpClient httpClient;
+    private static volatile Retrofit retrofit;
+    private static File httpCacheDirectory;
+
+    // Process-wide scheduler of background tasks
+    private static volatile TaskScheduler taskScheduler;
+
     /**
      * Returns an instance of the application database.
      * @param context : Context
@@ -29,24 +57,102 @@ public class DI {
 
     /**
      * Provides an instance of an Executor object to use to execute Runnable tasks outside
-     * the main thread.
+     * the main thread, one at a time and in order, on the shared disk I/O pool of the
+     * TaskScheduler instance (no thread is created for each Executor).
      * @return : Executor object
      */
     public static Executor provideExecutor() {
-        return Executors.newSingleThreadExecutor();
+        return provideTaskScheduler().newSerialExecutor(TaskScheduler.Pool.DISK,
+                                                        TaskScheduler.Priority.NORMAL);
+    }
+
+    /**
+     * Provides the process-wide TaskScheduler instance, lazily initialized. Its network,
+     * disk and CPU pools are shared by all components.
+     * @return : TaskScheduler instance
+     */
+    public static TaskScheduler provideTaskScheduler() {
+        TaskScheduler scheduler = taskScheduler;
+        if (scheduler == null) {
+            synchronized (DI.class) {
+                scheduler = taskScheduler;
+                if (scheduler == null) {
+                    scheduler = TaskScheduler.create();
+                    taskScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
     }
 
+    /**
+     * Defines the directory used by the HTTP response cache. Must be called before the first
+     * call to provideHttpClient() or provideRetrofit(), otherwise responses are not cached.
+     * @param directory : Cache directory
+     */
+    public static synchronized void setHttpCacheDirectory(File directory) {
+        if (httpClient == null) httpCacheDirectory = directory;
+    }
 
     /**
-     * Provides an instance of Retrofit.
+     * Provides the process-wide OkHttpClient instance, lazily initialized. Its connection pool,
+     * dispatcher and response cache are shared by all services, so that open connections
+     * (and their TLS sessions) are reused between requests.
+     * @return : OkHttpClient instance
+     */
+    public static OkHttpClient provideHttpClient() {
+        OkHttpClient client = httpClient;
+        if (client == null) {
+            synchronized (DI.class) {
+                client = httpClient;
+                if (client == null) {
+                    client = buildHttpClient();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Provides the registry storing the metrics of all HTTP calls sent by the
+     * OkHttpClient instance.
+     * @return : NetworkMetricsRegistry instance
+     */
+    public static NetworkMetricsRegistry provideNetworkMetricsRegistry() {
+        return NETWORK_METRICS_REGISTRY;
+    }
+
+    /**
+     * Provides the process-wide Retrofit instance, lazily initialized.
      * @return : Retrofit instance
      */
     public static Retrofit provideRetrofit() {
+        Retrofit instance = retrofit;
+        if (instance == null) {
+            synchronized (DI.class) {
+                instance = retrofit;
+                if (instance == null) {
+                    instance = new Retrofit.Builder()
+                            .baseUrl("https://maps.googleapis.com/maps/api/place/")
+                            .client(provideHttpClient()) // Client HTTP
+                            // Places responses are decoded by the streaming parser,
+                            // other types by Gson
+                            .addConverterFactory(StreamingResponseConverterFactory.create())
+                            .addConverterFactory(GsonConverterFactory.create())
+                            .build();
+                    retrofit = instance;
+                }
+            }
+        }
+        return instance;
+    }
 
-        // Define HTTP traffic interceptor
-        HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
+    /**
+     * Builds the OkHttpClient instance used by all services.
+     * @return : OkHttpClient instance
+     */
+    private static OkHttpClient buildHttpClient() {
         // Add interceptor
         Interceptor requestInterceptor = chain -> {
             Request original = chain.request();
@@ -65,16 +171,29 @@ public class DI {
             return chain.proceed(request);
         };
 
+        // Requests are all sent to the same host : allow as many concurrent requests to this
+        // host as the Place Details fetcher can send
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
         // Define HTTP client
-        OkHttpClient httpClient = new OkHttpClient.Builder()
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS,
+                                                   KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
                 .addInterceptor(requestInterceptor)
-                .addInterceptor(interceptor)
-                .build();
-
-        return new Retrofit.Builder()
-                .baseUrl("https://maps.googleapis.com/maps/api/place/")
-                .client(httpClient) // Client HTTP
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+                // Network interceptor : responses served by the HTTP cache are not recorded
+                .addNetworkInterceptor(new NetworkMetricsInterceptor(NETWORK_METRICS_REGISTRY));
+        // Log HTTP traffic (with truncated bodies) in debug builds only
+        if (BuildConfig.DEBUG) {
+            builder.addInterceptor(new CappedBodyLoggingInterceptor(
+                    HttpLoggingInterceptor.Logger.DEFAULT,
+                    CappedBodyLoggingInterceptor.DEFAULT_MAX_BODY_BYTES));
+        }
+        if (httpCacheDirectory != null)
+            builder.cache(new Cache(httpCacheDirectory, HTTP_CACHE_SIZE));
+        return builder.build();
     }
 }
@@ -21,7 +21,7 @@ public class Restaurant {
 
     private final double longitude;
 
-    private OpeningAndClosingHours openingAndClosingHours;
+    private WeekSchedule weekSchedule;
 
     private String phoneNumber;
 
@@ -48,6 +48,18 @@ public class Restaurant {
         this.selected = false;
     }
 
+    public Restaurant(@NonNull Restaurant restaurant) {
+        this(restaurant.placeId, restaurant.name, restaurant.address, restaurant.latitude,
+             restaurant.longitude, restaurant.rating);
+        this.weekSchedule = restaurant.weekSchedule;
+        this.phoneNumber = restaurant.phoneNumber;
+        this.websiteUri = restaurant.websiteUri;
+        this.photoReference = restaurant.photoReference;
+        this.photoHeight = restaurant.photoHeight;
+        this.photoWidth = restaurant.photoWidth;
+        this.selected = restaurant.selected;
+    }
+
     // Getter methods
     public String getPlaceId() { return placeId; }
 
@@ -57,7 +69,7 @@ public class Restaurant {
     @NonNull
     public String getAddress() { return address; }
 
-    public OpeningAndClosingHours getOpeningAndClosingHours() { return openingAndClosingHours; }
+    public WeekSchedule getWeekSchedule() { return weekSchedule; }
 
     public double getLatitude() {
         return latitude;
@@ -87,9 +99,7 @@ public class Restaurant {
         this.name = name;
     }
 
-    public void setOpeningAndClosingHours(OpeningAndClosingHours openingAndClosingHours) {
-        this.openingAndClosingHours = openingAndClosingHours;
-    }
+    public void setWeekSchedule(WeekSchedule weekSchedule) { this.weekSchedule = weekSchedule; }
 
     public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
 
@@ -0,0 +1,240 @@
+package com.openclassrooms.go4lunch.model;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Immutable model class defining the opening hours of a restaurant over a week, as sorted
+ * [opening, closing) intervals of minutes since Sunday 00:00 (same day numbering as the
+ * Place Details API "periods" field).
+ * Periods spanning over midnight are stored as is, and a period spanning over the end of the week
+ * is split in two intervals. Overlapping periods are merged, so that all queries are binary
+ * searches in a single int array, without allocation.
+ */
+public final class WeekSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    // Schedule without any period
+    public static final WeekSchedule EMPTY = new WeekSchedule(new int[0]);
+
+    // Opening minutes at even indexes, closing minutes at odd indexes, strictly increasing
+    // in [0, MINUTES_PER_WEEK]
+    private final int[] bounds;
+
+    // Indicates if the last interval of the week continues with the first one
+    private final boolean wrapping;
+
+    private WeekSchedule(int[] bounds) {
+        this.bounds = bounds;
+        this.wrapping = bounds.length > 0 && bounds[0] == 0
+                        && bounds[bounds.length - 1] == MINUTES_PER_WEEK;
+    }
+
+    /**
+     * Converts a day of the week and an "HHMM" time into a minute of the week.
+     * @param day : Day of the week, from 0 (Sunday) to 6 (Saturday)
+     * @param time : Time - format "HHMM"
+     * @return : Minute of the week, or -1 if the values are invalid
+     */
+    public static int getMinuteOfWeek(int day, String time) {
+        if (day < 0 || day > 6 || time == null || time.length() != 4) return -1;
+        int hour = 0;
+        int minutes = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = time.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            if (i < 2) hour = hour * 10 + digit;
+            else minutes = minutes * 10 + digit;
+        }
+        if (hour > 23 || minutes > 59) return -1;
+        return day * MINUTES_PER_DAY + hour * 60 + minutes;
+    }
+
+    /**
+     * Converts a time into a minute of the week.
+     * @param calendar : Time to convert
+     * @return : Minute of the week
+     */
+    public static int getMinuteOfWeek(Calendar calendar) {
+        return (calendar.get(Calendar.DAY_OF_WEEK) - Calendar.SUNDAY) * MINUTES_PER_DAY
+               + calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+    }
+
+    /**
+     * Indicates if the schedule contains no period (no opening hours available).
+     * @return : true if empty
+     */
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * Indicates if the restaurant is open at a given time.
+     * @param minuteOfWeek : Minute of the week
+     * @return : true if open
+     */
+    public boolean isOpenAt(int minuteOfWeek) {
+        // Odd number of bounds before or at this minute : inside an interval
+        return (upperBound(normalize(minuteOfWeek)) & 1) == 1;
+    }
+
+    /**
+     * Returns the next opening or closing time strictly after a given time, over the next week.
+     * @param minuteOfWeek : Minute of the week
+     * @return : Minute of the week of the next transition (lower than minuteOfWeek if it occurs
+     *           next week), or -1 if the restaurant is always open or never open
+     */
+    public int nextTransitionAfter(int minuteOfWeek) {
+        for (int i = upperBound(normalize(minuteOfWeek)); i < bounds.length; i++) {
+            if (bounds[i] < MINUTES_PER_WEEK) return bounds[i];
+            // Closing at the end of the week
+            if (!wrapping) return 0;
+        }
+        // Next week
+        for (int i = 0; i < bounds.length; i++) {
+            if (!wrapping) return bounds[i];
+            // End and start of the week inside the same period
+            if (bounds[i] > 0 && bounds[i] < MINUTES_PER_WEEK) return bounds[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Indicates if the restaurant is open at a given time and closes in less than a given delay.
+     * @param minuteOfWeek : Minute of the week
+     * @param minutes : Delay in minutes
+     * @return : true if closing within the delay
+     */
+    public boolean closesWithin(int minuteOfWeek, int minutes) {
+        if (!isOpenAt(minuteOfWeek)) return false;
+        int closing = nextTransitionAfter(minuteOfWeek);
+        return closing >= 0 && getDelay(minuteOfWeek, closing) < minutes;
+    }
+
+    /**
+     * Returns the number of minutes from a time to a following time, over the next week.
+     * @param fromMinuteOfWeek : Starting minute of the week
+     * @param toMinuteOfWeek : Following minute of the week
+     * @return : Delay in minutes, in ]0, MINUTES_PER_WEEK]
+     */
+    public static int getDelay(int fromMinuteOfWeek, int toMinuteOfWeek) {
+        int delay = normalize(toMinuteOfWeek) - normalize(fromMinuteOfWeek);
+        return delay <= 0 ? delay + MINUTES_PER_WEEK : delay;
+    }
+
+    /**
+     * Returns the number of bounds lower than or equal to a minute.
+     * @param minuteOfWeek : Minute of the week, in [0, MINUTES_PER_WEEK[
+     * @return : Index of the first bound greater than this minute
+     */
+    private int upperBound(int minuteOfWeek) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[middle] <= minuteOfWeek) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private static int normalize(int minuteOfWeek) {
+        int minute = minuteOfWeek % MINUTES_PER_WEEK;
+        return minute < 0 ? minute + MINUTES_PER_WEEK : minute;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        return Arrays.equals(bounds, ((WeekSchedule) object).bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    /**
+     * Class collecting the opening periods of a restaurant, to build a WeekSchedule.
+     */
+    public static class Builder {
+
+        // [opening, closing) intervals, with closing > opening
+        private int[] intervals = new int[16];
+
+        private int nbValues;
+
+        /**
+         * Adds an opening period. A closing time lower than or equal to the opening time
+         * closes the following week.
+         * @param openMinuteOfWeek : Opening minute of the week
+         * @param closeMinuteOfWeek : Closing minute of the week
+         * @return : Builder
+         */
+        public Builder addPeriod(int openMinuteOfWeek, int closeMinuteOfWeek) {
+            int open = normalize(openMinuteOfWeek);
+            int close = normalize(closeMinuteOfWeek);
+            if (close > open) {
+                addInterval(open, close);
+            } else {
+                // Over the end of the week
+                addInterval(open, MINUTES_PER_WEEK);
+                if (close > 0) addInterval(0, close);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a period open during the whole week.
+         * @return : Builder
+         */
+        public Builder addAlwaysOpen() {
+            addInterval(0, MINUTES_PER_WEEK);
+            return this;
+        }
+
+        private void addInterval(int open, int close) {
+            if (nbValues + 2 > intervals.length)
+                intervals = Arrays.copyOf(intervals, intervals.length * 2);
+            intervals[nbValues++] = open;
+            intervals[nbValues++] = close;
+        }
+
+        /**
+         * Sorts and merges the collected periods.
+         * @return : WeekSchedule object
+         */
+        public WeekSchedule build() {
+            if (nbValues == 0) return EMPTY;
+            // Insertion sort by opening time : a week contains a few periods only
+            for (int i = 2; i < nbValues; i += 2) {
+                int open = intervals[i];
+                int close = intervals[i + 1];
+                int j = i - 2;
+                while (j >= 0 && intervals[j] > open) {
+                    intervals[j + 2] = intervals[j];
+                    intervals[j + 3] = intervals[j + 1];
+                    j -= 2;
+                }
+                intervals[j + 2] = open;
+                intervals[j + 3] = close;
+            }
+            // Merge overlapping or contiguous intervals
+            int[] merged = new int[nbValues];
+            int nbMerged = 0;
+            for (int i = 0; i < nbValues; i += 2) {
+                if (nbMerged > 0 && intervals[i] <= merged[nbMerged - 1]) {
+                    merged[nbMerged - 1] = Math.max(merged[nbMerged - 1], intervals[i + 1]);
+                } else {
+                    merged[nbMerged++] = intervals[i];
+                    merged[nbMerged++] = intervals[i + 1];
+                }
+            }
+            return new WeekSchedule(Arrays.copyOf(merged, nbMerged));
+        }
+    }
+}
@@ -44,7 +44,6 @@ public class Workmate {
 
     public String getRestaurantName() { return restaurantName; }
 
-    @VisibleForTesting
     public String getEmail() {
         return email;
     }
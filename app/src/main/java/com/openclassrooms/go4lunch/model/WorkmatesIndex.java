@@ -0,0 +1,140 @@
+package com.openclassrooms.go4lunch.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of @{@link Workmate} objects by selected restaurant, answering in O(1) which
+ * workmates are going to a restaurant.
+ * The index is maintained incrementally : each added, modified or removed workmate only updates
+ * the entries of its old and new restaurants. The list of workmates of a restaurant is never
+ * modified once returned (a new list is created for each change), so it can be read from any
+ * thread.
+ */
+public class WorkmatesIndex {
+
+    // Workmates by email
+    private final Map<String, Workmate> workmatesByEmail = new HashMap<>();
+
+    // Workmates by selected restaurant id
+    private final Map<String, List<Workmate>> workmatesByRestaurant = new HashMap<>();
+
+    /**
+     * Adds a workmate, or replaces the workmate with the same email.
+     * @param workmate : Workmate to add
+     */
+    public synchronized void put(Workmate workmate) {
+        Workmate oldWorkmate = workmatesByEmail.put(workmate.getEmail(), workmate);
+        if (oldWorkmate != null) removeFromRestaurant(oldWorkmate);
+        addToRestaurant(workmate);
+    }
+
+    /**
+     * Removes a workmate.
+     * @param email : Email of the workmate to remove
+     */
+    public synchronized void remove(String email) {
+        Workmate oldWorkmate = workmatesByEmail.remove(email);
+        if (oldWorkmate != null) removeFromRestaurant(oldWorkmate);
+    }
+
+    /**
+     * Updates the index with a new list of all workmates : only workmates added, modified or
+     * removed since the previous list are applied.
+     * @param listWorkmates : List of all workmates
+     * @return : Number of changes applied
+     */
+    public synchronized int update(List<Workmate> listWorkmates) {
+        int nbChanges = 0;
+        Map<String, Workmate> removedWorkmates = new HashMap<>(workmatesByEmail);
+        for (int i = 0; i < listWorkmates.size(); i++) {
+            Workmate workmate = listWorkmates.get(i);
+            Workmate oldWorkmate = removedWorkmates.remove(workmate.getEmail());
+            // Unchanged workmates are kept as they are
+            if (oldWorkmate == null || !isSameSelection(oldWorkmate, workmate)) {
+                put(workmate);
+                nbChanges++;
+            }
+        }
+        for (String email : removedWorkmates.keySet()) {
+            remove(email);
+            nbChanges++;
+        }
+        return nbChanges;
+    }
+
+    /**
+     * Returns the workmates going to a restaurant.
+     * @param restaurantId : Id of the restaurant
+     * @return : Unmodifiable list of workmates, empty if no workmate selected this restaurant
+     */
+    public synchronized List<Workmate> getWorkmates(String restaurantId) {
+        List<Workmate> workmates = workmatesByRestaurant.get(restaurantId);
+        return workmates == null ? Collections.emptyList() : workmates;
+    }
+
+    /**
+     * Returns the number of workmates going to a restaurant.
+     * @param restaurantId : Id of the restaurant
+     * @return : Number of workmates
+     */
+    public synchronized int getNbWorkmates(String restaurantId) {
+        List<Workmate> workmates = workmatesByRestaurant.get(restaurantId);
+        return workmates == null ? 0 : workmates.size();
+    }
+
+    /**
+     * Indicates if at least one workmate selected a restaurant.
+     * @param restaurantId : Id of the restaurant
+     * @return : true if the restaurant is selected
+     */
+    public boolean isSelected(String restaurantId) {
+        return getNbWorkmates(restaurantId) > 0;
+    }
+
+    /**
+     * Returns the number of workmates in the index.
+     * @return : Number of workmates
+     */
+    public synchronized int size() {
+        return workmatesByEmail.size();
+    }
+
+    /**
+     * Checks if two workmates are indexed and displayed identically.
+     * @param oldWorkmate : Old workmate
+     * @param newWorkmate : New workmate
+     * @return : true if the selected restaurant, name and photo are the same
+     */
+    private static boolean isSameSelection(Workmate oldWorkmate, Workmate newWorkmate) {
+        return Objects.equals(oldWorkmate.getRestaurantSelectedID(),
+                              newWorkmate.getRestaurantSelectedID())
+               && Objects.equals(oldWorkmate.getRestaurantName(), newWorkmate.getRestaurantName())
+               && Objects.equals(oldWorkmate.getName(), newWorkmate.getName())
+               && Objects.equals(oldWorkmate.getPhotoUrl(), newWorkmate.getPhotoUrl());
+    }
+
+    private void addToRestaurant(Workmate workmate) {
+        String restaurantId = workmate.getRestaurantSelectedID();
+        if (restaurantId == null || restaurantId.isEmpty()) return;
+        List<Workmate> oldWorkmates = workmatesByRestaurant.get(restaurantId);
+        List<Workmate> newWorkmates = oldWorkmates == null ? new ArrayList<>()
+                                                           : new ArrayList<>(oldWorkmates);
+        newWorkmates.add(workmate);
+        workmatesByRestaurant.put(restaurantId, Collections.unmodifiableList(newWorkmates));
+    }
+
+    private void removeFromRestaurant(Workmate workmate) {
+        String restaurantId = workmate.getRestaurantSelectedID();
+        List<Workmate> oldWorkmates = workmatesByRestaurant.get(restaurantId);
+        if (oldWorkmates == null) return;
+        List<Workmate> newWorkmates = new ArrayList<>(oldWorkmates);
+        newWorkmates.remove(workmate);
+        if (newWorkmates.isEmpty()) workmatesByRestaurant.remove(restaurantId);
+        else workmatesByRestaurant.put(restaurantId, Collections.unmodifiableList(newWorkmates));
+    }
+}
@@ -1,37 +1,52 @@
 package com.openclassrooms.go4lunch.repositories;
 
 import android.Manifest;
-import android.content.Context;
-import android.content.SharedPreferences;
-import android.location.Location;
 import android.net.Uri;
 import androidx.annotation.RequiresPermission;
 import androidx.lifecycle.LiveData;
-import com.google.android.gms.location.FusedLocationProviderClient;
-import com.google.android.gms.location.LocationRequest;
 import com.google.android.libraries.places.api.net.PlacesClient;
+import com.openclassrooms.go4lunch.dao.DetailsDao;
 import com.openclassrooms.go4lunch.dao.HoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantAndHoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantDao;
+import com.openclassrooms.go4lunch.dao.RestaurantSearchDao;
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import com.openclassrooms.go4lunch.dao.TileDao;
+import com.openclassrooms.go4lunch.database.DetailsCache;
+import com.openclassrooms.go4lunch.database.DetailsData;
 import com.openclassrooms.go4lunch.database.HoursData;
 import com.openclassrooms.go4lunch.database.RestaurantAndHoursData;
+import com.openclassrooms.go4lunch.di.DI;
 import com.openclassrooms.go4lunch.model.Restaurant;
 import com.openclassrooms.go4lunch.database.RestaurantData;
+import com.openclassrooms.go4lunch.database.SearchSessionStore;
+import com.openclassrooms.go4lunch.database.TileData;
+import com.openclassrooms.go4lunch.service.autocomplete.AutocompletePipeline;
 import com.openclassrooms.go4lunch.service.autocomplete.AutocompleteService;
 import com.openclassrooms.go4lunch.service.autocomplete.ServiceAutocompleteCallback;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
 import com.openclassrooms.go4lunch.service.places.ListRestaurantsService;
+import com.openclassrooms.go4lunch.service.places.PlacesPagingPipeline;
 import com.openclassrooms.go4lunch.service.places.ServiceDetailsCallback;
+import com.openclassrooms.go4lunch.service.places.ServiceDetailsCompletionCallback;
 import com.openclassrooms.go4lunch.service.places.ServicePlacesCallback;
+import com.openclassrooms.go4lunch.service.places.ServiceRestaurantCallback;
+import com.openclassrooms.go4lunch.service.places.ServiceRestaurantDetailsCallback;
 import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
 import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
 import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import com.openclassrooms.go4lunch.ui.fragments.map.MapViewFragmentCallback;
 import com.openclassrooms.go4lunch.utils.AppInfo;
 import com.openclassrooms.go4lunch.utils.DataConverters;
+import com.openclassrooms.go4lunch.utils.Geohash;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository class to communicate with the @{@link ListRestaurantsService} service class.
@@ -42,151 +57,342 @@ public class PlacesRepository {
     private final ListRestaurantsService listRestaurantsServices;
     private final AutocompleteService autocompleteService;
 
+    // Shared user location
+    private final LocationSnapshotProvider locationSnapshotProvider;
+
     // Dao
     private final RestaurantDao restaurantDao;
     private final HoursDao hoursDao;
     private final RestaurantAndHoursDao restaurantAndHoursDao;
+    private final RestaurantSearchDao restaurantSearchDao;
+    private final TileDao tileDao;
+
+    // Cache of Place Details responses
+    private final DetailsCache detailsCache;
+
+    // Tile cache parameters : a search result is stored for each visited tile
+    public static final int TILE_GEOHASH_PRECISION = 6; // Tile of ~1.2 km x 0.6 km
+    public static final long TILE_TIME_TO_LIVE = 24 * 60 * 60 * 1000L; // 24h
+    public static final int MAX_NB_TILES = 20;
 
-    // SharedPreferences
-    private final SharedPreferences[] sharedPrefNextPageToken;
-    private SharedPreferences.Editor editor;
+    // Prefetches the next pages of the last search request
+    private final PlacesPagingPipeline pagingPipeline;
+
+    // Record of the last search request (query, location, page tokens)
+    private final SearchSessionStore searchSessionStore;
 
     public PlacesRepository(RestaurantDao restaurantDao,
                             HoursDao hoursDao,
                             RestaurantAndHoursDao restaurantAndHoursDao,
-                            Context context,
+                            RestaurantSearchDao restaurantSearchDao,
+                            TileDao tileDao,
+                            DetailsDao detailsDao,
+                            SearchSessionDao searchSessionDao,
                             PlacesClient placesClient,
-                            FusedLocationProviderClient locationClient) {
+                            LocationSnapshotProvider locationSnapshotProvider) {
         // Initialize services
+        this.locationSnapshotProvider = locationSnapshotProvider;
         this.listRestaurantsServices = new ListRestaurantsService();
-        this.autocompleteService = new AutocompleteService(placesClient, locationClient);
+        this.autocompleteService = new AutocompleteService(placesClient,
+                                                           locationSnapshotProvider);
 
         // Initialize DAOs
         this.restaurantDao = restaurantDao;
         this.hoursDao = hoursDao;
         this.restaurantAndHoursDao = restaurantAndHoursDao;
+        this.restaurantSearchDao = restaurantSearchDao;
+        this.tileDao = tileDao;
+        this.detailsCache = new DetailsCache(detailsDao, DetailsCache.DEFAULT_TIME_TO_LIVE,
+                                             DetailsCache.DEFAULT_MAX_STALE_AGE);
 
-        // Initialize parameters for SharedPreferences
-        sharedPrefNextPageToken = new SharedPreferences[2];
-        sharedPrefNextPageToken[0] = context.getSharedPreferences(AppInfo.FILE_PREF_NEXT_PAGE_TOKEN,
-                                                                              Context.MODE_PRIVATE);
-        sharedPrefNextPageToken[1] = context.getSharedPreferences(AppInfo.FILE_PREF_NEXT_PAGE_TOKEN,
-                                                                              Context.MODE_PRIVATE);
+        // Initialize paging pipeline, recording each prefetched page
+        this.searchSessionStore = new SearchSessionStore(searchSessionDao);
+        this.pagingPipeline = new PlacesPagingPipeline(
+                listRestaurantsServices::getNextPlacesNearby,
+                response -> searchSessionStore.addPage(response.getNextPageToken(),
+                                                       System.currentTimeMillis()),
+                DI.provideTaskScheduler().getExecutor(TaskScheduler.Pool.NETWORK,
+                                                      TaskScheduler.Priority.LOW),
+                PlacesPagingPipeline.DEFAULT_TOKEN_ACTIVATION_DELAY);
     }
 
     // Methods to access ListRestaurantsService
     /**
      * Accesses the findPlacesNearby() method of the @{@link ListRestaurantsService } service class.
-     * @param location : Info location of the user
+     * The search session is recorded, and the next pages of results are then prefetched in
+     * background by the paging pipeline.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
      * @param type : Type of places to search
      * @param callback : Callback interface
      * @throws IOException : Exception thrown by findPlacesNearby() method of the @{@link ListRestaurantsService }
      *                       service class
      */
-    public void findPlacesNearby(String location, String type, ServicePlacesCallback callback)
-            throws IOException {
-        PlaceResponse response = listRestaurantsServices.findPlacesNearby(location, type);
+    public void findPlacesNearby(double latitude, double longitude, String type,
+                                 ServicePlacesCallback callback) throws IOException {
+        PlaceResponse response = listRestaurantsServices.findPlacesNearby(
+                                                              latitude + "," + longitude, type);
         for (int i = 0; i < response.results.size(); i++) {
             // Initialize new restaurant object
             Restaurant restaurant = initializeRestaurantObject(response.results.get(i));
 
             // Add restaurant to the list
             listRestaurantsServices.updateListRestaurants(restaurant);
-
-            // Save next page token
-            if (response.next_page_token != null) {
-                editor = sharedPrefNextPageToken[0].edit();
-                editor.putString(AppInfo.PREF_FIRST_NEXT_PAGE_TOKEN_KEY,
-                                response.next_page_token)
-                            .apply();
-            }
         }
+        // Record search session and prefetch next pages
+        searchSessionStore.startSession(type, latitude, longitude, response.next_page_token,
+                                        System.currentTimeMillis());
+        pagingPipeline.start(response.next_page_token);
         callback.onPlacesAvailable(listRestaurantsServices.getListRestaurants());
     }
 
     /**
-     * Accesses the getNextPlacesNearby() method of the @{@link ListRestaurantsService } service class.
-     * @param callback : ServicePlacesCallback callback interface to send back results
-     * @param listRestaurants : List of existing restaurants
-     * @param numNextPageToken : Token to request next places to load
-     * @throws IOException : Exception
+     * Gets the next page of places of the last search request, to append to the list of
+     * restaurants. The page is sent back immediately if it has already been prefetched by the
+     * paging pipeline, or as soon as it is received otherwise.
+     * @param callback : ServicePlacesCallback callback interface to send back the restaurants
+     *                   of the next page only
      */
-    public void getNextPlacesNearby(ServicePlacesCallback callback, List<Restaurant> listRestaurants,
-                                    int numNextPageToken) throws IOException {
-        String nextPageToken;
-        nextPageToken = sharedPrefNextPageToken[numNextPageToken].getString(
-                                              AppInfo.PREF_FIRST_NEXT_PAGE_TOKEN_KEY, null);
-        PlaceResponse response = listRestaurantsServices.getNextPlacesNearby(nextPageToken);
-
-        for (int i = 0; i < response.getResults().size(); i++) {
-            // Initialize new restaurant object
-            Restaurant restaurant = initializeRestaurantObject(response.getResults().get(i));
-
-            // Add restaurant to the list
-            listRestaurants.add(restaurant);
-
-            // Save next page token
-            if (response.getNextPageToken() != null) {
-                switch (numNextPageToken) {
-                    case 0:
-                        editor = sharedPrefNextPageToken[0].edit();
-                        editor.putString(AppInfo.PREF_FIRST_NEXT_PAGE_TOKEN_KEY,
-                                         response.getNextPageToken()).apply();
-                        break;
-                    case 1:
-                        editor = sharedPrefNextPageToken[1].edit();
-                        editor.putString(AppInfo.PREF_SECOND_NEXT_PAGE_TOKEN_KEY,
-                                         response.getNextPageToken()).apply();
-                        break;
-                    default :
-                        break;
+    public void getNextPlacesNearby(ServicePlacesCallback callback) {
+        pagingPipeline.takeNextPage(results -> {
+            List<Restaurant> listRestaurants = new ArrayList<>();
+            if (results != null) {
+                for (int i = 0; i < results.size(); i++) {
+                    listRestaurants.add(initializeRestaurantObject(results.get(i)));
                 }
             }
+            callback.onPlacesAvailable(listRestaurants);
+        });
+    }
+
+    /**
+     * Indicates if another page of places can be appended to the list of restaurants of the
+     * last search request.
+     * @return : true if a next page is available
+     */
+    public boolean hasNextPlacesNearby() {
+        return pagingPipeline.hasNextPage();
+    }
+
+    /**
+     * Prefetches again the next pages of the last search request when the displayed list is
+     * restored from database (the first page only is stored), including after the process was
+     * killed. Pages are only requested if the last search was sent in the same tile, and if
+     * its tokens are still valid, otherwise next pages of the last search are discarded.
+     * @param geohash : Geohash of the tile of the restored list
+     * @param type : Type of places searched
+     */
+    public void resumeNextPlacesNearby(String geohash, String type) {
+        SearchSessionStore.SearchSession session = searchSessionStore.getSession();
+        String resumeToken = null;
+        if (session != null && type.equals(session.getQuery())
+                && geohash.equals(getTileGeohash(session.getLatitude(), session.getLongitude()))) {
+            resumeToken = session.getResumeToken(System.currentTimeMillis());
         }
-        callback.onPlacesAvailable(listRestaurants);
+        if (resumeToken != null) searchSessionStore.truncatePages(0);
+        pagingPipeline.start(resumeToken);
     }
 
     /**
-     * Updates the list of restaurants with their details.
+     * Updates the list of restaurants with their details. Details are read from the details
+     * cache, and Place Details requests are only sent (concurrently) for missing or expired
+     * entries. Each restaurant is sent back as soon as its details are available.
+     * Restaurants updated with stale cached details are revalidated in background once the
+     * list is sent back, behind other requests.
+     * Restaurants of the list are never modified, since they may already be displayed :
+     * details are set on copies, each one sent back once updated.
+     * This method does not wait for the requests : callbacks are called from the network pool.
      * @param listRestaurant : List of restaurants
-     * @param callback : Callback interface
-     * @throws IOException : Exception thrown by getPlacesDetails() method of the @{@link ListRestaurantsService }
-     *                       service class
+     * @param restaurantCallback : Callback interface called each time a restaurant is updated,
+     *                             including after revalidation
+     * @param callback : Callback interface called once all restaurants are updated, with the
+     *                   list of updated copies
+     * @param revalidationCallback : Callback interface called once stale details are
+     *                               revalidated, with the list of updated copies
      */
     public void getPlacesDetails(List<Restaurant> listRestaurant,
-                                 ServiceDetailsCallback callback) throws IOException {
+                                 ServiceRestaurantCallback restaurantCallback,
+                                 ServiceDetailsCallback callback,
+                                 ServiceDetailsCallback revalidationCallback) {
         // Contains each restaurant periods (closing and opening hours of a week) found
-        List<HoursData> listHoursData = new ArrayList<>();
-        List<List<HoursData>> listOfListHoursData = new ArrayList<>();
+        List<List<HoursData>> listOfListHoursData =
+                                                 Collections.synchronizedList(new ArrayList<>());
+        List<Restaurant> newListRestaurant = new ArrayList<>(listRestaurant.size());
+        for (int i = 0; i < listRestaurant.size(); i++) {
+            newListRestaurant.add(new Restaurant(listRestaurant.get(i)));
+        }
+        ServiceRestaurantDetailsCallback detailsCallback = (restaurant, response) -> {
+            List<HoursData> listHoursData = updateRestaurantWithDetails(restaurant, response);
+            // Update list of data (Closing/Opening hours) to send to database
+            if (listHoursData != null) listOfListHoursData.add(listHoursData);
+            restaurantCallback.onRestaurantAvailable(restaurant);
+        };
+
+        // Search details in cache
+        List<String> placeIds = new ArrayList<>(newListRestaurant.size());
+        for (int i = 0; i < newListRestaurant.size(); i++) {
+            placeIds.add(newListRestaurant.get(i).getPlaceId());
+        }
+        DetailsCache.Lookup lookup = detailsCache.lookup(placeIds, System.currentTimeMillis());
+        List<Restaurant> listRestaurantsToFetch = new ArrayList<>();
+        List<Restaurant> listRestaurantsToRevalidate = new ArrayList<>();
+        for (int i = 0; i < newListRestaurant.size(); i++) {
+            Restaurant restaurant = newListRestaurant.get(i);
+            DetailsResponse cachedResponse = lookup.getDetails(restaurant.getPlaceId());
+            if (cachedResponse == null) {
+                listRestaurantsToFetch.add(restaurant);
+            }
+            else {
+                if (lookup.isStale(restaurant.getPlaceId()))
+                    listRestaurantsToRevalidate.add(restaurant);
+                detailsCallback.onRestaurantDetailsAvailable(restaurant, cachedResponse);
+            }
+        }
+
+        // Request missing details, then revalidate stale details
+        fetchAndCachePlacesDetails(listRestaurantsToFetch, TaskScheduler.Priority.NORMAL,
+                                   detailsCallback, () -> {
+            callback.onPlacesDetailsAvailable(newListRestaurant, listOfListHoursData);
+            if (!listRestaurantsToRevalidate.isEmpty()) {
+                revalidatePlacesDetails(newListRestaurant, listOfListHoursData,
+                                        listRestaurantsToRevalidate, restaurantCallback,
+                                        revalidationCallback);
+            }
+        });
+    }
+
+    /**
+     * Sends again the Place Details requests of restaurants updated with stale cached details,
+     * behind other requests.
+     * Revalidated details are set on new copies, each one sent back once updated, and the list
+     * of restaurants is then sent back with these copies and their closing/opening hours.
+     * @param listRestaurant : List of restaurants, with stale details
+     * @param listOfListHoursData : Closing/Opening hours of the restaurants, with stale hours
+     * @param listRestaurantsToRevalidate : Restaurants with stale details
+     * @param restaurantCallback : Callback interface called each time a restaurant is updated
+     * @param callback : Callback interface called once all restaurants are revalidated
+     */
+    private void revalidatePlacesDetails(List<Restaurant> listRestaurant,
+                                         List<List<HoursData>> listOfListHoursData,
+                                         List<Restaurant> listRestaurantsToRevalidate,
+                                         ServiceRestaurantCallback restaurantCallback,
+                                         ServiceDetailsCallback callback) {
+        Map<String, Restaurant> revalidatedRestaurants = new ConcurrentHashMap<>();
+        Map<String, List<HoursData>> revalidatedHours = new ConcurrentHashMap<>();
+        fetchAndCachePlacesDetails(listRestaurantsToRevalidate, TaskScheduler.Priority.LOW,
+                                   (restaurant, response) -> {
+            if (response == null || response.getResult() == null) return;
+            Restaurant revalidatedRestaurant = new Restaurant(restaurant);
+            List<HoursData> listHoursData =
+                              updateRestaurantWithDetails(revalidatedRestaurant, response);
+            revalidatedRestaurants.put(restaurant.getPlaceId(), revalidatedRestaurant);
+            revalidatedHours.put(restaurant.getPlaceId(),
+                                 listHoursData != null ? listHoursData : new ArrayList<>());
+            restaurantCallback.onRestaurantAvailable(revalidatedRestaurant);
+        }, () -> {
+            if (!revalidatedRestaurants.isEmpty())
+                publishRevalidatedPlacesDetails(listRestaurant, listOfListHoursData,
+                                                revalidatedRestaurants, revalidatedHours,
+                                                callback);
+        });
+    }
 
+    /**
+     * Sends back a list of restaurants in which stale restaurants and stale closing/opening
+     * hours are replaced by their revalidated versions.
+     * @param listRestaurant : List of restaurants, with stale details
+     * @param listOfListHoursData : Closing/Opening hours of the restaurants, with stale hours
+     * @param revalidatedRestaurants : Revalidated restaurants, by place id
+     * @param revalidatedHours : Revalidated closing/opening hours, by place id
+     * @param callback : Callback interface called with the updated lists
+     */
+    private void publishRevalidatedPlacesDetails(List<Restaurant> listRestaurant,
+                                                 List<List<HoursData>> listOfListHoursData,
+                                                 Map<String, Restaurant> revalidatedRestaurants,
+                                                 Map<String, List<HoursData>> revalidatedHours,
+                                                 ServiceDetailsCallback callback) {
+        // Replace stale restaurants and stale hours
+        List<Restaurant> newListRestaurant = new ArrayList<>(listRestaurant.size());
         for (int i = 0; i < listRestaurant.size(); i++) {
-            DetailsResponse response = listRestaurantsServices.getPlacesDetails(
-                                                                listRestaurant.get(i).getPlaceId());
-            if (response.getResult().getWebsite() != null)
-                 listRestaurant.get(i).setWebsiteUri(Uri.parse(response.getResult().getWebsite()).toString());
-            if (response.getResult().getFormattedPhoneNumber() != null)
-                 listRestaurant.get(i).setPhoneNumber(response.getResult().getFormattedPhoneNumber());
-
-            if (response.getResult().getOpeningHours() != null) {
-                if (response.getResult().getOpeningHours().getPeriods() != null) {
-                    for (int j = 0; j < response.getResult().getOpeningHours().getPeriods().size(); j++) {
-                        HoursData hoursData = new HoursData(
-                                response.getResult().getOpeningHours().getPeriods().get(j).getClose(),
-                                response.getResult().getOpeningHours().getPeriods().get(j).getOpen(),
-                                listRestaurant.get(i).getPlaceId());
-                        listHoursData.add(hoursData);
-                    }
-                    // Update Restaurant with associated Closing/Opening hours
-                    listRestaurant.get(i).setOpeningAndClosingHours(
-                          DataConverters.converterHoursDataToOpeningAndClosingHours(listHoursData));
-                    // Update list of data (Closing/Opening hours) to send to database
-                    ArrayList<HoursData> copy = new ArrayList<>(listHoursData);
-                    listOfListHoursData.add(copy);
+            Restaurant revalidatedRestaurant =
+                                   revalidatedRestaurants.get(listRestaurant.get(i).getPlaceId());
+            newListRestaurant.add(revalidatedRestaurant != null
+                                  ? revalidatedRestaurant : listRestaurant.get(i));
+        }
+        List<List<HoursData>> newListOfListHoursData = new ArrayList<>();
+        synchronized (listOfListHoursData) {
+            for (int i = 0; i < listOfListHoursData.size(); i++) {
+                List<HoursData> listHoursData = listOfListHoursData.get(i);
+                if (listHoursData.isEmpty()
+                        || !revalidatedHours.containsKey(listHoursData.get(0).getRestaurantId()))
+                    newListOfListHoursData.add(listHoursData);
+            }
+        }
+        newListOfListHoursData.addAll(revalidatedHours.values());
+        callback.onPlacesDetailsAvailable(newListRestaurant, newListOfListHoursData);
+    }
+
+    /**
+     * Sends a Place Details request for each restaurant of the list, and stores all received
+     * responses in the details cache once all requests are completed.
+     * @param listRestaurant : List of restaurants
+     * @param priority : Priority of the requests in the network pool
+     * @param callback : Callback interface called once per received response
+     * @param completionCallback : Callback interface called once responses are stored
+     */
+    private void fetchAndCachePlacesDetails(List<Restaurant> listRestaurant,
+                                            TaskScheduler.Priority priority,
+                                            ServiceRestaurantDetailsCallback callback,
+                                            ServiceDetailsCompletionCallback completionCallback) {
+        if (listRestaurant.isEmpty()) {
+            completionCallback.onPlacesDetailsCompleted();
+            return;
+        }
+        List<DetailsData> listDetailsData = Collections.synchronizedList(new ArrayList<>());
+        listRestaurantsServices.getPlacesDetails(listRestaurant, priority,
+                                                 (restaurant, response) -> {
+            if (response != null && response.getResult() != null) {
+                listDetailsData.add(DataConverters.converterDetailsResponseToDetailsData(
+                        restaurant.getPlaceId(), response, System.currentTimeMillis()));
+            }
+            callback.onRestaurantDetailsAvailable(restaurant, response);
+        }, () -> {
+            detailsCache.store(listDetailsData, System.currentTimeMillis());
+            completionCallback.onPlacesDetailsCompleted();
+        });
+    }
+
+    /**
+     * Updates a Restaurant object with the data extracted from a DetailsResponse.
+     * @param restaurant : Restaurant to update
+     * @param response : Details response received for this restaurant
+     * @return : List of closing/opening hours of the restaurant, or null if none is available
+     */
+    private List<HoursData> updateRestaurantWithDetails(Restaurant restaurant,
+                                                        DetailsResponse response) {
+        if (response == null || response.getResult() == null) return null;
+        if (response.getResult().getWebsite() != null)
+            restaurant.setWebsiteUri(Uri.parse(response.getResult().getWebsite()).toString());
+        if (response.getResult().getFormattedPhoneNumber() != null)
+            restaurant.setPhoneNumber(response.getResult().getFormattedPhoneNumber());
+
+        if (response.getResult().getOpeningHours() != null) {
+            if (response.getResult().getOpeningHours().getPeriods() != null) {
+                List<HoursData> listHoursData = new ArrayList<>();
+                for (int j = 0; j < response.getResult().getOpeningHours().getPeriods().size(); j++) {
+                    HoursData hoursData = new HoursData(
+                            response.getResult().getOpeningHours().getPeriods().get(j).getClose(),
+                            response.getResult().getOpeningHours().getPeriods().get(j).getOpen(),
+                            restaurant.getPlaceId());
+                    listHoursData.add(hoursData);
                 }
+                // Update Restaurant with associated Closing/Opening hours
+                restaurant.setWeekSchedule(
+                          DataConverters.converterHoursDataToWeekSchedule(listHoursData));
+                return listHoursData;
             }
-            listHoursData.clear();
         }
-        callback.onPlacesDetailsAvailable(listRestaurant, listOfListHoursData);
+        return null;
     }
 
     /**
@@ -220,12 +426,27 @@ public class PlacesRepository {
      * service class.
      * @param query : Autocomplete query
      * @param callback : ServiceAutocompleteCallback callback interface to send back results
+     * @param failureCallback : Callback interface called if the request fails
+     * @return : Cancellable object to cancel the request
      */
     @RequiresPermission(Manifest.permission.ACCESS_FINE_LOCATION)
-    public void performAutocompleteRequest(String query, ServiceAutocompleteCallback callback) {
-        autocompleteService.performAutocompleteRequest(query, callback);
+    public AutocompletePipeline.Cancellable performAutocompleteRequest(
+                                String query, ServiceAutocompleteCallback callback,
+                                AutocompletePipeline.FailureCallback failureCallback) {
+        return autocompleteService.performAutocompleteRequest(query, callback, failureCallback);
     }
 
+    // Methods to access Database RestaurantSearchDao
+    /**
+     * Searches a query in the names and addresses of all RestaurantData stored in database,
+     * using the "restaurant_fts_table" full-text index, without any network request.
+     * @param query : Query typed by user
+     * @param limit : Maximum number of results
+     * @return : List of RestaurantData and HoursData, best matches first
+     */
+    public List<RestaurantAndHoursData> searchRestaurantsWithHours(String query, int limit) {
+        return restaurantSearchDao.searchRestaurantsWithHours(query, limit);
+    }
 
     // Methods to access Database RestaurantDao
     /**
@@ -243,6 +464,14 @@ public class PlacesRepository {
         restaurantDao.deleteAllRestaurantsData();
     }
 
+    /**
+     * Inserts a list of RestaurantData items in "restaurant_table" table in database.
+     * @param listRestaurantData : Items to add
+     */
+    public void insertAllRestaurantsData(List<RestaurantData> listRestaurantData) {
+        restaurantDao.insertAllRestaurantsData(listRestaurantData);
+    }
+
     // Methods to access Database HoursDataDao
     /**
      * Inserts a new HoursData item in "hours_table" table in database.
@@ -259,6 +488,14 @@ public class PlacesRepository {
         hoursDao.deleteAllHoursData();
     }
 
+    /**
+     * Inserts a list of HoursData items in "hours_table" table in database.
+     * @param listHoursData : Items to add
+     */
+    public void insertAllHoursData(List<HoursData> listHoursData) {
+        hoursDao.insertAllHoursData(listHoursData);
+    }
+
     // Methods to access Database RestaurantAndHoursDao
     /**
      * Retrieves all RestaurantData and associated HourData from both tables in
@@ -269,49 +506,104 @@ public class PlacesRepository {
         return restaurantAndHoursDao.loadAllRestaurantsWithHours();
     }
 
+    /**
+     * Retrieves all RestaurantData and associated HourData stored for a tile, if this tile
+     * has been stored in database for less than TILE_TIME_TO_LIVE ms. The last access time of
+     * the tile is updated.
+     * @param geohash : Geohash of the tile
+     * @return : List of RestaurantData and HoursData, or null if the tile is missing or expired
+     */
+    public List<RestaurantAndHoursData> getRestaurantsWithHoursInTile(String geohash) {
+        TileData tileData = tileDao.getTileData(geohash);
+        long currentTime = System.currentTimeMillis();
+        if (tileData == null || currentTime - tileData.getFetchedAt() > TILE_TIME_TO_LIVE)
+            return null;
+        tileDao.updateLastAccess(geohash, currentTime);
+        return restaurantAndHoursDao.getRestaurantsWithHoursInTile(geohash);
+    }
+
+    /**
+     * Retrieves all RestaurantData and associated HoursData stored in a bounding box, such as
+     * the visible region of the map.
+     * @param minLatitude : South latitude
+     * @param minLongitude : West longitude
+     * @param maxLatitude : North latitude
+     * @param maxLongitude : East longitude
+     * @return : List of RestaurantData and HoursData
+     */
+    public List<RestaurantAndHoursData> getRestaurantsWithHoursInBounds(double minLatitude,
+                                                                       double minLongitude,
+                                                                       double maxLatitude,
+                                                                       double maxLongitude) {
+        return restaurantAndHoursDao.getRestaurantsWithHoursInBounds(minLatitude, minLongitude,
+                                                                     maxLatitude, maxLongitude);
+    }
+
+    /**
+     * Retrieves the nearest RestaurantData and associated HoursData stored around a location.
+     * @param latitude : Latitude of the center
+     * @param longitude : Longitude of the center
+     * @param nbRestaurants : Number of restaurants to find
+     * @param maxRadius : Maximum distance in meters
+     * @return : List of RestaurantData and HoursData, nearest first
+     */
+    public List<RestaurantAndHoursData> getNearestRestaurantsWithHours(double latitude,
+                                                                      double longitude,
+                                                                      int nbRestaurants,
+                                                                      double maxRadius) {
+        return restaurantAndHoursDao.getNearestRestaurantsWithHours(latitude, longitude,
+                                                                    nbRestaurants, maxRadius);
+    }
+
+    /**
+     * Stores the result of a search request in "restaurant_table" and "hours_table" tables
+     * for a tile, in a single transaction. Only new and changed places are written, and least
+     * recently used tiles are evicted to keep at most MAX_NB_TILES tiles in database.
+     * @param geohash : Geohash of the tile
+     * @param listRestaurantData : Restaurants found in the tile
+     * @param listHoursData : Hours of the restaurants found in the tile
+     */
+    public void synchronizeTile(String geohash, List<RestaurantData> listRestaurantData,
+                                List<HoursData> listHoursData) {
+        long currentTime = System.currentTimeMillis();
+        restaurantAndHoursDao.synchronizeTile(new TileData(geohash, currentTime, currentTime),
+                                              listRestaurantData, listHoursData, MAX_NB_TILES);
+    }
+
+    /**
+     * Returns the details cache, to access its hit/miss counters.
+     * @return : Details cache
+     */
+    public DetailsCache getDetailsCache() {
+        return detailsCache;
+    }
+
+    /**
+     * Returns the geohash of the tile containing a location.
+     * @param latitude : Latitude
+     * @param longitude : Longitude
+     * @return : Geohash of the tile
+     */
+    public static String getTileGeohash(double latitude, double longitude) {
+        return Geohash.encode(latitude, longitude, TILE_GEOHASH_PRECISION);
+    }
+
     // Other method
     /**
-     * Checks the current user location and compare with the previous saved value,
-     * to determine if a new search request is necessary or if data can be reloading from database.
+     * Gets the current user location, to determine if places can be reloaded from the
+     * tile stored in database for this location, or if a new search request is necessary.
+     * The location fix is shared with the other consumers of the @{@link LocationSnapshotProvider}.
      */
     @RequiresPermission(Manifest.permission.ACCESS_FINE_LOCATION)
     public void getPlacesFromDatabaseOrRetrofitRequest(MainActivity activity,
-                       SharedPreferences sharedPrefLatLon, MapViewFragmentCallback callback) {
-        activity.getLocationClient()
-                .getCurrentLocation(LocationRequest.PRIORITY_HIGH_ACCURACY, null)
-                .addOnSuccessListener(location -> {
-                    double currentLatUserPosition;
-                    double currentLonUserPosition;
-                    double savedLatUserPosition;
-                    double savedLonUserPosition;
-
-                    // Get current location
-                    currentLatUserPosition = location.getLatitude();
-                    currentLonUserPosition = location.getLongitude();
-
-                    if (AppInfo.checkIfFirstRunApp(activity.getApplicationContext())) {
-                        callback.searchPlacesFromCurrentLocation();
-                    }
-                    else {
-                        // Get previous location
-                        savedLatUserPosition = Double.longBitsToDouble(sharedPrefLatLon.getLong(
-                                AppInfo.PREF_OLD_LAT_POSITION_KEY,
-                                Double.doubleToRawLongBits(currentLatUserPosition)));
-                        savedLonUserPosition = Double.longBitsToDouble(sharedPrefLatLon.getLong(
-                                AppInfo.PREF_OLD_LON_POSITION_KEY,
-                                Double.doubleToRawLongBits(currentLonUserPosition)));
-                        // Check distance
-                        float[] result = new float[1];
-                        Location.distanceBetween(currentLatUserPosition, currentLonUserPosition,
-                                                savedLatUserPosition, savedLonUserPosition, result);
-                        // Get locations
-                        if (result[0] < 800) { // distance < 800m : reload locations from database
-                            callback.restoreListFromDatabase();
-                        }
-                        else { // >= 800m : search places
-                            callback.searchPlacesFromCurrentLocation();
-                        }
-                    }
-                });
+                                                       MapViewFragmentCallback callback) {
+        locationSnapshotProvider.getLocation(location -> {
+            if (AppInfo.checkIfFirstRunApp(activity.getApplicationContext())) {
+                callback.searchPlacesFromCurrentLocation();
+            }
+            else {
+                callback.restoreListFromDatabase(location.getLatitude(), location.getLongitude());
+            }
+        });
     }
 }
@@ -2,9 +2,14 @@ package com.openclassrooms.go4lunch.repositories;
 
 import android.content.Context;
 import com.google.firebase.firestore.DocumentReference;
+import com.openclassrooms.go4lunch.dao.WorkmatesDao;
+import com.openclassrooms.go4lunch.database.WorkmatesStore;
 import com.openclassrooms.go4lunch.service.workmates.ListWorkmatesService;
+import com.openclassrooms.go4lunch.service.workmates.FirestoreWorkmatesSource;
 import com.openclassrooms.go4lunch.service.workmates.ServiceWorkmatesCallback;
-import java.util.List;
+import com.openclassrooms.go4lunch.service.workmates.ServiceWorkmatesSyncCallback;
+import com.openclassrooms.go4lunch.service.workmates.WorkmatesSyncEngine;
+import java.util.concurrent.Executor;
 
 /**
  * Repository class to communicate with the @{@link ListWorkmatesService} service class.
@@ -13,8 +18,19 @@ public class WorkmatesRepository {
 
     private final ListWorkmatesService listWorkmatesService;
 
-    public WorkmatesRepository(Context context) {
+    // Local copy of the workmates in database
+    private final WorkmatesStore workmatesStore;
+
+    // Serial executor used to read and write the local copy, and to apply snapshots in order
+    private final Executor executor;
+
+    // Synchronization of the list of workmates with the Firestore collection, if started
+    private WorkmatesSyncEngine workmatesSyncEngine;
+
+    public WorkmatesRepository(Context context, WorkmatesDao workmatesDao, Executor executor) {
         this.listWorkmatesService = new ListWorkmatesService(context);
+        this.workmatesStore = new WorkmatesStore(workmatesDao);
+        this.executor = executor;
     }
 
     /**
@@ -26,6 +42,30 @@ public class WorkmatesRepository {
         listWorkmatesService.getEmployeesInfoFromFirestoreDatabase(callback);
     }
 
+    /**
+     * Accesses the startWorkmatesSync() method of the @{@link ListWorkmatesService} service
+     * class in background, stopping a previous synchronization. The workmates stored in
+     * database are sent back first.
+     * @param callback : @{@link ServiceWorkmatesSyncCallback} callback interface
+     */
+    public void startWorkmatesSync(ServiceWorkmatesSyncCallback callback) {
+        stopWorkmatesSync();
+        executor.execute(() -> workmatesSyncEngine = listWorkmatesService.startWorkmatesSync(
+                new FirestoreWorkmatesSource(executor), workmatesStore, callback));
+    }
+
+    /**
+     * Stops the synchronization of the list of workmates.
+     */
+    public void stopWorkmatesSync() {
+        executor.execute(() -> {
+            if (workmatesSyncEngine != null) {
+                workmatesSyncEngine.stop();
+                workmatesSyncEngine = null;
+            }
+        });
+    }
+
     /**
      * Accesses the getDocumentReferenceCurrentUser() method of the @{@link ListWorkmatesService}
      * service class.
@@ -51,13 +91,29 @@ public class WorkmatesRepository {
     }
 
     /**
-     * Accesses the updateCurrentUserListOfLikedRestaurant() method of the @{@link ListWorkmatesService}
-     * service class.
+     * Accesses the likeRestaurant() method of the @{@link ListWorkmatesService} service class.
+     * @param documentCurrentUserId : Id Document in Firestore of the current user
+     * @param placeId : Id of the liked restaurant
+     */
+    public void likeRestaurant(String documentCurrentUserId, String placeId) {
+        listWorkmatesService.likeRestaurant(documentCurrentUserId, placeId);
+    }
+
+    /**
+     * Accesses the unlikeRestaurant() method of the @{@link ListWorkmatesService} service class.
      * @param documentCurrentUserId : Id Document in Firestore of the current user
-     * @param listLikedRestaurants : list of "liked" restaurant
+     * @param placeId : Id of the restaurant no longer liked
+     */
+    public void unlikeRestaurant(String documentCurrentUserId, String placeId) {
+        listWorkmatesService.unlikeRestaurant(documentCurrentUserId, placeId);
+    }
+
+    /**
+     * Accesses the flushDocumentUpdates() method of the @{@link ListWorkmatesService} service
+     * class.
      */
-    public void updateCurrentUserListOfLikedRestaurant(String documentCurrentUserId, List<String> listLikedRestaurants) {
-        listWorkmatesService.updateCurrentUserListOfLikedRestaurant(documentCurrentUserId, listLikedRestaurants);
+    public void flushDocumentUpdates() {
+        listWorkmatesService.flushDocumentUpdates();
     }
 
     /**
@@ -0,0 +1,353 @@
+package com.openclassrooms.go4lunch.service.autocomplete;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class handling the queries typed in the autocomplete search field :
+ *      - queries are first answered by a local search over the loaded restaurants : if it
+ *        finds at least "minLocalResults" results, they are sent back immediately and no
+ *        request is sent
+ *      - otherwise queries are searched offline (for instance in database) : if this search
+ *        finds at least "minLocalResults" results, they are sent back and no request is sent
+ *      - otherwise queries are debounced : a request is only sent once the query is unchanged for a
+ *        "debounceDelay" delay
+ *      - a request superseded by a new query is cancelled, and its results are dropped if they
+ *        are received anyway, so that older results never overwrite newer ones
+ *      - results are cached by query, so that a query already sent (for instance when
+ *        deleting characters) is answered without any request. Only the exact same query
+ *        (trimmed, case-insensitive) is matched : results are place ids, which cannot be
+ *        filtered to answer a longer query
+ * Numbers of queries, local hits, offline hits, requests, cache hits, cancelled requests,
+ * failed requests, dropped responses and request latencies are counted.
+ * All methods must be called from the same thread.
+ */
+public class AutocompletePipeline {
+
+    public static final long DEFAULT_DEBOUNCE_DELAY = 300L;
+
+    public static final int DEFAULT_MAX_NB_CACHED_QUERIES = 50;
+
+    public static final long DEFAULT_CACHE_TIME_TO_LIVE = 5 * 60 * 1000L; // 5 min
+
+    public static final int DEFAULT_MIN_LOCAL_RESULTS = 1;
+
+    /**
+     * Interface used to search a query locally.
+     */
+    public interface LocalSearcher {
+        List<String> search(String query);
+    }
+
+    /**
+     * Interface used to search a query offline, in background. The callback must be called
+     * from the thread of the pipeline.
+     */
+    public interface OfflineSearcher {
+        Cancellable search(String query, ServiceAutocompleteCallback callback);
+    }
+
+    /**
+     * Interface used to send an autocomplete request.
+     */
+    public interface Requester {
+        Cancellable request(String query, ServiceAutocompleteCallback callback,
+                            FailureCallback failureCallback);
+    }
+
+    /**
+     * Interface used to notify the failure of a request.
+     */
+    public interface FailureCallback {
+        void onFailure(Exception exception);
+    }
+
+    /**
+     * Interface used to cancel a request.
+     */
+    public interface Cancellable {
+        void cancel();
+    }
+
+    /**
+     * Interface used to run a task after a delay.
+     */
+    public interface Scheduler {
+        void schedule(Runnable task, long delay);
+    }
+
+    /**
+     * Interface used to read the current time.
+     */
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
+    private final Requester requester;
+    private final LocalSearcher localSearcher;
+    private final OfflineSearcher offlineSearcher;
+    private final int minLocalResults;
+    private final Scheduler scheduler;
+    private final Clock clock;
+    private final long debounceDelay;
+    private final long cacheTimeToLive;
+    private final ServiceAutocompleteCallback resultsCallback;
+
+    // Results by normalized query, least recently used first
+    private final Map<String, CachedResults> cache;
+
+    // Incremented for each new query : only the results of the last query are sent back
+    private int generation;
+
+    // Request sent for the last query, not answered yet
+    private Cancellable pendingRequest;
+
+    // Indicates if the request of the last query is not answered yet
+    private boolean requesting;
+
+    // Offline search of the last query, not answered yet
+    private Cancellable pendingOfflineSearch;
+
+    // Indicates if the offline search of the last query is not answered yet
+    private boolean searchingOffline;
+
+    // Counters
+    private int nbQueries;
+    private int nbLocalHits;
+    private int nbOfflineHits;
+    private int nbRequests;
+    private int nbCacheHits;
+    private int nbCancelledRequests;
+    private int nbFailedRequests;
+    private int nbDroppedResponses;
+    private int nbResponses;
+    private long totalLatency;
+    private long maxLatency;
+
+    public AutocompletePipeline(Requester requester, Scheduler scheduler, Clock clock,
+                                long debounceDelay, int maxNbCachedQueries, long cacheTimeToLive,
+                                ServiceAutocompleteCallback resultsCallback) {
+        this(requester, null, 0, scheduler, clock, debounceDelay, maxNbCachedQueries,
+             cacheTimeToLive, resultsCallback);
+    }
+
+    public AutocompletePipeline(Requester requester, LocalSearcher localSearcher,
+                                int minLocalResults, Scheduler scheduler, Clock clock,
+                                long debounceDelay, int maxNbCachedQueries, long cacheTimeToLive,
+                                ServiceAutocompleteCallback resultsCallback) {
+        this(requester, localSearcher, null, minLocalResults, scheduler, clock, debounceDelay,
+             maxNbCachedQueries, cacheTimeToLive, resultsCallback);
+    }
+
+    public AutocompletePipeline(Requester requester, LocalSearcher localSearcher,
+                                OfflineSearcher offlineSearcher, int minLocalResults,
+                                Scheduler scheduler, Clock clock, long debounceDelay,
+                                int maxNbCachedQueries, long cacheTimeToLive,
+                                ServiceAutocompleteCallback resultsCallback) {
+        this.requester = requester;
+        this.localSearcher = localSearcher;
+        this.offlineSearcher = offlineSearcher;
+        this.minLocalResults = minLocalResults;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.debounceDelay = debounceDelay;
+        this.cacheTimeToLive = cacheTimeToLive;
+        this.resultsCallback = resultsCallback;
+        this.cache = new LinkedHashMap<String, CachedResults>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResults> eldest) {
+                return size() > maxNbCachedQueries;
+            }
+        };
+    }
+
+    /**
+     * Creates an AutocompletePipeline debouncing queries on the main thread, with default
+     * delay, cache and local search parameters.
+     * @param requester : Requester used to send autocomplete requests
+     * @param localSearcher : LocalSearcher used to search the loaded restaurants
+     * @param offlineSearcher : OfflineSearcher used to search the restaurants stored in database
+     * @param resultsCallback : Callback interface to send back the results of the last query
+     * @return : AutocompletePipeline object
+     */
+    public static AutocompletePipeline create(Requester requester, LocalSearcher localSearcher,
+                                              OfflineSearcher offlineSearcher,
+                                              ServiceAutocompleteCallback resultsCallback) {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new AutocompletePipeline(requester, localSearcher, offlineSearcher,
+                                        DEFAULT_MIN_LOCAL_RESULTS,
+                                        handler::postDelayed,
+                                        System::currentTimeMillis, DEFAULT_DEBOUNCE_DELAY,
+                                        DEFAULT_MAX_NB_CACHED_QUERIES, DEFAULT_CACHE_TIME_TO_LIVE,
+                                        resultsCallback);
+    }
+
+    /**
+     * Submits a new query : local or cached results are sent back immediately, then the query
+     * is searched offline, and if it is still not answered a request is sent after the debounce
+     * delay if no other query is submitted in the meantime.
+     * @param query : Query typed by user
+     */
+    public void submitQuery(String query) {
+        int queryGeneration = cancel();
+        nbQueries++;
+        if (localSearcher != null) {
+            List<String> localResults = localSearcher.search(query);
+            if (localResults.size() >= Math.max(1, minLocalResults)) {
+                nbLocalHits++;
+                resultsCallback.getAutocompleteResults(localResults);
+                return;
+            }
+        }
+        String key = normalize(query);
+        CachedResults cachedResults = cache.get(key);
+        if (cachedResults != null
+                && clock.currentTimeMillis() - cachedResults.time <= cacheTimeToLive) {
+            nbCacheHits++;
+            resultsCallback.getAutocompleteResults(cachedResults.results);
+            return;
+        }
+        if (offlineSearcher != null) {
+            searchingOffline = true;
+            Cancellable offlineSearch = offlineSearcher.search(query, results ->
+                    onOfflineResults(queryGeneration, query, key, results));
+            // Not answered synchronously
+            if (searchingOffline && queryGeneration == generation)
+                pendingOfflineSearch = offlineSearch;
+            return;
+        }
+        scheduler.schedule(() -> sendRequest(queryGeneration, query, key), debounceDelay);
+    }
+
+    /**
+     * Handles the results of an offline search : they are sent back if they are numerous
+     * enough, otherwise a request is sent after the debounce delay.
+     * @param queryGeneration : Generation of the query
+     * @param query : Query typed by user
+     * @param key : Normalized query
+     * @param results : List of place ids found offline
+     */
+    private void onOfflineResults(int queryGeneration, String query, String key,
+                                  List<String> results) {
+        if (queryGeneration != generation) return;
+        searchingOffline = false;
+        pendingOfflineSearch = null;
+        if (results.size() >= Math.max(1, minLocalResults)) {
+            nbOfflineHits++;
+            resultsCallback.getAutocompleteResults(Collections.unmodifiableList(results));
+            return;
+        }
+        scheduler.schedule(() -> sendRequest(queryGeneration, query, key), debounceDelay);
+    }
+
+    /**
+     * Cancels the last query : its offline search is cancelled, its request is not sent if it
+     * is still debounced, cancelled if it was sent, and its results are dropped.
+     * @return : Generation of the next query
+     */
+    public int cancel() {
+        generation++;
+        searchingOffline = false;
+        requesting = false;
+        if (pendingOfflineSearch != null) {
+            pendingOfflineSearch.cancel();
+            pendingOfflineSearch = null;
+        }
+        if (pendingRequest != null) {
+            pendingRequest.cancel();
+            pendingRequest = null;
+            nbCancelledRequests++;
+        }
+        return generation;
+    }
+
+    /**
+     * Sends the request of a query, unless a new query was submitted during the debounce
+     * delay. A failed request is no longer pending, and its query is not cached.
+     * @param queryGeneration : Generation of the query
+     * @param query : Query typed by user
+     * @param key : Normalized query
+     */
+    private void sendRequest(int queryGeneration, String query, String key) {
+        if (queryGeneration != generation) return;
+        nbRequests++;
+        long start = clock.currentTimeMillis();
+        requesting = true;
+        Cancellable request = requester.request(query, results -> {
+            long end = clock.currentTimeMillis();
+            if (queryGeneration != generation) {
+                nbDroppedResponses++;
+                return;
+            }
+            requesting = false;
+            pendingRequest = null;
+            nbResponses++;
+            totalLatency += end - start;
+            maxLatency = Math.max(maxLatency, end - start);
+            List<String> immutableResults = Collections.unmodifiableList(results);
+            cache.put(key, new CachedResults(immutableResults, end));
+            resultsCallback.getAutocompleteResults(immutableResults);
+        }, exception -> {
+            if (queryGeneration != generation) return;
+            requesting = false;
+            pendingRequest = null;
+            nbFailedRequests++;
+        });
+        // Not answered synchronously
+        if (requesting && queryGeneration == generation) pendingRequest = request;
+    }
+
+    /**
+     * Normalizes a query to use it as a cache key.
+     * @param query : Query typed by user
+     * @return : Trimmed lower-case query
+     */
+    private static String normalize(String query) {
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Getters
+    public int getNbQueries() { return nbQueries; }
+
+    public int getNbLocalHits() { return nbLocalHits; }
+
+    public int getNbOfflineHits() { return nbOfflineHits; }
+
+    public int getNbRequests() { return nbRequests; }
+
+    public int getNbCacheHits() { return nbCacheHits; }
+
+    public int getNbCancelledRequests() { return nbCancelledRequests; }
+
+    public int getNbFailedRequests() { return nbFailedRequests; }
+
+    public int getNbDroppedResponses() { return nbDroppedResponses; }
+
+    /**
+     * Returns the average latency of the answered requests.
+     * @return : Average latency in ms, or 0 if no request was answered
+     */
+    public long getAverageLatency() {
+        return nbResponses == 0 ? 0L : totalLatency / nbResponses;
+    }
+
+    public long getMaxLatency() { return maxLatency; }
+
+    /**
+     * Results of a query, with their reception time.
+     */
+    private static class CachedResults {
+        private final List<String> results;
+        private final long time;
+
+        CachedResults(List<String> results, long time) {
+            this.results = results;
+            this.time = time;
+        }
+    }
+}
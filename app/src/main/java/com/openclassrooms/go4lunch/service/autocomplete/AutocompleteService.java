@@ -2,9 +2,8 @@ package com.openclassrooms.go4lunch.service.autocomplete;
 
 import android.Manifest;
 import androidx.annotation.RequiresPermission;
-import com.google.android.gms.location.FusedLocationProviderClient;
-import com.google.android.gms.location.LocationRequest;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
 import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
 import com.google.android.libraries.places.api.model.Place;
@@ -12,6 +11,9 @@ import com.google.android.libraries.places.api.model.RectangularBounds;
 import com.google.android.libraries.places.api.model.TypeFilter;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
 import com.google.android.libraries.places.api.net.PlacesClient;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
+import com.openclassrooms.go4lunch.service.location.ServiceLocationCallback;
 import com.openclassrooms.go4lunch.utils.GeometricUtils;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,13 +23,17 @@ import java.util.List;
  */
 public class AutocompleteService {
 
+    // Requests are restricted to 500 m around the user : an older location can be reused
+    public static final long LOCATION_MAX_AGE = 5 * 60 * 1000L; // 5 min
+
     private final PlacesClient placesClient;
-    private final FusedLocationProviderClient locationClient;
+    private final LocationSnapshotProvider locationSnapshotProvider;
     private final AutocompleteSessionToken token;
 
-    public AutocompleteService(PlacesClient placesClient, FusedLocationProviderClient locationClient) {
+    public AutocompleteService(PlacesClient placesClient,
+                               LocationSnapshotProvider locationSnapshotProvider) {
         this.placesClient = placesClient;
-        this.locationClient = locationClient;
+        this.locationSnapshotProvider = locationSnapshotProvider;
         this.token = AutocompleteSessionToken.newInstance();
     }
 
@@ -35,12 +41,17 @@ public class AutocompleteService {
      * Performs a autocomplete request using the String "query" parameter
      * @param query : String value to use for autocomplete request
      * @param callback : @{@link ServiceAutocompleteCallback"} callback interface to send back request results
+     * @param failureCallback : Callback interface called if the request fails
+     * @return : Cancellable object to cancel the request
      */
     @RequiresPermission(Manifest.permission.ACCESS_FINE_LOCATION)
-    public void performAutocompleteRequest(String query, ServiceAutocompleteCallback callback) {
-        locationClient.getCurrentLocation(LocationRequest.PRIORITY_HIGH_ACCURACY, null)
-                .addOnSuccessListener(location -> {
-                    // Get current location
+    public AutocompletePipeline.Cancellable performAutocompleteRequest(
+                                String query, ServiceAutocompleteCallback callback,
+                                AutocompletePipeline.FailureCallback failureCallback) {
+        CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+        getLocation(location -> {
+                    if (cancellationTokenSource.getToken().isCancellationRequested()) return;
+                    // Get current location (shared with other consumers while fresh)
                     double currentLat = location.getLatitude();
                     double currentLon = location.getLongitude();
 
@@ -59,6 +70,7 @@ public class AutocompleteService {
                             .setOrigin(new LatLng(currentLat, currentLon))
                             .setCountry("FR")
                             .setSessionToken(token)
+                            .setCancellationToken(cancellationTokenSource.getToken())
                             .setQuery(query)
                             .build();
 
@@ -84,7 +96,25 @@ public class AutocompleteService {
                         }
                         // Send list back to MainActivity
                         callback.getAutocompleteResults(autocompleteRestaurantIdList);
-                    }).addOnFailureListener(Throwable::printStackTrace);
-                });
+                    }).addOnFailureListener(exception -> {
+                        exception.printStackTrace();
+                        failureCallback.onFailure(exception);
+                    });
+        });
+        return cancellationTokenSource::cancel;
+    }
+
+    /**
+     * Sends back the last known location if it is less than LOCATION_MAX_AGE old, or requests
+     * a location otherwise.
+     * @param callback : Callback interface
+     */
+    private void getLocation(ServiceLocationCallback callback) {
+        LocationSnapshot lastSnapshot = locationSnapshotProvider.getLastSnapshot();
+        if (lastSnapshot != null
+                && lastSnapshot.isFresh(System.currentTimeMillis(), LOCATION_MAX_AGE))
+            callback.onLocationAvailable(lastSnapshot);
+        else
+            locationSnapshotProvider.getLocation(callback);
     }
 }
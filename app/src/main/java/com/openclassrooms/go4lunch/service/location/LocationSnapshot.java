@@ -0,0 +1,34 @@
+package com.openclassrooms.go4lunch.service.location;
+
+/**
+ * Immutable user location, with the time it was received.
+ */
+public class LocationSnapshot {
+
+    private final double latitude;
+    private final double longitude;
+    private final long time;
+
+    public LocationSnapshot(double latitude, double longitude, long time) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.time = time;
+    }
+
+    /**
+     * Indicates if this location can still be used at a given time.
+     * @param currentTime : Current time in ms
+     * @param freshnessWindow : Maximum age of the location in ms
+     * @return : true if the location is recent enough
+     */
+    public boolean isFresh(long currentTime, long freshnessWindow) {
+        return currentTime - time <= freshnessWindow;
+    }
+
+    // Getters
+    public double getLatitude() { return latitude; }
+
+    public double getLongitude() { return longitude; }
+
+    public long getTime() { return time; }
+}
@@ -0,0 +1,130 @@
+package com.openclassrooms.go4lunch.service.location;
+
+import android.annotation.SuppressLint;
+import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.location.LocationRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class providing the user location to all consumers (list of restaurants, autocomplete
+ * requests, places search), from a single location fix.
+ * A location is reused while it is less than "freshnessWindow" ms old. Otherwise, a single
+ * request is sent to the @{@link LocationSource}, and all consumers asking for the location
+ * in the meantime are answered with its result.
+ */
+public class LocationSnapshotProvider {
+
+    // Maximum age of a location shared between consumers
+    public static final long DEFAULT_FRESHNESS_WINDOW = 30 * 1000L; // 30s
+
+    /**
+     * Interface used to request a new location fix, sending back null if it failed.
+     */
+    public interface LocationSource {
+        void requestCurrentLocation(ServiceLocationCallback callback);
+    }
+
+    private final LocationSource locationSource;
+
+    private final long freshnessWindow;
+
+    // Last location received
+    private LocationSnapshot snapshot;
+
+    // Consumers waiting for the location fix in progress
+    private final List<ServiceLocationCallback> pendingCallbacks = new ArrayList<>();
+
+    public LocationSnapshotProvider(LocationSource locationSource, long freshnessWindow) {
+        this.locationSource = locationSource;
+        this.freshnessWindow = freshnessWindow;
+    }
+
+    /**
+     * Creates a LocationSnapshotProvider requesting high accuracy fixes from a
+     * FusedLocationProviderClient. Location permission must be checked by consumers.
+     * @param locationClient : Client used to request location fixes
+     * @return : LocationSnapshotProvider object
+     */
+    @SuppressLint("MissingPermission")
+    public static LocationSnapshotProvider create(FusedLocationProviderClient locationClient) {
+        return new LocationSnapshotProvider(callback ->
+                locationClient.getCurrentLocation(LocationRequest.PRIORITY_HIGH_ACCURACY, null)
+                        .addOnSuccessListener(location -> callback.onLocationAvailable(
+                                location == null ? null
+                                        : new LocationSnapshot(location.getLatitude(),
+                                                               location.getLongitude(),
+                                                               System.currentTimeMillis())))
+                        .addOnFailureListener(exception -> {
+                            exception.printStackTrace();
+                            callback.onLocationAvailable(null);
+                        }), DEFAULT_FRESHNESS_WINDOW);
+    }
+
+    /**
+     * Sends back the user location : immediately if the last location is fresh, or once a
+     * new location fix is received otherwise.
+     * @param callback : Callback interface, not called if no location is available
+     */
+    public void getLocation(ServiceLocationCallback callback) {
+        getLocation(callback, System.currentTimeMillis());
+    }
+
+    /**
+     * Sends back the user location, as seen at a given time.
+     * @param callback : Callback interface, not called if no location is available
+     * @param currentTime : Current time in ms
+     */
+    public void getLocation(ServiceLocationCallback callback, long currentTime) {
+        LocationSnapshot freshSnapshot = null;
+        boolean request;
+        synchronized (this) {
+            if (snapshot != null && snapshot.isFresh(currentTime, freshnessWindow)) {
+                freshSnapshot = snapshot;
+                request = false;
+            } else {
+                request = pendingCallbacks.isEmpty();
+                pendingCallbacks.add(callback);
+            }
+        }
+        if (freshSnapshot != null) callback.onLocationAvailable(freshSnapshot);
+        else if (request) locationSource.requestCurrentLocation(this::onLocationReceived);
+    }
+
+    /**
+     * Records a location received by another request (e.g. when the map is centered on the
+     * user), so that it can be shared with other consumers.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
+     * @param currentTime : Reception time of the location
+     */
+    public void updateLocation(double latitude, double longitude, long currentTime) {
+        onLocationReceived(new LocationSnapshot(latitude, longitude, currentTime));
+    }
+
+    /**
+     * Returns the last location received, fresh or not.
+     * @return : LocationSnapshot object, or null if no location has been received yet
+     */
+    public synchronized LocationSnapshot getLastSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Stores a new location fix and answers all waiting consumers. If the fix failed, consumers
+     * are answered with the last location received, if any.
+     * @param newSnapshot : New location, or null if the request failed
+     */
+    private void onLocationReceived(LocationSnapshot newSnapshot) {
+        List<ServiceLocationCallback> callbacks;
+        LocationSnapshot result;
+        synchronized (this) {
+            if (newSnapshot != null) snapshot = newSnapshot;
+            result = snapshot;
+            callbacks = new ArrayList<>(pendingCallbacks);
+            pendingCallbacks.clear();
+        }
+        if (result == null) return;
+        for (int i = 0; i < callbacks.size(); i++) callbacks.get(i).onLocationAvailable(result);
+    }
+}
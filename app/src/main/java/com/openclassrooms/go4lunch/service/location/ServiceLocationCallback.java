@@ -0,0 +1,8 @@
+package com.openclassrooms.go4lunch.service.location;
+
+/**
+ * Callback interface to get the current user location
+ */
+public interface ServiceLocationCallback {
+    void onLocationAvailable(LocationSnapshot snapshot);
+}
@@ -0,0 +1,47 @@
+package com.openclassrooms.go4lunch.service.network;
+
+import androidx.annotation.NonNull;
+import java.io.IOException;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * Interceptor logging each HTTP call with at most "maxBodyBytes" bytes of its response body.
+ * The body is read through Response.peekBody(), so only the logged part is buffered, and
+ * the response is sent back unchanged. The API key is removed from logged URLs.
+ * To use in debug builds only.
+ */
+public class CappedBodyLoggingInterceptor implements Interceptor {
+
+    public static final long DEFAULT_MAX_BODY_BYTES = 4 * 1024L;
+
+    private final HttpLoggingInterceptor.Logger logger;
+    private final long maxBodyBytes;
+
+    public CappedBodyLoggingInterceptor(HttpLoggingInterceptor.Logger logger, long maxBodyBytes) {
+        this.logger = logger;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        HttpUrl url = request.url().newBuilder().removeAllQueryParameters("key").build();
+        logger.log("--> " + request.method() + " " + url);
+
+        Response response = chain.proceed(request);
+        ResponseBody peekedBody = response.peekBody(maxBodyBytes);
+        String body = peekedBody.string();
+        long contentLength = response.body() != null ? response.body().contentLength() : -1L;
+        boolean truncated = contentLength < 0 ? body.length() >= maxBodyBytes
+                                              : contentLength > maxBodyBytes;
+        logger.log("<-- " + response.code() + " " + url + "\n" + body
+                   + (truncated ? "\n... (truncated to " + maxBodyBytes + " bytes)" : ""));
+        return response;
+    }
+}
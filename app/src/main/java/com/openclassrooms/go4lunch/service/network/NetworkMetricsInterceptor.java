@@ -0,0 +1,128 @@
+package com.openclassrooms.go4lunch.service.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Network interceptor recording the timing, bytes, status and endpoint of each HTTP call in a
+ * @{@link NetworkMetricsRegistry}. Registered with addNetworkInterceptor(), so that responses
+ * served by the HTTP cache are not recorded. Response bodies are never read by the
+ * interceptor : the bytes received are counted while the caller reads the body (before
+ * decompression), and the call is recorded once the body is fully read or closed.
+ */
+public class NetworkMetricsInterceptor implements Interceptor {
+
+    private final NetworkMetricsRegistry registry;
+
+    public NetworkMetricsInterceptor(NetworkMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        // Path only : query parameters contain the API key
+        String endpoint = request.url().encodedPath();
+        long requestBytes = request.body() != null ? request.body().contentLength() : 0L;
+        long start = System.nanoTime();
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException exception) {
+            registry.record(new NetworkMetricsRegistry.CallMetrics(request.method(), endpoint,
+                    NetworkMetricsRegistry.STATUS_NETWORK_FAILURE, elapsedMs(start),
+                    requestBytes, -1L));
+            throw exception;
+        }
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            registry.record(new NetworkMetricsRegistry.CallMetrics(request.method(), endpoint,
+                    response.code(), elapsedMs(start), requestBytes, -1L));
+            return response;
+        }
+        int statusCode = response.code();
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, responseBytes -> registry.record(
+                        new NetworkMetricsRegistry.CallMetrics(request.method(), endpoint,
+                                statusCode, elapsedMs(start), requestBytes, responseBytes))))
+                .build();
+    }
+
+    /**
+     * Returns the time elapsed since "start".
+     * @param start : Start time, from System.nanoTime()
+     * @return : Elapsed time in ms
+     */
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Callback interface called once a response body is fully read or closed.
+     */
+    interface BodyEndCallback {
+        void onBodyEnd(long nbBytes);
+    }
+
+    /**
+     * Response body counting the bytes read from the network.
+     */
+    private static class CountingResponseBody extends ResponseBody {
+
+        private final ResponseBody body;
+        private final BufferedSource source;
+
+        CountingResponseBody(ResponseBody body, BodyEndCallback callback) {
+            this.body = body;
+            this.source = Okio.buffer(new ForwardingSource(body.source()) {
+                private long nbBytes;
+                private boolean ended;
+
+                @Override
+                public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                    long nbBytesRead = super.read(sink, byteCount);
+                    if (nbBytesRead == -1L) end();
+                    else nbBytes += nbBytesRead;
+                    return nbBytesRead;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    end();
+                    super.close();
+                }
+
+                private void end() {
+                    if (ended) return;
+                    ended = true;
+                    callback.onBodyEnd(nbBytes);
+                }
+            });
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() { return body.contentType(); }
+
+        @Override
+        public long contentLength() { return body.contentLength(); }
+
+        @NonNull
+        @Override
+        public BufferedSource source() { return source; }
+    }
+}
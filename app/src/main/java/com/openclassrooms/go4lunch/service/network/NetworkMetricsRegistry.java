@@ -0,0 +1,168 @@
+package com.openclassrooms.go4lunch.service.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory registry storing the metrics of the last HTTP calls (timing, bytes, status,
+ * endpoint), and aggregated metrics for each endpoint.
+ */
+public class NetworkMetricsRegistry {
+
+    public static final int DEFAULT_MAX_NB_RECORDS = 200;
+
+    // Status code recorded for calls failing without a response
+    public static final int STATUS_NETWORK_FAILURE = -1;
+
+    private final int maxNbRecords;
+
+    // Last calls, from the oldest to the newest
+    private final ArrayDeque<CallMetrics> records = new ArrayDeque<>();
+
+    // Aggregated metrics of each endpoint
+    private final Map<String, EndpointMetrics> endpointsMetrics = new HashMap<>();
+
+    public NetworkMetricsRegistry(int maxNbRecords) {
+        if (maxNbRecords < 1) throw new IllegalArgumentException("maxNbRecords must be >= 1");
+        this.maxNbRecords = maxNbRecords;
+    }
+
+    /**
+     * Records the metrics of a completed call.
+     * @param callMetrics : Metrics of the call
+     */
+    public synchronized void record(CallMetrics callMetrics) {
+        if (records.size() == maxNbRecords) records.removeFirst();
+        records.addLast(callMetrics);
+
+        EndpointMetrics endpointMetrics = endpointsMetrics.get(callMetrics.getEndpoint());
+        if (endpointMetrics == null) {
+            endpointMetrics = new EndpointMetrics(callMetrics.getEndpoint());
+            endpointsMetrics.put(callMetrics.getEndpoint(), endpointMetrics);
+        }
+        endpointMetrics.add(callMetrics);
+    }
+
+    /**
+     * Returns the metrics of the last recorded calls, from the oldest to the newest.
+     * @return : List of CallMetrics
+     */
+    public synchronized List<CallMetrics> getRecords() {
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * Returns the aggregated metrics of an endpoint.
+     * @param endpoint : Path of the endpoint
+     * @return : Copy of the aggregated metrics, or null if no call was recorded for this endpoint
+     */
+    public synchronized EndpointMetrics getEndpointMetrics(String endpoint) {
+        EndpointMetrics endpointMetrics = endpointsMetrics.get(endpoint);
+        return endpointMetrics != null ? endpointMetrics.copy() : null;
+    }
+
+    /**
+     * Removes all recorded metrics.
+     */
+    public synchronized void clear() {
+        records.clear();
+        endpointsMetrics.clear();
+    }
+
+    /**
+     * Metrics of a single HTTP call.
+     */
+    public static class CallMetrics {
+        private final String method;
+        private final String endpoint;
+        private final int statusCode;
+        private final long durationMs;
+        private final long requestBytes;
+        private final long responseBytes;
+
+        public CallMetrics(String method, String endpoint, int statusCode, long durationMs,
+                           long requestBytes, long responseBytes) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.statusCode = statusCode;
+            this.durationMs = durationMs;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        // Getters
+        public String getMethod() { return method; }
+
+        public String getEndpoint() { return endpoint; }
+
+        public int getStatusCode() { return statusCode; }
+
+        public long getDurationMs() { return durationMs; }
+
+        /**
+         * Size of the request body, or -1 if unknown.
+         */
+        public long getRequestBytes() { return requestBytes; }
+
+        /**
+         * Number of response body bytes read until the body is exhausted or closed, or -1 if
+         * the call failed or has no body.
+         */
+        public long getResponseBytes() { return responseBytes; }
+
+        public boolean isSuccessful() { return statusCode >= 200 && statusCode < 300; }
+    }
+
+    /**
+     * Aggregated metrics of all calls to an endpoint.
+     */
+    public static class EndpointMetrics {
+        private final String endpoint;
+        private int nbCalls;
+        private int nbFailures;
+        private long totalDurationMs;
+        private long maxDurationMs;
+        private long totalResponseBytes;
+
+        EndpointMetrics(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(CallMetrics callMetrics) {
+            nbCalls++;
+            if (!callMetrics.isSuccessful()) nbFailures++;
+            totalDurationMs += callMetrics.getDurationMs();
+            maxDurationMs = Math.max(maxDurationMs, callMetrics.getDurationMs());
+            if (callMetrics.getResponseBytes() > 0)
+                totalResponseBytes += callMetrics.getResponseBytes();
+        }
+
+        EndpointMetrics copy() {
+            EndpointMetrics copy = new EndpointMetrics(endpoint);
+            copy.nbCalls = nbCalls;
+            copy.nbFailures = nbFailures;
+            copy.totalDurationMs = totalDurationMs;
+            copy.maxDurationMs = maxDurationMs;
+            copy.totalResponseBytes = totalResponseBytes;
+            return copy;
+        }
+
+        // Getters
+        public String getEndpoint() { return endpoint; }
+
+        public int getNbCalls() { return nbCalls; }
+
+        public int getNbFailures() { return nbFailures; }
+
+        public long getTotalDurationMs() { return totalDurationMs; }
+
+        public long getMaxDurationMs() { return maxDurationMs; }
+
+        public long getAverageDurationMs() { return nbCalls > 0 ? totalDurationMs / nbCalls : 0; }
+
+        public long getTotalResponseBytes() { return totalResponseBytes; }
+    }
+}
@@ -5,6 +5,7 @@ import com.openclassrooms.go4lunch.model.Restaurant;
 import com.openclassrooms.go4lunch.service.places.request.PlaceService;
 import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
 import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,12 +22,18 @@ public class ListRestaurantsService {
     // Service instance
     private final PlaceService service;
 
+    // To send Place Details requests concurrently
+    private final PlacesDetailsFetcher placesDetailsFetcher;
+
     public ListRestaurantsService() {
         // Initialize list of restaurants
         listRestaurants = new ArrayList<>();
 
         // Create service
         service = DI.provideRetrofit().create(PlaceService.class);
+        placesDetailsFetcher = new PlacesDetailsFetcher(service,
+                                               DI.provideTaskScheduler().newGroup(),
+                                               PlacesDetailsFetcher.DEFAULT_MAX_CONCURRENT_REQUESTS);
     }
 
     /**
@@ -74,6 +81,22 @@ public class ListRestaurantsService {
         else throw new IOException(Objects.requireNonNull(response.errorBody()).toString());
     }
 
+    /**
+     * Sends the GET requests for the details of all restaurants of a list concurrently, using
+     * a @{@link PlacesDetailsFetcher}, and sends back each result as soon as it is available.
+     * @param listRestaurants : List of restaurants
+     * @param priority : Priority of the requests in the network pool
+     * @param callback : Callback interface called for each received response
+     * @param completionCallback : Callback interface called once all requests are completed
+     */
+    public void getPlacesDetails(List<Restaurant> listRestaurants,
+                                 TaskScheduler.Priority priority,
+                                 ServiceRestaurantDetailsCallback callback,
+                                 ServiceDetailsCompletionCallback completionCallback) {
+        placesDetailsFetcher.fetchPlacesDetails(listRestaurants, priority, callback,
+                                                completionCallback);
+    }
+
     private void clearListRestaurants() {
         listRestaurants.clear();
     }
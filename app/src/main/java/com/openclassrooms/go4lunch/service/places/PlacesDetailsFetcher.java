@@ -0,0 +1,141 @@
+package com.openclassrooms.go4lunch.service.places;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.service.places.request.PlaceService;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.scheduler.TaskGroup;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import retrofit2.Response;
+
+/**
+ * Class used to send all Place Details requests of a list of restaurants concurrently in the
+ * network pool of a @{@link TaskScheduler}, with a limited number of requests in flight. Each
+ * result is sent back as soon as it is received.
+ */
+public class PlacesDetailsFetcher {
+
+    // Default number of Place Details requests allowed in flight, within the network pool size
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 6;
+
+    private final PlaceService service;
+
+    // Group of the request tasks
+    private final TaskGroup tasks;
+
+    private final int maxConcurrentRequests;
+
+    public PlacesDetailsFetcher(PlaceService service, TaskGroup tasks,
+                                int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1)
+            throw new IllegalArgumentException("maxConcurrentRequests must be >= 1");
+        this.service = service;
+        this.tasks = tasks;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Sends a Place Details request for each restaurant of the list, and sends back each
+     * response as soon as it is received. A failed request is skipped, without cancelling
+     * the others.
+     * This method does not wait for the responses : it can be called from the network pool.
+     * Each request in flight queues the next one once completed, so that a list never holds a
+     * thread of the pool between two requests.
+     * @param listRestaurants : List of restaurants to update with details
+     * @param priority : Priority of the requests in the network pool
+     * @param callback : Callback interface called once per received response, from the pool
+     * @param completionCallback : Callback interface called from the pool once all requests are
+     *                             completed, after the last response is sent back. Never called
+     *                             if the group of tasks is cancelled
+     */
+    public void fetchPlacesDetails(List<Restaurant> listRestaurants,
+                                   TaskScheduler.Priority priority,
+                                   ServiceRestaurantDetailsCallback callback,
+                                   ServiceDetailsCompletionCallback completionCallback) {
+        if (listRestaurants.isEmpty()) {
+            completionCallback.onPlacesDetailsCompleted();
+            return;
+        }
+        Fetch fetch = new Fetch(listRestaurants, tasks.getExecutor(TaskScheduler.Pool.NETWORK,
+                                                                   priority),
+                                callback, completionCallback);
+        int nbRequestsInFlight = Math.min(maxConcurrentRequests, listRestaurants.size());
+        for (int i = 0; i < nbRequestsInFlight; i++) {
+            sendNextRequest(fetch);
+        }
+    }
+
+    /**
+     * Queues the request of the next restaurant of a fetch, if any.
+     * @param fetch : Fetch in progress
+     */
+    private void sendNextRequest(Fetch fetch) {
+        int index = fetch.nextIndex.getAndIncrement();
+        if (index >= fetch.listRestaurants.size()) return;
+        Restaurant restaurant = fetch.listRestaurants.get(index);
+        fetch.executor.execute(() -> {
+            try {
+                fetch.callback.onRestaurantDetailsAvailable(restaurant,
+                                                      getPlaceDetails(restaurant.getPlaceId()));
+            } catch (IOException | RuntimeException exception) {
+                exception.printStackTrace();
+            }
+            sendNextRequest(fetch);
+            if (fetch.nbRemainingRequests.decrementAndGet() == 0)
+                fetch.completionCallback.onPlacesDetailsCompleted();
+        });
+    }
+
+    /**
+     * Sends a blocking Place Details request.
+     * @param placeId : Id of the place
+     * @return : Result of the GET request
+     * @throws IOException : Exception thrown if the GET request fail
+     */
+    private DetailsResponse getPlaceDetails(String placeId) throws IOException {
+        Response<DetailsResponse> response = service.getPlaceDetails(placeId).execute();
+        if (response.isSuccessful()) {
+            return response.body();
+        }
+        throw new IOException(Objects.requireNonNull(response.errorBody()).toString());
+    }
+
+    /**
+     * Returns the maximum number of requests in flight.
+     * @return : Concurrency limit
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * State of the requests of a list of restaurants.
+     */
+    private static class Fetch {
+
+        private final List<Restaurant> listRestaurants;
+        private final Executor executor;
+        private final ServiceRestaurantDetailsCallback callback;
+        private final ServiceDetailsCompletionCallback completionCallback;
+
+        // Index of the next restaurant to request
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        // Number of requests not completed yet
+        private final AtomicInteger nbRemainingRequests;
+
+        private Fetch(List<Restaurant> listRestaurants, Executor executor,
+                      ServiceRestaurantDetailsCallback callback,
+                      ServiceDetailsCompletionCallback completionCallback) {
+            this.listRestaurants = listRestaurants;
+            this.executor = executor;
+            this.callback = callback;
+            this.completionCallback = completionCallback;
+            this.nbRemainingRequests = new AtomicInteger(listRestaurants.size());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.openclassrooms.go4lunch.service.places;
+
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Class used to prefetch the next pages of a Search Nearby request in background, as soon as
+ * the first page is received, by following the "next_page_token" of each page.
+ * A token is only valid a short time after being issued : each page is requested after a
+ * "tokenActivationDelay" delay, and requested again while the API answers "INVALID_REQUEST".
+ * Prefetched pages are kept in memory until they are displayed, so that they can be appended
+ * to the list without waiting for a network round-trip.
+ */
+public class PlacesPagingPipeline {
+
+    // The Search Nearby API returns at most 2 other pages of 20 places
+    public static final int MAX_NB_NEXT_PAGES = 2;
+
+    // Delay between the reception of a token and its first use
+    public static final long DEFAULT_TOKEN_ACTIVATION_DELAY = 2000L;
+
+    // Number of requests sent for a token not yet valid
+    public static final int MAX_NB_ATTEMPTS = 3;
+
+    private static final String STATUS_INVALID_REQUEST = "INVALID_REQUEST";
+
+    /**
+     * Interface used to send a next page request.
+     */
+    public interface PageLoader {
+        PlaceResponse loadPage(String nextPageToken) throws IOException;
+    }
+
+    /**
+     * Interface notified each time a page is prefetched for the current search.
+     */
+    public interface PageListener {
+        void onPageLoaded(PlaceResponse response);
+    }
+
+    private final PageLoader pageLoader;
+
+    private final PageListener pageListener;
+
+    // Executor running the prefetch of each search
+    private final Executor executor;
+
+    private final long tokenActivationDelay;
+
+    // Incremented for each new search, to discard the pages of a previous search
+    private int session;
+
+    // Tokens followed for the current search, from the first one
+    private final List<String> tokens = new ArrayList<>();
+
+    // Prefetched pages not displayed yet
+    private final ArrayDeque<List<ResultPlaces>> pages = new ArrayDeque<>();
+
+    // Indicates if pages are still being prefetched for the current search
+    private boolean prefetching;
+
+    // Request for a next page received before this page was prefetched
+    private ServiceNextPageCallback pendingCallback;
+
+    public PlacesPagingPipeline(PageLoader pageLoader, Executor executor,
+                                long tokenActivationDelay) {
+        this(pageLoader, null, executor, tokenActivationDelay);
+    }
+
+    public PlacesPagingPipeline(PageLoader pageLoader, PageListener pageListener,
+                                Executor executor, long tokenActivationDelay) {
+        this.pageLoader = pageLoader;
+        this.pageListener = pageListener;
+        this.executor = executor;
+        this.tokenActivationDelay = tokenActivationDelay;
+    }
+
+    /**
+     * Starts the prefetch of the next pages of a new search. Pages of a previous search are
+     * discarded, and its pending request is dropped.
+     * @param nextPageToken : Token of the first page of the search, or null if no other page
+     *                        is available
+     */
+    public void start(String nextPageToken) {
+        int newSession;
+        synchronized (this) {
+            session++;
+            newSession = session;
+            tokens.clear();
+            pages.clear();
+            pendingCallback = null;
+            prefetching = nextPageToken != null;
+        }
+        if (nextPageToken != null) executor.execute(() -> prefetch(newSession, nextPageToken));
+    }
+
+    /**
+     * Discards all pages of the current search.
+     */
+    public void clear() {
+        start(null);
+    }
+
+    /**
+     * Indicates if another page can be appended to the current list.
+     * @return : true if a page is prefetched or being prefetched
+     */
+    public synchronized boolean hasNextPage() {
+        return !pages.isEmpty() || prefetching;
+    }
+
+    /**
+     * Returns the tokens followed for the current search.
+     * @return : List of tokens, from the first one
+     */
+    public synchronized List<String> getTokens() {
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Sends back the next page of the current search : immediately if it is already prefetched,
+     * or as soon as it is received otherwise.
+     * @param callback : Callback interface, called with null if no other page is available
+     */
+    public void takeNextPage(ServiceNextPageCallback callback) {
+        List<ResultPlaces> page;
+        synchronized (this) {
+            if (pages.isEmpty() && prefetching) {
+                pendingCallback = callback;
+                return;
+            }
+            page = pages.pollFirst();
+        }
+        callback.onNextPageAvailable(page);
+    }
+
+    /**
+     * Follows the tokens of a search, until the last page or MAX_NB_NEXT_PAGES pages.
+     * @param prefetchSession : Search of the tokens
+     * @param firstToken : Token of the first page
+     */
+    private void prefetch(int prefetchSession, String firstToken) {
+        String token = firstToken;
+        int nbPages = 0;
+        while (token != null && nbPages < MAX_NB_NEXT_PAGES) {
+            PlaceResponse response = loadPage(prefetchSession, token);
+            if (response == null || response.getResults() == null) break;
+            ServiceNextPageCallback callback;
+            synchronized (this) {
+                if (prefetchSession != session) return;
+                tokens.add(token);
+                callback = pendingCallback;
+                pendingCallback = null;
+                if (callback == null) pages.addLast(response.getResults());
+            }
+            if (pageListener != null) pageListener.onPageLoaded(response);
+            if (callback != null) callback.onNextPageAvailable(response.getResults());
+            token = response.getNextPageToken();
+            nbPages++;
+        }
+
+        // No other page : answer a pending request
+        ServiceNextPageCallback callback;
+        synchronized (this) {
+            if (prefetchSession != session) return;
+            prefetching = false;
+            callback = pendingCallback;
+            pendingCallback = null;
+        }
+        if (callback != null) callback.onNextPageAvailable(null);
+    }
+
+    /**
+     * Requests a page once its token is valid.
+     * @param prefetchSession : Search of the token
+     * @param token : Token of the page
+     * @return : Page received, or null if the request failed or if a new search was started
+     */
+    private PlaceResponse loadPage(int prefetchSession, String token) {
+        for (int attempt = 0; attempt < MAX_NB_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(tokenActivationDelay);
+                synchronized (this) {
+                    if (prefetchSession != session) return null;
+                }
+                PlaceResponse response = pageLoader.loadPage(token);
+                if (response != null && !STATUS_INVALID_REQUEST.equals(response.getStatus()))
+                    return response;
+            } catch (IOException exception) {
+                exception.printStackTrace();
+                return null;
+            } catch (InterruptedException exception) {
+                exception.printStackTrace();
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+}
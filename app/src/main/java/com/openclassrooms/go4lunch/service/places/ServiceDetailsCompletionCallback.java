@@ -0,0 +1,9 @@
+package com.openclassrooms.go4lunch.service.places;
+
+/**
+ * Callback interface to know when all Place Details requests of a list of restaurants are
+ * completed
+ */
+public interface ServiceDetailsCompletionCallback {
+    void onPlacesDetailsCompleted();
+}
@@ -0,0 +1,12 @@
+package com.openclassrooms.go4lunch.service.places;
+
+import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import java.util.List;
+
+/**
+ * Callback interface to get the next page of places of a Search Nearby request, or null if
+ * no other page is available
+ */
+public interface ServiceNextPageCallback {
+    void onNextPageAvailable(List<ResultPlaces> results);
+}
@@ -0,0 +1,10 @@
+package com.openclassrooms.go4lunch.service.places;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+
+/**
+ * Callback interface to get a restaurant as soon as it has been updated with its details
+ */
+public interface ServiceRestaurantCallback {
+    void onRestaurantAvailable(Restaurant restaurant);
+}
@@ -0,0 +1,11 @@
+package com.openclassrooms.go4lunch.service.places;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+
+/**
+ * Callback interface to get the details of a single restaurant as soon as they are available
+ */
+public interface ServiceRestaurantDetailsCallback {
+    void onRestaurantDetailsAvailable(Restaurant restaurant, DetailsResponse response);
+}
@@ -0,0 +1,401 @@
+package com.openclassrooms.go4lunch.service.places.response;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.openclassrooms.go4lunch.service.places.response.details.ClosingHours;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.places.response.details.HoursInfo;
+import com.openclassrooms.go4lunch.service.places.response.details.OpeningHours;
+import com.openclassrooms.go4lunch.service.places.response.details.Period;
+import com.openclassrooms.go4lunch.service.places.response.details.ResultDetails;
+import com.openclassrooms.go4lunch.service.places.response.places.Geometry;
+import com.openclassrooms.go4lunch.service.places.response.places.LocationRestaurant;
+import com.openclassrooms.go4lunch.service.places.response.places.Photo;
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming parser reading Search Nearby and Place Details API responses token by token
+ * with a @{@link JsonReader}.
+ * Only the fields used by the application are decoded : all other fields (attributions, types,
+ * icons, viewports, plus codes, weekday texts, ...) are skipped without being materialized,
+ * and only the first photo of each place is kept.
+ * JSON null values and missing fields leave the default value of the field (null, 0).
+ */
+public class PlacesJsonParser {
+
+    private PlacesJsonParser() { }
+
+    /**
+     * Reads a Search Nearby API response.
+     * @param reader : JsonReader positioned at the beginning of the response
+     * @return : PlaceResponse object, or null if the response is a JSON null value
+     * @throws IOException : Malformed JSON
+     */
+    public static PlaceResponse readPlaceResponse(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        PlaceResponse response = new PlaceResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "results":
+                    response.results = readResultsPlaces(reader);
+                    break;
+                case "next_page_token":
+                    response.next_page_token = readString(reader);
+                    break;
+                case "status":
+                    response.status = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    /**
+     * Reads a Place Details API response.
+     * @param reader : JsonReader positioned at the beginning of the response
+     * @return : DetailsResponse object, or null if the response is a JSON null value
+     * @throws IOException : Malformed JSON
+     */
+    public static DetailsResponse readDetailsResponse(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        DetailsResponse response = new DetailsResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "result":
+                    response.result = readResultDetails(reader);
+                    break;
+                case "status":
+                    response.status = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    /**
+     * Reads the "results" array of a Search Nearby API response.
+     * @param reader : JsonReader
+     * @return : List of ResultPlaces
+     * @throws IOException : Malformed JSON
+     */
+    private static List<ResultPlaces> readResultsPlaces(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        List<ResultPlaces> results = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (skipNull(reader)) continue;
+            results.add(readResultPlaces(reader));
+        }
+        reader.endArray();
+        return results;
+    }
+
+    /**
+     * Reads a place of the "results" array of a Search Nearby API response.
+     * @param reader : JsonReader
+     * @return : ResultPlaces object
+     * @throws IOException : Malformed JSON
+     */
+    private static ResultPlaces readResultPlaces(JsonReader reader) throws IOException {
+        String name = null;
+        String placeId = null;
+        String vicinity = null;
+        double rating = 0;
+        Geometry geometry = null;
+        List<Photo> photos = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = readString(reader);
+                    break;
+                case "place_id":
+                    placeId = readString(reader);
+                    break;
+                case "vicinity":
+                    vicinity = readString(reader);
+                    break;
+                case "rating":
+                    if (!skipNull(reader)) rating = reader.nextDouble();
+                    break;
+                case "geometry":
+                    geometry = readGeometry(reader);
+                    break;
+                case "photos":
+                    photos = readFirstPhoto(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ResultPlaces(name, placeId, vicinity, rating, geometry, photos);
+    }
+
+    /**
+     * Reads the "geometry" field of a place, without its viewport.
+     * @param reader : JsonReader
+     * @return : Geometry object
+     * @throws IOException : Malformed JSON
+     */
+    private static Geometry readGeometry(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        LocationRestaurant location = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("location")) location = readLocation(reader);
+            else reader.skipValue();
+        }
+        reader.endObject();
+        return new Geometry(location);
+    }
+
+    /**
+     * Reads the "location" field of a place geometry.
+     * @param reader : JsonReader
+     * @return : LocationRestaurant object
+     * @throws IOException : Malformed JSON
+     */
+    private static LocationRestaurant readLocation(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        double lat = 0;
+        double lng = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "lat":
+                    if (!skipNull(reader)) lat = reader.nextDouble();
+                    break;
+                case "lng":
+                    if (!skipNull(reader)) lng = reader.nextDouble();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new LocationRestaurant(lat, lng);
+    }
+
+    /**
+     * Reads the "photos" array of a place, and only keeps its first element (the only one
+     * displayed).
+     * @param reader : JsonReader
+     * @return : List containing the first photo, or an empty list
+     * @throws IOException : Malformed JSON
+     */
+    private static List<Photo> readFirstPhoto(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        Photo photo = null;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (photo == null && reader.peek() == JsonToken.BEGIN_OBJECT) photo = readPhoto(reader);
+            else reader.skipValue();
+        }
+        reader.endArray();
+        return photo != null ? Collections.singletonList(photo) : Collections.emptyList();
+    }
+
+    /**
+     * Reads a photo of a place, without its attributions.
+     * @param reader : JsonReader
+     * @return : Photo object
+     * @throws IOException : Malformed JSON
+     */
+    private static Photo readPhoto(JsonReader reader) throws IOException {
+        int height = 0;
+        String photoReference = null;
+        int width = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "height":
+                    if (!skipNull(reader)) height = reader.nextInt();
+                    break;
+                case "photo_reference":
+                    photoReference = readString(reader);
+                    break;
+                case "width":
+                    if (!skipNull(reader)) width = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Photo(height, photoReference, width);
+    }
+
+    /**
+     * Reads the "result" field of a Place Details API response.
+     * @param reader : JsonReader
+     * @return : ResultDetails object
+     * @throws IOException : Malformed JSON
+     */
+    private static ResultDetails readResultDetails(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        String phoneNumber = null;
+        HoursInfo hoursInfo = null;
+        String website = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "formatted_phone_number":
+                    phoneNumber = readString(reader);
+                    break;
+                case "opening_hours":
+                    hoursInfo = readHoursInfo(reader);
+                    break;
+                case "website":
+                    website = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ResultDetails(phoneNumber, hoursInfo, website);
+    }
+
+    /**
+     * Reads the "opening_hours" field of a place, without its "open_now" and "weekday_text"
+     * fields.
+     * @param reader : JsonReader
+     * @return : HoursInfo object
+     * @throws IOException : Malformed JSON
+     */
+    private static HoursInfo readHoursInfo(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        List<Period> periods = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("periods")) periods = readPeriods(reader);
+            else reader.skipValue();
+        }
+        reader.endObject();
+        return new HoursInfo(periods);
+    }
+
+    /**
+     * Reads the "periods" array of a place opening hours.
+     * @param reader : JsonReader
+     * @return : List of Period
+     * @throws IOException : Malformed JSON
+     */
+    private static List<Period> readPeriods(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        List<Period> periods = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (skipNull(reader)) continue;
+            ClosingHours close = null;
+            OpeningHours open = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "close":
+                        close = readClosingHours(reader);
+                        break;
+                    case "open":
+                        open = readOpeningHours(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            periods.add(new Period(close, open));
+        }
+        reader.endArray();
+        return periods;
+    }
+
+    /**
+     * Reads the "open" field of a period.
+     * @param reader : JsonReader
+     * @return : OpeningHours object
+     * @throws IOException : Malformed JSON
+     */
+    private static OpeningHours readOpeningHours(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        int day = 0;
+        String time = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "day":
+                    if (!skipNull(reader)) day = reader.nextInt();
+                    break;
+                case "time":
+                    time = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new OpeningHours(day, time);
+    }
+
+    /**
+     * Reads the "close" field of a period.
+     * @param reader : JsonReader
+     * @return : ClosingHours object
+     * @throws IOException : Malformed JSON
+     */
+    private static ClosingHours readClosingHours(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        int day = 0;
+        String time = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "day":
+                    if (!skipNull(reader)) day = reader.nextInt();
+                    break;
+                case "time":
+                    time = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ClosingHours(day, time);
+    }
+
+    /**
+     * Reads a string value, which can be null.
+     * @param reader : JsonReader
+     * @return : String value
+     * @throws IOException : Malformed JSON
+     */
+    private static String readString(JsonReader reader) throws IOException {
+        return skipNull(reader) ? null : reader.nextString();
+    }
+
+    /**
+     * Consumes the next value if it is a JSON null value.
+     * @param reader : JsonReader
+     * @return : true if a null value was consumed
+     * @throws IOException : Malformed JSON
+     */
+    private static boolean skipNull(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NULL) return false;
+        reader.nextNull();
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.openclassrooms.go4lunch.service.places.response;
+
+import com.google.gson.stream.JsonReader;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter factory decoding @{@link PlaceResponse} and @{@link DetailsResponse} bodies
+ * with the streaming @{@link PlacesJsonParser}, instead of reflectively materializing the whole
+ * JSON tree. Other types are left to the next converter factory (Gson).
+ * Must be added before GsonConverterFactory, which accepts all types.
+ */
+public class StreamingResponseConverterFactory extends Converter.Factory {
+
+    public static StreamingResponseConverterFactory create() {
+        return new StreamingResponseConverterFactory();
+    }
+
+    private StreamingResponseConverterFactory() { }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        if (type == PlaceResponse.class) {
+            return (Converter<ResponseBody, PlaceResponse>) body -> {
+                try (JsonReader reader = new JsonReader(body.charStream())) {
+                    return PlacesJsonParser.readPlaceResponse(reader);
+                }
+            };
+        }
+        if (type == DetailsResponse.class) {
+            return (Converter<ResponseBody, DetailsResponse>) body -> {
+                try (JsonReader reader = new JsonReader(body.charStream())) {
+                    return PlacesJsonParser.readDetailsResponse(reader);
+                }
+            };
+        }
+        return null;
+    }
+}
@@ -1,6 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.details;
 
-import androidx.annotation.VisibleForTesting;
 import java.util.List;
 
 /**
@@ -12,7 +11,6 @@ import java.util.List;
 public class HoursInfo {
     public List<Period> periods;
 
-    @VisibleForTesting
     public HoursInfo(List<Period> periods) {
         this.periods = periods;
     }
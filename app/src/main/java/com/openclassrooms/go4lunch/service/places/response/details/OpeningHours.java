@@ -2,6 +2,7 @@ package com.openclassrooms.go4lunch.service.places.response.details;
 
 import androidx.annotation.VisibleForTesting;
 import androidx.room.ColumnInfo;
+import java.util.Objects;
 
 /**
  * Data retrieved from a JSON object, as a response of a Place Details API request, and representing
@@ -15,11 +16,10 @@ public class OpeningHours {
     @ColumnInfo(name = "time_open") public final String time;
 
     /**
-     * Used for testing only. See DataConvertersUnitTest.java file.
+     * Creates an opening hour, for a day of the week.
      * @param day : Day of the week
      * @param time : Opening hour - format "HHMM"
      */
-    @VisibleForTesting
     public OpeningHours(int day, String time) {
         this.day = day;
         this.time = time;
@@ -40,4 +40,17 @@ public class OpeningHours {
     public String getTime() {
         return time;
     }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        OpeningHours other = (OpeningHours) object;
+        return day == other.day && Objects.equals(time, other.time);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, time);
+    }
 }
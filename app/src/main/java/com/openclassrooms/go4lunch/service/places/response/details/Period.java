@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.details;
 
-import androidx.annotation.VisibleForTesting;
-
 /**
  * Data retrieved from a JSON object, as a response of a Place Details API request, and representing
  * all closing/opening hours information for each day of the week.
@@ -14,7 +12,6 @@ public class Period {
 
     public OpeningHours open;
 
-    @VisibleForTesting
     public Period(ClosingHours closingHours, OpeningHours openingHours) {
         this.close = closingHours;
         this.open = openingHours;
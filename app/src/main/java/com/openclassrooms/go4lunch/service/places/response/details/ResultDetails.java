@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.details;
 
-import androidx.annotation.VisibleForTesting;
-
 /**
  * Data retrieved from a JSON object, as a response of a Place Details API request.
  * Contains all information the "result" field of the JSON object :
@@ -14,7 +12,6 @@ public class ResultDetails {
     public HoursInfo opening_hours;
     public String website;
 
-    @VisibleForTesting
     public ResultDetails(String formattedPhoneNumber, HoursInfo hoursInfo, String website) {
         this.formatted_phone_number = formattedPhoneNumber;
         this.opening_hours = hoursInfo;
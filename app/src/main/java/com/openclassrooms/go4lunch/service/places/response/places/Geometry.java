@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.places;
 
-import androidx.annotation.VisibleForTesting;
-
 /**
  * Data retrieved from a JSON object, as a response of a Search Nearby API request, and containing
  * geometry information of a restaurant.
@@ -11,7 +9,6 @@ import androidx.annotation.VisibleForTesting;
 public class Geometry {
     public LocationRestaurant location;
 
-    @VisibleForTesting
     public Geometry(LocationRestaurant location) {
         this.location = location;
     }
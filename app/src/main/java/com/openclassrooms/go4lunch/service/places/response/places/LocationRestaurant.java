@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.places;
 
-import androidx.annotation.VisibleForTesting;
-
 /**
  * Data retrieved from a JSON object, as a response of a Search Nearby API request, and containing
  * location information of a restaurant.
@@ -13,7 +11,6 @@ public class LocationRestaurant {
     public double lat;
     public double lng;
 
-    @VisibleForTesting
     public LocationRestaurant(double lat, double lng) {
         this.lat = lat;
         this.lng = lng;
@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.places;
 
-import androidx.annotation.VisibleForTesting;
-
 /**
  * Data retrieved from a JSON object, as a response of a Search Nearby API request, and containing
  * photo information of a restaurant.
@@ -15,7 +13,6 @@ public class Photo {
     public String photo_reference;
     public int width;
 
-    @VisibleForTesting
     public Photo(int height, String photo_reference, int width) {
         this.height = height;
         this.photo_reference = photo_reference;
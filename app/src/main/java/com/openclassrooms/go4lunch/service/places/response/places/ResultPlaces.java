@@ -1,7 +1,5 @@
 package com.openclassrooms.go4lunch.service.places.response.places;
 
-import androidx.annotation.VisibleForTesting;
-
 import java.util.List;
 
 /**
@@ -23,7 +21,6 @@ public class ResultPlaces {
     public double rating;
     public List<Photo> photos;
 
-    @VisibleForTesting
     public ResultPlaces(String name, String place_id, String vicinity, double rating,
                         Geometry geometry, List<Photo> photos) {
         this.name = name;
@@ -0,0 +1,89 @@
+package com.openclassrooms.go4lunch.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Group of tasks submitted to a @{@link TaskScheduler} by a same component, such as a
+ * ViewModel. Once the group is cancelled, its queued tasks are removed from their pools and
+ * new tasks are dropped. Running tasks are not interrupted.
+ */
+public class TaskGroup {
+
+    private final TaskScheduler scheduler;
+
+    // Tasks queued or running, guarded by this
+    private final Set<TaskScheduler.PoolTask> pendingTasks = new HashSet<>();
+
+    // Serial executors of the group, guarded by this
+    private final List<TaskScheduler.SerialExecutor> serialExecutors = new ArrayList<>();
+
+    private boolean cancelled;
+
+    TaskGroup(TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns an Executor running the tasks of this group concurrently in a pool.
+     * @param pool : Pool of threads
+     * @param priority : Priority of the tasks
+     * @return : Executor object
+     */
+    public Executor getExecutor(TaskScheduler.Pool pool, TaskScheduler.Priority priority) {
+        return task -> scheduler.submit(pool, priority, this, task);
+    }
+
+    /**
+     * Returns a new Executor running the tasks of this group one at a time in a pool, in
+     * submission order.
+     * @param pool : Pool of threads
+     * @param priority : Priority of the tasks
+     * @return : Executor object
+     */
+    public Executor newSerialExecutor(TaskScheduler.Pool pool, TaskScheduler.Priority priority) {
+        TaskScheduler.SerialExecutor serialExecutor =
+                new TaskScheduler.SerialExecutor(scheduler, pool, priority, this);
+        synchronized (this) {
+            serialExecutors.add(serialExecutor);
+        }
+        return serialExecutor;
+    }
+
+    /**
+     * Cancels all queued tasks of the group, and drops all tasks submitted afterwards.
+     */
+    public void cancel() {
+        List<TaskScheduler.PoolTask> tasksToCancel;
+        List<TaskScheduler.SerialExecutor> serialExecutorsToCancel;
+        synchronized (this) {
+            cancelled = true;
+            tasksToCancel = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+            serialExecutorsToCancel = new ArrayList<>(serialExecutors);
+        }
+        for (int i = 0; i < tasksToCancel.size(); i++) tasksToCancel.get(i).cancel();
+        for (int i = 0; i < serialExecutorsToCancel.size(); i++)
+            serialExecutorsToCancel.get(i).cancel();
+    }
+
+    public synchronized boolean isCancelled() { return cancelled; }
+
+    /**
+     * Records a new task of the group.
+     * @param task : Task to record
+     * @return : false if the group is cancelled
+     */
+    synchronized boolean add(TaskScheduler.PoolTask task) {
+        if (cancelled) return false;
+        pendingTasks.add(task);
+        return true;
+    }
+
+    synchronized void remove(TaskScheduler.PoolTask task) {
+        pendingTasks.remove(task);
+    }
+}
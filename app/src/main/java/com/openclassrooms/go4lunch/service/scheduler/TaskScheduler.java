@@ -0,0 +1,421 @@
+package com.openclassrooms.go4lunch.service.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application-wide scheduler running background tasks on separate bounded pools of threads :
+ *      - NETWORK : blocking network requests
+ *      - DISK : database accesses
+ *      - CPU : computations (filters, lists of display records, mapping)
+ * so that a slow network request never delays a database write.
+ * Queued tasks of a pool are run by priority, then in submission order. Idle threads are
+ * released after KEEP_ALIVE_TIME_SECONDS. Tasks submitted through a @{@link TaskGroup} can
+ * all be cancelled at once, for instance when the ViewModel submitting them is cleared.
+ * Queue depth, wait time and run time of the tasks are measured for each pool, including the
+ * tasks waiting in serial executors for the previous one to complete.
+ */
+public class TaskScheduler {
+
+    /**
+     * Pools of threads, by type of work.
+     */
+    public enum Pool {
+        NETWORK, DISK, CPU
+    }
+
+    /**
+     * Priorities of the tasks queued in a pool, highest first.
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    public static final int DEFAULT_NETWORK_POOL_SIZE = 4;
+
+    // Room serializes writes : a second thread only allows a read during a write
+    public static final int DEFAULT_DISK_POOL_SIZE = 2;
+
+    public static final int DEFAULT_CPU_POOL_SIZE =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    // Idle time before a thread is released
+    public static final long KEEP_ALIVE_TIME_SECONDS = 30L;
+
+    private final TaskPool[] pools = new TaskPool[Pool.values().length];
+
+    // Submission order of the tasks, to run tasks with the same priority in order
+    private final AtomicLong sequence = new AtomicLong();
+
+    public TaskScheduler(int networkPoolSize, int diskPoolSize, int cpuPoolSize) {
+        pools[Pool.NETWORK.ordinal()] = new TaskPool(Pool.NETWORK, networkPoolSize);
+        pools[Pool.DISK.ordinal()] = new TaskPool(Pool.DISK, diskPoolSize);
+        pools[Pool.CPU.ordinal()] = new TaskPool(Pool.CPU, cpuPoolSize);
+    }
+
+    /**
+     * Creates a TaskScheduler with default pool sizes.
+     * @return : TaskScheduler object
+     */
+    public static TaskScheduler create() {
+        return new TaskScheduler(DEFAULT_NETWORK_POOL_SIZE, DEFAULT_DISK_POOL_SIZE,
+                                 DEFAULT_CPU_POOL_SIZE);
+    }
+
+    /**
+     * Returns an Executor running tasks concurrently in a pool, with a given priority.
+     * @param pool : Pool of threads
+     * @param priority : Priority of the tasks
+     * @return : Executor object
+     */
+    public Executor getExecutor(Pool pool, Priority priority) {
+        return task -> submit(pool, priority, null, task);
+    }
+
+    /**
+     * Returns a new Executor running tasks one at a time in a pool, in submission order, so
+     * that they can share state without synchronization (as on a single thread executor).
+     * @param pool : Pool of threads
+     * @param priority : Priority of the tasks
+     * @return : Executor object
+     */
+    public Executor newSerialExecutor(Pool pool, Priority priority) {
+        return new SerialExecutor(this, pool, priority, null);
+    }
+
+    /**
+     * Creates a new group of tasks, to cancel them all at once.
+     * @return : TaskGroup object
+     */
+    public TaskGroup newGroup() {
+        return new TaskGroup(this);
+    }
+
+    /**
+     * Returns the metrics of a pool.
+     * @param pool : Pool of threads
+     * @return : Copy of the current metrics
+     */
+    public PoolMetrics getMetrics(Pool pool) {
+        return pools[pool.ordinal()].getMetrics();
+    }
+
+    /**
+     * Queues a task in a pool. The task is dropped if its group is cancelled.
+     * @param pool : Pool of threads
+     * @param priority : Priority of the task
+     * @param group : Group of the task, or null
+     * @param runnable : Task to run
+     */
+    void submit(Pool pool, Priority priority, TaskGroup group, Runnable runnable) {
+        submit(pool, priority, group, runnable, System.nanoTime());
+    }
+
+    /**
+     * Queues a task in a pool, with the time it was submitted to a serial executor, so that
+     * its wait time includes the time spent waiting for the previous task.
+     * @param pool : Pool of threads
+     * @param priority : Priority of the task
+     * @param group : Group of the task, or null
+     * @param runnable : Task to run
+     * @param submitTime : Submission time, from System.nanoTime()
+     */
+    void submit(Pool pool, Priority priority, TaskGroup group, Runnable runnable,
+                long submitTime) {
+        TaskPool taskPool = pools[pool.ordinal()];
+        PoolTask task = new PoolTask(taskPool, group, priority, sequence.getAndIncrement(),
+                                     runnable, submitTime);
+        if (group != null && !group.add(task)) {
+            taskPool.recordCancelled();
+            return;
+        }
+        taskPool.execute(task);
+    }
+
+    /**
+     * Task queued in a pool, ordered by priority then by submission order.
+     */
+    static class PoolTask implements Runnable, Comparable<PoolTask> {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final TaskPool taskPool;
+        private final TaskGroup group;
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable runnable;
+        private final long submitTime;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        PoolTask(TaskPool taskPool, TaskGroup group, Priority priority, long sequence,
+                 Runnable runnable, long submitTime) {
+            this.taskPool = taskPool;
+            this.group = group;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.runnable = runnable;
+            this.submitTime = submitTime;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) return;
+            long startTime = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                if (group != null) group.remove(this);
+                taskPool.recordCompleted(startTime - submitTime, System.nanoTime() - startTime);
+            }
+        }
+
+        /**
+         * Removes the task from its pool, unless it is already running.
+         */
+        void cancel() {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                taskPool.remove(this);
+                taskPool.recordCancelled();
+            }
+        }
+
+        @Override
+        public int compareTo(PoolTask other) {
+            if (priority != other.priority) return priority.compareTo(other.priority);
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Pool of threads with a priority queue, recording the metrics of its tasks.
+     */
+    private static class TaskPool {
+
+        private final Pool pool;
+        private final ThreadPoolExecutor executor;
+
+        // Tasks waiting in serial executors for the previous one to complete
+        private final AtomicInteger nbSerialTasks = new AtomicInteger();
+
+        // Metrics, guarded by this
+        private int maxQueueDepth;
+        private long nbCompletedTasks;
+        private long nbCancelledTasks;
+        private long totalWaitTime;
+        private long maxWaitTime;
+        private long totalRunTime;
+        private long maxRunTime;
+
+        TaskPool(Pool pool, int size) {
+            if (size < 1) throw new IllegalArgumentException("Pool size must be >= 1");
+            this.pool = pool;
+            AtomicInteger nbThreads = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> new Thread(runnable, String.format(
+                    Locale.ROOT, "%s-%d", pool.name().toLowerCase(Locale.ROOT),
+                    nbThreads.incrementAndGet()));
+            this.executor = new ThreadPoolExecutor(size, size, KEEP_ALIVE_TIME_SECONDS,
+                                                   TimeUnit.SECONDS,
+                                                   new PriorityBlockingQueue<>(), threadFactory);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        void execute(PoolTask task) {
+            executor.execute(task);
+            recordQueueDepth();
+        }
+
+        void addSerialTask() {
+            nbSerialTasks.incrementAndGet();
+            recordQueueDepth();
+        }
+
+        void removeSerialTask() {
+            nbSerialTasks.decrementAndGet();
+        }
+
+        private int getQueueDepth() {
+            return executor.getQueue().size() + nbSerialTasks.get();
+        }
+
+        private void recordQueueDepth() {
+            int queueDepth = getQueueDepth();
+            synchronized (this) {
+                maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+            }
+        }
+
+        void remove(PoolTask task) {
+            executor.remove(task);
+        }
+
+        synchronized void recordCompleted(long waitTime, long runTime) {
+            nbCompletedTasks++;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            totalRunTime += runTime;
+            maxRunTime = Math.max(maxRunTime, runTime);
+        }
+
+        synchronized void recordCancelled() {
+            nbCancelledTasks++;
+        }
+
+        PoolMetrics getMetrics() {
+            int queueDepth = getQueueDepth();
+            int nbActiveThreads = executor.getActiveCount();
+            synchronized (this) {
+                return new PoolMetrics(pool, executor.getMaximumPoolSize(), nbActiveThreads,
+                                       queueDepth, maxQueueDepth, nbCompletedTasks,
+                                       nbCancelledTasks, totalWaitTime, maxWaitTime,
+                                       totalRunTime, maxRunTime);
+            }
+        }
+    }
+
+    /**
+     * Executor running its tasks one at a time in a pool, in submission order. Tasks waiting
+     * for the previous one to complete are counted in the queue depth of the pool, and their
+     * wait time starts when they are submitted to this executor.
+     */
+    static class SerialExecutor implements Executor {
+
+        private final TaskScheduler scheduler;
+        private final Pool pool;
+        private final Priority priority;
+        private final TaskGroup group;
+
+        // Tasks waiting for the previous one to complete, with their submission time,
+        // guarded by this
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private final ArrayDeque<Long> submitTimes = new ArrayDeque<>();
+
+        private boolean running;
+
+        SerialExecutor(TaskScheduler scheduler, Pool pool, Priority priority, TaskGroup group) {
+            this.scheduler = scheduler;
+            this.pool = pool;
+            this.priority = priority;
+            this.group = group;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            TaskPool taskPool = scheduler.pools[pool.ordinal()];
+            if (group != null && group.isCancelled()) {
+                taskPool.recordCancelled();
+                return;
+            }
+            tasks.addLast(task);
+            submitTimes.addLast(System.nanoTime());
+            taskPool.addSerialTask();
+            if (!running) scheduleNext();
+        }
+
+        private synchronized void scheduleNext() {
+            Runnable next = tasks.pollFirst();
+            running = next != null;
+            if (next != null) {
+                long submitTime = submitTimes.pollFirst();
+                scheduler.pools[pool.ordinal()].removeSerialTask();
+                scheduler.submit(pool, priority, group, () -> {
+                    try {
+                        next.run();
+                    } finally {
+                        scheduleNext();
+                    }
+                }, submitTime);
+            }
+        }
+
+        /**
+         * Drops the tasks waiting for the previous one to complete, once the group of this
+         * executor is cancelled.
+         */
+        synchronized void cancel() {
+            TaskPool taskPool = scheduler.pools[pool.ordinal()];
+            while (!tasks.isEmpty()) {
+                tasks.pollFirst();
+                submitTimes.pollFirst();
+                taskPool.removeSerialTask();
+                taskPool.recordCancelled();
+            }
+        }
+    }
+
+    /**
+     * Metrics of a pool : current state, and wait and run times of the completed tasks.
+     */
+    public static class PoolMetrics {
+        private final Pool pool;
+        private final int poolSize;
+        private final int nbActiveThreads;
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long nbCompletedTasks;
+        private final long nbCancelledTasks;
+        private final long totalWaitTime; // ns
+        private final long maxWaitTime; // ns
+        private final long totalRunTime; // ns
+        private final long maxRunTime; // ns
+
+        PoolMetrics(Pool pool, int poolSize, int nbActiveThreads, int queueDepth,
+                    int maxQueueDepth, long nbCompletedTasks, long nbCancelledTasks,
+                    long totalWaitTime, long maxWaitTime, long totalRunTime, long maxRunTime) {
+            this.pool = pool;
+            this.poolSize = poolSize;
+            this.nbActiveThreads = nbActiveThreads;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.nbCompletedTasks = nbCompletedTasks;
+            this.nbCancelledTasks = nbCancelledTasks;
+            this.totalWaitTime = totalWaitTime;
+            this.maxWaitTime = maxWaitTime;
+            this.totalRunTime = totalRunTime;
+            this.maxRunTime = maxRunTime;
+        }
+
+        // Getters
+        public Pool getPool() { return pool; }
+
+        public int getPoolSize() { return poolSize; }
+
+        public int getNbActiveThreads() { return nbActiveThreads; }
+
+        public int getQueueDepth() { return queueDepth; }
+
+        public int getMaxQueueDepth() { return maxQueueDepth; }
+
+        public long getNbCompletedTasks() { return nbCompletedTasks; }
+
+        public long getNbCancelledTasks() { return nbCancelledTasks; }
+
+        /**
+         * Returns the average time spent by the completed tasks in the queue.
+         * @return : Average wait time in ms, or 0 if no task was completed
+         */
+        public double getAverageWaitTime() {
+            return nbCompletedTasks == 0 ? 0.0 : totalWaitTime / 1e6 / nbCompletedTasks;
+        }
+
+        public double getMaxWaitTime() { return maxWaitTime / 1e6; }
+
+        /**
+         * Returns the average run time of the completed tasks.
+         * @return : Average run time in ms, or 0 if no task was completed
+         */
+        public double getAverageRunTime() {
+            return nbCompletedTasks == 0 ? 0.0 : totalRunTime / 1e6 / nbCompletedTasks;
+        }
+
+        public double getMaxRunTime() { return maxRunTime / 1e6; }
+    }
+}
@@ -0,0 +1,223 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.utils.AppInfo;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @{@link WorkmatesSource} implementation listening to the Firestore database collection of
+ * workmates, and converting the document changes of each snapshot into @{@link WorkmateChange}
+ * objects. Unchanged documents of a snapshot are not read.
+ * Without last-synced marker, the whole collection is listened to. Otherwise only documents
+ * updated after the marker are listened to. The ids of all documents are then read once per
+ * process, to detect deleted documents and documents without update time : these are not
+ * matched by the query.
+ * Snapshots are received on the given executor.
+ */
+public class FirestoreWorkmatesSource implements WorkmatesSource {
+
+    // Field containing the server time of the last update of a document
+    public static final String FIELD_UPDATED_AT = "updatedAt";
+
+    // Indicates if the ids of all documents have been read since the process started
+    private static final AtomicBoolean documentIdsChecked = new AtomicBoolean();
+
+    private final Executor executor;
+
+    private ListenerRegistration listenerRegistration;
+
+    // Indicates if a snapshot has already been received from the server
+    private boolean synchronizedWithServer;
+
+    public FirestoreWorkmatesSource(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void start(long lastSyncedAt, ChangesListener listener) {
+        stop();
+        CollectionReference collection =
+                FirebaseFirestore.getInstance().collection(AppInfo.ROOT_COLLECTION_ID);
+        if (lastSyncedAt <= 0) startFullListener(collection, listener);
+        else startIncrementalListener(collection, lastSyncedAt, listener);
+    }
+
+    /**
+     * Listens to all documents of the collection. The ids of all documents are sent with the
+     * first snapshot received from the server.
+     * @param collection : Collection of workmates
+     * @param listener : Listener notified with each batch of changes
+     */
+    private void startFullListener(CollectionReference collection, ChangesListener listener) {
+        synchronizedWithServer = false;
+        // Metadata changes are needed to know when the snapshot read from the local
+        // Firestore cache is confirmed by the server
+        listenerRegistration = collection
+                .addSnapshotListener(executor, MetadataChanges.INCLUDE, (value, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    if (value == null) return;
+                    List<WorkmateChange> changes = getChanges(value);
+                    Set<String> documentIds = null;
+                    if (!synchronizedWithServer && !value.getMetadata().isFromCache()) {
+                        synchronizedWithServer = true;
+                        documentIdsChecked.set(true);
+                        documentIds = new HashSet<>();
+                        for (DocumentSnapshot document : value.getDocuments())
+                            documentIds.add(document.getId());
+                    }
+                    if (!changes.isEmpty() || documentIds != null)
+                        listener.onChanges(changes, documentIds);
+                });
+    }
+
+    /**
+     * Listens to the documents updated after the last-synced marker, and reads the ids of all
+     * documents if not done yet since the process started.
+     * @param collection : Collection of workmates
+     * @param lastSyncedAt : Last-synced marker
+     * @param listener : Listener notified with each batch of changes
+     */
+    private void startIncrementalListener(CollectionReference collection, long lastSyncedAt,
+                                          ChangesListener listener) {
+        // Ids of the documents received while all ids are read, only accessed from executor
+        Set<String> receivedDocumentIds = new HashSet<>();
+        ListenerRegistration registration = collection
+                .whereGreaterThan(FIELD_UPDATED_AT, new Timestamp(new Date(lastSyncedAt)))
+                .addSnapshotListener(executor, (value, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    if (value == null) return;
+                    List<WorkmateChange> changes = getChanges(value);
+                    for (int i = 0; i < changes.size(); i++)
+                        receivedDocumentIds.add(changes.get(i).getDocumentId());
+                    if (!changes.isEmpty()) listener.onChanges(changes, null);
+                });
+        listenerRegistration = registration;
+        if (documentIdsChecked.compareAndSet(false, true))
+            checkDocumentIds(collection, registration, receivedDocumentIds, listener);
+    }
+
+    /**
+     * Reads all documents of the collection from the server, and sends their ids with the
+     * documents without update time. Documents received in the meantime by the incremental
+     * listener are kept.
+     * @param collection : Collection of workmates
+     * @param registration : Registration of the incremental listener
+     * @param receivedDocumentIds : Ids of the documents received by the incremental listener
+     * @param listener : Listener notified with the batch of changes
+     */
+    private void checkDocumentIds(CollectionReference collection,
+                                  ListenerRegistration registration,
+                                  Set<String> receivedDocumentIds, ChangesListener listener) {
+        collection.get(Source.SERVER).addOnCompleteListener(executor, task -> {
+            if (!task.isSuccessful() || task.getResult() == null) {
+                if (task.getException() != null) task.getException().printStackTrace();
+                documentIdsChecked.set(false);
+                return;
+            }
+            // Source stopped or restarted
+            if (registration != listenerRegistration) {
+                documentIdsChecked.set(false);
+                return;
+            }
+            List<WorkmateChange> changes = new ArrayList<>();
+            Set<String> documentIds = new HashSet<>(receivedDocumentIds);
+            for (DocumentSnapshot document : task.getResult().getDocuments()) {
+                documentIds.add(document.getId());
+                if (getUpdatedAt(document) > 0) continue;
+                Workmate workmate = createWorkmate(document);
+                if (workmate != null)
+                    changes.add(new WorkmateChange(WorkmateChange.Type.ADDED, document.getId(),
+                                                   workmate, null, 0L));
+            }
+            listener.onChanges(changes, documentIds);
+        });
+    }
+
+    /**
+     * Converts the document changes of a snapshot.
+     * @param value : Snapshot
+     * @return : List of changes
+     */
+    private static List<WorkmateChange> getChanges(QuerySnapshot value) {
+        List<WorkmateChange> changes = new ArrayList<>();
+        for (DocumentChange documentChange : value.getDocumentChanges()) {
+            Workmate workmate = createWorkmate(documentChange.getDocument());
+            if (workmate == null) continue;
+            changes.add(new WorkmateChange(getType(documentChange.getType()),
+                                           documentChange.getDocument().getId(),
+                                           workmate, null,
+                                           getUpdatedAt(documentChange.getDocument())));
+        }
+        return changes;
+    }
+
+    @Override
+    public void stop() {
+        if (listenerRegistration != null) {
+            listenerRegistration.remove();
+            listenerRegistration = null;
+        }
+    }
+
+    /**
+     * Creates a Workmate object from a document of the collection.
+     * @param document : Document of a workmate
+     * @return : Workmate object, or null if the document has no name
+     */
+    public static Workmate createWorkmate(DocumentSnapshot document) {
+        if (document.getString("name") == null) return null;
+        return new Workmate(document.getString("name"),
+                            document.getString("email"),
+                            document.getString("restaurantSelectedID"),
+                            document.getString("photoUrl"),
+                            document.getString("restaurantName"));
+    }
+
+    /**
+     * Reads the server time of the last update of a document.
+     * @param document : Document of a workmate
+     * @return : Time in ms, or 0 if the document has no update time or if its update is not
+     *           written on the server yet
+     */
+    public static long getUpdatedAt(DocumentSnapshot document) {
+        Timestamp timestamp = document.getTimestamp(FIELD_UPDATED_AT);
+        return timestamp != null ? timestamp.toDate().getTime() : 0L;
+    }
+
+    /**
+     * Converts a Firestore document change type.
+     * @param type : Type of a DocumentChange
+     * @return : Type of a WorkmateChange
+     */
+    private static WorkmateChange.Type getType(DocumentChange.Type type) {
+        switch (type) {
+            case ADDED:
+                return WorkmateChange.Type.ADDED;
+            case REMOVED:
+                return WorkmateChange.Type.REMOVED;
+            default:
+                return WorkmateChange.Type.MODIFIED;
+        }
+    }
+}
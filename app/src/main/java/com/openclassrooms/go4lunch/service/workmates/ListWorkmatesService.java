@@ -11,7 +11,6 @@ import com.openclassrooms.go4lunch.utils.AppInfo;
 import com.openclassrooms.go4lunch.utils.CustomComparators;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 
 /**
  * Service class to access the list of workmates stored in Firestore database
@@ -20,8 +19,12 @@ public class ListWorkmatesService {
 
     private final Context context;
 
+    // Coalesces the updates of the documents of the collection
+    private final UserDocumentWriter userDocumentWriter;
+
     public ListWorkmatesService(Context context) {
         this.context = context;
+        this.userDocumentWriter = UserDocumentWriter.create();
     }
 
     /**
@@ -33,9 +36,7 @@ public class ListWorkmatesService {
         FirebaseFirestore dbFirestore = FirebaseFirestore.getInstance();
         CollectionReference collectionRef = dbFirestore.collection(AppInfo.ROOT_COLLECTION_ID);
 
-        SharedPreferences sharedPrefUserId = context.getSharedPreferences(
-                                               AppInfo.FILE_FIRESTORE_USER_ID, Context.MODE_PRIVATE);
-        String userId = sharedPrefUserId.getString(AppInfo.PREF_FIRESTORE_USER_ID_KEY, null);
+        String userId = getCurrentUserDocumentId();
 
         // Retrieve all employees information
         collectionRef.get().addOnCompleteListener(task -> {
@@ -46,12 +47,9 @@ public class ListWorkmatesService {
                         for (QueryDocumentSnapshot document : task.getResult()) {
                             if (!document.getId().equals(userId)) {
                                 // Create Employee and add it to the list (except current user)
-                                Workmate workmate = new Workmate(document.getString("name"),
-                                        document.getString("email"),
-                                        document.getString("restaurantSelectedID"),
-                                        document.getString("photoUrl"),
-                                        document.getString("restaurantName"));
-                                list.add(workmate);
+                                Workmate workmate =
+                                        FirestoreWorkmatesSource.createWorkmate(document);
+                                if (workmate != null) list.add(workmate);
                             }
                         }
                         // Send to ViewModel
@@ -65,6 +63,35 @@ public class ListWorkmatesService {
         }).addOnFailureListener(Throwable::printStackTrace);
     }
 
+    /**
+     * Starts listening to the changes of the workmates collection : the stored workmates are
+     * sent back first, then each snapshot only applies its changed documents.
+     * Must be called outside the main thread.
+     * @param workmatesSource : Source of document changes
+     * @param workmatesCache : Local copy of the workmates
+     * @param callback : @{@link ServiceWorkmatesSyncCallback} callback interface to send back
+     *                   each new list of workmates, with its changes
+     * @return : WorkmatesSyncEngine to stop the synchronization
+     */
+    public WorkmatesSyncEngine startWorkmatesSync(WorkmatesSource workmatesSource,
+                                                  WorkmatesCache workmatesCache,
+                                                  ServiceWorkmatesSyncCallback callback) {
+        WorkmatesSyncEngine workmatesSyncEngine = new WorkmatesSyncEngine(workmatesSource,
+                                                  workmatesCache, getCurrentUserDocumentId());
+        workmatesSyncEngine.start(callback);
+        return workmatesSyncEngine;
+    }
+
+    /**
+     * Retrieves the id of the document of the current user, stored in SharedPreferences.
+     * @return : Id of the document, or null if unknown
+     */
+    public String getCurrentUserDocumentId() {
+        SharedPreferences sharedPrefUserId = context.getSharedPreferences(
+                                               AppInfo.FILE_FIRESTORE_USER_ID, Context.MODE_PRIVATE);
+        return sharedPrefUserId.getString(AppInfo.PREF_FIRESTORE_USER_ID_KEY, null);
+    }
+
     /**
      * Retrieves the DocumentReference object associated with the user documentReference id.
      * @param documentCurrentUserId : Id of the document in collection
@@ -77,26 +104,41 @@ public class ListWorkmatesService {
     }
 
     /**
-     * Updates the fields "restaurantId" et "restaurantName" of a document in collection
+     * Updates the fields "restaurantId" et "restaurantName" of a document in collection, in a
+     * single coalesced update.
      * @param restaurantName : New value for the field "restaurantName"
      * @param restaurantId : New value for the field "restaurantId"
      * @param documentCurrentUserId : Id of the document in collection
      */
     public void updateDocumentReferenceCurrentUser(String restaurantName,
                                                    String restaurantId, String documentCurrentUserId) {
-        DocumentReference documentReference = getDocumentReferenceCurrentUser(documentCurrentUserId);
-        documentReference.update("restaurantName", restaurantName);
-        documentReference.update("restaurantSelectedID", restaurantId);
+        userDocumentWriter.updateField(documentCurrentUserId, "restaurantName", restaurantName);
+        userDocumentWriter.updateField(documentCurrentUserId, "restaurantSelectedID", restaurantId);
+    }
+
+    /**
+     * Adds a restaurant to the field "liked" of a document in collection.
+     * @param documentCurrentUserId : Id of the document in collection
+     * @param placeId : Id of the liked restaurant
+     */
+    public void likeRestaurant(String documentCurrentUserId, String placeId) {
+        userDocumentWriter.likeRestaurant(documentCurrentUserId, placeId);
+    }
+
+    /**
+     * Removes a restaurant from the field "liked" of a document in collection.
+     * @param documentCurrentUserId : Id of the document in collection
+     * @param placeId : Id of the restaurant no longer liked
+     */
+    public void unlikeRestaurant(String documentCurrentUserId, String placeId) {
+        userDocumentWriter.unlikeRestaurant(documentCurrentUserId, placeId);
     }
 
     /**
-     * Updates the field "liked" of a document in collection
-     * @param documentCurrentUserId : New value for the field "liked"
-     * @param listLikedRestaurants : Id of the document in collection
+     * Commits all pending document updates immediately.
      */
-    public void updateCurrentUserListOfLikedRestaurant(String documentCurrentUserId,
-                                                       List<String> listLikedRestaurants) {
-        getDocumentReferenceCurrentUser(documentCurrentUserId).update("liked", listLikedRestaurants);
+    public void flushDocumentUpdates() {
+        userDocumentWriter.flush();
     }
 
     /**
@@ -104,6 +146,7 @@ public class ListWorkmatesService {
      * @param documentCurrentUserId : id of the document to delete
      */
     public void deleteDocument(String documentCurrentUserId) {
+        userDocumentWriter.cancel(documentCurrentUserId);
         getDocumentReferenceCurrentUser(documentCurrentUserId).delete();
     }
 }
@@ -0,0 +1,12 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import com.openclassrooms.go4lunch.model.Workmate;
+import java.util.List;
+
+/**
+ * Callback interface to get the sorted list of workmates each time it changes, with the changes
+ * applied since the previous list
+ */
+public interface ServiceWorkmatesSyncCallback {
+    void onWorkmatesChanged(List<Workmate> listWorkmates, List<WorkmateChange> changes);
+}
@@ -0,0 +1,216 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import com.openclassrooms.go4lunch.utils.AppInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class coalescing the updates of the workmate documents of the Firestore database collection :
+ * all field updates of a document received during a "debounceDelay" window are sent as a single
+ * multi-field update, and the updates of all documents are committed in a single batch.
+ * Liked restaurants are sent as array-union and array-remove deltas of the "liked" field,
+ * instead of rewriting the whole array.
+ */
+public class UserDocumentWriter {
+
+    // Delay between the first pending update and the commit
+    public static final long DEFAULT_DEBOUNCE_DELAY = 500L;
+
+    public static final String FIELD_LIKED = "liked";
+
+    /**
+     * Interface used to commit a batch of document updates.
+     */
+    public interface Committer {
+        void commit(List<PendingWrite> pendingWrites);
+    }
+
+    /**
+     * Interface used to run the commit after the debounce delay.
+     */
+    public interface Scheduler {
+        void schedule(Runnable task, long delay);
+    }
+
+    private final Committer committer;
+
+    private final Scheduler scheduler;
+
+    private final long debounceDelay;
+
+    // Pending updates by document id
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+    // Incremented for each commit or cancelled window, to ignore the scheduled commits
+    // already run
+    private int generation;
+
+    public UserDocumentWriter(Committer committer, Scheduler scheduler, long debounceDelay) {
+        this.committer = committer;
+        this.scheduler = scheduler;
+        this.debounceDelay = debounceDelay;
+    }
+
+    /**
+     * Creates a UserDocumentWriter committing to the Firestore database collection, after a
+     * DEFAULT_DEBOUNCE_DELAY delay on the main thread.
+     * @return : UserDocumentWriter object
+     */
+    public static UserDocumentWriter create() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new UserDocumentWriter(UserDocumentWriter::commitToFirestore,
+                                      handler::postDelayed, DEFAULT_DEBOUNCE_DELAY);
+    }
+
+    /**
+     * Updates a field of a document.
+     * @param documentId : Id of the document in collection
+     * @param field : Name of the field
+     * @param value : New value of the field
+     */
+    public synchronized void updateField(String documentId, String field, Object value) {
+        getPendingWrite(documentId).fields.put(field, value);
+    }
+
+    /**
+     * Adds a restaurant to the "liked" field of a document.
+     * @param documentId : Id of the document in collection
+     * @param placeId : Id of the restaurant
+     */
+    public synchronized void likeRestaurant(String documentId, String placeId) {
+        PendingWrite pendingWrite = getPendingWrite(documentId);
+        pendingWrite.unlikedPlaceIds.remove(placeId);
+        pendingWrite.likedPlaceIds.add(placeId);
+    }
+
+    /**
+     * Removes a restaurant from the "liked" field of a document.
+     * @param documentId : Id of the document in collection
+     * @param placeId : Id of the restaurant
+     */
+    public synchronized void unlikeRestaurant(String documentId, String placeId) {
+        PendingWrite pendingWrite = getPendingWrite(documentId);
+        pendingWrite.likedPlaceIds.remove(placeId);
+        pendingWrite.unlikedPlaceIds.add(placeId);
+    }
+
+    /**
+     * Drops the pending updates of a document, for instance before it is deleted. If no other
+     * update is pending, the scheduled commit is ignored, so that it does not commit the
+     * updates of the next window early.
+     * @param documentId : Id of the document in collection
+     */
+    public synchronized void cancel(String documentId) {
+        pendingWrites.remove(documentId);
+        if (pendingWrites.isEmpty()) generation++;
+    }
+
+    /**
+     * Commits all pending updates immediately.
+     */
+    public void flush() {
+        List<PendingWrite> writes;
+        synchronized (this) {
+            generation++;
+            if (pendingWrites.isEmpty()) return;
+            writes = new ArrayList<>(pendingWrites.values());
+            pendingWrites.clear();
+        }
+        committer.commit(writes);
+    }
+
+    /**
+     * Returns the pending updates of a document, and schedules a commit if no update was
+     * pending.
+     * @param documentId : Id of the document in collection
+     * @return : PendingWrite object
+     */
+    private PendingWrite getPendingWrite(String documentId) {
+        PendingWrite pendingWrite = pendingWrites.get(documentId);
+        if (pendingWrite == null) {
+            pendingWrite = new PendingWrite(documentId);
+            if (pendingWrites.isEmpty()) {
+                int scheduledGeneration = generation;
+                scheduler.schedule(() -> flushGeneration(scheduledGeneration), debounceDelay);
+            }
+            pendingWrites.put(documentId, pendingWrite);
+        }
+        return pendingWrite;
+    }
+
+    /**
+     * Commits the pending updates, unless they were already committed by a flush() call.
+     * @param scheduledGeneration : Generation of the scheduled commit
+     */
+    private void flushGeneration(int scheduledGeneration) {
+        synchronized (this) {
+            if (scheduledGeneration != generation) return;
+        }
+        flush();
+    }
+
+    /**
+     * Commits a list of document updates in a single Firestore WriteBatch : one multi-field
+     * update per document, with the array-union of liked restaurants, followed by the
+     * array-remove of unliked restaurants if needed (both cannot be applied to the same field
+     * in a single update).
+     * @param writes : List of document updates
+     */
+    private static void commitToFirestore(List<PendingWrite> writes) {
+        FirebaseFirestore dbFirestore = FirebaseFirestore.getInstance();
+        WriteBatch batch = dbFirestore.batch();
+        for (int i = 0; i < writes.size(); i++) {
+            PendingWrite write = writes.get(i);
+            DocumentReference documentReference = dbFirestore.collection(AppInfo.ROOT_COLLECTION_ID)
+                                                             .document(write.getDocumentId());
+            Map<String, Object> fields = new HashMap<>(write.getFields());
+            if (!write.getLikedPlaceIds().isEmpty())
+                fields.put(FIELD_LIKED, FieldValue.arrayUnion(write.getLikedPlaceIds().toArray()));
+            fields.put(FirestoreWorkmatesSource.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+            batch.update(documentReference, fields);
+            if (!write.getUnlikedPlaceIds().isEmpty())
+                batch.update(documentReference, FIELD_LIKED,
+                             FieldValue.arrayRemove(write.getUnlikedPlaceIds().toArray()));
+        }
+        batch.commit().addOnFailureListener(Throwable::printStackTrace);
+    }
+
+    /**
+     * Pending updates of a document.
+     */
+    public static class PendingWrite {
+        private final String documentId;
+        // New values of the updated fields
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+        // Restaurants to add to or remove from the "liked" field
+        private final Set<String> likedPlaceIds = new LinkedHashSet<>();
+        private final Set<String> unlikedPlaceIds = new LinkedHashSet<>();
+
+        PendingWrite(String documentId) {
+            this.documentId = documentId;
+        }
+
+        // Getters
+        public String getDocumentId() { return documentId; }
+
+        public Map<String, Object> getFields() { return Collections.unmodifiableMap(fields); }
+
+        public Set<String> getLikedPlaceIds() { return Collections.unmodifiableSet(likedPlaceIds); }
+
+        public Set<String> getUnlikedPlaceIds() {
+            return Collections.unmodifiableSet(unlikedPlaceIds);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import com.openclassrooms.go4lunch.model.Workmate;
+
+/**
+ * Change of a workmate document in the Firestore database collection.
+ */
+public class WorkmateChange {
+
+    /**
+     * Types of document changes.
+     */
+    public enum Type {
+        ADDED, MODIFIED, REMOVED
+    }
+
+    private final Type type;
+
+    private final String documentId;
+
+    // New values of the workmate, or last values if removed
+    private final Workmate workmate;
+
+    // Values of the workmate before the change, if known
+    private final Workmate previousWorkmate;
+
+    // Server time of the last update of the document, or 0 if unknown
+    private final long updatedAt;
+
+    public WorkmateChange(Type type, String documentId, Workmate workmate) {
+        this(type, documentId, workmate, null, 0L);
+    }
+
+    public WorkmateChange(Type type, String documentId, Workmate workmate,
+                          Workmate previousWorkmate, long updatedAt) {
+        this.type = type;
+        this.documentId = documentId;
+        this.workmate = workmate;
+        this.previousWorkmate = previousWorkmate;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Type getType() { return type; }
+
+    public String getDocumentId() { return documentId; }
+
+    public Workmate getWorkmate() { return workmate; }
+
+    public Workmate getPreviousWorkmate() { return previousWorkmate; }
+
+    public long getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import java.util.List;
+
+/**
+ * Interface to a local copy of the workmate documents, used to display the list of workmates
+ * before the Firestore database is reached, and to only apply the documents changed since the
+ * last synchronization.
+ */
+public interface WorkmatesCache {
+
+    /**
+     * Loads the stored workmates.
+     * @return : List of ADDED changes, one per stored document
+     */
+    List<WorkmateChange> loadWorkmates();
+
+    /**
+     * Returns the last-synced marker.
+     * @return : Most recent server update time of the stored documents, or 0
+     */
+    long getLastSyncedAt();
+
+    /**
+     * Stores a batch of changes and the new last-synced marker.
+     * @param changes : Changes applied to the list of workmates
+     * @param lastSyncedAt : New marker
+     */
+    void saveChanges(List<WorkmateChange> changes, long lastSyncedAt);
+}
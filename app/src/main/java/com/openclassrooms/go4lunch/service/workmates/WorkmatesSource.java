@@ -0,0 +1,32 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interface to a source of workmate document changes : the first batch of changes contains all
+ * existing documents as ADDED changes, or only the documents updated after the last-synced
+ * marker if one is given, and each following batch contains only the documents changed since
+ * the previous one.
+ */
+public interface WorkmatesSource {
+
+    /**
+     * Interface notified with each batch of changes. The ids of all existing documents are
+     * also sent once read from the server, so that documents removed while offline can be
+     * detected, and are null otherwise.
+     */
+    interface ChangesListener {
+        void onChanges(List<WorkmateChange> changes, Set<String> documentIds);
+    }
+
+    /**
+     * Starts listening to document changes.
+     * @param lastSyncedAt : Most recent server update time of the documents already known, or 0
+     *                       to receive all documents
+     * @param listener : Listener notified with each batch of changes
+     */
+    void start(long lastSyncedAt, ChangesListener listener);
+
+    void stop();
+}
@@ -0,0 +1,237 @@
+package com.openclassrooms.go4lunch.service.workmates;
+
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.utils.CustomComparators;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Class keeping an in-memory list of workmates, sorted from A to Z, synchronized with a
+ * @{@link WorkmatesSource} : each batch of document changes is applied to the list by
+ * binary search, instead of reading and sorting the whole collection again. The document of
+ * the current user is ignored.
+ * If a @{@link WorkmatesCache} is provided, the stored workmates are sent back before the
+ * source is started, and each batch of changes is stored with the new last-synced marker.
+ * Changes older than the last update applied to their document are skipped, and changes
+ * with the same update time are compared by value.
+ * Only changes modifying the list are sent back, with the new list.
+ */
+public class WorkmatesSyncEngine {
+
+    // Sorts workmates by name, then by email for workmates with the same name
+    private static final Comparator<Workmate> COMPARATOR = (left, right) -> {
+        int result = new CustomComparators.WorkmateAZComparator().compare(left, right);
+        if (result != 0) return result;
+        return String.valueOf(left.getEmail()).compareTo(String.valueOf(right.getEmail()));
+    };
+
+    private final WorkmatesSource workmatesSource;
+
+    // Local copy of the workmates, or null
+    private final WorkmatesCache workmatesCache;
+
+    // Id of the document of the current user
+    private final String currentUserDocumentId;
+
+    // Workmates by document id
+    private final Map<String, Workmate> workmatesByDocumentId = new HashMap<>();
+
+    // Server update time of the last change applied to each document
+    private final Map<String, Long> updatedAtByDocumentId = new HashMap<>();
+
+    // Workmates sorted from A to Z
+    private final List<Workmate> sortedWorkmates = new ArrayList<>();
+
+    // Most recent server update time of the documents applied
+    private long lastSyncedAt;
+
+    private ServiceWorkmatesSyncCallback callback;
+
+    public WorkmatesSyncEngine(WorkmatesSource workmatesSource, WorkmatesCache workmatesCache,
+                               String currentUserDocumentId) {
+        this.workmatesSource = workmatesSource;
+        this.workmatesCache = workmatesCache;
+        this.currentUserDocumentId = currentUserDocumentId;
+    }
+
+    /**
+     * Sends back the stored workmates, then starts listening to the source of changes made
+     * after the last-synced marker of the stored workmates.
+     * Must be called outside the main thread if a cache is used.
+     * @param callback : Callback interface notified each time the list changes
+     */
+    public void start(ServiceWorkmatesSyncCallback callback) {
+        List<WorkmateChange> restoredChanges = new ArrayList<>();
+        List<Workmate> newList;
+        long marker;
+        synchronized (this) {
+            this.callback = callback;
+            if (workmatesCache != null) {
+                lastSyncedAt = workmatesCache.getLastSyncedAt();
+                List<WorkmateChange> storedChanges = workmatesCache.loadWorkmates();
+                for (int i = 0; i < storedChanges.size(); i++) {
+                    WorkmateChange restoredChange = applyChange(storedChanges.get(i));
+                    if (restoredChange != null) restoredChanges.add(restoredChange);
+                }
+            }
+            newList = Collections.unmodifiableList(new ArrayList<>(sortedWorkmates));
+            marker = lastSyncedAt;
+        }
+        if (!restoredChanges.isEmpty()) callback.onWorkmatesChanged(newList, restoredChanges);
+        workmatesSource.start(marker, this::applyChanges);
+    }
+
+    /**
+     * Stops listening to the source of changes.
+     */
+    public void stop() {
+        workmatesSource.stop();
+        synchronized (this) {
+            callback = null;
+        }
+    }
+
+    /**
+     * Returns the current list of workmates.
+     * @return : Unmodifiable list of workmates, sorted from A to Z
+     */
+    public synchronized List<Workmate> getWorkmates() {
+        return Collections.unmodifiableList(new ArrayList<>(sortedWorkmates));
+    }
+
+    /**
+     * Applies a batch of document changes to the list of workmates.
+     * @param changes : List of changes
+     * @param documentIds : Ids of all existing documents, to remove the workmates of missing
+     *                      documents, or null
+     */
+    public void applyChanges(List<WorkmateChange> changes, Set<String> documentIds) {
+        List<WorkmateChange> appliedChanges = new ArrayList<>();
+        List<Workmate> newList;
+        ServiceWorkmatesSyncCallback currentCallback;
+        synchronized (this) {
+            long newLastSyncedAt = lastSyncedAt;
+            for (int i = 0; i < changes.size(); i++) {
+                WorkmateChange change = changes.get(i);
+                newLastSyncedAt = Math.max(newLastSyncedAt, change.getUpdatedAt());
+                if (isAlreadySynced(change)) continue;
+                WorkmateChange appliedChange = applyChange(change);
+                if (appliedChange != null) appliedChanges.add(appliedChange);
+            }
+            if (documentIds != null) removeMissingDocuments(documentIds, appliedChanges);
+            if (workmatesCache != null && (!appliedChanges.isEmpty()
+                                           || newLastSyncedAt != lastSyncedAt))
+                workmatesCache.saveChanges(appliedChanges, newLastSyncedAt);
+            lastSyncedAt = newLastSyncedAt;
+            if (appliedChanges.isEmpty()) return;
+            newList = Collections.unmodifiableList(new ArrayList<>(sortedWorkmates));
+            currentCallback = callback;
+        }
+        if (currentCallback != null) currentCallback.onWorkmatesChanged(newList, appliedChanges);
+    }
+
+    /**
+     * Checks if a document change is older than the last change applied to this document.
+     * Changes with the same update time are not skipped : they are compared by value when
+     * applied, since two updates can be made in the same millisecond.
+     * @param change : Document change
+     * @return : true if the document was updated after this change
+     */
+    private boolean isAlreadySynced(WorkmateChange change) {
+        if (change.getType() == WorkmateChange.Type.REMOVED || change.getUpdatedAt() <= 0)
+            return false;
+        Long updatedAt = updatedAtByDocumentId.get(change.getDocumentId());
+        return updatedAt != null && change.getUpdatedAt() < updatedAt;
+    }
+
+    /**
+     * Removes the workmates whose documents no longer exist, for instance documents deleted
+     * while offline.
+     * @param documentIds : Ids of all existing documents
+     * @param appliedChanges : List to complete with the REMOVED changes
+     */
+    private void removeMissingDocuments(Set<String> documentIds,
+                                        List<WorkmateChange> appliedChanges) {
+        List<String> knownDocumentIds = new ArrayList<>(workmatesByDocumentId.keySet());
+        for (int i = 0; i < knownDocumentIds.size(); i++) {
+            String documentId = knownDocumentIds.get(i);
+            if (documentIds.contains(documentId)) continue;
+            WorkmateChange appliedChange = applyChange(new WorkmateChange(
+                    WorkmateChange.Type.REMOVED, documentId, workmatesByDocumentId.get(documentId)));
+            if (appliedChange != null) appliedChanges.add(appliedChange);
+        }
+    }
+
+    /**
+     * Applies a document change to the list of workmates.
+     * @param change : Document change
+     * @return : Change applied, with the previous values of the workmate, or null if the list
+     *           is unchanged
+     */
+    private WorkmateChange applyChange(WorkmateChange change) {
+        String documentId = change.getDocumentId();
+        if (documentId.equals(currentUserDocumentId)) return null;
+        Workmate previousWorkmate = workmatesByDocumentId.get(documentId);
+
+        if (change.getType() == WorkmateChange.Type.REMOVED) {
+            updatedAtByDocumentId.remove(documentId);
+            if (previousWorkmate == null) return null;
+            workmatesByDocumentId.remove(documentId);
+            removeSorted(previousWorkmate);
+            return new WorkmateChange(WorkmateChange.Type.REMOVED, documentId, previousWorkmate,
+                                      previousWorkmate, change.getUpdatedAt());
+        }
+
+        // Added or modified
+        if (change.getUpdatedAt() > 0) updatedAtByDocumentId.put(documentId, change.getUpdatedAt());
+        Workmate workmate = change.getWorkmate();
+        if (previousWorkmate != null && isSameWorkmate(previousWorkmate, workmate)) return null;
+        workmatesByDocumentId.put(documentId, workmate);
+        if (previousWorkmate != null) removeSorted(previousWorkmate);
+        insertSorted(workmate);
+        return new WorkmateChange(previousWorkmate == null ? WorkmateChange.Type.ADDED
+                                                           : WorkmateChange.Type.MODIFIED,
+                                  documentId, workmate, previousWorkmate, change.getUpdatedAt());
+    }
+
+    private void insertSorted(Workmate workmate) {
+        int index = Collections.binarySearch(sortedWorkmates, workmate, COMPARATOR);
+        sortedWorkmates.add(index < 0 ? -index - 1 : index, workmate);
+    }
+
+    private void removeSorted(Workmate workmate) {
+        int index = Collections.binarySearch(sortedWorkmates, workmate, COMPARATOR);
+        if (index < 0) return;
+        // Workmates with the same name and email : find this instance
+        int start = index;
+        while (start > 0 && COMPARATOR.compare(sortedWorkmates.get(start - 1), workmate) == 0)
+            start--;
+        for (int i = start; i < sortedWorkmates.size()
+                            && COMPARATOR.compare(sortedWorkmates.get(i), workmate) == 0; i++) {
+            if (sortedWorkmates.get(i) == workmate) {
+                sortedWorkmates.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks if two workmates have the same values.
+     * @param left : First workmate
+     * @param right : Second workmate
+     * @return : true if all fields are equal
+     */
+    private static boolean isSameWorkmate(Workmate left, Workmate right) {
+        return Objects.equals(left.getName(), right.getName())
+               && Objects.equals(left.getEmail(), right.getEmail())
+               && Objects.equals(left.getPhotoUrl(), right.getPhotoUrl())
+               && Objects.equals(left.getRestaurantSelectedID(), right.getRestaurantSelectedID())
+               && Objects.equals(left.getRestaurantName(), right.getRestaurantName());
+    }
+}
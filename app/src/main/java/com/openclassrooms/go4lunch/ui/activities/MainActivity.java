@@ -30,13 +30,10 @@ import com.bumptech.glide.request.RequestOptions;
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
 import com.google.android.libraries.places.api.Places;
-import com.google.android.libraries.places.api.net.PlacesClient;
 import com.google.android.material.navigation.NavigationView;
 import com.google.android.material.snackbar.Snackbar;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.gson.Gson;
 import com.openclassrooms.go4lunch.BuildConfig;
 import com.openclassrooms.go4lunch.R;
@@ -47,6 +44,7 @@ import com.openclassrooms.go4lunch.model.Restaurant;
 import com.openclassrooms.go4lunch.repositories.PlacesRepository;
 import com.openclassrooms.go4lunch.repositories.WorkmatesRepository;
 import com.openclassrooms.go4lunch.service.authentication.AuthenticationService;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
 import com.openclassrooms.go4lunch.ui.dialogs.LogoutDialog;
 import com.openclassrooms.go4lunch.ui.fragments.options.OptionsFragment;
 import com.openclassrooms.go4lunch.ui.fragments.restaurants.ListViewFragment;
@@ -57,8 +55,10 @@ import com.openclassrooms.go4lunch.ui.fragments.workmates.WorkmatesFragment;
 import com.openclassrooms.go4lunch.receivers.NetworkBroadcastReceiver;
 import com.openclassrooms.go4lunch.utils.AppInfo;
 import com.openclassrooms.go4lunch.utils.search.SearchTextWatcher;
+import com.openclassrooms.go4lunch.viewmodels.OpeningHoursFilter;
 import com.openclassrooms.go4lunch.viewmodels.PlacesViewModel;
 import com.openclassrooms.go4lunch.viewmodels.WorkmatesViewModel;
+import java.io.File;
 import java.util.Objects;
 
 /**
@@ -79,10 +79,9 @@ public class MainActivity extends AppCompatActivity implements
     private FragmentManager fragmentManager;
     // Indice of the corresponding Restaurant object in the list
     private Restaurant restaurantToDisplay;
-    // Place API client
-    private PlacesClient placesClient;
     // Location client
     private FusedLocationProviderClient locationClient; // To get current user position
+    private LocationSnapshotProvider locationSnapshotProvider; // To share user position
     // ViewModels
     private PlacesViewModel placesViewModel;
     private WorkmatesViewModel workmatesViewModel;
@@ -105,11 +104,13 @@ public class MainActivity extends AppCompatActivity implements
         handleConnectivityBarBtnListener();
         // Broadcast Receiver initialization
         networkBroadcastReceiver = new NetworkBroadcastReceiver(this);
+        // HTTP response cache shared by all Places API requests
+        DI.setHttpCacheDirectory(new File(getCacheDir(), AppInfo.HTTP_CACHE_DIRECTORY_NAME));
         // To access Places API methods
         if (!Places.isInitialized()) Places.initialize(getApplicationContext(), BuildConfig.API_KEY);
-        placesClient = Places.createClient(this);
         // To access user location
         locationClient = LocationServices.getFusedLocationProviderClient(getApplicationContext());
+        locationSnapshotProvider = LocationSnapshotProvider.create(locationClient);
         initializeFragments();  // Initialize child fragments
         initializeViewModels(); // Initialize view models
     }
@@ -158,32 +159,40 @@ public class MainActivity extends AppCompatActivity implements
             MenuItem item = menu.findItem(R.id.search);
             item.setVisible(displaySearchIcon);
         }
+        // Opening hours filter, checked according to the selected mode
+        menu.setGroupVisible(R.id.opening_hours_filter, displaySearchIcon);
+        MenuItem filterItem = menu.findItem(getOpeningHoursFilterItemId(
+                                                   placesViewModel.getOpeningHoursFilterMode()));
+        if (filterItem != null) filterItem.setChecked(true);
         return true;
     }
 
     private void initializeViewModels() {
         // Places
         placesViewModel = new ViewModelProvider(this).get(PlacesViewModel.class);
-        placesViewModel.setRepository(
-                new PlacesRepository(DI.provideDatabase(this).restaurantDao(),
-                DI.provideDatabase(this).hoursDao(),
-                DI.provideDatabase(this).restaurantAndHoursDao(), this,
-                placesClient, locationClient));
+        // Repository (paging pipeline, details cache) kept by the ViewModel across configuration
+        // changes : it must not hold this activity
+        if (placesViewModel.getPlacesRepository() == null) {
+            placesViewModel.setRepository(
+                    new PlacesRepository(DI.provideDatabase(this).restaurantDao(),
+                    DI.provideDatabase(this).hoursDao(),
+                    DI.provideDatabase(this).restaurantAndHoursDao(),
+                    DI.provideDatabase(this).restaurantSearchDao(),
+                    DI.provideDatabase(this).tileDao(),
+                    DI.provideDatabase(this).detailsDao(),
+                    DI.provideDatabase(this).searchSessionDao(),
+                    Places.createClient(getApplicationContext()), locationSnapshotProvider));
+        }
         // Workmates
         workmatesViewModel = new ViewModelProvider(this).get(WorkmatesViewModel.class);
-        workmatesViewModel.setWorkmatesRepository(new WorkmatesRepository(this));
-        addListenerToDatabaseCollection();
-    }
-
-    /**
-     * This method is used to attach a listener to the database collection and updates the
-     * MutableLiveData listWorkmates every time an update in database is detected.
-     */
-    private void addListenerToDatabaseCollection() {
-        FirebaseFirestore dbFirestore = FirebaseFirestore.getInstance();
-        CollectionReference collectionRef = dbFirestore.collection(AppInfo.ROOT_COLLECTION_ID);
-        collectionRef.addSnapshotListener((value, error) ->
-                workmatesViewModel.getEmployeesInfoFromFirestoreDatabase());
+        // Repository and synchronization are kept by the ViewModel across configuration changes
+        if (workmatesViewModel.getWorkmatesRepository() == null) {
+            workmatesViewModel.setWorkmatesRepository(new WorkmatesRepository(
+                    getApplicationContext(), DI.provideDatabase(this).workmatesDao(),
+                    DI.provideExecutor()));
+            // Display stored workmates, then apply only the changed documents of each snapshot
+            workmatesViewModel.startWorkmatesSync();
+        }
     }
 
     private void initializeFragments() {
@@ -240,9 +249,41 @@ public class MainActivity extends AppCompatActivity implements
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         if (item.getItemId() == R.id.search) updateSearchAutocompleteEditTextVisibility(View.VISIBLE);
+        else if (item.getItemId() == R.id.filter_all)
+            updateOpeningHoursFilter(item, OpeningHoursFilter.Mode.ALL);
+        else if (item.getItemId() == R.id.filter_open_now)
+            updateOpeningHoursFilter(item, OpeningHoursFilter.Mode.OPEN_NOW);
+        else if (item.getItemId() == R.id.filter_open_at_lunch)
+            updateOpeningHoursFilter(item, OpeningHoursFilter.Mode.OPEN_AT_LUNCH);
         return super.onOptionsItemSelected(item);
     }
 
+    /**
+     * Applies an opening hours filter to both list and map views.
+     * @param item : Selected menu item
+     * @param mode : Filter
+     */
+    private void updateOpeningHoursFilter(MenuItem item, OpeningHoursFilter.Mode mode) {
+        item.setChecked(true);
+        placesViewModel.setOpeningHoursFilterMode(mode);
+    }
+
+    /**
+     * Returns the menu item associated with an opening hours filter.
+     * @param mode : Filter
+     * @return : Id of the menu item
+     */
+    private static int getOpeningHoursFilterItemId(OpeningHoursFilter.Mode mode) {
+        switch (mode) {
+            case OPEN_NOW:
+                return R.id.filter_open_now;
+            case OPEN_AT_LUNCH:
+                return R.id.filter_open_at_lunch;
+            default:
+                return R.id.filter_all;
+        }
+    }
+
     @SuppressLint("NonConstantResourceId")
     @Override
     public boolean onNavigationItemSelected(@NonNull MenuItem item) {
@@ -437,6 +478,8 @@ public class MainActivity extends AppCompatActivity implements
         if (AppInfo.checkIfLocationPermissionIsGranted(this)) {
             if (query.length() == 0) {
                 autocompleteActivation = false;
+                // Results of a pending query must not replace the restored list
+                placesViewModel.cancelAutocompleteRequest();
                 mapViewFragment.restoreBackupMarkersOnMap();
                 Fragment fragment = fragmentManager.findFragmentByTag(ListViewFragment.TAG);
                 if (fragment != null) listViewFragment.restoreListRestaurants();
@@ -545,6 +588,10 @@ public class MainActivity extends AppCompatActivity implements
     // Getter methods
     public FusedLocationProviderClient getLocationClient() { return this.locationClient; }
 
+    public LocationSnapshotProvider getLocationSnapshotProvider() {
+        return this.locationSnapshotProvider;
+    }
+
     public Restaurant getRestaurantToDisplay() { return restaurantToDisplay; }
 
     public PlacesViewModel getPlacesViewModel() { return this.placesViewModel; }
@@ -27,11 +27,13 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.gson.JsonSyntaxException;
 import com.google.maps.android.clustering.ClusterManager;
 import com.openclassrooms.go4lunch.R;
 import com.openclassrooms.go4lunch.databinding.FragmentMapViewBinding;
 import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WorkmatesIndex;
 import com.openclassrooms.go4lunch.notifications.NotificationHandler;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import com.openclassrooms.go4lunch.ui.dialogs.GPSActivationDialog;
@@ -42,7 +44,13 @@ import com.openclassrooms.go4lunch.utils.mapping.RestaurantRenderer;
 import com.openclassrooms.go4lunch.viewmodels.PlacesViewModel;
 import com.openclassrooms.go4lunch.viewmodels.WorkmatesViewModel;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Fragment class used to allow user to interact with a Google Map, search for a restaurant
@@ -83,6 +91,21 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
     private SharedPreferences sharedPrefClusterOption;
     private final ArrayList<Restaurant> listRestaurants = new ArrayList<>();
 
+    // Restaurants stored in database in the visible region of the map, not in listRestaurants
+    private final ArrayList<Restaurant> restaurantsInBounds = new ArrayList<>();
+
+    // Restaurants displayed on map, by place id
+    private final Map<String, Restaurant> displayedRestaurants = new HashMap<>();
+
+    // Items of the markers displayed on map, by place id
+    private final Map<String, RestaurantMarkerItem> markerItems = new HashMap<>();
+
+    // Place ids of the restaurants selected by at least one workmate
+    private final Set<String> selectedPlaceIds = new HashSet<>();
+
+    // Cluster option applied to the displayed markers
+    private boolean clusterActivation = true;
+
     // Listener of user position updates
     private final LocationListener locationListener = new LocationListener() {
         @SuppressLint("MissingPermission")
@@ -91,7 +114,9 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
             if (AppInfo.checkIfLocationPermissionIsGranted(requireContext())) {
                 // Search new locations only if autocomplete is not activated
                 if (!((MainActivity) requireActivity()).getAutocompleteActivation()) {
-                    searchPlacesFromCurrentLocation();
+                    // Search new locations only if user entered a tile not displayed
+                    placesViewModel.restoreFromDatabaseOrFindPlacesNearby(location.getLatitude(),
+                                                           location.getLongitude(), "restaurant");
                     // Save new location
                     currentLatUserPosition = location.getLatitude();
                     currentLonUserPosition = location.getLongitude();
@@ -191,7 +216,6 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
     public void getPlacesFromDatabaseOrRetrofitRequest() {
         placesViewModel.getPlacesRepository().getPlacesFromDatabaseOrRetrofitRequest(
                 ((MainActivity) requireActivity()),
-                sharedPrefLatLon,
                 this);
     }
 
@@ -233,6 +257,10 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
                 .addOnSuccessListener((Location location) -> {
                     currentLonUserPosition = location.getLongitude();
                     currentLatUserPosition = location.getLatitude();
+                    // Share this fix with other location consumers
+                    ((MainActivity) requireActivity()).getLocationSnapshotProvider()
+                            .updateLocation(currentLatUserPosition, currentLonUserPosition,
+                                            System.currentTimeMillis());
                             // Update Camera
                             CameraUpdate cameraUpdate = CameraUpdateFactory
                                     .newLatLngZoom(new LatLng(location.getLatitude(),
@@ -267,14 +295,12 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
     @RequiresPermission(Manifest.permission.ACCESS_FINE_LOCATION)
     @Override
     public void searchPlacesFromCurrentLocation() {
-        ((MainActivity) requireActivity()).getLocationClient()
-                .getCurrentLocation(LocationRequest.PRIORITY_HIGH_ACCURACY, null)
-                .addOnSuccessListener(location -> {
-                    currentLatUserPosition = location.getLatitude();
-                    currentLonUserPosition = location.getLongitude();
-                    placesViewModel.findPlacesNearby(location.getLatitude() +"," +
-                                                         location.getLongitude(),"restaurant");
-                });
+        ((MainActivity) requireActivity()).getLocationSnapshotProvider().getLocation(location -> {
+            currentLatUserPosition = location.getLatitude();
+            currentLonUserPosition = location.getLongitude();
+            placesViewModel.findPlacesNearby(location.getLatitude(),
+                                             location.getLongitude(),"restaurant");
+        });
     }
 
     /**
@@ -310,72 +336,166 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
         placesViewModel.getListRestaurants().observe(getViewLifecycleOwner(), list -> {
             listRestaurants.clear();
             listRestaurants.addAll(list);
-            // Load workmates list from Firestore db
-            workmatesViewModel.getEmployeesInfoFromFirestoreDatabase();
+            // Restaurants stored in the visible region of the map are not displayed twice
+            List<Restaurant> listRestaurantsInBounds =
+                                        placesViewModel.getListRestaurantsInBounds().getValue();
+            if (listRestaurantsInBounds != null) updateRestaurantsInBounds(listRestaurantsInBounds);
+            // Apply last known workmates selections (list can be published several times
+            // while details are loading, so Firestore database is not requested again here)
+            updateRestaurantsSelection();
             // Update map with marker, after updating RestaurantRenderer
-            updateRestaurantRenderer(list);
+            if (!placesViewModel.isOpeningHoursFilterActivated())
+                updateRestaurantRenderer(getRestaurantsToRestore());
         });
 
-        // Check if list of autocomplete results have been updated
-        placesViewModel.getListRestaurantsAutocomplete().observe(getViewLifecycleOwner(),
-                autocompleteListRestaurantIds -> {
-            if (((MainActivity) requireActivity()).getAutocompleteActivation()) {
-                List<Restaurant> autocompleteListRestaurant = new ArrayList<>();
-                boolean found = false;
-                int j = 0;
-                for (int i = 0; i < autocompleteListRestaurantIds.size(); i++) {
-                    while (j < listRestaurants.size() && !found) {
-                        if (autocompleteListRestaurantIds.get(i)
-                                                       .equals(listRestaurants.get(j).getPlaceId()))
-                            found = true;
-                        else j++;
-                    }
-                    if (found) autocompleteListRestaurant.add(listRestaurants.get(j));
-                }
-                // Update map with marker, after updating RestaurantRenderer
-                updateRestaurantRenderer(autocompleteListRestaurant);
+        // Check if restaurants stored in the visible region of the map have been updated
+        placesViewModel.getListRestaurantsInBounds().observe(getViewLifecycleOwner(),
+                listRestaurantsInBounds -> {
+            if (updateRestaurantsInBounds(listRestaurantsInBounds)
+                    && !((MainActivity) requireActivity()).getAutocompleteActivation()
+                    && !placesViewModel.isOpeningHoursFilterActivated()) {
+                updateRestaurantRenderer(getRestaurantsToRestore());
             }
         });
 
+        // Check if list of restaurants matching the opening hours filter have been updated
+        placesViewModel.getListRestaurantsOpeningHoursResults().observe(getViewLifecycleOwner(),
+                openingHoursListRestaurants -> {
+            if (!((MainActivity) requireActivity()).getAutocompleteActivation())
+                updateRestaurantRenderer(openingHoursListRestaurants);
+        });
+
+        // Check if list of autocomplete results have been updated
+        placesViewModel.getListRestaurantsAutocompleteResults().observe(getViewLifecycleOwner(),
+                autocompleteListRestaurants -> {
+            // Update map with marker, after updating RestaurantRenderer
+            if (((MainActivity) requireActivity()).getAutocompleteActivation())
+                updateRestaurantRenderer(autocompleteListRestaurants);
+        });
+
         // Check if workmates have done any updates in their restaurant selection
         workmatesViewModel.getListWorkmates().observe(getViewLifecycleOwner(), listWorkmates -> {
             if (!listRestaurants.isEmpty()) {
-                boolean found;
-                int i;
-                for (int j = 0; j < listRestaurants.size(); j++) {
-                    found = false;
-                    i = 0;
-                    while (i < listWorkmates.size() && !found) {
-                        if (listWorkmates.get(i).getRestaurantSelectedID()
-                                                       .equals(listRestaurants.get(j).getPlaceId()))
-                            found = true;
-                        else i++;
-                        listRestaurants.get(j).setSelected(found);
-                    }
-                }
+                updateRestaurantsSelection();
                 // Update map with marker, after updating RestaurantRenderer
-                updateRestaurantRenderer(listRestaurants);
+                updateRestaurantRenderer(getRestaurantsToRestore());
             }
         });
     }
 
+    /**
+     * Updates the place ids of the selected restaurants, according to workmates selections
+     * stored in the workmates index (restaurants published by the ViewModel are not modified).
+     */
+    private void updateRestaurantsSelection() {
+        WorkmatesIndex workmatesIndex = workmatesViewModel.getWorkmatesIndex();
+        selectedPlaceIds.clear();
+        for (int j = 0; j < listRestaurants.size(); j++) {
+            String placeId = listRestaurants.get(j).getPlaceId();
+            if (workmatesIndex.isSelected(placeId)) selectedPlaceIds.add(placeId);
+        }
+        for (int j = 0; j < restaurantsInBounds.size(); j++) {
+            String placeId = restaurantsInBounds.get(j).getPlaceId();
+            if (workmatesIndex.isSelected(placeId)) selectedPlaceIds.add(placeId);
+        }
+    }
+
+    /**
+     * Keeps the restaurants stored in the visible region of the map which are not in the
+     * list of restaurants.
+     * @param list : Restaurants stored in the visible region of the map
+     * @return : true if these restaurants have changed
+     */
+    private boolean updateRestaurantsInBounds(List<Restaurant> list) {
+        Set<String> listPlaceIds = new HashSet<>();
+        for (int i = 0; i < listRestaurants.size(); i++)
+            listPlaceIds.add(listRestaurants.get(i).getPlaceId());
+        List<Restaurant> newRestaurantsInBounds = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            if (!listPlaceIds.contains(list.get(i).getPlaceId()))
+                newRestaurantsInBounds.add(list.get(i));
+        }
+        if (getPlaceIds(newRestaurantsInBounds).equals(getPlaceIds(restaurantsInBounds)))
+            return false;
+        restaurantsInBounds.clear();
+        restaurantsInBounds.addAll(newRestaurantsInBounds);
+        updateRestaurantsSelection();
+        return true;
+    }
+
+    private static List<String> getPlaceIds(List<Restaurant> list) {
+        List<String> placeIds = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) placeIds.add(list.get(i).getPlaceId());
+        return placeIds;
+    }
+
+    /**
+     * Searches the restaurants stored in database in the visible region of the map.
+     */
+    private void findRestaurantsInVisibleRegion() {
+        LatLngBounds bounds = map.getProjection().getVisibleRegion().latLngBounds;
+        // Regions crossing the 180th meridian are not supported by spatial cells
+        if (bounds.southwest.longitude > bounds.northeast.longitude) return;
+        placesViewModel.findRestaurantsInBounds(bounds.southwest.latitude,
+                                                bounds.southwest.longitude,
+                                                bounds.northeast.latitude,
+                                                bounds.northeast.longitude);
+    }
+
 
     /**
      * Updates the map by displaying custom markers in clusters for all detected restaurants around
-     * user location.
+     * user location. Only the markers of restaurants added, removed, or displayed differently
+     * are updated, and markers are clustered again only if one of them has changed (lists are
+     * published several times while details are loading).
+     * @param list : list of restaurants
+     * @param forceCluster : true to cluster markers again even if none has changed
      */
-    private void displayMarkersWithClustersInMap(List<Restaurant> list) {
-        clusterManager.clearItems();
-        map.clear();
-        for (int indice = 0; indice < list.size(); indice++) {
-            RestaurantMarkerItem item = new RestaurantMarkerItem(
-                    new LatLng(list.get(indice).getLatitude(),
-                            list.get(indice).getLongitude()),
-                    list.get(indice).getName(), null, list.get(indice).getSelected(), indice
-                    );
-            clusterManager.addItem(item);
-            clusterManager.cluster();
+    private void displayMarkersWithClustersInMap(List<Restaurant> list, boolean forceCluster) {
+        Map<String, Restaurant> newDisplayedRestaurants = new HashMap<>();
+        for (int i = 0; i < list.size(); i++)
+            newDisplayedRestaurants.put(list.get(i).getPlaceId(), list.get(i));
+        boolean markersChanged = false;
+        // Remove markers of restaurants no longer displayed
+        Iterator<Map.Entry<String, RestaurantMarkerItem>> iterator =
+                                                              markerItems.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, RestaurantMarkerItem> entry = iterator.next();
+            if (!newDisplayedRestaurants.containsKey(entry.getKey())) {
+                clusterManager.removeItem(entry.getValue());
+                iterator.remove();
+                markersChanged = true;
+            }
         }
+        // Add markers of new restaurants, replace markers displayed differently
+        for (Restaurant restaurant : newDisplayedRestaurants.values()) {
+            RestaurantMarkerItem item = markerItems.get(restaurant.getPlaceId());
+            if (item != null && isSameMarker(item, restaurant)) continue;
+            if (item != null) clusterManager.removeItem(item);
+            RestaurantMarkerItem newItem = new RestaurantMarkerItem(
+                    new LatLng(restaurant.getLatitude(), restaurant.getLongitude()),
+                    restaurant.getName(), null,
+                    selectedPlaceIds.contains(restaurant.getPlaceId()), restaurant.getPlaceId());
+            clusterManager.addItem(newItem);
+            markerItems.put(restaurant.getPlaceId(), newItem);
+            markersChanged = true;
+        }
+        displayedRestaurants.clear();
+        displayedRestaurants.putAll(newDisplayedRestaurants);
+        if (markersChanged || forceCluster) clusterManager.cluster();
+    }
+
+    /**
+     * Checks if a marker displays a restaurant as it is.
+     * @param item : Item of the marker
+     * @param restaurant : Restaurant
+     * @return : true if position, title and selection status are unchanged
+     */
+    private boolean isSameMarker(RestaurantMarkerItem item, Restaurant restaurant) {
+        return item.getPosition().latitude == restaurant.getLatitude()
+               && item.getPosition().longitude == restaurant.getLongitude()
+               && Objects.equals(item.getTitle(), restaurant.getName())
+               && item.getType() == selectedPlaceIds.contains(restaurant.getPlaceId());
     }
 
     /**
@@ -385,8 +505,10 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
     public void updateRestaurantRenderer(List<Restaurant> list) {
         boolean clusterOption = sharedPrefClusterOption
                                        .getBoolean(AppInfo.PREF_CLUSTER_OPTION_KEY, false);
+        boolean clusterOptionChanged = clusterOption != clusterActivation;
+        clusterActivation = clusterOption;
         ((RestaurantRenderer) clusterManager.getRenderer()).setClusterActivation(clusterOption);
-        displayMarkersWithClustersInMap(list);
+        displayMarkersWithClustersInMap(list, clusterOptionChanged);
     }
 
     @SuppressLint("MissingPermission")
@@ -418,7 +540,7 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
      */
     private void handleClusterClickInteractions() {
         clusterManager.setOnClusterItemInfoWindowClickListener(item -> {
-            Restaurant restaurantToDisplay = listRestaurants.get(item.getIndice());
+            Restaurant restaurantToDisplay = displayedRestaurants.get(item.getPlaceId());
             ((MainActivity) requireActivity()).setRestaurantToDisplay(restaurantToDisplay);
             ((MainActivity) requireActivity()).displayRestaurantDetailsFragment();
         });
@@ -449,32 +571,56 @@ public class MapViewFragment extends Fragment implements MapViewFragmentCallback
     @SuppressLint("PotentialBehaviorOverride")
     private void initializeClusterManager() {
         clusterManager = new ClusterManager<>(requireContext(), map);
+        markerItems.clear();
+        displayedRestaurants.clear();
+        clusterActivation = true;
         // Initialize Renderer for cluster
         RestaurantRenderer restaurantRenderer = new RestaurantRenderer(getActivity(),
                                                                        map, clusterManager);
         restaurantRenderer.setMinClusterSize(10);
         clusterManager.setRenderer(restaurantRenderer);
-        // Set listener for marker clicks
-         map.setOnCameraIdleListener(clusterManager);
+        // Set listener for camera moves and marker clicks
+         map.setOnCameraIdleListener(() -> {
+             clusterManager.onCameraIdle();
+             findRestaurantsInVisibleRegion();
+         });
          map.setOnMarkerClickListener(clusterManager);
     }
 
     /**
-     * Launches a loadAllRestaurantsWithHours() request to database and send the result
-     * to view model to perform a data restoration.
+     * Restores the list of restaurants from the tile stored in database for the user location,
+     * or launches a places search if this tile is missing or expired.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
      */
     @Override
-    public void restoreListFromDatabase() {
-        placesViewModel.getPlacesRepository().loadAllRestaurantsWithHours()
-                .observe(getViewLifecycleOwner(), restaurantAndHoursData
-                        -> placesViewModel.restoreData(restaurantAndHoursData));
+    public void restoreListFromDatabase(double latitude, double longitude) {
+        currentLatUserPosition = latitude;
+        currentLonUserPosition = longitude;
+        placesViewModel.restoreFromDatabaseOrFindPlacesNearby(latitude, longitude, "restaurant");
     }
 
     /**
      * Restores all markers on map by using the list of all existing restaurants.
      */
     public void restoreBackupMarkersOnMap() {
-        updateRestaurantRenderer(listRestaurants);
+        updateRestaurantRenderer(getRestaurantsToRestore());
+    }
+
+    /**
+     * Returns the restaurants displayed when no autocomplete search is running : restaurants
+     * matching the opening hours filter if selected, or all restaurants with the restaurants
+     * stored in the visible region of the map.
+     * @return : List of restaurants
+     */
+    private List<Restaurant> getRestaurantsToRestore() {
+        List<Restaurant> openingHoursListRestaurants =
+                         placesViewModel.getListRestaurantsOpeningHoursResults().getValue();
+        if (placesViewModel.isOpeningHoursFilterActivated() && openingHoursListRestaurants != null)
+            return openingHoursListRestaurants;
+        List<Restaurant> restaurants = new ArrayList<>(listRestaurants);
+        restaurants.addAll(restaurantsInBounds);
+        return restaurants;
     }
 
     // Getter
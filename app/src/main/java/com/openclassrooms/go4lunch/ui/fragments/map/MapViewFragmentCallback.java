@@ -10,6 +10,6 @@ public interface MapViewFragmentCallback {
     // Used in GPSActivationDialog
     void activateGPS();
     // Used in PlacesRepository
-    void restoreListFromDatabase();
+    void restoreListFromDatabase(double latitude, double longitude);
     void searchPlacesFromCurrentLocation();
 }
@@ -11,12 +11,12 @@ import android.view.View;
 import android.view.ViewGroup;
 import com.openclassrooms.go4lunch.adapters.ListViewAdapter;
 import com.openclassrooms.go4lunch.databinding.FragmentListViewBinding;
+import com.openclassrooms.go4lunch.di.DI;
 import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import com.openclassrooms.go4lunch.viewmodels.PlacesViewModel;
 import com.openclassrooms.go4lunch.viewmodels.WorkmatesViewModel;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Fragment class used to display the list of restaurant in a RecyclerView, using a
@@ -33,9 +33,6 @@ public class ListViewFragment extends Fragment implements
     private PlacesViewModel placesViewModel;
     private WorkmatesViewModel workmatesViewModel;
 
-    // Indicates the number of the next page of data loadable with a "next_place_token" token
-    private int numNextPageRequest;
-
     public ListViewFragment() { /* Empty public constructor */ }
 
     public static ListViewFragment newInstance() {
@@ -53,41 +50,39 @@ public class ListViewFragment extends Fragment implements
     private void addObserversToViewModels() {
         // PlaceViewModels
         placesViewModel.getListRestaurants().observe(getViewLifecycleOwner(), newListRestaurants -> {
-                adapter.updateListRestaurants(newListRestaurants);
-                adapter.updateListRestaurantsBackup();
-                // Update background text
-                updateTextBackgroundDisplay(newListRestaurants.isEmpty());
-                // Hide circular progress bar when loading is over
-                adapter.updateVisibilityProgressBarStatus(View.INVISIBLE);
+                // Filtered list is displayed once opening states are evaluated
+                if (!placesViewModel.isOpeningHoursFilterActivated()) {
+                    adapter.updateListRestaurants(newListRestaurants);
+                    adapter.updateListRestaurantsBackup();
+                    // Update background text
+                    updateTextBackgroundDisplay(newListRestaurants.isEmpty());
+                }
+                // Hide circular progress bar once the next page is published (lists can be
+                // published several times while details are loading)
+                if (!placesViewModel.isNextPageRequested())
+                    adapter.updateVisibilityProgressBarStatus(View.INVISIBLE);
         });
 
-        placesViewModel.getListRestaurantsAutocomplete().observe(getViewLifecycleOwner(),
-                autocompleteListRestaurantIds -> {
-            if (((MainActivity) requireActivity()).getAutocompleteActivation()) {
-                List<Restaurant> currentList = adapter.getListRestaurantBackup();
-                List<Restaurant> newListRestaurantsAutocomplete = new ArrayList<>();
-
-                boolean found = false;
-                int index = 0;
-
-                for (int i = 0; i < autocompleteListRestaurantIds.size(); i++) {
-                    while (index < currentList.size() && !found) {
-                        if (currentList.get(index).getPlaceId().equals(
-                                autocompleteListRestaurantIds.get(i))) {
-                            found = true;
-                            newListRestaurantsAutocomplete.add(currentList.get(index));
-                        }
-                        else index++;
-                    }
-                }
-                // Send to adapter
-                adapter.updateListRestaurants(newListRestaurantsAutocomplete);
+        placesViewModel.getListRestaurantsOpeningHoursResults().observe(getViewLifecycleOwner(),
+                openingHoursListRestaurants -> {
+            if (!((MainActivity) requireActivity()).getAutocompleteActivation()) {
+                adapter.updateListRestaurants(openingHoursListRestaurants);
+                adapter.updateListRestaurantsBackup();
+                updateTextBackgroundDisplay(openingHoursListRestaurants.isEmpty());
             }
         });
 
+        placesViewModel.getListRestaurantsAutocompleteResults().observe(getViewLifecycleOwner(),
+                autocompleteListRestaurants -> {
+            // Send to adapter
+            if (((MainActivity) requireActivity()).getAutocompleteActivation())
+                adapter.updateListRestaurants(autocompleteListRestaurants);
+        });
+
         // Workmates
         workmatesViewModel.getListWorkmates().observe(getViewLifecycleOwner(),
-                listWorkmates -> adapter.updateListWorkmates(listWorkmates));
+                listWorkmates -> adapter.updateWorkmatesIndex(
+                                                      workmatesViewModel.getWorkmatesIndex()));
     }
 
     @Override
@@ -100,7 +95,6 @@ public class ListViewFragment extends Fragment implements
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        numNextPageRequest = 0;
         initializeViewModels();
         initializeRecyclerView();
         addObserversToViewModels();
@@ -116,9 +110,11 @@ public class ListViewFragment extends Fragment implements
         RecyclerView.LayoutManager layoutManager = new LinearLayoutManager(getActivity());
         binding.recyclerViewList.setLayoutManager(layoutManager);
         // Initialize Adapter
-        adapter = new ListViewAdapter(((MainActivity) requireActivity()).getLocationClient(),
-                                       getContext(),
-               this);
+        adapter = new ListViewAdapter(
+                ((MainActivity) requireActivity()).getLocationSnapshotProvider(),
+                DI.provideTaskScheduler().getExecutor(TaskScheduler.Pool.CPU,
+                                                      TaskScheduler.Priority.HIGH),
+                getContext(), this);
         binding.recyclerViewList.setAdapter(adapter);
 
 
@@ -129,14 +125,12 @@ public class ListViewFragment extends Fragment implements
                 // If end of RecyclerView list
                 // Only if autocomplete is not activated
                 if (!((MainActivity) requireActivity()).getAutocompleteActivation()) {
-                    // Search Nearby API can only returns 2 others pages of locations
-                    if (numNextPageRequest < 2) {
+                    // Next pages of locations are prefetched after each search
+                    if (!placesViewModel.isNextPageRequested()
+                            && placesViewModel.hasNextPlacesNearby()) {
                         if (!recyclerView.canScrollVertically(1)) {
                             // Get next places available to display
-                            ArrayList<Restaurant> listToUpdate =
-                                                       new ArrayList<>(adapter.getListRestaurant());
-                            placesViewModel.getNextPlacesNearby(listToUpdate, numNextPageRequest);
-                            numNextPageRequest++;
+                            placesViewModel.getNextPlacesNearby();
                             // Display circular progress bar
                             adapter.updateVisibilityProgressBarStatus(View.VISIBLE);
                         }
@@ -157,7 +151,7 @@ public class ListViewFragment extends Fragment implements
      */
     @Override
     public void onItemRestaurantClick(int position) {
-        Restaurant restaurantToDisplay = adapter.getListRestaurant().get(position);
+        Restaurant restaurantToDisplay = adapter.getRestaurant(position);
         ((MainActivity) requireActivity()).setRestaurantToDisplay(restaurantToDisplay);
         ((MainActivity) requireActivity()).displayRestaurantDetailsFragment();
     }
@@ -25,7 +25,6 @@ import com.openclassrooms.go4lunch.R;
 import com.openclassrooms.go4lunch.adapters.WorkmatesAdapter;
 import com.openclassrooms.go4lunch.databinding.FragmentRestaurantDetailsBinding;
 import com.openclassrooms.go4lunch.model.Restaurant;
-import com.openclassrooms.go4lunch.model.Workmate;
 import com.openclassrooms.go4lunch.ui.activities.MainActivity;
 import com.openclassrooms.go4lunch.utils.AppInfo;
 import com.openclassrooms.go4lunch.utils.RatingDisplayHandler;
@@ -174,14 +173,9 @@ public class RestaurantDetailsFragment extends Fragment {
         });
 
         workmatesViewModel = new ViewModelProvider(requireActivity()).get(WorkmatesViewModel.class);
-        workmatesViewModel.getListWorkmates().observe(getViewLifecycleOwner(), listWorkmates -> {
-            ArrayList<Workmate> listFiltered = new ArrayList<>();
-            for (int i = 0; i < listWorkmates.size(); i++) {
-                if (listWorkmates.get(i).getRestaurantSelectedID().equals(restaurant.getPlaceId()))
-                    listFiltered.add(listWorkmates.get(i));
-            }
-             adapter.updateList(listFiltered);
-        });
+        workmatesViewModel.getListWorkmates().observe(getViewLifecycleOwner(), listWorkmates ->
+                adapter.updateList(workmatesViewModel.getWorkmatesIndex()
+                                                     .getWorkmates(restaurant.getPlaceId())));
     }
 
     /**
@@ -337,18 +331,20 @@ public class RestaurantDetailsFragment extends Fragment {
     }
 
     /**
-     * Updates the list of liked restaurants and send it to the WorkmatesService to update
-     * the Firestore database.
+     * Updates the list of liked restaurants and sends the change to the WorkmatesService to
+     * update the Firestore database.
      */
     public void updateFirestoreWithLikeStatus() {
-        // Update list of liked restaurant for the current user
-        if (alreadyInDatabase && !likeStatus) // The restaurant was initially liked
-                                              // and is now disliked by user
+        // Update list of liked restaurant for the current user, and send only the change
+        if (alreadyInDatabase && !likeStatus) { // The restaurant was initially liked
+                                                // and is now disliked by user
             listLikedRestaurants.remove(restaurant.getPlaceId());
-        if (!alreadyInDatabase && likeStatus) // The restaurant was initially not liked
-                                              // and is now liked by user.
+            workmatesViewModel.unlikeRestaurant(documentID, restaurant.getPlaceId());
+        }
+        if (!alreadyInDatabase && likeStatus) { // The restaurant was initially not liked
+                                                // and is now liked by user.
             listLikedRestaurants.add(restaurant.getPlaceId());
-        // Send list the BDD
-        workmatesViewModel.updateCurrentUserListOfLikedRestaurant(documentID, listLikedRestaurants);
+            workmatesViewModel.likeRestaurant(documentID, restaurant.getPlaceId());
+        }
     }
 }
\ No newline at end of file
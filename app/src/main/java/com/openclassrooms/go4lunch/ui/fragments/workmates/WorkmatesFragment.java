@@ -54,7 +54,6 @@ public class WorkmatesFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         initializeRecyclerView();
         addObserverToViewModel();
-        workmatesViewModel.getEmployeesInfoFromFirestoreDatabase();
     }
 
     /**
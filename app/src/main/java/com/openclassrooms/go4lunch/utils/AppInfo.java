@@ -16,11 +16,13 @@ public class AppInfo {
     // Database name
     public static final String SQLITE_DATABASE_NAME = "go4lunch_database";
 
+    // HTTP cache directory name
+    public static final String HTTP_CACHE_DIRECTORY_NAME = "http_cache";
+
     // Root collection id in Firestore
     public static final String ROOT_COLLECTION_ID = "list_employees";
 
     // SharedPreferences name files
-    public static final String FILE_PREF_NEXT_PAGE_TOKEN = "FILE_PREF_NEXT_PAGE_TOKEN";
     public static final String FILE_FIRESTORE_USER_ID = "FILE_FIRESTORE_USER_ID";
     public static final String FILE_PREF_USER_POSITION = "FILE_PREF_USER_POSITION";
     public static final String FILE_PREF_FIRST_RUN = "FILE_REFS_FIRST_RUN";
@@ -32,8 +34,6 @@ public class AppInfo {
 
     // SharedPreferences keys
     public static final String PREF_VERSION_CODE_KEY = "version_code";
-    public static final String PREF_FIRST_NEXT_PAGE_TOKEN_KEY = "first_next_page_token";
-    public static final String PREF_SECOND_NEXT_PAGE_TOKEN_KEY = "second_next_page_token";
     public static final String PREF_OLD_LAT_POSITION_KEY = "old_lat_position";
     public static final String PREF_OLD_LON_POSITION_KEY = "old_lon_position";
     public static final String PREF_SELECTED_RESTAURANT_KEY = "selected_restaurant";
@@ -1,8 +1,14 @@
 package com.openclassrooms.go4lunch.utils;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.openclassrooms.go4lunch.database.DetailsData;
 import com.openclassrooms.go4lunch.database.HoursData;
-import com.openclassrooms.go4lunch.model.OpeningAndClosingHours;
-import com.openclassrooms.go4lunch.model.ScheduleType;
+import com.openclassrooms.go4lunch.database.RestaurantData;
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.places.response.details.ResultDetails;
 import java.util.List;
 
 /**
@@ -11,23 +17,71 @@ import java.util.List;
 public class DataConverters {
 
     /**
-     * To convert an HoursData object from database in an OpeningAndClosingHours object
+     * To convert a list of HoursData objects from database in a WeekSchedule object.
+     * A period without closing hour is only valid if it opens on Sunday at 00:00, and
+     * describes a restaurant always open.
      * @param hoursData : HoursData to convert
-     *      * @return : Converted OpeningAndClosingHours object
+     * @return : Converted WeekSchedule object, empty if no valid period is found
      */
-    public static OpeningAndClosingHours converterHoursDataToOpeningAndClosingHours(
-            List<HoursData> hoursData) {
-        OpeningAndClosingHours openingAndClosingHours = new OpeningAndClosingHours();
-        if (hoursData != null) {
-            for (int i = 0; i < hoursData.size(); i++){
-                openingAndClosingHours.add(ScheduleType.CLOSE,
-                        hoursData.get(i).closingHours.day,
-                        hoursData.get(i).closingHours.time);
-                openingAndClosingHours.add(ScheduleType.OPEN,
-                        hoursData.get(i).openingHours.day,
-                        hoursData.get(i).openingHours.time);
-            }
+    public static WeekSchedule converterHoursDataToWeekSchedule(List<HoursData> hoursData) {
+        if (hoursData == null || hoursData.isEmpty()) return WeekSchedule.EMPTY;
+        WeekSchedule.Builder builder = new WeekSchedule.Builder();
+        for (int i = 0; i < hoursData.size(); i++) {
+            HoursData data = hoursData.get(i);
+            if (data.openingHours == null) continue;
+            int open = WeekSchedule.getMinuteOfWeek(data.openingHours.day, data.openingHours.time);
+            if (open < 0) continue;
+            int close = data.closingHours == null ? -1
+                    : WeekSchedule.getMinuteOfWeek(data.closingHours.day, data.closingHours.time);
+            if (close >= 0) builder.addPeriod(open, close);
+            else if (open == 0) builder.addAlwaysOpen();
+        }
+        return builder.build();
+    }
+
+    /**
+     * To convert a Restaurant object in a RestaurantData object to store in database
+     * @param restaurant : Restaurant to convert
+     * @return : Converted RestaurantData object
+     */
+    public static RestaurantData converterRestaurantToRestaurantData(Restaurant restaurant) {
+        return new RestaurantData(restaurant.getPlaceId(), restaurant.getName(),
+                restaurant.getAddress(), restaurant.getLatitude(), restaurant.getLongitude(),
+                restaurant.getRating(), restaurant.getPhoneNumber(), restaurant.getWebsiteUri(),
+                restaurant.getPhotoReference(), restaurant.getPhotoHeight(),
+                restaurant.getPhotoWidth());
+    }
+
+    /**
+     * To convert a Place Details response in a DetailsData object to store in database
+     * @param placeId : Id of the place
+     * @param response : Place Details response to convert
+     * @param fetchedAt : Time the response was received
+     * @return : Converted DetailsData object
+     */
+    public static DetailsData converterDetailsResponseToDetailsData(String placeId,
+                                                                    DetailsResponse response,
+                                                                    long fetchedAt) {
+        return new DetailsData(placeId, new Gson().toJson(response.getResult()), fetchedAt);
+    }
+
+    /**
+     * To convert a DetailsData object from database in a Place Details response
+     * @param detailsData : DetailsData to convert
+     * @return : Converted DetailsResponse object, or null if the stored data can't be read
+     */
+    public static DetailsResponse converterDetailsDataToDetailsResponse(DetailsData detailsData) {
+        try {
+            ResultDetails result = new Gson().fromJson(detailsData.getResultJson(),
+                                                       ResultDetails.class);
+            if (result == null) return null;
+            DetailsResponse response = new DetailsResponse();
+            response.result = result;
+            response.status = "OK";
+            return response;
+        } catch (JsonSyntaxException exception) {
+            exception.printStackTrace();
+            return null;
         }
-        return  openingAndClosingHours;
     }
 }
@@ -0,0 +1,59 @@
+package com.openclassrooms.go4lunch.utils;
+
+/**
+ * Class providing a geohash encoding of coordinates, used to identify the map tile
+ * containing a location. Each additional character of precision divides the tile size
+ * by 32 (precision 6 : tile of ~1.2 km x 0.6 km).
+ */
+public class Geohash {
+
+    private static final char[] BASE_32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    /**
+     * Encodes coordinates into a geohash of "precision" characters.
+     * @param latitude : Latitude
+     * @param longitude : Longitude
+     * @param precision : Number of characters of the geohash
+     * @return : Geohash of the tile containing the location
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12)
+            throw new IllegalArgumentException("precision must be in [1, 12]");
+        double minLatitude = -90.0, maxLatitude = 90.0;
+        double minLongitude = -180.0, maxLongitude = 180.0;
+        StringBuilder geohash = new StringBuilder(precision);
+        boolean evenBit = true; // Bits alternate between longitude and latitude
+        int bit = 0;
+        int index = 0;
+
+        while (geohash.length() < precision) {
+            if (evenBit) {
+                double middle = (minLongitude + maxLongitude) / 2;
+                if (longitude >= middle) {
+                    index = (index << 1) + 1;
+                    minLongitude = middle;
+                } else {
+                    index = index << 1;
+                    maxLongitude = middle;
+                }
+            } else {
+                double middle = (minLatitude + maxLatitude) / 2;
+                if (latitude >= middle) {
+                    index = (index << 1) + 1;
+                    minLatitude = middle;
+                } else {
+                    index = index << 1;
+                    maxLatitude = middle;
+                }
+            }
+            evenBit = !evenBit;
+            // Each character encodes 5 bits
+            if (++bit == 5) {
+                geohash.append(BASE_32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return geohash.toString();
+    }
+}
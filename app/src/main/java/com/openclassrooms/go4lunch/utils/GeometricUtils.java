@@ -23,4 +23,22 @@ public class GeometricUtils {
                       (dx / EARTH_RADIUS) * (180 / Math.PI) / Math.cos(latitudeRef * Math.PI / 180);
         return new LatLng(newLatitude, newLongitude);
     }
+
+    /**
+     * Provides the distance in meters between two points, using the haversine formula.
+     * @param latitude1 : Latitude of the first point
+     * @param longitude1 : Longitude of the first point
+     * @param latitude2 : Latitude of the second point
+     * @param longitude2 : Longitude of the second point
+     * @return : Distance in meters
+     */
+    public static double getDistance(double latitude1, double longitude1,
+                                     double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                   + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                     * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
 }
@@ -10,8 +10,11 @@ import com.openclassrooms.go4lunch.R;
  */
 public class RatingDisplayHandler {
 
+    // Number of stars displayed
+    public static final int NB_STARS = 5;
+
     /**
-     *
+     * Displays a rating information with 5 stars.
      * @param star1 : ImageView representing a part of the rating information
      * @param star2 : ImageView representing a part of the rating information
      * @param star3 : ImageView representing a part of the rating information
@@ -25,141 +28,34 @@ public class RatingDisplayHandler {
                                      ImageView star3, ImageView star4,
                                      ImageView star5, double rating,
                                      Context context) {
+        int[] drawables = getStarDrawables(rating);
+        star1.setImageDrawable(context.getResources().getDrawable(drawables[0]));
+        star2.setImageDrawable(context.getResources().getDrawable(drawables[1]));
+        star3.setImageDrawable(context.getResources().getDrawable(drawables[2]));
+        star4.setImageDrawable(context.getResources().getDrawable(drawables[3]));
+        star5.setImageDrawable(context.getResources().getDrawable(drawables[4]));
+    }
 
-        if (rating >= 0 && rating < 0.5) { // 0 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            // DO NOTHING
-        }
-        else if (rating >= 0.5 && rating < 1) // 0.5 STARS
-        {
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                     R.drawable.ic_baseline_star_half_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 1 && rating < 1.5) // 1 STAR
-        {
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 1.5 && rating < 2) { // 1.5 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                     R.drawable.ic_baseline_star_half_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 2 && rating < 2.5) { // 2 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 2.5 && rating < 3) { // 2.5 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                     R.drawable.ic_baseline_star_half_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 3 && rating < 3.5) { // 3 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 3.5 && rating < 4) { // 3.5 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                     R.drawable.ic_baseline_star_half_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 4 && rating < 4.5) { // 4 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                   R.drawable.ic_baseline_star_border_24dp_yellow));
-        }
-        else if (rating >= 4.5 && rating < 5) { // 4.5 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                     R.drawable.ic_baseline_star_half_24dp_yellow));
-        }
-        else { // 5 STARS
-            star5.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star4.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star3.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star2.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-            star1.setImageDrawable(context.getResources().getDrawable(
-                                                          R.drawable.ic_baseline_star_24dp_yellow));
-        }
+    /**
+     * Returns the drawable to display in each star for a rating, by steps of 0.5 star.
+     * Stars are filled from star5 to star1.
+     * @param rating : Rating information
+     * @return : Drawable resources of star1 to star5
+     */
+    public static int[] getStarDrawables(double rating) {
+        // Number of half stars to fill
+        int nbHalfStars = rating >= NB_STARS ? 2 * NB_STARS
+                                             : (int) Math.max(0, Math.floor(rating * 2));
+        int[] drawables = new int[NB_STARS];
+        for (int i = 0; i < NB_STARS; i++) {
+            int position = NB_STARS - 1 - i; // star5 is filled first
+            if (nbHalfStars >= 2 * (position + 1))
+                drawables[i] = R.drawable.ic_baseline_star_24dp_yellow;
+            else if (nbHalfStars == 2 * position + 1)
+                drawables[i] = R.drawable.ic_baseline_star_half_24dp_yellow;
+            else
+                drawables[i] = R.drawable.ic_baseline_star_border_24dp_yellow;
+        }
+        return drawables;
     }
 }
@@ -0,0 +1,90 @@
+package com.openclassrooms.go4lunch.utils;
+
+/**
+ * Class dividing the world into a grid of cells of CELL_SIZE degrees, used to index the
+ * location of each restaurant stored in database.
+ * Cells are numbered row by row (latitude first), so that the cells of a bounding box crossed
+ * by a row of the grid form a contiguous range of ids : a bounding box query is a small number
+ * of range scans over the B-tree index of the "cell_id" column.
+ */
+public class SpatialCells {
+
+    // Cell size : ~1.1 km in latitude
+    public static final double CELL_SIZE = 0.01;
+
+    public static final int NB_LATITUDE_CELLS = (int) Math.round(180.0 / CELL_SIZE);
+
+    public static final int NB_LONGITUDE_CELLS = (int) Math.round(360.0 / CELL_SIZE);
+
+    // Above this number of rows, a bounding box is covered by a single range of ids
+    public static final int MAX_NB_RANGES = 32;
+
+    private static int getLatitudeCell(double latitude) {
+        int cell = (int) Math.floor((latitude + 90.0) / CELL_SIZE);
+        return Math.max(0, Math.min(NB_LATITUDE_CELLS - 1, cell));
+    }
+
+    private static int getLongitudeCell(double longitude) {
+        int cell = (int) Math.floor((longitude + 180.0) / CELL_SIZE);
+        return Math.max(0, Math.min(NB_LONGITUDE_CELLS - 1, cell));
+    }
+
+    /**
+     * Returns the id of the cell containing a location.
+     * @param latitude : Latitude
+     * @param longitude : Longitude
+     * @return : Cell id
+     */
+    public static long getCellId(double latitude, double longitude) {
+        return (long) getLatitudeCell(latitude) * NB_LONGITUDE_CELLS
+               + getLongitudeCell(longitude);
+    }
+
+    /**
+     * Returns the ranges of cell ids covering a bounding box : one range per row of cells,
+     * or a single range if the box is crossed by more than MAX_NB_RANGES rows. Bounding boxes
+     * over the antimeridian are not supported.
+     * @param minLatitude : South latitude
+     * @param minLongitude : West longitude
+     * @param maxLatitude : North latitude
+     * @param maxLongitude : East longitude
+     * @return : { first id, last id } pairs
+     */
+    public static long[] getCellRanges(double minLatitude, double minLongitude,
+                                       double maxLatitude, double maxLongitude) {
+        int minRow = getLatitudeCell(minLatitude);
+        int maxRow = getLatitudeCell(maxLatitude);
+        int minColumn = getLongitudeCell(minLongitude);
+        int maxColumn = getLongitudeCell(maxLongitude);
+        if (maxRow - minRow + 1 > MAX_NB_RANGES) {
+            return new long[] { (long) minRow * NB_LONGITUDE_CELLS + minColumn,
+                                (long) maxRow * NB_LONGITUDE_CELLS + maxColumn };
+        }
+        long[] ranges = new long[2 * (maxRow - minRow + 1)];
+        for (int row = minRow; row <= maxRow; row++) {
+            ranges[2 * (row - minRow)] = (long) row * NB_LONGITUDE_CELLS + minColumn;
+            ranges[2 * (row - minRow) + 1] = (long) row * NB_LONGITUDE_CELLS + maxColumn;
+        }
+        return ranges;
+    }
+
+    /**
+     * Converts a distance into degrees of latitude.
+     * @param meters : Distance in meters
+     * @return : Degrees of latitude
+     */
+    public static double getLatitudeDegrees(double meters) {
+        return Math.toDegrees(meters / GeometricUtils.EARTH_RADIUS);
+    }
+
+    /**
+     * Converts a distance into degrees of longitude, at a given latitude.
+     * @param meters : Distance in meters
+     * @param latitude : Latitude
+     * @return : Degrees of longitude
+     */
+    public static double getLongitudeDegrees(double meters, double latitude) {
+        double cos = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        return getLatitudeDegrees(meters) / cos;
+    }
+}
@@ -13,15 +13,15 @@ public class RestaurantMarkerItem implements ClusterItem {
     private final String title;
     private final String snippet;
     private final boolean type; // Defines type of marker (selected restaurant or non-selected)
-    private final int indice; // Indice of the corresponding Restaurant object in the list
+    private final String placeId; // Place id of the corresponding Restaurant object
 
     public RestaurantMarkerItem(LatLng position, String title, String snippet,
-                                boolean type, int indice) {
+                                boolean type, String placeId) {
         this.position = position;
         this.title = title;
         this.snippet = snippet;
         this.type = type;
-        this.indice = indice;
+        this.placeId = placeId;
     }
 
     // Getter methods
@@ -39,7 +39,7 @@ public class RestaurantMarkerItem implements ClusterItem {
 
     public boolean getType() { return type; }
 
-    public int getIndice() {
-        return indice;
+    public String getPlaceId() {
+        return placeId;
     }
 }
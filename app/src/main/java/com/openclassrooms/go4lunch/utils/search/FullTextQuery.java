@@ -0,0 +1,77 @@
+package com.openclassrooms.go4lunch.utils.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class converting a query typed by user into the expressions of a full-text search over the
+ * restaurant_fts_table table.
+ * The query is split into words the same way the "simple" FTS tokenizer splits the indexed
+ * text : ASCII letters and digits are lower-cased, other ASCII characters are separators, and
+ * non-ASCII characters are kept as is. Each word is then searched as a prefix, so that
+ * "pizz ital" matches "Pizzeria Italiana".
+ */
+public class FullTextQuery {
+
+    // Maximum number of words of a query sent to the FTS table
+    public static final int MAX_NB_WORDS = 8;
+
+    /**
+     * Splits a query into words, as the "simple" FTS tokenizer does.
+     * @param query : Query typed by user, can be null
+     * @return : List of at most MAX_NB_WORDS non-empty words
+     */
+    public static List<String> tokenize(String query) {
+        if (query == null) return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= query.length() && words.size() < MAX_NB_WORDS; i++) {
+            char character = i < query.length() ? query.charAt(i) : ' ';
+            if (character >= 'A' && character <= 'Z') {
+                word.append((char) (character - 'A' + 'a'));
+            } else if (character >= 128 || Character.isLetterOrDigit(character)) {
+                word.append(character);
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Builds the MATCH expression searching every word of a query as a prefix.
+     * @param query : Query typed by user
+     * @param column : Column to search, or null to search all indexed columns
+     * @return : MATCH expression, or null if the query contains no word
+     */
+    public static String getPrefixExpression(String query, String column) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) return null;
+        StringBuilder expression = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) expression.append(' ');
+            if (column != null) expression.append(column).append(':');
+            expression.append(words.get(i)).append('*');
+        }
+        return expression.toString();
+    }
+
+    /**
+     * Builds the LIKE pattern matching texts starting with a query, with '\' as escape
+     * character.
+     * @param query : Query typed by user
+     * @return : LIKE pattern
+     */
+    public static String getLikePrefix(String query) {
+        String trimmedQuery = query == null ? "" : query.trim();
+        StringBuilder pattern = new StringBuilder(trimmedQuery.length() + 1);
+        for (int i = 0; i < trimmedQuery.length(); i++) {
+            char character = trimmedQuery.charAt(i);
+            if (character == '%' || character == '_' || character == '\\') pattern.append('\\');
+            pattern.append(character);
+        }
+        return pattern.append('%').toString();
+    }
+}
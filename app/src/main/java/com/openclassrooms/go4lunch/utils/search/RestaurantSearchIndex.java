@@ -0,0 +1,152 @@
+package com.openclassrooms.go4lunch.utils.search;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory index over the names and addresses of a list of restaurants, answering
+ * prefix queries without any network request.
+ * Names and addresses are split into words, folded (accents removed, lower case), and stored
+ * in a sorted array : each word of a query is matched by binary search against the prefixes
+ * of the stored words. A restaurant matches a query if every query word matches a word of its
+ * name or address. Results are ranked by number of query words found in the name, then
+ * by position in the indexed list.
+ */
+public class RestaurantSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Indexed list
+    private final List<Restaurant> restaurants;
+
+    // Number of restaurants in the indexed list when the index was built
+    private final int nbRestaurants;
+
+    // Words of all names and addresses, sorted
+    private final Entry[] entries;
+
+    private RestaurantSearchIndex(List<Restaurant> restaurants, Entry[] entries) {
+        this.restaurants = restaurants;
+        this.nbRestaurants = restaurants.size();
+        this.entries = entries;
+    }
+
+    /**
+     * Builds the index of a list of restaurants.
+     * @param restaurants : List of restaurants, must not be modified while the index is used
+     * @return : RestaurantSearchIndex object
+     */
+    public static RestaurantSearchIndex build(List<Restaurant> restaurants) {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < restaurants.size(); i++) {
+            Restaurant restaurant = restaurants.get(i);
+            for (String word : tokenize(restaurant.getName()))
+                entries.add(new Entry(word, i, true));
+            for (String word : tokenize(restaurant.getAddress()))
+                entries.add(new Entry(word, i, false));
+        }
+        Entry[] sortedEntries = entries.toArray(new Entry[0]);
+        Arrays.sort(sortedEntries, (left, right) -> left.word.compareTo(right.word));
+        return new RestaurantSearchIndex(restaurants, sortedEntries);
+    }
+
+    /**
+     * Searches the restaurants matching a query.
+     * @param query : Query typed by user
+     * @return : List of place ids of the matching restaurants, best matches first
+     */
+    public List<String> search(String query) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty() || nbRestaurants == 0) return Collections.emptyList();
+
+        // For each restaurant : number of query words matched, or -1 if a word is missing
+        int[] nbNameMatches = new int[nbRestaurants];
+        for (int q = 0; q < queryWords.size(); q++) {
+            String queryWord = queryWords.get(q);
+            // 0 : not found, 1 : found in address, 2 : found in name
+            byte[] found = new byte[nbRestaurants];
+            for (int i = lowerBound(queryWord); i < entries.length
+                                                && entries[i].word.startsWith(queryWord); i++) {
+                Entry entry = entries[i];
+                found[entry.restaurantIndex] = (byte) Math.max(found[entry.restaurantIndex],
+                                                               entry.inName ? 2 : 1);
+            }
+            for (int r = 0; r < nbRestaurants; r++) {
+                if (nbNameMatches[r] < 0) continue;
+                if (found[r] == 0) nbNameMatches[r] = -1;
+                else if (found[r] == 2) nbNameMatches[r]++;
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int r = 0; r < nbRestaurants; r++) if (nbNameMatches[r] >= 0) matches.add(r);
+        // Stable sort : restaurants with the same score keep their order
+        Collections.sort(matches, (left, right) -> nbNameMatches[right] - nbNameMatches[left]);
+        List<String> placeIds = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++)
+            placeIds.add(restaurants.get(matches.get(i)).getPlaceId());
+        return placeIds;
+    }
+
+    /**
+     * Returns the index of the first entry greater than or equal to a word.
+     * @param word : Word to search
+     * @return : Index in entries array
+     */
+    private int lowerBound(String word) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries[middle].word.compareTo(word) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Removes accents from a text and converts it to lower case.
+     * @param text : Text to fold
+     * @return : Folded text
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT)
+                         .replace("œ", "oe").replace("æ", "ae");
+    }
+
+    /**
+     * Splits a folded text into words.
+     * @param text : Text to split, can be null
+     * @return : List of non-empty words
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(fold(text))) if (!word.isEmpty()) words.add(word);
+        return words;
+    }
+
+    /**
+     * Word of a restaurant name or address.
+     */
+    private static class Entry {
+        private final String word;
+        private final int restaurantIndex;
+        private final boolean inName;
+
+        Entry(String word, int restaurantIndex, boolean inName) {
+            this.word = word;
+            this.restaurantIndex = restaurantIndex;
+            this.inName = inName;
+        }
+    }
+}
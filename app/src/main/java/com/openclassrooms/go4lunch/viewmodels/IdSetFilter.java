@@ -0,0 +1,44 @@
+package com.openclassrooms.go4lunch.viewmodels;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class joining a ranked list of place ids (autocomplete results) with a list of restaurants,
+ * through a map of restaurants by place id, instead of searching each id in the list.
+ */
+public class IdSetFilter {
+
+    private IdSetFilter() { /* Static methods only */ }
+
+    /**
+     * Returns the restaurants of a list whose place id is contained in a ranked list of ids.
+     * @param restaurants : List of restaurants to filter
+     * @param rankedIds : List of place ids, best results first
+     * @return : List of restaurants, in the order of the ranked ids. Unknown and duplicated
+     *           ids are ignored.
+     */
+    public static List<Restaurant> filter(List<Restaurant> restaurants, List<String> rankedIds) {
+        Map<String, Restaurant> restaurantsById = new HashMap<>(restaurants.size() * 2);
+        for (int i = 0; i < restaurants.size(); i++) {
+            Restaurant restaurant = restaurants.get(i);
+            // Keep the first restaurant of duplicated places
+            if (!restaurantsById.containsKey(restaurant.getPlaceId()))
+                restaurantsById.put(restaurant.getPlaceId(), restaurant);
+        }
+
+        List<Restaurant> filteredRestaurants = new ArrayList<>(rankedIds.size());
+        Set<String> addedIds = new HashSet<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            String id = rankedIds.get(i);
+            Restaurant restaurant = restaurantsById.get(id);
+            if (restaurant != null && addedIds.add(id)) filteredRestaurants.add(restaurant);
+        }
+        return filteredRestaurants;
+    }
+}
@@ -0,0 +1,210 @@
+package com.openclassrooms.go4lunch.viewmodels;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Class indexing the opening state of a list of restaurants at the current time, from their
+ * @{@link WeekSchedule}, to filter restaurants open now or open at lunch time.
+ * Each restaurant is queued with the time of its next opening or closing : when the clock
+ * advances, only restaurants whose transition time is reached are evaluated again.
+ * Times are expressed in minutes since 01/01/1970 00:00 in the local time zone, so that
+ * transitions of consecutive weeks keep increasing. Not thread-safe : meant to be used from a
+ * single background thread.
+ */
+public class OpeningHoursFilter {
+
+    /**
+     * Filters available for the list of restaurants.
+     */
+    public enum Mode {
+        ALL, OPEN_NOW, OPEN_AT_LUNCH
+    }
+
+    // Time at which restaurants are checked for the "open at lunch time" filter
+    public static final int LUNCH_TIME = 12 * 60 + 30; // 12:30
+
+    // 01/01/1970 was a Thursday
+    private static final int EPOCH_MINUTE_OF_WEEK = 4 * WeekSchedule.MINUTES_PER_DAY;
+
+    private static final long NO_TRANSITION = Long.MAX_VALUE;
+
+    private final List<Restaurant> restaurants;
+
+    private final WeekSchedule[] schedules;
+
+    // Opening state of each restaurant at the last evaluated time
+    private final boolean[] openNow;
+
+    // Opening state of each restaurant at lunch time of the last evaluated day
+    private final boolean[] openAtLunch;
+
+    // Time of the next opening or closing of each restaurant, or NO_TRANSITION
+    private final long[] nextTransitions;
+
+    // Restaurants with a transition, next transition first
+    private final PriorityQueue<Integer> transitionsQueue;
+
+    private long evaluatedTime;
+
+    private long evaluatedDay;
+
+    // Number of restaurants opening states evaluated since creation
+    private int nbEvaluations;
+
+    public OpeningHoursFilter(List<Restaurant> restaurants, long localMinutes) {
+        this.restaurants = new ArrayList<>(restaurants);
+        int size = this.restaurants.size();
+        schedules = new WeekSchedule[size];
+        openNow = new boolean[size];
+        openAtLunch = new boolean[size];
+        nextTransitions = new long[size];
+        transitionsQueue = new PriorityQueue<>(Math.max(1, size),
+                (left, right) -> Long.compare(nextTransitions[left], nextTransitions[right]));
+        for (int i = 0; i < size; i++) schedules[i] = this.restaurants.get(i).getWeekSchedule();
+        evaluateAll(localMinutes);
+    }
+
+    /**
+     * Converts a time in minutes since 01/01/1970 00:00 in the local time zone.
+     * @param calendar : Time to convert
+     * @return : Local minutes
+     */
+    public static long getLocalMinutes(Calendar calendar) {
+        return getLocalMillis(calendar) / 60000L;
+    }
+
+    /**
+     * Converts a time in milliseconds since 01/01/1970 00:00 in the local time zone.
+     * @param calendar : Time to convert
+     * @return : Local milliseconds
+     */
+    public static long getLocalMillis(Calendar calendar) {
+        return calendar.getTimeInMillis() + calendar.get(Calendar.ZONE_OFFSET)
+               + calendar.get(Calendar.DST_OFFSET);
+    }
+
+    private static int getMinuteOfWeek(long localMinutes) {
+        return (int) ((localMinutes + EPOCH_MINUTE_OF_WEEK) % WeekSchedule.MINUTES_PER_WEEK);
+    }
+
+    /**
+     * Advances the clock : only restaurants opening or closing since the last evaluated time
+     * are evaluated again, and lunch states are evaluated again once per day.
+     * @param localMinutes : Current local time
+     * @return : true if the state of a restaurant has changed
+     */
+    public boolean update(long localMinutes) {
+        // Clock set back
+        if (localMinutes < evaluatedTime) return evaluateAll(localMinutes);
+        boolean changed = false;
+        evaluatedTime = localMinutes;
+        if (localMinutes / WeekSchedule.MINUTES_PER_DAY != evaluatedDay)
+            changed = evaluateLunch(localMinutes);
+        while (!transitionsQueue.isEmpty()
+                && nextTransitions[transitionsQueue.peek()] <= localMinutes) {
+            int index = transitionsQueue.poll();
+            boolean wasOpen = openNow[index];
+            evaluate(index, localMinutes);
+            changed |= wasOpen != openNow[index];
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the next time the result of a filter can change.
+     * @param mode : Filter
+     * @return : Local minutes, or Long.MAX_VALUE if the result can't change
+     */
+    public long getNextUpdate(Mode mode) {
+        switch (mode) {
+            case OPEN_NOW:
+                return transitionsQueue.isEmpty() ? NO_TRANSITION
+                                                  : nextTransitions[transitionsQueue.peek()];
+            case OPEN_AT_LUNCH:
+                return (evaluatedDay + 1) * WeekSchedule.MINUTES_PER_DAY;
+            default:
+                return NO_TRANSITION;
+        }
+    }
+
+    /**
+     * Returns the restaurants matching a filter at the last evaluated time. Restaurants open now
+     * are sorted by closing time, latest first, and restaurants open at lunch time keep their
+     * initial order.
+     * @param mode : Filter
+     * @return : List of restaurants
+     */
+    public List<Restaurant> filter(Mode mode) {
+        if (mode == Mode.ALL) return new ArrayList<>(restaurants);
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < restaurants.size(); i++) {
+            if (mode == Mode.OPEN_NOW ? openNow[i] : openAtLunch[i]) indexes.add(i);
+        }
+        if (mode == Mode.OPEN_NOW)
+            Collections.sort(indexes, (left, right) ->
+                             Long.compare(nextTransitions[right], nextTransitions[left]));
+        List<Restaurant> filteredRestaurants = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            filteredRestaurants.add(restaurants.get(indexes.get(i)));
+        }
+        return filteredRestaurants;
+    }
+
+    public int getNbEvaluations() { return nbEvaluations; }
+
+    /**
+     * Evaluates the states of all restaurants.
+     * @param localMinutes : Current local time
+     * @return : true
+     */
+    private boolean evaluateAll(long localMinutes) {
+        evaluatedTime = localMinutes;
+        transitionsQueue.clear();
+        for (int i = 0; i < restaurants.size(); i++) evaluate(i, localMinutes);
+        evaluateLunch(localMinutes);
+        return true;
+    }
+
+    /**
+     * Evaluates the lunch state of all restaurants, for the current day.
+     * @param localMinutes : Current local time
+     * @return : true if the state of a restaurant has changed
+     */
+    private boolean evaluateLunch(long localMinutes) {
+        evaluatedDay = localMinutes / WeekSchedule.MINUTES_PER_DAY;
+        int lunchTime = getMinuteOfWeek(evaluatedDay * WeekSchedule.MINUTES_PER_DAY + LUNCH_TIME);
+        boolean changed = false;
+        for (int i = 0; i < restaurants.size(); i++) {
+            boolean open = schedules[i] != null && schedules[i].isOpenAt(lunchTime);
+            changed |= open != openAtLunch[i];
+            openAtLunch[i] = open;
+        }
+        return changed;
+    }
+
+    /**
+     * Evaluates the state and the next transition of a restaurant, and queues it again.
+     * @param index : Index of the restaurant
+     * @param localMinutes : Current local time
+     */
+    private void evaluate(int index, long localMinutes) {
+        nbEvaluations++;
+        WeekSchedule schedule = schedules[index];
+        int minuteOfWeek = getMinuteOfWeek(localMinutes);
+        int transition = schedule != null ? schedule.nextTransitionAfter(minuteOfWeek) : -1;
+        openNow[index] = schedule != null && schedule.isOpenAt(minuteOfWeek);
+        if (transition < 0) {
+            nextTransitions[index] = NO_TRANSITION;
+        } else {
+            nextTransitions[index] = localMinutes
+                                     + WeekSchedule.getDelay(minuteOfWeek, transition);
+            transitionsQueue.add(index);
+        }
+    }
+}
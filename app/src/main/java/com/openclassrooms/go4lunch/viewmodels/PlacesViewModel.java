@@ -1,7 +1,10 @@
 package com.openclassrooms.go4lunch.viewmodels;
 
 import android.Manifest;
+import android.annotation.SuppressLint;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.RequiresPermission;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
@@ -11,12 +14,23 @@ import com.openclassrooms.go4lunch.database.HoursData;
 import com.openclassrooms.go4lunch.model.Restaurant;
 import com.openclassrooms.go4lunch.database.RestaurantData;
 import com.openclassrooms.go4lunch.repositories.PlacesRepository;
+import com.openclassrooms.go4lunch.service.autocomplete.AutocompletePipeline;
+import com.openclassrooms.go4lunch.service.autocomplete.ServiceAutocompleteCallback;
+import com.openclassrooms.go4lunch.service.scheduler.TaskGroup;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
 import com.openclassrooms.go4lunch.utils.AppInfo;
 import com.openclassrooms.go4lunch.utils.DataConverters;
+import com.openclassrooms.go4lunch.utils.search.RestaurantSearchIndex;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ViewModel class used to store a list of detected restaurant in a MutableLiveData object.
@@ -26,16 +40,92 @@ public class PlacesViewModel extends ViewModel {
     // Repository to access a service
     private PlacesRepository placesRepository;
 
-    // Executor to launch all repository accesses
-    private final Executor executor = DI.provideExecutor();
+    // Background tasks of this ViewModel, cancelled when it is cleared
+    private final TaskGroup tasks = DI.provideTaskScheduler().newGroup();
+
+    // Executor to launch the repository network requests, in order
+    private final Executor networkExecutor =
+            tasks.newSerialExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.NORMAL);
+
+    // Executor to launch the repository database accesses, in order
+    private final Executor databaseExecutor =
+            tasks.newSerialExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.NORMAL);
 
     // To store the list of restaurant
     private final MutableLiveData<List<Restaurant>> listRestaurants = new MutableLiveData<>();
 
+    // Executor publishing copies of the list of restaurant, in order
+    private final Executor listExecutor =
+            tasks.newSerialExecutor(TaskScheduler.Pool.CPU, TaskScheduler.Priority.NORMAL);
+
+    // Last published list of restaurant, only accessed from listExecutor
+    private List<Restaurant> publishedRestaurants = new ArrayList<>();
+
+    // To store the restaurants stored in database inside the visible region of the map
+    private final MutableLiveData<List<Restaurant>> listRestaurantsInBounds =
+                                                                          new MutableLiveData<>();
+
+    // Last requested bounds { south, west, north, east }, to skip superseded queries
+    private final AtomicReference<double[]> requestedBounds = new AtomicReference<>();
+
+    // Nearest stored restaurants displayed while a search request is pending : one page of
+    // Nearby search results, within the size of a tile
+    private static final int NB_NEAREST_RESTAURANTS = 20;
+    private static final double MAX_NEAREST_RADIUS = 1000.0; // m
+
+    // Geohash of the tile of the list of restaurant displayed, or being restored or searched.
+    // Lists of a previously requested tile are not published
+    private final AtomicReference<String> requestedTile = new AtomicReference<>();
+
+    // Indicates if a next page of places has been requested and is not published yet
+    private final AtomicBoolean nextPageRequested = new AtomicBoolean();
 
     // To store the list of autocomplete results
     private final MutableLiveData<List<String>> listRestaurantsIdAutocomplete = new MutableLiveData<>();
 
+    // To store the restaurants matching the autocomplete results, shared by list and map views
+    private final MutableLiveData<List<Restaurant>> listRestaurantsAutocompleteResults =
+                                                                          new MutableLiveData<>();
+
+    // Executor joining autocomplete results with restaurants, in order of reception
+    private final Executor filterExecutor =
+            tasks.newSerialExecutor(TaskScheduler.Pool.CPU, TaskScheduler.Priority.HIGH);
+
+    // Debounces, caches and cancels autocomplete requests
+    private AutocompletePipeline autocompletePipeline;
+
+    // Local search index over the displayed list of restaurants, built on listExecutor each
+    // time a new list is published
+    private volatile RestaurantSearchIndex restaurantSearchIndex;
+
+    // Maximum number of restaurants returned by a search in database
+    private static final int MAX_NB_OFFLINE_RESULTS = 20;
+
+    // Executor searching the restaurants stored in database while user is typing, ahead of
+    // other database accesses
+    private final Executor searchExecutor =
+            tasks.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.HIGH);
+
+    // Handler used to send back the results of a search in database on the main thread
+    private Handler searchHandler;
+
+    // Restaurants found in database by the last search, only accessed from the main thread
+    private List<Restaurant> offlineRestaurants = new ArrayList<>();
+
+    // To store the restaurants matching the opening hours filter, shared by list and map views
+    private final MutableLiveData<List<Restaurant>> listRestaurantsOpeningHoursResults =
+                                                                          new MutableLiveData<>();
+
+    // Opening hours filter selected by user
+    private volatile OpeningHoursFilter.Mode openingHoursFilterMode = OpeningHoursFilter.Mode.ALL;
+
+    // Opening states of the displayed list of restaurants, only accessed from filterExecutor
+    private OpeningHoursFilter openingHoursFilter;
+
+    // Handler used to evaluate opening states again at the next opening or closing time
+    private Handler openingHoursHandler;
+
+    private final Runnable openingHoursUpdate = this::updateOpeningHoursFilter;
 
     public PlacesViewModel() { /* Empty constructor */ }
 
@@ -43,13 +133,57 @@ public class PlacesViewModel extends ViewModel {
         return listRestaurants;
     }
 
+    public MutableLiveData<List<Restaurant>> getListRestaurantsInBounds() {
+        return listRestaurantsInBounds;
+    }
+
     public MutableLiveData<List<String>> getListRestaurantsAutocomplete() {
         return listRestaurantsIdAutocomplete;
     }
 
+    public MutableLiveData<List<Restaurant>> getListRestaurantsAutocompleteResults() {
+        return listRestaurantsAutocompleteResults;
+    }
+
+    public MutableLiveData<List<Restaurant>> getListRestaurantsOpeningHoursResults() {
+        return listRestaurantsOpeningHoursResults;
+    }
+
+    public OpeningHoursFilter.Mode getOpeningHoursFilterMode() {
+        return openingHoursFilterMode;
+    }
+
+    public boolean isOpeningHoursFilterActivated() {
+        return openingHoursFilterMode != OpeningHoursFilter.Mode.ALL;
+    }
+
     // Getter/Setter
+    @SuppressLint("MissingPermission")
     public void setRepository(PlacesRepository placesRepository) {
         this.placesRepository = placesRepository;
+        // Pipeline (and its cache) kept across configuration changes : requests are sent
+        // through the current repository. Location permission is checked before each query
+        // is submitted
+        if (autocompletePipeline == null) {
+            autocompletePipeline = AutocompletePipeline.create(
+                    (query, callback, failureCallback) -> this.placesRepository
+                            .performAutocompleteRequest(query, callback, failureCallback),
+                    this::searchLoadedRestaurants, this::searchStoredRestaurants,
+                    this::publishAutocompleteResults);
+        }
+    }
+
+    public AutocompletePipeline getAutocompletePipeline() {
+        return autocompletePipeline;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        cancelAutocompleteRequest();
+        tasks.cancel();
+        if (searchHandler != null) searchHandler.removeCallbacksAndMessages(null);
+        if (openingHoursHandler != null) openingHoursHandler.removeCallbacks(openingHoursUpdate);
     }
 
     public PlacesRepository getPlacesRepository() {
@@ -59,107 +193,433 @@ public class PlacesViewModel extends ViewModel {
     // Methods to access PlacesRepository -> ListRestaurantsService methods
     /**
      * Accesses the findPlacesNearby() method of the @{@link PlacesRepository } repository class.
-     * @param location : Info location of the user
+     * Results are stored in database for the tile containing the user location.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
      * @param type : Type of places to search
      */
-    public void findPlacesNearby(String location, String type) {
-        executor.execute(() -> {
+    public void findPlacesNearby(double latitude, double longitude, String type) {
+        String geohash = PlacesRepository.getTileGeohash(latitude, longitude);
+        requestedTile.set(geohash);
+        searchPlacesNearby(latitude, longitude, type, geohash);
+    }
+
+    /**
+     * Sends a search request for a requested tile. Results are only published if this tile
+     * is still requested, and are stored in database in any case. The search is skipped if
+     * another tile is requested before it is sent, and can be sent again for this tile if it
+     * fails.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
+     * @param type : Type of places to search
+     * @param geohash : Requested tile
+     */
+    private void searchPlacesNearby(double latitude, double longitude, String type,
+                                    String geohash) {
+        networkExecutor.execute(() -> {
+                    if (!geohash.equals(requestedTile.get())) return;
                     try {
-                        placesRepository.findPlacesNearby(location, type, newListRestaurants -> {
-                            listRestaurants.postValue(newListRestaurants);
-                            getPlacesDetails(newListRestaurants, false);
+                        placesRepository.findPlacesNearby(latitude, longitude, type,
+                                newListRestaurants -> {
+                            // Next page requests of the previous search are dropped
+                            nextPageRequested.set(false);
+                            if (geohash.equals(requestedTile.get()))
+                                publishListRestaurants(newListRestaurants);
+                            getPlacesDetails(newListRestaurants, geohash);
                         });
-                    } catch (IOException exception) { exception.printStackTrace(); }
+                    } catch (IOException exception) {
+                        exception.printStackTrace();
+                        requestedTile.compareAndSet(geohash, null);
+                    }
                 }
         );
     }
 
     /**
-     * Gets next places available nearby user location
-     * @param listRestaurants : List of existing restaurants
-     * @param numNextPageToken : Number of the next page of data requested
+     * Restores the list of restaurants from the tile stored in database for the user
+     * location. If this tile is missing or expired, the nearest stored restaurants are
+     * displayed while a new search request is sent.
+     * Nothing is done if the list of restaurants displayed already belongs to this tile, or
+     * if this tile is already being restored or searched.
+     * @param latitude : Latitude of the user
+     * @param longitude : Longitude of the user
+     * @param type : Type of places to search
      */
-    public void getNextPlacesNearby(List<Restaurant> listRestaurants, int numNextPageToken) {
-        executor.execute(() -> {
-            try {
-                placesRepository.getNextPlacesNearby(listRestaurant ->
-                        getPlacesDetails(listRestaurant, true),
-                        listRestaurants,
-                        numNextPageToken);
-            } catch (IOException exception) { exception.printStackTrace(); }
+    public void restoreFromDatabaseOrFindPlacesNearby(double latitude, double longitude,
+                                                      String type) {
+        String geohash = PlacesRepository.getTileGeohash(latitude, longitude);
+        if (geohash.equals(requestedTile.getAndSet(geohash))) return;
+        databaseExecutor.execute(() -> {
+            if (!geohash.equals(requestedTile.get())) return;
+            List<RestaurantAndHoursData> restaurantAndHoursData =
+                                          placesRepository.getRestaurantsWithHoursInTile(geohash);
+            if (restaurantAndHoursData != null) {
+                if (!geohash.equals(requestedTile.get())) return;
+                // Prefetch next pages again if the last search was sent in this tile
+                placesRepository.resumeNextPlacesNearby(geohash, type);
+                nextPageRequested.set(false);
+                restoreData(restaurantAndHoursData);
+            }
+            else {
+                List<RestaurantAndHoursData> nearestRestaurantAndHoursData =
+                        placesRepository.getNearestRestaurantsWithHours(latitude, longitude,
+                                NB_NEAREST_RESTAURANTS, MAX_NEAREST_RADIUS);
+                if (!nearestRestaurantAndHoursData.isEmpty()
+                        && geohash.equals(requestedTile.get()))
+                    restoreData(nearestRestaurantAndHoursData);
+                searchPlacesNearby(latitude, longitude, type, geohash);
+            }
         });
     }
 
+    /**
+     * Searches the restaurants stored in database inside a bounding box, such as the visible
+     * region of the map, and publishes them. A search superseded by a new one before it
+     * starts is skipped.
+     * @param minLatitude : South latitude
+     * @param minLongitude : West longitude
+     * @param maxLatitude : North latitude
+     * @param maxLongitude : East longitude
+     */
+    public void findRestaurantsInBounds(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude) {
+        double[] bounds = { minLatitude, minLongitude, maxLatitude, maxLongitude };
+        requestedBounds.set(bounds);
+        databaseExecutor.execute(() -> {
+            if (requestedBounds.get() != bounds) return;
+            List<RestaurantAndHoursData> restaurantAndHoursData =
+                    placesRepository.getRestaurantsWithHoursInBounds(minLatitude, minLongitude,
+                                                                     maxLatitude, maxLongitude);
+            List<Restaurant> restaurants = new ArrayList<>(restaurantAndHoursData.size());
+            for (int i = 0; i < restaurantAndHoursData.size(); i++)
+                restaurants.add(convertRestaurantAndHoursData(restaurantAndHoursData.get(i)));
+            listRestaurantsInBounds.postValue(restaurants);
+        });
+    }
+
+    /**
+     * Gets next places available nearby user location, and appends them to the last published
+     * list of restaurants, including restaurants hidden by a filter or a search. Prefetched
+     * places are displayed immediately, and then updated with their details.
+     * Nothing is done if a next page is already requested.
+     */
+    public void getNextPlacesNearby() {
+        if (!nextPageRequested.compareAndSet(false, true)) return;
+        networkExecutor.execute(() -> placesRepository.getNextPlacesNearby(nextRestaurants -> {
+                    appendListRestaurants(nextRestaurants);
+                    getPlacesDetails(nextRestaurants, null);
+                }));
+    }
+
+    /**
+     * Indicates if other places can be appended to the displayed list of restaurants.
+     * @return : true if a next page of places is available
+     */
+    public boolean hasNextPlacesNearby() {
+        return placesRepository.hasNextPlacesNearby();
+    }
+
+    /**
+     * Indicates if a next page of places has been requested, and is not published yet.
+     * @return : true if a next page is pending
+     */
+    public boolean isNextPageRequested() {
+        return nextPageRequested.get();
+    }
+
     /**
      * Accesses the getPlacesDetails() method of the @{@link PlacesRepository } repository class.
      * @param list : List of restaurant to update with details for each place
+     * @param geohash : Geohash of the tile to store in database, or null if results must not
+     *                  be stored (next page results)
      */
-    public void getPlacesDetails(List<Restaurant> list, boolean nextPageTokenResults) {
-        executor.execute(() -> {
-            try {
-                placesRepository.getPlacesDetails(list,
-                        (newListRestaurants, listOfListHoursData) -> {
-                    listRestaurants.postValue(newListRestaurants);
-                    if (!nextPageTokenResults) {
-                        // Store list of periods in database
-                        updateDatabaseHoursDataTable(listOfListHoursData);
-                        // Store list of restaurants in database
-                        updateDatabaseRestaurantTable(newListRestaurants);
-                    }
-                });
-            } catch (IOException exception) {
-                exception.printStackTrace();
+    public void getPlacesDetails(List<Restaurant> list, String geohash) {
+        networkExecutor.execute(() -> placesRepository.getPlacesDetails(list,
+                // Display each restaurant as soon as its details are available
+                this::publishRestaurant,
+                (newListRestaurants, listOfListHoursData) -> {
+            // Next page results are already appended to the published list
+            if (geohash == null) publishRestaurants(newListRestaurants);
+            else if (geohash.equals(requestedTile.get()))
+                publishListRestaurants(newListRestaurants);
+            if (geohash != null) {
+                // Store list of restaurants and list of periods in database
+                updateDatabaseSnapshot(geohash, newListRestaurants, listOfListHoursData);
             }
-        });
+        }, (revalidatedListRestaurants, listOfListHoursData) -> {
+            // Revalidated restaurants are already displayed : filter them once, and
+            // store them in database
+            filterPublishedRestaurants();
+            if (geohash != null) {
+                updateDatabaseSnapshot(geohash, revalidatedListRestaurants, listOfListHoursData);
+            }
+        }));
     }
 
     // Methods to access PlacesRepository -> AutocompleteService methods
     /**
-     * Performs an autocomplete request using a String "query".
+     * Submits a String "query" to the autocomplete pipeline : the request is sent once the
+     * query is no longer modified, unless its results are cached. Must be called from the
+     * main thread.
      * @param query : Query for autocomplete request
      * @param context : Context
      */
     @RequiresPermission(Manifest.permission.ACCESS_FINE_LOCATION)
     public void performAutocompleteRequest(String query, Context context) {
-        executor.execute(() -> {
-            if (AppInfo.checkIfLocationPermissionIsGranted(context)) {
-                placesRepository.performAutocompleteRequest(query,
-                                                          listRestaurantsIdAutocomplete::postValue);
+        if (AppInfo.checkIfLocationPermissionIsGranted(context))
+            autocompletePipeline.submitQuery(query);
+    }
+
+    /**
+     * Searches a query in the names and addresses of the displayed list of restaurants,
+     * using the index built when this list was published.
+     * @param query : Query typed by user
+     * @return : List of place ids of the matching restaurants
+     */
+    private List<String> searchLoadedRestaurants(String query) {
+        RestaurantSearchIndex index = restaurantSearchIndex;
+        if (index == null) return new ArrayList<>();
+        return index.search(query);
+    }
+
+    /**
+     * Searches a query in the names and addresses of all restaurants stored in database, in
+     * background. Must be called from the main thread.
+     * @param query : Query typed by user
+     * @param callback : Callback interface, called on the main thread with the place ids of
+     *                   the matching restaurants
+     * @return : Cancellable object, to drop the results of a search not finished yet
+     */
+    private AutocompletePipeline.Cancellable searchStoredRestaurants(
+                                        String query, ServiceAutocompleteCallback callback) {
+        if (searchHandler == null) searchHandler = new Handler(Looper.getMainLooper());
+        Handler handler = searchHandler;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        searchExecutor.execute(() -> {
+            if (cancelled.get()) return;
+            List<RestaurantAndHoursData> restaurantAndHoursData =
+                    placesRepository.searchRestaurantsWithHours(query, MAX_NB_OFFLINE_RESULTS);
+            List<Restaurant> restaurants = new ArrayList<>(restaurantAndHoursData.size());
+            List<String> placeIds = new ArrayList<>(restaurantAndHoursData.size());
+            for (int i = 0; i < restaurantAndHoursData.size(); i++) {
+                Restaurant restaurant =
+                        convertRestaurantAndHoursData(restaurantAndHoursData.get(i));
+                restaurants.add(restaurant);
+                placeIds.add(restaurant.getPlaceId());
             }
+            handler.post(() -> {
+                if (cancelled.get()) return;
+                offlineRestaurants = restaurants;
+                callback.getAutocompleteResults(placeIds);
+            });
+        });
+        return () -> cancelled.set(true);
+    }
+
+    /**
+     * Publishes the ids of the autocomplete results, and the restaurants matching these ids
+     * (displayed restaurants first, then restaurants found in database), joined once in
+     * background for both list and map views.
+     * Must be called from the main thread.
+     * @param autocompleteIds : List of place ids, best results first
+     */
+    private void publishAutocompleteResults(List<String> autocompleteIds) {
+        listRestaurantsIdAutocomplete.setValue(autocompleteIds);
+        List<Restaurant> loadedRestaurants = listRestaurants.getValue();
+        List<Restaurant> restaurants = loadedRestaurants != null
+                                       ? new ArrayList<>(loadedRestaurants) : new ArrayList<>();
+        restaurants.addAll(offlineRestaurants);
+        filterExecutor.execute(() -> listRestaurantsAutocompleteResults.postValue(
+                                              IdSetFilter.filter(restaurants, autocompleteIds)));
+    }
+
+    /**
+     * Cancels the last autocomplete query, so that its results are never sent back.
+     */
+    public void cancelAutocompleteRequest() {
+        if (autocompletePipeline != null) autocompletePipeline.cancel();
+    }
+
+    // Opening hours filter
+    /**
+     * Publishes a copy of a new list of restaurants, builds its search index, and filters it
+     * in background if an opening hours filter is selected.
+     * @param restaurants : List of restaurants
+     */
+    private void publishListRestaurants(List<Restaurant> restaurants) {
+        List<Restaurant> restaurantsToPublish = new ArrayList<>(restaurants);
+        listExecutor.execute(() -> {
+            publishedRestaurants = restaurantsToPublish;
+            listRestaurants.postValue(restaurantsToPublish);
+            restaurantSearchIndex = RestaurantSearchIndex.build(restaurantsToPublish);
+            if (isOpeningHoursFilterActivated()) filterOpeningHours(restaurantsToPublish);
+        });
+    }
+
+    /**
+     * Publishes a copy of the last published list of restaurants, to which a next page of
+     * restaurants is appended, builds its search index, and filters it in background if an
+     * opening hours filter is selected.
+     * @param nextRestaurants : Restaurants of the next page
+     */
+    private void appendListRestaurants(List<Restaurant> nextRestaurants) {
+        List<Restaurant> restaurantsToAppend = new ArrayList<>(nextRestaurants);
+        listExecutor.execute(() -> {
+            List<Restaurant> restaurantsToPublish = new ArrayList<>(publishedRestaurants);
+            restaurantsToPublish.addAll(restaurantsToAppend);
+            publishedRestaurants = restaurantsToPublish;
+            nextPageRequested.set(false);
+            listRestaurants.postValue(restaurantsToPublish);
+            restaurantSearchIndex = RestaurantSearchIndex.build(restaurantsToPublish);
+            if (isOpeningHoursFilterActivated()) filterOpeningHours(restaurantsToPublish);
+        });
+    }
+
+    /**
+     * Publishes a copy of the last published list of restaurants, in which a restaurant is
+     * replaced by its updated version. The opening hours filter is only built again once the
+     * whole list is published.
+     * @param restaurant : Updated restaurant
+     */
+    private void publishRestaurant(Restaurant restaurant) {
+        listExecutor.execute(() -> {
+            publishedRestaurants = replaceRestaurants(publishedRestaurants,
+                                                      Collections.singletonList(restaurant));
+            // Details do not change names and addresses : search index kept
+            listRestaurants.postValue(publishedRestaurants);
+        });
+    }
+
+    /**
+     * Publishes a copy of the last published list of restaurants, in which restaurants are
+     * replaced by their updated versions, and filters it in background if an opening hours
+     * filter is selected.
+     * @param restaurants : Updated restaurants
+     */
+    private void publishRestaurants(List<Restaurant> restaurants) {
+        List<Restaurant> updatedRestaurants = new ArrayList<>(restaurants);
+        listExecutor.execute(() -> {
+            publishedRestaurants = replaceRestaurants(publishedRestaurants, updatedRestaurants);
+            listRestaurants.postValue(publishedRestaurants);
+            if (isOpeningHoursFilterActivated()) filterOpeningHours(publishedRestaurants);
         });
     }
 
+    /**
+     * Creates a copy of a list of restaurants, in which restaurants are replaced by their
+     * updated versions, matched by place id.
+     * @param restaurants : List of restaurants
+     * @param updatedRestaurants : Updated restaurants
+     * @return : Updated copy of the list
+     */
+    private static List<Restaurant> replaceRestaurants(List<Restaurant> restaurants,
+                                                       List<Restaurant> updatedRestaurants) {
+        Map<String, Restaurant> updatedRestaurantsById = new HashMap<>();
+        for (int i = 0; i < updatedRestaurants.size(); i++) {
+            Restaurant restaurant = updatedRestaurants.get(i);
+            updatedRestaurantsById.put(restaurant.getPlaceId(), restaurant);
+        }
+        List<Restaurant> newRestaurants = new ArrayList<>(restaurants.size());
+        for (int i = 0; i < restaurants.size(); i++) {
+            Restaurant updatedRestaurant =
+                               updatedRestaurantsById.get(restaurants.get(i).getPlaceId());
+            newRestaurants.add(updatedRestaurant != null ? updatedRestaurant : restaurants.get(i));
+        }
+        return newRestaurants;
+    }
+
+    /**
+     * Filters the last published list of restaurants in background, if an opening hours filter
+     * is selected.
+     */
+    private void filterPublishedRestaurants() {
+        listExecutor.execute(() -> {
+            if (isOpeningHoursFilterActivated()) filterOpeningHours(publishedRestaurants);
+        });
+    }
+
+    /**
+     * Selects the opening hours filter applied to the displayed list of restaurants. Results
+     * are published in background, and the list of all restaurants is published again if the
+     * filter is removed. Must be called from the main thread.
+     * @param mode : Filter
+     */
+    public void setOpeningHoursFilterMode(OpeningHoursFilter.Mode mode) {
+        openingHoursFilterMode = mode;
+        if (openingHoursHandler == null) openingHoursHandler = new Handler(Looper.getMainLooper());
+        openingHoursHandler.removeCallbacks(openingHoursUpdate);
+        List<Restaurant> loadedRestaurants = listRestaurants.getValue();
+        if (loadedRestaurants == null) return;
+        if (isOpeningHoursFilterActivated()) filterOpeningHours(loadedRestaurants);
+        else listRestaurantsOpeningHoursResults.setValue(loadedRestaurants);
+    }
+
+    /**
+     * Builds the opening states of a list of restaurants in background, and publishes the
+     * restaurants matching the selected filter.
+     * @param restaurants : List of restaurants
+     */
+    private void filterOpeningHours(List<Restaurant> restaurants) {
+        List<Restaurant> restaurantsToFilter = new ArrayList<>(restaurants);
+        filterExecutor.execute(() -> {
+            long localMinutes = OpeningHoursFilter.getLocalMinutes(Calendar.getInstance());
+            openingHoursFilter = new OpeningHoursFilter(restaurantsToFilter, localMinutes);
+            publishOpeningHoursResults();
+        });
+    }
+
+    /**
+     * Advances the clock of the opening states, and publishes the filtered restaurants again
+     * if a restaurant has opened or closed. Must be called from the main thread.
+     */
+    private void updateOpeningHoursFilter() {
+        filterExecutor.execute(() -> {
+            if (openingHoursFilter == null || !isOpeningHoursFilterActivated()) return;
+            long localMinutes = OpeningHoursFilter.getLocalMinutes(Calendar.getInstance());
+            if (openingHoursFilter.update(localMinutes)) publishOpeningHoursResults();
+            else scheduleOpeningHoursUpdate();
+        });
+    }
+
+    /**
+     * Publishes the restaurants matching the selected filter, and schedules the next update.
+     * Must be called from filterExecutor.
+     */
+    private void publishOpeningHoursResults() {
+        OpeningHoursFilter.Mode mode = openingHoursFilterMode;
+        if (mode == OpeningHoursFilter.Mode.ALL) return;
+        listRestaurantsOpeningHoursResults.postValue(openingHoursFilter.filter(mode));
+        scheduleOpeningHoursUpdate();
+    }
+
+    /**
+     * Schedules an update of the opening states at the next time the filter result can change.
+     * Must be called from filterExecutor.
+     */
+    private void scheduleOpeningHoursUpdate() {
+        Handler handler = openingHoursHandler;
+        long nextUpdate = openingHoursFilter.getNextUpdate(openingHoursFilterMode);
+        if (handler == null || nextUpdate == Long.MAX_VALUE) return;
+        long delay = nextUpdate * 60000L
+                     - OpeningHoursFilter.getLocalMillis(Calendar.getInstance());
+        handler.removeCallbacks(openingHoursUpdate);
+        handler.postDelayed(openingHoursUpdate, Math.max(0L, delay));
+    }
+
     // Methods to access PlacesRepository -> RestaurantDao methods
     /**
      * Handles the insertion operation of a new RestaurantData object in restaurant_table.
      * @param restaurantData : Data to insert
      */
     public void insertRestaurantData(RestaurantData restaurantData) {
-        executor.execute(() -> placesRepository.insertRestaurantData(restaurantData));
+        databaseExecutor.execute(() -> placesRepository.insertRestaurantData(restaurantData));
     }
 
     /**
      * Handles the deletion of all RestaurantData objects stored in restaurant_table.
      */
     public void deleteAllRestaurantsData() {
-        executor.execute(placesRepository::deleteAllRestaurantsData);
-    }
-
-    /**
-     * Handles the update of restaurant_table with a new list of Restaurant (result of a search request).
-     * @param list : Data to store in restaurant_table
-     */
-    private void updateDatabaseRestaurantTable(List<Restaurant> list) {
-        deleteAllRestaurantsData();
-        for (int i = 0; i < list.size(); i++) {
-            RestaurantData restaurantData = new RestaurantData(list.get(i).getPlaceId(),
-                    list.get(i).getName(), list.get(i).getAddress(),
-                    list.get(i).getLatitude(), list.get(i).getLongitude(), list.get(i).getRating(),
-                    list.get(i).getPhoneNumber(), list.get(i).getWebsiteUri(),
-                    list.get(i).getPhotoReference(), list.get(i).getPhotoHeight(),
-                    list.get(i).getPhotoWidth());
-            insertRestaurantData(restaurantData);
-        }
+        databaseExecutor.execute(placesRepository::deleteAllRestaurantsData);
     }
 
     // Methods to access placeRepository -> HoursDao methods
@@ -168,33 +628,44 @@ public class PlacesViewModel extends ViewModel {
      * @param hoursData : Data to insert
      */
     public void insertHoursData(HoursData hoursData) {
-        executor.execute(() -> placesRepository.insertHoursData(hoursData));
+        databaseExecutor.execute(() -> placesRepository.insertHoursData(hoursData));
     }
 
     /**
      * Handles the deletion of all HoursData objects stored in hours_table .
      */
     public void deleteAllHoursData() {
-        executor.execute(() -> placesRepository.deleteAllHoursData());
+        databaseExecutor.execute(() -> placesRepository.deleteAllHoursData());
     }
 
+    // Methods to access placeRepository -> RestaurantAndHoursDao methods
     /**
-     * Handles the update of hours_table with a list of several lists containing the closing/opening
-     * hours information, each one associated with a restaurant.
+     * Handles the update of both restaurant_table and hours_table with a new list of Restaurant
+     * (result of a search request in a tile) and their closing/opening hours information.
+     * Both tables are synchronized in a single task and a single database transaction, and
+     * unchanged places are not rewritten.
+     * @param geohash : Geohash of the tile
+     * @param list : Data to store in restaurant_table
      * @param listOfListHoursData : Data to store in hours_table
      */
-    private void updateDatabaseHoursDataTable(List<List<HoursData>> listOfListHoursData) {
-        deleteAllHoursData();
+    private void updateDatabaseSnapshot(String geohash, List<Restaurant> list,
+                                        List<List<HoursData>> listOfListHoursData) {
+        List<RestaurantData> listRestaurantData = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            listRestaurantData.add(DataConverters.converterRestaurantToRestaurantData(list.get(i)));
+        }
+        List<HoursData> listHoursData = new ArrayList<>();
         for (int i = 0; i < listOfListHoursData.size(); i++) {
-           for (int j = 0; j < listOfListHoursData.get(i).size(); j++) {
-               insertHoursData(listOfListHoursData.get(i).get(j));
-           }
+            listHoursData.addAll(listOfListHoursData.get(i));
         }
+        databaseExecutor.execute(() -> placesRepository.synchronizeTile(geohash,
+                                                                        listRestaurantData,
+                                                                        listHoursData));
     }
 
     // Other methods
     /**
-     * Handles the restoration of all Restaurant data and OpeningAndClosingHours data, from
+     * Handles the restoration of all Restaurant data and WeekSchedule data, from
      * a list of RestaurantAndHoursData retrieved from a RestaurantAndHoursDao request.
      * @param restaurantAndHoursData : Data from a RestaurantAndHoursDao request
      */
@@ -202,23 +673,32 @@ public class PlacesViewModel extends ViewModel {
         List<Restaurant> oldListRestaurants = new ArrayList<>();
 
         for (int i = 0; i < restaurantAndHoursData.size(); i++) {
-            RestaurantData restaurantData = restaurantAndHoursData.get(i).restaurantData;
-            Restaurant restaurant = new Restaurant(restaurantData.getPlaceId(),
-                    restaurantData.getName(), restaurantData.getAddress(),
-                    restaurantData.getLatitude(), restaurantData.getLongitude(),
-                    restaurantData.getRating());
-
-                    restaurant.setPhotoReference(restaurantData.getPhotoReference());
-                    restaurant.setPhotoWidth(restaurantData.getPhotoWidth());
-                    restaurant.setPhotoHeight(restaurantData.getPhotoHeight());
-                    restaurant.setWebsiteUri(restaurantData.getWebsiteUri());
-                    restaurant.setPhoneNumber(restaurantData.getPhoneNumber());
-
-            List<HoursData> hoursData = restaurantAndHoursData.get(i).hoursData;
-            restaurant.setOpeningAndClosingHours(
-                              DataConverters.converterHoursDataToOpeningAndClosingHours(hoursData));
-            oldListRestaurants.add(restaurant);
+            oldListRestaurants.add(convertRestaurantAndHoursData(restaurantAndHoursData.get(i)));
         }
-        listRestaurants.postValue(oldListRestaurants);
+        publishListRestaurants(oldListRestaurants);
+    }
+
+    /**
+     * Creates a Restaurant object, with its WeekSchedule, from a RestaurantAndHoursData.
+     * @param restaurantAndHoursData : Data from a RestaurantAndHoursDao request
+     * @return : Restaurant object
+     */
+    private static Restaurant convertRestaurantAndHoursData(
+                                                RestaurantAndHoursData restaurantAndHoursData) {
+        RestaurantData restaurantData = restaurantAndHoursData.restaurantData;
+        Restaurant restaurant = new Restaurant(restaurantData.getPlaceId(),
+                restaurantData.getName(), restaurantData.getAddress(),
+                restaurantData.getLatitude(), restaurantData.getLongitude(),
+                restaurantData.getRating());
+
+        restaurant.setPhotoReference(restaurantData.getPhotoReference());
+        restaurant.setPhotoWidth(restaurantData.getPhotoWidth());
+        restaurant.setPhotoHeight(restaurantData.getPhotoHeight());
+        restaurant.setWebsiteUri(restaurantData.getWebsiteUri());
+        restaurant.setPhoneNumber(restaurantData.getPhoneNumber());
+
+        List<HoursData> hoursData = restaurantAndHoursData.hoursData;
+        restaurant.setWeekSchedule(DataConverters.converterHoursDataToWeekSchedule(hoursData));
+        return restaurant;
     }
 }
@@ -4,7 +4,9 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.google.firebase.firestore.DocumentReference;
 import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.model.WorkmatesIndex;
 import com.openclassrooms.go4lunch.repositories.WorkmatesRepository;
+import com.openclassrooms.go4lunch.service.workmates.WorkmateChange;
 import java.util.List;
 
 /**
@@ -19,13 +21,33 @@ public class WorkmatesViewModel extends ViewModel {
     // To store the list of Employees
     private final MutableLiveData<List<Workmate>> listWorkmates = new MutableLiveData<>();
 
+    // Index of workmates by selected restaurant, updated before each new list is published
+    private final WorkmatesIndex workmatesIndex = new WorkmatesIndex();
+
     public WorkmatesViewModel() { /* Empty constructor */ }
 
     public MutableLiveData<List<Workmate>> getListWorkmates() {
         return listWorkmates;
     }
 
+    public WorkmatesIndex getWorkmatesIndex() {
+        return workmatesIndex;
+    }
+
+    public WorkmatesRepository getWorkmatesRepository() {
+        return workmatesRepository;
+    }
+
+    /**
+     * Sets the repository used by this ViewModel. The synchronization of a previous repository
+     * is stopped, so that its listener does not keep applying changes.
+     * @param workmatesRepository : Repository
+     */
     public void setWorkmatesRepository(WorkmatesRepository workmatesRepository) {
+        if (this.workmatesRepository != null && this.workmatesRepository != workmatesRepository) {
+            this.workmatesRepository.flushDocumentUpdates();
+            this.workmatesRepository.stopWorkmatesSync();
+        }
         this.workmatesRepository = workmatesRepository;
     }
 
@@ -34,7 +56,51 @@ public class WorkmatesViewModel extends ViewModel {
      * repository class.
      */
     public void getEmployeesInfoFromFirestoreDatabase() {
-        workmatesRepository.getEmployeesInfoFromFirestoreDatabase(listWorkmates::postValue);
+        workmatesRepository.getEmployeesInfoFromFirestoreDatabase(this::updateListWorkmates);
+    }
+
+    /**
+     * Applies the changes of a new list of workmates to the index, and publishes the list.
+     * @param newListWorkmates : List of all workmates
+     */
+    public void updateListWorkmates(List<Workmate> newListWorkmates) {
+        workmatesIndex.update(newListWorkmates);
+        listWorkmates.postValue(newListWorkmates);
+    }
+
+    /**
+     * Accesses the startWorkmatesSync() method from @{@link WorkmatesRepository} repository
+     * class : only the changed workmates are applied to the index before each new list is
+     * published.
+     */
+    public void startWorkmatesSync() {
+        workmatesRepository.startWorkmatesSync((newListWorkmates, changes) -> {
+            applyChanges(changes);
+            listWorkmates.postValue(newListWorkmates);
+        });
+    }
+
+    /**
+     * Applies a list of workmate changes to the index.
+     * @param changes : List of changes
+     */
+    private void applyChanges(List<WorkmateChange> changes) {
+        for (int i = 0; i < changes.size(); i++) {
+            WorkmateChange change = changes.get(i);
+            Workmate previousWorkmate = change.getPreviousWorkmate();
+            if (previousWorkmate != null) workmatesIndex.remove(previousWorkmate.getEmail());
+            if (change.getType() != WorkmateChange.Type.REMOVED)
+                workmatesIndex.put(change.getWorkmate());
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (workmatesRepository != null) {
+            workmatesRepository.flushDocumentUpdates();
+            workmatesRepository.stopWorkmatesSync();
+        }
     }
 
     /**
@@ -63,15 +129,21 @@ public class WorkmatesViewModel extends ViewModel {
     }
 
     /**
-     * Accesses the updateCurrentUserListOfLikedRestaurant() method from @{@link WorkmatesRepository}
-     * repository class.
+     * Accesses the likeRestaurant() method from @{@link WorkmatesRepository} repository class.
+     * @param documentCurrentUserId : Id of the document in firestore associated with the current user
+     * @param placeId : Id of the restaurant liked by the current user
+     */
+    public void likeRestaurant(String documentCurrentUserId, String placeId) {
+        workmatesRepository.likeRestaurant(documentCurrentUserId, placeId);
+    }
+
+    /**
+     * Accesses the unlikeRestaurant() method from @{@link WorkmatesRepository} repository class.
      * @param documentCurrentUserId : Id of the document in firestore associated with the current user
-     * @param listLikedRestaurants : list of liked restaurant by the current user
+     * @param placeId : Id of the restaurant no longer liked by the current user
      */
-    public void updateCurrentUserListOfLikedRestaurant(String documentCurrentUserId,
-                                                       List<String> listLikedRestaurants) {
-        workmatesRepository.updateCurrentUserListOfLikedRestaurant(documentCurrentUserId,
-                                                                   listLikedRestaurants);
+    public void unlikeRestaurant(String documentCurrentUserId, String placeId) {
+        workmatesRepository.unlikeRestaurant(documentCurrentUserId, placeId);
     }
 
     /**
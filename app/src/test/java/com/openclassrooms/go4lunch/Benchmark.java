@@ -0,0 +1,8 @@
+package com.openclassrooms.go4lunch;
+
+/**
+ * JUnit category of the tests measuring durations or allocations. These tests are excluded
+ * from the default unit test run, and only run with the "benchmark" Gradle property :
+ *      ./gradlew testDebugUnitTest -Pbenchmark
+ */
+public interface Benchmark { /* Category marker */ }
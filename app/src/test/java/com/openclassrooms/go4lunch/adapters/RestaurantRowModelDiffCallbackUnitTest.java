@@ -0,0 +1,67 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link RestaurantRowModelDiffCallback} class file.
+ */
+@RunWith(JUnit4.class)
+public class RestaurantRowModelDiffCallbackUnitTest {
+
+    private static final int[] STARS = new int[] {1, 1, 2, 2, 2};
+
+    private final RestaurantRowModelDiffCallback callback = new RestaurantRowModelDiffCallback();
+
+    private RestaurantRowModel createRowModel(String placeId, String distance, String hours,
+                                              String nbWorkmates) {
+        Restaurant restaurant = new Restaurant(placeId, "Name", "Address", 48.84, 2.23, 3.0);
+        return new RestaurantRowModel(restaurant, distance, hours, 0, 0, STARS, nbWorkmates,
+                                      null);
+    }
+
+    /**
+     * TEST #1 : Checks if records are identified by placeId, and if a change of the number of
+     * workmates or of the distance only is sent as a payload.
+     */
+    @Test
+    public void test_partial_changes_are_sent_as_payloads() {
+        RestaurantRowModel oldItem = createRowModel("ID_1", "100 m", "Closed", "(1)");
+
+        assertTrue(callback.areItemsTheSame(oldItem, createRowModel("ID_1", "200 m", "Open",
+                                                                    "(2)")));
+        assertFalse(callback.areItemsTheSame(oldItem, createRowModel("ID_2", "100 m", "Closed",
+                                                                     "(1)")));
+        assertTrue(callback.areContentsTheSame(oldItem, createRowModel("ID_1", "100 m", "Closed",
+                                                                       "(1)")));
+
+        // Number of workmates
+        RestaurantRowModel newItem = createRowModel("ID_1", "100 m", "Closed", "(2)");
+        assertFalse(callback.areContentsTheSame(oldItem, newItem));
+        assertEquals(RestaurantRowModel.CHANGE_NB_WORKMATES,
+                     callback.getChangePayload(oldItem, newItem));
+
+        // Number of workmates and distance
+        newItem = createRowModel("ID_1", "200 m", "Closed", "(2)");
+        assertEquals(RestaurantRowModel.CHANGE_NB_WORKMATES | RestaurantRowModel.CHANGE_DISTANCE,
+                     callback.getChangePayload(oldItem, newItem));
+    }
+
+    /**
+     * TEST #2 : Checks if any other change requests a full rebind.
+     */
+    @Test
+    public void test_other_changes_request_full_rebind() {
+        RestaurantRowModel oldItem = createRowModel("ID_1", "100 m", "Closed", "(1)");
+        RestaurantRowModel newItem = createRowModel("ID_1", "100 m", "Closing soon", "(2)");
+
+        assertFalse(callback.areContentsTheSame(oldItem, newItem));
+        assertNull(callback.getChangePayload(oldItem, newItem));
+    }
+}
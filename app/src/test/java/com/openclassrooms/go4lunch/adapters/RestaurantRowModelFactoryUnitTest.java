@@ -0,0 +1,148 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import android.content.res.Resources;
+import com.openclassrooms.go4lunch.R;
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.model.WorkmatesIndex;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.utils.GeometricUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link RestaurantRowModelFactory} class file.
+ */
+@RunWith(JUnit4.class)
+public class RestaurantRowModelFactoryUnitTest {
+
+    private RestaurantRowModelFactory factory;
+
+    @Before
+    public void setUp() {
+        // Resources returning "id arg1 arg2..." for each formatted string
+        Resources resources = Mockito.mock(Resources.class, invocation -> {
+            if (invocation.getMethod().getName().equals("getString")) {
+                Object[] arguments = invocation.getArguments();
+                StringBuilder text = new StringBuilder(String.valueOf(arguments[0]));
+                for (int i = 1; i < arguments.length; i++) text.append(' ').append(arguments[i]);
+                return text.toString();
+            }
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        });
+        factory = new RestaurantRowModelFactory(resources);
+    }
+
+    /**
+     * TEST #1 : Checks if the opening state of a restaurant closing twice a day is correctly
+     * determined at each time of the day, and if a restaurant always open is displayed as
+     * such.
+     */
+    @Test
+    public void test_hours_status_for_restaurant_closing_twice() {
+        // Tuesday : 12:00-14:00 / 19:30-23:00
+        WeekSchedule hours = new WeekSchedule.Builder()
+                .addPeriod(WeekSchedule.getMinuteOfWeek(2, "1200"),
+                           WeekSchedule.getMinuteOfWeek(2, "1400"))
+                .addPeriod(WeekSchedule.getMinuteOfWeek(2, "1930"),
+                           WeekSchedule.getMinuteOfWeek(2, "2300"))
+                .build();
+
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSED,
+                     RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 11, 30))
+                                              .getState());
+        RestaurantRowModelFactory.HoursStatus status =
+                        RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 12, 30));
+        assertEquals(RestaurantRowModelFactory.HoursState.OPEN_UNTIL, status.getState());
+        assertEquals(14, status.getClosingHour());
+        assertEquals(0, status.getClosingMinutes());
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSING_SOON,
+                     RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 13, 30))
+                                              .getState());
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSED,
+                     RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 16, 0))
+                                              .getState());
+        status = RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 22, 15));
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSING_SOON, status.getState());
+        assertEquals(23, status.getClosingHour());
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSED,
+                     RestaurantRowModelFactory.getHoursStatus(hours, getTime(2, 23, 30))
+                                              .getState());
+        // No hours for Monday : closed
+        assertEquals(RestaurantRowModelFactory.HoursState.CLOSED,
+                     RestaurantRowModelFactory.getHoursStatus(hours, getTime(1, 12, 30))
+                                              .getState());
+        // Always open
+        WeekSchedule alwaysOpen = new WeekSchedule.Builder().addAlwaysOpen().build();
+        assertEquals(RestaurantRowModelFactory.HoursState.ALWAYS_OPEN,
+                     RestaurantRowModelFactory.getHoursStatus(alwaysOpen, getTime(0, 0, 0))
+                                              .getState());
+        // No hours at all
+        assertEquals(RestaurantRowModelFactory.HoursState.UNAVAILABLE,
+                     RestaurantRowModelFactory.getHoursStatus(WeekSchedule.EMPTY,
+                                                              getTime(2, 12, 30)).getState());
+        assertEquals(RestaurantRowModelFactory.HoursState.UNAVAILABLE,
+                     RestaurantRowModelFactory.getHoursStatus(null, getTime(2, 12, 30))
+                                              .getState());
+    }
+
+    private static int getTime(int day, int hour, int minutes) {
+        return day * WeekSchedule.MINUTES_PER_DAY + hour * 60 + minutes;
+    }
+
+    /**
+     * TEST #2 : Checks if display records contain the distance, rating, hours and number of
+     * workmates of each restaurant.
+     */
+    @Test
+    public void test_row_models_creation() {
+        Restaurant restaurant1 = new Restaurant("ID_1", "Restaurant 1", "Address 1",
+                                                48.8434, 2.2317, 3.6);
+        restaurant1.setWeekSchedule(new WeekSchedule.Builder()
+                .addPeriod(WeekSchedule.getMinuteOfWeek(2, "1200"),
+                           WeekSchedule.getMinuteOfWeek(2, "1400"))
+                .build());
+        Restaurant restaurant2 = new Restaurant("ID_2", "Restaurant 2", "Address 2",
+                                                48.8440, 2.2320, 0.4);
+        restaurant2.setPhotoReference("PHOTO");
+        WorkmatesIndex workmates = new WorkmatesIndex();
+        workmates.update(Arrays.asList(
+                new Workmate("Name 1", "email1@gmail.com", "ID_1", "", "Restaurant 1"),
+                new Workmate("Name 2", "email2@gmail.com", "ID_1", "", "Restaurant 1"),
+                new Workmate("Name 3", "email3@gmail.com", "", "", "")));
+        LocationSnapshot location = new LocationSnapshot(48.8434, 2.2317 + 0.001, 0L);
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2021, Calendar.MARCH, 2, 12, 30); // Tuesday
+
+        List<RestaurantRowModel> rowModels = factory.createRowModels(
+                Arrays.asList(restaurant1, restaurant2), location, workmates, calendar);
+
+        assertEquals(2, rowModels.size());
+        RestaurantRowModel rowModel1 = rowModels.get(0);
+        assertEquals("Restaurant 1", rowModel1.getName());
+        int distance = (int) GeometricUtils.getDistance(48.8434, 2.2317 + 0.001, 48.8434, 2.2317);
+        assertEquals(R.string.distance + " " + distance, rowModel1.getDistance());
+        assertEquals(R.string.open_until + " 14 00", rowModel1.getHours());
+        assertEquals(R.string.nb_workmates + " 2", rowModel1.getNbWorkmates());
+        assertEquals(R.drawable.ic_baseline_star_border_24dp_yellow, rowModel1.getStarDrawable(0));
+        assertEquals(R.drawable.ic_baseline_star_half_24dp_yellow, rowModel1.getStarDrawable(1));
+        assertEquals(R.drawable.ic_baseline_star_24dp_yellow, rowModel1.getStarDrawable(2));
+        assertNull(rowModel1.getPhotoUrl());
+
+        RestaurantRowModel rowModel2 = rowModels.get(1);
+        assertEquals(String.valueOf(R.string.schedules_unavailable), rowModel2.getHours());
+        assertEquals(R.string.nb_workmates + " 0", rowModel2.getNbWorkmates());
+        assertEquals(R.drawable.ic_baseline_star_border_24dp_yellow, rowModel2.getStarDrawable(4));
+        assertTrue(rowModel2.getPhotoUrl().contains("photo_reference=PHOTO"));
+    }
+}
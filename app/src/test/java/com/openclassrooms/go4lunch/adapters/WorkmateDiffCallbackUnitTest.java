@@ -0,0 +1,50 @@
+package com.openclassrooms.go4lunch.adapters;
+
+import com.openclassrooms.go4lunch.model.Workmate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link WorkmateDiffCallback} class file.
+ */
+@RunWith(JUnit4.class)
+public class WorkmateDiffCallbackUnitTest {
+
+    private final WorkmateDiffCallback callback = new WorkmateDiffCallback();
+
+    /**
+     * TEST #1 : Checks if workmates are identified by email, and if a new restaurant selection
+     * only updates the text of an item.
+     */
+    @Test
+    public void test_restaurant_selection_change_updates_text_only() {
+        Workmate oldItem = new Workmate("Name", "email@gmail.com", "", "PHOTO_URL", "");
+        Workmate newItem = new Workmate("Name", "email@gmail.com", "ID_1", "PHOTO_URL",
+                                        "Restaurant 1");
+
+        assertTrue(callback.areItemsTheSame(oldItem, newItem));
+        assertFalse(callback.areItemsTheSame(oldItem, new Workmate("Name", "other@gmail.com",
+                                                                   "", "PHOTO_URL", "")));
+        assertTrue(callback.areContentsTheSame(oldItem, new Workmate("Name", "email@gmail.com",
+                                                                     "", "PHOTO_URL", "")));
+        assertFalse(callback.areContentsTheSame(oldItem, newItem));
+        assertEquals(WorkmateDiffCallback.PAYLOAD_TEXT, callback.getChangePayload(oldItem, newItem));
+    }
+
+    /**
+     * TEST #2 : Checks if a new photo requests a full rebind.
+     */
+    @Test
+    public void test_photo_change_requests_full_rebind() {
+        Workmate oldItem = new Workmate("Name", "email@gmail.com", "", "PHOTO_URL", "");
+        Workmate newItem = new Workmate("Name", "email@gmail.com", "", "NEW_PHOTO_URL", "");
+
+        assertFalse(callback.areContentsTheSame(oldItem, newItem));
+        assertNull(callback.getChangePayload(oldItem, newItem));
+    }
+}
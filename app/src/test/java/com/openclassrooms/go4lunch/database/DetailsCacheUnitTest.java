@@ -0,0 +1,98 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.DetailsDao;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link DetailsCache} class file.
+ */
+@RunWith(JUnit4.class)
+public class DetailsCacheUnitTest {
+
+    private static final long TIME_TO_LIVE = 1000L;
+    private static final long MAX_STALE_AGE = 5000L;
+    private static final long CURRENT_TIME = 100000L;
+    private static final String RESULT_JSON = "{\"formatted_phone_number\":\"01 46 05 06 07\"," +
+            "\"opening_hours\":{\"periods\":[{\"close\":{\"day\":1,\"time\":\"1400\"}," +
+            "\"open\":{\"day\":1,\"time\":\"0900\"}}]},\"website\":\"https://www.example.com/\"}";
+
+    @Mock public DetailsDao detailsDao;
+    private DetailsCache detailsCache;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        detailsCache = new DetailsCache(detailsDao, TIME_TO_LIVE, MAX_STALE_AGE);
+    }
+
+    /**
+     * TEST #1 : Checks if cached entries are classified as fresh, stale or missing according
+     * to their age, and if counters are updated.
+     */
+    @Test
+    public void test_lookup_classifies_entries_by_age() {
+        List<String> placeIds = Arrays.asList("FRESH", "STALE", "EXPIRED", "MISSING");
+        Mockito.when(detailsDao.getDetailsData(placeIds)).thenReturn(Arrays.asList(
+                new DetailsData("FRESH", RESULT_JSON, CURRENT_TIME - TIME_TO_LIVE),
+                new DetailsData("STALE", RESULT_JSON, CURRENT_TIME - TIME_TO_LIVE - 1),
+                new DetailsData("EXPIRED", RESULT_JSON, CURRENT_TIME - MAX_STALE_AGE - 1)));
+
+        DetailsCache.Lookup lookup = detailsCache.lookup(placeIds, CURRENT_TIME);
+
+        assertEquals("01 46 05 06 07",
+                     lookup.getDetails("FRESH").getResult().getFormattedPhoneNumber());
+        assertEquals(1, lookup.getDetails("FRESH").getResult().getOpeningHours()
+                                                    .getPeriods().get(0).getClose().getDay());
+        assertFalse(lookup.isStale("FRESH"));
+        assertTrue(lookup.isStale("STALE"));
+        assertEquals("https://www.example.com/",
+                     lookup.getDetails("STALE").getResult().getWebsite());
+        assertNull(lookup.getDetails("EXPIRED"));
+        assertEquals(Arrays.asList("EXPIRED", "MISSING"), lookup.getMissingPlaceIds());
+        assertEquals(1, detailsCache.getNbHits());
+        assertEquals(1, detailsCache.getNbStaleHits());
+        assertEquals(2, detailsCache.getNbMisses());
+    }
+
+    /**
+     * TEST #2 : Checks if an unreadable entry is considered as missing.
+     */
+    @Test
+    public void test_lookup_ignores_unreadable_entries() {
+        List<String> placeIds = Collections.singletonList("CORRUPTED");
+        Mockito.when(detailsDao.getDetailsData(placeIds)).thenReturn(Collections.singletonList(
+                new DetailsData("CORRUPTED", "{not json", CURRENT_TIME)));
+
+        DetailsCache.Lookup lookup = detailsCache.lookup(placeIds, CURRENT_TIME);
+
+        assertEquals(placeIds, lookup.getMissingPlaceIds());
+        assertEquals(1, detailsCache.getNbMisses());
+    }
+
+    /**
+     * TEST #3 : Checks if storing new entries removes expired ones.
+     */
+    @Test
+    public void test_store_removes_expired_entries() {
+        List<DetailsData> listDetailsData = Collections.singletonList(
+                new DetailsData("PLACE_ID", RESULT_JSON, CURRENT_TIME));
+
+        detailsCache.store(listDetailsData, CURRENT_TIME);
+
+        Mockito.verify(detailsDao).insertAllDetailsData(listDetailsData);
+        Mockito.verify(detailsDao).deleteDetailsDataFetchedBefore(CURRENT_TIME - MAX_STALE_AGE);
+    }
+}
@@ -0,0 +1,88 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * File providing tests to cover @{@link SearchSessionStore} class file.
+ */
+@RunWith(JUnit4.class)
+public class SearchSessionStoreUnitTest {
+
+    private static final long CURRENT_TIME = 100000L;
+
+    @Mock public SearchSessionDao searchSessionDao;
+    private SearchSessionStore searchSessionStore;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        searchSessionStore = new SearchSessionStore(searchSessionDao);
+    }
+
+    /**
+     * TEST #1 : Checks if a session is recorded in memory and written once per page.
+     */
+    @Test
+    public void test_session_is_written_once_per_page() {
+        searchSessionStore.startSession("restaurant", 48.84, 2.23, "TOKEN_1", CURRENT_TIME);
+        searchSessionStore.addPage("TOKEN_2", CURRENT_TIME + 3000L);
+        searchSessionStore.addPage(null, CURRENT_TIME + 6000L);
+
+        SearchSessionStore.SearchSession session = searchSessionStore.getSession();
+        assertEquals("restaurant", session.getQuery());
+        assertEquals(Arrays.asList("TOKEN_1", "TOKEN_2", null), session.getPageTokens());
+        assertEquals(Arrays.asList(CURRENT_TIME, CURRENT_TIME + 3000L, CURRENT_TIME + 6000L),
+                     session.getFetchTimes());
+
+        Mockito.verify(searchSessionDao, Mockito.times(1))
+               .startSearchSession(Mockito.any(SearchSessionData.class),
+                                   Mockito.any(SearchPageData.class));
+        ArgumentCaptor<SearchPageData> captor = ArgumentCaptor.forClass(SearchPageData.class);
+        Mockito.verify(searchSessionDao, Mockito.times(2)).insertSearchPageData(captor.capture());
+        assertEquals(1, captor.getAllValues().get(0).getPageIndex());
+        assertEquals(2, captor.getAllValues().get(1).getPageIndex());
+        // Session already in memory : never read from database
+        Mockito.verify(searchSessionDao, Mockito.never()).getAllSearchPagesData();
+    }
+
+    /**
+     * TEST #2 : Checks if a session stored in database is restored once, and if its first
+     * token can only be resumed while it is valid.
+     */
+    @Test
+    public void test_session_is_restored_from_database() {
+        Mockito.when(searchSessionDao.getSearchSessionData(SearchSessionData.CURRENT_SESSION_ID))
+               .thenReturn(new SearchSessionData(SearchSessionData.CURRENT_SESSION_ID,
+                                                 "restaurant", 48.84, 2.23, CURRENT_TIME));
+        Mockito.when(searchSessionDao.getAllSearchPagesData()).thenReturn(Arrays.asList(
+                new SearchPageData(0, "TOKEN_1", CURRENT_TIME),
+                new SearchPageData(1, "TOKEN_2", CURRENT_TIME + 3000L)));
+
+        SearchSessionStore.SearchSession session = searchSessionStore.getSession();
+        searchSessionStore.getSession();
+
+        assertEquals(2, session.getNbPages());
+        assertEquals(48.84, session.getLatitude(), 0);
+        assertEquals("TOKEN_1", session.getResumeToken(CURRENT_TIME
+                                                       + SearchSessionStore.TOKEN_TIME_TO_LIVE));
+        assertNull(session.getResumeToken(CURRENT_TIME + SearchSessionStore.TOKEN_TIME_TO_LIVE
+                                          + 1));
+        Mockito.verify(searchSessionDao, Mockito.times(1)).getAllSearchPagesData();
+
+        // Next pages requested again
+        searchSessionStore.truncatePages(0);
+        assertEquals(1, searchSessionStore.getSession().getNbPages());
+        Mockito.verify(searchSessionDao).deleteSearchPagesDataAfter(0);
+    }
+}
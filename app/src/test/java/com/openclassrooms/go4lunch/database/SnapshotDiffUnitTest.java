@@ -0,0 +1,106 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.service.places.response.details.ClosingHours;
+import com.openclassrooms.go4lunch.service.places.response.details.OpeningHours;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link SnapshotDiff} class file.
+ */
+@RunWith(JUnit4.class)
+public class SnapshotDiffUnitTest {
+
+    private RestaurantData createRestaurantData(String placeId, double rating, int itemId) {
+        RestaurantData restaurantData = new RestaurantData(placeId, "Name " + placeId,
+                "Address " + placeId, 48.84, 2.23, rating, "0146050607",
+                "https://www.example.com/", "PHOTO_REFERENCE", 400, 600);
+        restaurantData.setItemId(itemId);
+        return restaurantData;
+    }
+
+    private HoursData createHoursData(String placeId, int day, String closingTime) {
+        return new HoursData(new ClosingHours(day, closingTime), new OpeningHours(day, "0900"),
+                             placeId);
+    }
+
+    /**
+     * TEST #1 : Checks if identical snapshots produce an empty diff, whatever the row ids.
+     */
+    @Test
+    public void test_identical_snapshots_produce_empty_diff() {
+        List<RestaurantData> currentRestaurants = Arrays.asList(createRestaurantData("ID_1", 4.0, 1),
+                                                                createRestaurantData("ID_2", 3.5, 2));
+        List<HoursData> currentHours = Arrays.asList(createHoursData("ID_1", 0, "1400"),
+                                                     createHoursData("ID_1", 1, "1400"));
+        List<RestaurantData> newRestaurants = Arrays.asList(createRestaurantData("ID_2", 3.5, 0),
+                                                            createRestaurantData("ID_1", 4.0, 0));
+        List<HoursData> newHours = Arrays.asList(createHoursData("ID_1", 1, "1400"),
+                                                 createHoursData("ID_1", 0, "1400"));
+
+        SnapshotDiff diff = SnapshotDiff.compute(currentRestaurants, currentHours,
+                                                 newRestaurants, newHours);
+
+        assertTrue(diff.isEmpty());
+    }
+
+    /**
+     * TEST #2 : Checks if new, changed and vanished places are respectively inserted,
+     * updated (keeping their row id) and deleted.
+     */
+    @Test
+    public void test_diff_inserts_updates_and_deletes_places() {
+        List<RestaurantData> currentRestaurants = Arrays.asList(createRestaurantData("ID_1", 4.0, 1),
+                                                                createRestaurantData("ID_2", 3.5, 2),
+                                                                createRestaurantData("ID_3", 3.0, 3));
+        List<RestaurantData> newRestaurants = Arrays.asList(createRestaurantData("ID_1", 4.0, 0),
+                                                            createRestaurantData("ID_2", 4.5, 0),
+                                                            createRestaurantData("ID_4", 2.0, 0));
+
+        SnapshotDiff diff = SnapshotDiff.compute(currentRestaurants, Collections.emptyList(),
+                                                 newRestaurants, Collections.emptyList());
+
+        assertEquals(1, diff.getRestaurantsToInsert().size());
+        assertEquals("ID_4", diff.getRestaurantsToInsert().get(0).getPlaceId());
+        assertEquals(1, diff.getRestaurantsToUpdate().size());
+        assertEquals("ID_2", diff.getRestaurantsToUpdate().get(0).getPlaceId());
+        assertEquals(2, diff.getRestaurantsToUpdate().get(0).getItemId());
+        assertEquals(Collections.singletonList("ID_3"), diff.getRestaurantsToDelete());
+        assertTrue(diff.getHoursToDelete().isEmpty());
+        assertTrue(diff.getHoursToInsert().isEmpty());
+    }
+
+    /**
+     * TEST #3 : Checks if the hours of a remaining place are only replaced when they changed
+     * (hours of vanished places are deleted with them).
+     */
+    @Test
+    public void test_diff_replaces_only_changed_hours() {
+        List<RestaurantData> currentRestaurants = Arrays.asList(createRestaurantData("ID_1", 4.0, 1),
+                                                                createRestaurantData("ID_2", 3.5, 2),
+                                                                createRestaurantData("ID_3", 3.0, 3));
+        List<HoursData> currentHours = Arrays.asList(createHoursData("ID_1", 0, "1400"),
+                                                     createHoursData("ID_2", 0, "1400"),
+                                                     createHoursData("ID_3", 0, "1400"));
+        List<RestaurantData> newRestaurants = Arrays.asList(createRestaurantData("ID_1", 4.0, 0),
+                                                            createRestaurantData("ID_2", 3.5, 0));
+        List<HoursData> newHours = Arrays.asList(createHoursData("ID_1", 0, "1400"),
+                                                 createHoursData("ID_2", 0, "1500"),
+                                                 createHoursData("ID_2", 1, "1500"));
+
+        SnapshotDiff diff = SnapshotDiff.compute(currentRestaurants, currentHours,
+                                                 newRestaurants, newHours);
+
+        assertTrue(diff.getRestaurantsToUpdate().isEmpty());
+        assertEquals(Collections.singletonList("ID_2"), diff.getHoursToDelete());
+        assertEquals(Collections.singletonList("ID_3"), diff.getRestaurantsToDelete());
+        assertEquals(2, diff.getHoursToInsert().size());
+        assertEquals("ID_2", diff.getHoursToInsert().get(0).getRestaurantId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.openclassrooms.go4lunch.database;
+
+import com.openclassrooms.go4lunch.dao.WorkmatesDao;
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.service.workmates.WorkmateChange;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * File providing tests to cover @{@link WorkmatesStore} class file.
+ */
+@RunWith(JUnit4.class)
+public class WorkmatesStoreUnitTest {
+
+    @Mock public WorkmatesDao workmatesDao;
+    private WorkmatesStore workmatesStore;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        workmatesStore = new WorkmatesStore(workmatesDao);
+    }
+
+    /**
+     * TEST #1 : Checks if stored workmates and last-synced marker are correctly read.
+     */
+    @Test
+    public void test_stored_workmates_are_loaded() {
+        Mockito.when(workmatesDao.getAllWorkmatesData()).thenReturn(Collections.singletonList(
+                new WorkmateData("DOC_1", "Amy", "amy@gmail.com", "PLACE_1", "", "Pizza", 2000L)));
+        assertEquals(0L, workmatesStore.getLastSyncedAt());
+        Mockito.when(workmatesDao.getWorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID))
+               .thenReturn(new WorkmatesSyncData(WorkmatesSyncData.CURRENT_SYNC_ID, 2000L));
+
+        List<WorkmateChange> changes = workmatesStore.loadWorkmates();
+        assertEquals(1, changes.size());
+        assertEquals(WorkmateChange.Type.ADDED, changes.get(0).getType());
+        assertEquals("DOC_1", changes.get(0).getDocumentId());
+        assertEquals("PLACE_1", changes.get(0).getWorkmate().getRestaurantSelectedID());
+        assertEquals(2000L, changes.get(0).getUpdatedAt());
+        assertEquals(2000L, workmatesStore.getLastSyncedAt());
+    }
+
+    /**
+     * TEST #2 : Checks if a batch of changes is written in a single transaction with its marker.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_changes_are_saved_with_marker() {
+        Workmate workmate = new Workmate("Amy", "amy@gmail.com", "PLACE_1", "", "Pizza");
+        workmatesStore.saveChanges(Arrays.asList(
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_1", workmate, null, 3000L),
+                new WorkmateChange(WorkmateChange.Type.REMOVED, "DOC_2", workmate)), 3000L);
+
+        ArgumentCaptor<List<WorkmateData>> dataCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> idsCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<WorkmatesSyncData> syncCaptor =
+                ArgumentCaptor.forClass(WorkmatesSyncData.class);
+        Mockito.verify(workmatesDao).applyWorkmatesChanges(dataCaptor.capture(),
+                                                           idsCaptor.capture(),
+                                                           syncCaptor.capture());
+        assertEquals(1, dataCaptor.getValue().size());
+        assertEquals("DOC_1", dataCaptor.getValue().get(0).getDocumentId());
+        assertEquals(3000L, dataCaptor.getValue().get(0).getUpdatedAt());
+        assertEquals(Collections.singletonList("DOC_2"), idsCaptor.getValue());
+        assertEquals(3000L, syncCaptor.getValue().getLastSyncedAt());
+    }
+}
@@ -6,9 +6,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.Mockito;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import retrofit2.Retrofit;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * File providing tests to cover methods from @{@link DI} class file.
@@ -43,4 +51,36 @@ public class DIUnitTest {
         Retrofit retrofit = DI.provideRetrofit();
         assertNotNull(retrofit);
     }
-}
\ No newline at end of file
+
+    /**
+     * TEST #4 : Checks if the DI class provides a single OkHttpClient and Retrofit instance,
+     * shared by all services.
+     */
+    @Test
+    public void test_di_network_stack_is_shared() {
+        assertSame(DI.provideHttpClient(), DI.provideHttpClient());
+        assertSame(DI.provideRetrofit(), DI.provideRetrofit());
+        assertSame(DI.provideHttpClient(), DI.provideRetrofit().callFactory());
+        assertEquals(DI.MAX_REQUESTS_PER_HOST,
+                     DI.provideHttpClient().dispatcher().getMaxRequestsPerHost());
+    }
+
+    /**
+     * TEST #5 : Checks if the DI class provides a single TaskScheduler instance, and if
+     * executors provided by the DI class run their tasks in order on its shared pools.
+     */
+    @Test
+    public void test_di_task_scheduler_is_shared() throws InterruptedException {
+        assertSame(DI.provideTaskScheduler(), DI.provideTaskScheduler());
+        List<Integer> values = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Executor executor = DI.provideExecutor();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            executor.execute(() -> values.add(value));
+        }
+        executor.execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), values);
+    }
+}
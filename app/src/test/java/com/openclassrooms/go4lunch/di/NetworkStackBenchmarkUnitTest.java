@@ -0,0 +1,108 @@
+package com.openclassrooms.go4lunch.di;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover the @{@link DI} network stack, using a local MockWebServer :
+ * compares a new OkHttpClient per service (previous behavior) with the shared OkHttpClient
+ * provided by DI.provideHttpClient(), by counting opened connections.
+ */
+@RunWith(JUnit4.class)
+public class NetworkStackBenchmarkUnitTest {
+
+    private static final int NB_REQUESTS = 30;
+    private static final String DETAILS_JSON = "{\"result\":{\"formatted_phone_number\":" +
+            "\"01 46 05 06 07\",\"website\":\"https://www.example.com/\"},\"status\":\"OK\"}";
+
+    private MockWebServer server;
+
+    @Before
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody(DETAILS_JSON);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Event listener counting the number of connections opened by a client.
+     */
+    private static class ConnectionCounter extends EventListener {
+        private final AtomicInteger nbConnections = new AtomicInteger();
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            nbConnections.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends a request and reads the whole response.
+     * @param client : Client used to send the request
+     */
+    private void sendRequest(OkHttpClient client) throws IOException {
+        Request request = new Request.Builder().url(server.url("/details/json")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertTrue(response.isSuccessful());
+            assertTrue(response.body() != null && !response.body().string().isEmpty());
+        }
+    }
+
+    /**
+     * TEST #1 : Checks if the shared client reuses a single connection, while a new client
+     * per service opens a new connection for each request. MockWebServer uses plain HTTP :
+     * only connections are counted, handshake durations are not measured.
+     */
+    @Test
+    public void test_shared_client_reuses_connections() throws IOException {
+        // Before : one client per service (as done when each service called provideRetrofit())
+        ConnectionCounter freshClientsCounter = new ConnectionCounter();
+        for (int i = 0; i < NB_REQUESTS; i++) {
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .eventListener(freshClientsCounter)
+                    .build();
+            sendRequest(client);
+        }
+
+        // After : shared client (newBuilder() shares connection pool and dispatcher)
+        ConnectionCounter sharedClientCounter = new ConnectionCounter();
+        OkHttpClient sharedClient = DI.provideHttpClient().newBuilder()
+                .eventListener(sharedClientCounter)
+                .build();
+        for (int i = 0; i < NB_REQUESTS; i++) {
+            sendRequest(sharedClient);
+        }
+
+        assertEquals(NB_REQUESTS, freshClientsCounter.nbConnections.get());
+        assertEquals(1, sharedClientCounter.nbConnections.get());
+        assertEquals(2 * NB_REQUESTS, server.getRequestCount());
+    }
+}
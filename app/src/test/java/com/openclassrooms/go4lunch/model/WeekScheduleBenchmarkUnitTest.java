@@ -0,0 +1,147 @@
+package com.openclassrooms.go4lunch.model;
+
+import com.openclassrooms.go4lunch.Benchmark;
+import com.openclassrooms.go4lunch.database.HoursData;
+import com.openclassrooms.go4lunch.service.places.response.details.ClosingHours;
+import com.openclassrooms.go4lunch.service.places.response.details.OpeningHours;
+import com.openclassrooms.go4lunch.utils.DataConverters;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing a benchmark of the @{@link WeekSchedule} model, compared to the
+ * @{@link OpeningAndClosingHours} model previously attached to each restaurant (only kept in
+ * test sources) : measures time and allocated bytes of opening state queries over a whole week.
+ */
+@RunWith(JUnit4.class)
+@Category(Benchmark.class)
+public class WeekScheduleBenchmarkUnitTest {
+
+    private static final int NB_WARM_UP_ITERATIONS = 2000;
+    private static final int NB_ITERATIONS = 5000;
+
+    // Queried times : every 15 min over a week
+    private static final int QUERY_STEP = 15;
+
+    // Results of the measured tasks, kept alive so that they are not optimized away
+    private static volatile int sink;
+
+    /**
+     * Task run by the benchmark.
+     */
+    private interface BenchmarkTask {
+        int run();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, if the JVM supports it.
+     * @return : Allocated bytes, or -1 if not supported
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                                       .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    /**
+     * Runs a task, and returns its average duration and allocated bytes.
+     * @param task : Task to run
+     * @return : { duration in ns, allocated bytes (or -1 if not supported) }
+     */
+    private static long[] measure(BenchmarkTask task) {
+        int result = 0;
+        for (int i = 0; i < NB_WARM_UP_ITERATIONS; i++) result += task.run();
+        long startBytes = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_ITERATIONS; i++) result += task.run();
+        long duration = System.nanoTime() - start;
+        long allocatedBytes = startBytes >= 0 ? getAllocatedBytes() - startBytes : -1L;
+        sink = result;
+        return new long[] { duration / NB_ITERATIONS,
+                            allocatedBytes >= 0 ? allocatedBytes / NB_ITERATIONS : -1L };
+    }
+
+    /**
+     * Opening state query on the previous model : opening and closing hours of the day are
+     * parsed for each query.
+     */
+    private static boolean isOpenAt(OpeningAndClosingHours hours, int minuteOfWeek) {
+        int day = minuteOfWeek / WeekSchedule.MINUTES_PER_DAY;
+        int time = minuteOfWeek % WeekSchedule.MINUTES_PER_DAY;
+        List<String> openingHours = hours.getHours(ScheduleType.OPEN, day);
+        List<String> closingHours = hours.getHours(ScheduleType.CLOSE, day);
+        for (int i = 0; i < closingHours.size() && i < openingHours.size(); i++) {
+            int open = Integer.parseInt(openingHours.get(i).substring(0, 2)) * 60
+                       + Integer.parseInt(openingHours.get(i).substring(2, 4));
+            int close = Integer.parseInt(closingHours.get(i).substring(0, 2)) * 60
+                        + Integer.parseInt(closingHours.get(i).substring(2, 4));
+            if (time >= open && time < close) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Converts a list of HoursData objects into the previous model.
+     * @param hoursData : HoursData to convert
+     * @return : Converted OpeningAndClosingHours object
+     */
+    private static OpeningAndClosingHours convertHoursData(List<HoursData> hoursData) {
+        OpeningAndClosingHours openingAndClosingHours = new OpeningAndClosingHours();
+        for (int i = 0; i < hoursData.size(); i++) {
+            openingAndClosingHours.add(ScheduleType.CLOSE, hoursData.get(i).closingHours.day,
+                                       hoursData.get(i).closingHours.time);
+            openingAndClosingHours.add(ScheduleType.OPEN, hoursData.get(i).openingHours.day,
+                                       hoursData.get(i).openingHours.time);
+        }
+        return openingAndClosingHours;
+    }
+
+    /**
+     * TEST #1 : Compares both models over a restaurant closing twice a day. Both models must
+     * give the same opening state at each queried time, and WeekSchedule queries must allocate
+     * less memory.
+     */
+    @Test
+    public void test_week_schedule_benchmark() {
+        List<HoursData> listHoursData = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            listHoursData.add(new HoursData(new ClosingHours(day, "1430"),
+                                            new OpeningHours(day, "1200"), "ID"));
+            listHoursData.add(new HoursData(new ClosingHours(day, "2300"),
+                                            new OpeningHours(day, "1900"), "ID"));
+        }
+        OpeningAndClosingHours previous = convertHoursData(listHoursData);
+        WeekSchedule weekSchedule = DataConverters.converterHoursDataToWeekSchedule(listHoursData);
+
+        // Same opening states
+        for (int minute = 0; minute < WeekSchedule.MINUTES_PER_WEEK; minute += QUERY_STEP) {
+            assertEquals(isOpenAt(previous, minute), weekSchedule.isOpenAt(minute));
+        }
+
+        long[] previousQueries = measure(() -> {
+            int nbOpen = 0;
+            for (int minute = 0; minute < WeekSchedule.MINUTES_PER_WEEK; minute += QUERY_STEP)
+                if (isOpenAt(previous, minute)) nbOpen++;
+            return nbOpen;
+        });
+        long[] weekScheduleQueries = measure(() -> {
+            int nbOpen = 0;
+            for (int minute = 0; minute < WeekSchedule.MINUTES_PER_WEEK; minute += QUERY_STEP)
+                if (weekSchedule.isOpenAt(minute)) nbOpen++;
+            return nbOpen;
+        });
+
+        if (previousQueries[1] >= 0) assertTrue(weekScheduleQueries[1] < previousQueries[1]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.openclassrooms.go4lunch.model;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link WeekSchedule} class file.
+ */
+@RunWith(JUnit4.class)
+public class WeekScheduleUnitTest {
+
+    private static int getTime(int day, String time) {
+        return WeekSchedule.getMinuteOfWeek(day, time);
+    }
+
+    /**
+     * TEST #1 : Checks if opening state and transitions are correctly determined for a
+     * restaurant closing twice a day, with an overnight period and a period over the end
+     * of the week.
+     */
+    @Test
+    public void test_schedule_queries() {
+        // Monday : 12:00-14:00 / 19:00-01:00, Saturday 20:00 - Sunday 02:00
+        WeekSchedule schedule = new WeekSchedule.Builder()
+                .addPeriod(getTime(1, "1900"), getTime(2, "0100"))
+                .addPeriod(getTime(1, "1200"), getTime(1, "1400"))
+                .addPeriod(getTime(6, "2000"), getTime(0, "0200"))
+                .build();
+
+        assertFalse(schedule.isOpenAt(getTime(1, "1159")));
+        assertTrue(schedule.isOpenAt(getTime(1, "1200")));
+        assertFalse(schedule.isOpenAt(getTime(1, "1400")));
+        assertTrue(schedule.isOpenAt(getTime(2, "0030")));
+        assertTrue(schedule.isOpenAt(getTime(0, "0100")));
+        assertTrue(schedule.isOpenAt(getTime(6, "2359")));
+        assertFalse(schedule.isOpenAt(getTime(0, "0200")));
+
+        assertEquals(getTime(1, "1400"), schedule.nextTransitionAfter(getTime(1, "1200")));
+        assertEquals(getTime(2, "0100"), schedule.nextTransitionAfter(getTime(1, "2300")));
+        // Over the end of the week : no transition at Sunday 00:00
+        assertEquals(getTime(0, "0200"), schedule.nextTransitionAfter(getTime(6, "2100")));
+        assertEquals(getTime(1, "1200"), schedule.nextTransitionAfter(getTime(0, "0300")));
+
+        assertTrue(schedule.closesWithin(getTime(2, "0030"), 60));
+        assertFalse(schedule.closesWithin(getTime(1, "2330"), 60));
+        assertTrue(schedule.closesWithin(getTime(0, "0130"), 60));
+        assertFalse(schedule.closesWithin(getTime(1, "1500"), 60));
+    }
+
+    /**
+     * TEST #2 : Checks if overlapping periods are merged, and if empty and always open
+     * schedules have no transition.
+     */
+    @Test
+    public void test_schedule_merge_and_bounds() {
+        WeekSchedule schedule = new WeekSchedule.Builder()
+                .addPeriod(getTime(3, "1200"), getTime(3, "1500"))
+                .addPeriod(getTime(3, "1400"), getTime(3, "1600"))
+                .addPeriod(getTime(3, "1600"), getTime(3, "1700"))
+                .build();
+        assertEquals(new WeekSchedule.Builder()
+                             .addPeriod(getTime(3, "1200"), getTime(3, "1700")).build(),
+                     schedule);
+        assertEquals(getTime(3, "1700"), schedule.nextTransitionAfter(getTime(3, "1430")));
+        // Next week
+        assertEquals(getTime(3, "1200"), schedule.nextTransitionAfter(getTime(5, "1200")));
+
+        // Invalid times
+        assertEquals(-1, WeekSchedule.getMinuteOfWeek(7, "1200"));
+        assertEquals(-1, WeekSchedule.getMinuteOfWeek(1, "2460"));
+        assertEquals(-1, WeekSchedule.getMinuteOfWeek(1, "12h0"));
+
+        assertTrue(WeekSchedule.EMPTY.isEmpty());
+        assertFalse(WeekSchedule.EMPTY.isOpenAt(getTime(3, "1200")));
+        assertEquals(-1, WeekSchedule.EMPTY.nextTransitionAfter(0));
+        WeekSchedule alwaysOpen = new WeekSchedule.Builder().addAlwaysOpen().build();
+        assertTrue(alwaysOpen.isOpenAt(getTime(6, "2359")));
+        assertEquals(-1, alwaysOpen.nextTransitionAfter(0));
+        assertFalse(alwaysOpen.closesWithin(getTime(6, "2359"), 60));
+    }
+}
@@ -0,0 +1,77 @@
+package com.openclassrooms.go4lunch.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link WorkmatesIndex} class file.
+ */
+@RunWith(JUnit4.class)
+public class WorkmatesIndexUnitTest {
+
+    private WorkmatesIndex workmatesIndex;
+    private Workmate workmate1;
+    private Workmate workmate2;
+    private Workmate workmate3;
+
+    @Before
+    public void setUp() {
+        workmatesIndex = new WorkmatesIndex();
+        workmate1 = new Workmate("Name 1", "email1@gmail.com", "ID_1", "", "Restaurant 1");
+        workmate2 = new Workmate("Name 2", "email2@gmail.com", "ID_1", "", "Restaurant 1");
+        workmate3 = new Workmate("Name 3", "email3@gmail.com", "", "", "");
+        workmatesIndex.update(Arrays.asList(workmate1, workmate2, workmate3));
+    }
+
+    /**
+     * TEST #1 : Checks if workmates are indexed by selected restaurant.
+     */
+    @Test
+    public void test_workmates_are_indexed_by_restaurant() {
+        assertEquals(3, workmatesIndex.size());
+        assertEquals(Arrays.asList(workmate1, workmate2), workmatesIndex.getWorkmates("ID_1"));
+        assertEquals(2, workmatesIndex.getNbWorkmates("ID_1"));
+        assertTrue(workmatesIndex.isSelected("ID_1"));
+        // No selection
+        assertEquals(Collections.emptyList(), workmatesIndex.getWorkmates(""));
+        assertFalse(workmatesIndex.isSelected("ID_2"));
+    }
+
+    /**
+     * TEST #2 : Checks if a new list of workmates only applies changed workmates, and if lists
+     * returned before the changes are not modified.
+     */
+    @Test
+    public void test_new_list_only_applies_changes() {
+        List<Workmate> oldWorkmates = workmatesIndex.getWorkmates("ID_1");
+
+        // Workmate 1 selects another restaurant, workmate 3 is removed, workmate 2 unchanged
+        Workmate newWorkmate1 = new Workmate("Name 1", "email1@gmail.com", "ID_2", "",
+                                             "Restaurant 2");
+        Workmate newWorkmate2 = new Workmate("Name 2", "email2@gmail.com", "ID_1", "",
+                                             "Restaurant 1");
+        assertEquals(2, workmatesIndex.update(Arrays.asList(newWorkmate1, newWorkmate2)));
+
+        assertEquals(2, workmatesIndex.size());
+        assertEquals(1, workmatesIndex.getNbWorkmates("ID_1"));
+        assertSame(workmate2, workmatesIndex.getWorkmates("ID_1").get(0));
+        assertEquals(Collections.singletonList(newWorkmate1), workmatesIndex.getWorkmates("ID_2"));
+        assertEquals(2, oldWorkmates.size());
+
+        // Same list again : no change
+        assertEquals(0, workmatesIndex.update(Arrays.asList(newWorkmate1, newWorkmate2)));
+
+        // Workmate removed
+        workmatesIndex.remove("email2@gmail.com");
+        assertFalse(workmatesIndex.isSelected("ID_1"));
+    }
+}
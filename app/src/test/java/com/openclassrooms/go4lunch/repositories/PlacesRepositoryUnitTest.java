@@ -1,18 +1,19 @@
 package com.openclassrooms.go4lunch.repositories;
 
-import android.content.Context;
-import android.content.SharedPreferences;
-import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.libraries.places.api.net.PlacesClient;
+import com.openclassrooms.go4lunch.dao.DetailsDao;
 import com.openclassrooms.go4lunch.dao.HoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantAndHoursDao;
 import com.openclassrooms.go4lunch.dao.RestaurantDao;
+import com.openclassrooms.go4lunch.dao.RestaurantSearchDao;
+import com.openclassrooms.go4lunch.dao.SearchSessionDao;
+import com.openclassrooms.go4lunch.dao.TileDao;
 import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
 import com.openclassrooms.go4lunch.service.places.response.places.Geometry;
 import com.openclassrooms.go4lunch.service.places.response.places.LocationRestaurant;
 import com.openclassrooms.go4lunch.service.places.response.places.Photo;
 import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
-import com.openclassrooms.go4lunch.utils.AppInfo;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,26 +33,27 @@ public class PlacesRepositoryUnitTest {
     @Mock public RestaurantDao restaurantDao;
     @Mock public HoursDao hoursDao;
     @Mock public RestaurantAndHoursDao restaurantAndHoursDao;
+    @Mock public RestaurantSearchDao restaurantSearchDao;
+    @Mock public TileDao tileDao;
+    @Mock public DetailsDao detailsDao;
+    @Mock public SearchSessionDao searchSessionDao;
     @Mock public PlacesClient placesClient;
-    @Mock public FusedLocationProviderClient locationClient;
-    @Mock public Context context;
+    @Mock public LocationSnapshotProvider locationSnapshotProvider;
     @Mock public LocationRestaurant locationRestaurant;
     @Mock public Geometry geometry;
     @Mock public Photo photo;
     @Mock public List<Photo> listPhotos;
-    @Mock SharedPreferences sharedPreferences;
     public PlacesRepository placesRepository;
     public ResultPlaces resultPlaces;
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        // Describe behavior of mocked classes
-        Mockito.when(context.getSharedPreferences(AppInfo.FILE_PREF_NEXT_PAGE_TOKEN,
-                Context.MODE_PRIVATE)).thenReturn(sharedPreferences);
         // Initialize repositories
         placesRepository = new PlacesRepository(restaurantDao, hoursDao, restaurantAndHoursDao,
-                                                        context, placesClient, locationClient);
+                                                restaurantSearchDao, tileDao, detailsDao,
+                                                searchSessionDao, placesClient,
+                                                locationSnapshotProvider);
     }
 
     /**
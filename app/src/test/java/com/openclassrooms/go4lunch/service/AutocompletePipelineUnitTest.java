@@ -0,0 +1,199 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.autocomplete.AutocompletePipeline;
+import com.openclassrooms.go4lunch.service.autocomplete.ServiceAutocompleteCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link AutocompletePipeline} class file.
+ */
+@RunWith(JUnit4.class)
+public class AutocompletePipelineUnitTest {
+
+    private static final long DEBOUNCE_DELAY = 300L;
+    private static final long CACHE_TIME_TO_LIVE = 60000L;
+
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private final List<String> queriesSent = new ArrayList<>();
+    private final List<ServiceAutocompleteCallback> requestCallbacks = new ArrayList<>();
+    private final List<AutocompletePipeline.FailureCallback> failureCallbacks = new ArrayList<>();
+    private final List<List<String>> resultsReceived = new ArrayList<>();
+    private int nbCancels;
+    private long currentTime;
+    private AutocompletePipeline autocompletePipeline;
+
+    @Before
+    public void setUp() {
+        autocompletePipeline = new AutocompletePipeline((query, callback, failureCallback) -> {
+            queriesSent.add(query);
+            requestCallbacks.add(callback);
+            failureCallbacks.add(failureCallback);
+            return () -> nbCancels++;
+        }, (task, delay) -> scheduledTasks.add(task), () -> currentTime, DEBOUNCE_DELAY, 2,
+           CACHE_TIME_TO_LIVE, resultsReceived::add);
+    }
+
+    /**
+     * TEST #1 : Checks if only the last query typed during the debounce delay is sent, and if
+     * the results of a superseded request are dropped.
+     */
+    @Test
+    public void test_queries_are_debounced_and_superseded_results_dropped() {
+        autocompletePipeline.submitQuery("g");
+        autocompletePipeline.submitQuery("ge");
+        autocompletePipeline.submitQuery("gem");
+        for (Runnable task : scheduledTasks) task.run();
+        assertEquals(Collections.singletonList("gem"), queriesSent);
+
+        // New query while the request is pending : request cancelled
+        currentTime = 100L;
+        autocompletePipeline.submitQuery("gemi");
+        assertEquals(1, nbCancels);
+        scheduledTasks.get(3).run();
+        requestCallbacks.get(1).getAutocompleteResults(Collections.singletonList("PLACE_2"));
+        currentTime = 250L;
+        requestCallbacks.get(0).getAutocompleteResults(Collections.singletonList("PLACE_1"));
+
+        assertEquals(1, resultsReceived.size());
+        assertEquals(Collections.singletonList("PLACE_2"), resultsReceived.get(0));
+        assertEquals(4, autocompletePipeline.getNbQueries());
+        assertEquals(2, autocompletePipeline.getNbRequests());
+        assertEquals(1, autocompletePipeline.getNbCancelledRequests());
+        assertEquals(1, autocompletePipeline.getNbDroppedResponses());
+        assertEquals(0L, autocompletePipeline.getAverageLatency());
+    }
+
+    /**
+     * TEST #2 : Checks if cached results are sent back without request until they expire, and
+     * if least recently used queries are evicted.
+     */
+    @Test
+    public void test_cached_results_are_reused() {
+        sendQuery("gem", "PLACE_1", 0L);
+        sendQuery("gemi", "PLACE_2", 1000L);
+        assertEquals(1000L, autocompletePipeline.getMaxLatency());
+
+        // Backspace : answered from cache
+        autocompletePipeline.submitQuery("Gem ");
+        assertEquals(2, queriesSent.size());
+        assertEquals(Collections.singletonList("PLACE_1"), resultsReceived.get(2));
+        assertEquals(1, autocompletePipeline.getNbCacheHits());
+
+        // "gemi" evicted by a third query
+        sendQuery("gemin", "PLACE_3", 0L);
+        autocompletePipeline.submitQuery("gemi");
+        assertEquals(3, queriesSent.size());
+        assertEquals(4, scheduledTasks.size());
+
+        // Expired results are requested again
+        currentTime += CACHE_TIME_TO_LIVE + 1;
+        autocompletePipeline.submitQuery("gem");
+        assertEquals(5, scheduledTasks.size());
+        assertEquals(1, autocompletePipeline.getNbCacheHits());
+    }
+
+    /**
+     * TEST #3 : Checks if local results are sent back immediately without any request, and if
+     * a request is only sent when no local result is found.
+     */
+    @Test
+    public void test_local_results_are_used_before_requests() {
+        autocompletePipeline = new AutocompletePipeline((query, callback, failureCallback) -> {
+            queriesSent.add(query);
+            requestCallbacks.add(callback);
+            failureCallbacks.add(failureCallback);
+            return () -> nbCancels++;
+        }, query -> query.startsWith("gem") ? Collections.singletonList("PLACE_1")
+                                            : Collections.emptyList(), 1,
+           (task, delay) -> scheduledTasks.add(task), () -> currentTime, DEBOUNCE_DELAY, 2,
+           CACHE_TIME_TO_LIVE, resultsReceived::add);
+
+        autocompletePipeline.submitQuery("gem");
+        assertEquals(Collections.singletonList("PLACE_1"), resultsReceived.get(0));
+        assertTrue(scheduledTasks.isEmpty());
+
+        autocompletePipeline.submitQuery("sushi");
+        scheduledTasks.get(0).run();
+        assertEquals(Collections.singletonList("sushi"), queriesSent);
+        assertEquals(1, autocompletePipeline.getNbLocalHits());
+        assertEquals(1, autocompletePipeline.getNbRequests());
+    }
+
+    /**
+     * TEST #4 : Checks if results found offline are sent back without any request, if the
+     * results of a superseded offline search are dropped, and if a request is only sent when
+     * nothing is found offline.
+     */
+    @Test
+    public void test_offline_results_are_used_before_requests() {
+        List<ServiceAutocompleteCallback> offlineCallbacks = new ArrayList<>();
+        autocompletePipeline = new AutocompletePipeline((query, callback, failureCallback) -> {
+            queriesSent.add(query);
+            requestCallbacks.add(callback);
+            failureCallbacks.add(failureCallback);
+            return () -> nbCancels++;
+        }, query -> Collections.emptyList(), (query, callback) -> {
+            offlineCallbacks.add(callback);
+            return () -> nbCancels++;
+        }, 1, (task, delay) -> scheduledTasks.add(task), () -> currentTime, DEBOUNCE_DELAY, 2,
+           CACHE_TIME_TO_LIVE, resultsReceived::add);
+
+        // Superseded offline search : cancelled, and its results are dropped
+        autocompletePipeline.submitQuery("ge");
+        autocompletePipeline.submitQuery("gem");
+        assertEquals(1, nbCancels);
+        offlineCallbacks.get(0).getAutocompleteResults(Collections.singletonList("PLACE_1"));
+        offlineCallbacks.get(1).getAutocompleteResults(Collections.singletonList("PLACE_2"));
+        assertEquals(Collections.singletonList(Collections.singletonList("PLACE_2")),
+                     resultsReceived);
+        assertTrue(scheduledTasks.isEmpty());
+
+        // Nothing found offline : request sent after the debounce delay
+        autocompletePipeline.submitQuery("sushi");
+        offlineCallbacks.get(2).getAutocompleteResults(Collections.emptyList());
+        scheduledTasks.get(0).run();
+        assertEquals(Collections.singletonList("sushi"), queriesSent);
+        assertEquals(1, autocompletePipeline.getNbOfflineHits());
+        assertEquals(1, autocompletePipeline.getNbRequests());
+    }
+
+    /**
+     * TEST #5 : Checks if a failed request is no longer pending, so that the next query does
+     * not cancel it, and if its query is not cached.
+     */
+    @Test
+    public void test_failed_requests_are_not_pending() {
+        autocompletePipeline.submitQuery("gem");
+        scheduledTasks.get(0).run();
+        failureCallbacks.get(0).onFailure(new Exception("Network error"));
+        assertEquals(1, autocompletePipeline.getNbFailedRequests());
+
+        autocompletePipeline.submitQuery("gemi");
+        assertEquals(0, nbCancels);
+        assertEquals(0, autocompletePipeline.getNbCancelledRequests());
+
+        // Failed query requested again
+        autocompletePipeline.submitQuery("gem");
+        assertEquals(3, scheduledTasks.size());
+        scheduledTasks.get(2).run();
+        assertEquals(2, queriesSent.size());
+        assertEquals(0, autocompletePipeline.getNbCacheHits());
+        assertTrue(resultsReceived.isEmpty());
+    }
+
+    private void sendQuery(String query, String placeId, long latency) {
+        autocompletePipeline.submitQuery(query);
+        scheduledTasks.get(scheduledTasks.size() - 1).run();
+        currentTime += latency;
+        requestCallbacks.get(requestCallbacks.size() - 1)
+                        .getAutocompleteResults(Collections.singletonList(placeId));
+    }
+}
@@ -0,0 +1,69 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.network.CappedBodyLoggingInterceptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link CappedBodyLoggingInterceptor} class file.
+ */
+@RunWith(JUnit4.class)
+public class CappedBodyLoggingInterceptorUnitTest {
+
+    private static final long MAX_BODY_BYTES = 16L;
+
+    private MockWebServer server;
+    private final List<String> logs = new ArrayList<>();
+    private OkHttpClient client;
+
+    @Before
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new CappedBodyLoggingInterceptor(logs::add, MAX_BODY_BYTES))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * TEST #1 : Checks if a logged body is truncated, while the response body sent back is complete,
+     * and if the API key is not logged.
+     */
+    @Test
+    public void test_logged_body_is_truncated() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100; i++) body.append("0123456789");
+        server.enqueue(new MockResponse().setBody(body.toString()));
+
+        Request request = new Request.Builder()
+                .url(server.url("/nearbysearch/json?key=SECRET&type=restaurant")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(body.toString(), response.body().string());
+        }
+
+        assertEquals(2, logs.size());
+        assertFalse(logs.get(0).contains("SECRET"));
+        assertTrue(logs.get(0).contains("type=restaurant"));
+        assertTrue(logs.get(1).contains("0123456789012345\n... (truncated to 16 bytes)"));
+        assertFalse(logs.get(1).contains("01234567890123456"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.location.LocationSnapshot;
+import com.openclassrooms.go4lunch.service.location.LocationSnapshotProvider;
+import com.openclassrooms.go4lunch.service.location.ServiceLocationCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link LocationSnapshotProvider} class file.
+ */
+@RunWith(JUnit4.class)
+public class LocationSnapshotProviderUnitTest {
+
+    private static final long CURRENT_TIME = 100000L;
+    private static final long FRESHNESS_WINDOW = 30000L;
+
+    // Requests received by the location source, answered manually
+    private final List<ServiceLocationCallback> sourceRequests = new ArrayList<>();
+    private final List<LocationSnapshot> results = new ArrayList<>();
+    private LocationSnapshotProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new LocationSnapshotProvider(sourceRequests::add, FRESHNESS_WINDOW);
+    }
+
+    /**
+     * TEST #1 : Checks if consumers asking for the location at the same time share a single
+     * location fix, which is then reused while it is fresh.
+     */
+    @Test
+    public void test_single_location_fix_is_shared_while_fresh() {
+        provider.getLocation(results::add, CURRENT_TIME);
+        provider.getLocation(results::add, CURRENT_TIME + 10L);
+        provider.getLocation(results::add, CURRENT_TIME + 20L);
+        assertEquals(1, sourceRequests.size());
+        assertTrue(results.isEmpty());
+
+        LocationSnapshot snapshot = new LocationSnapshot(48.84, 2.23, CURRENT_TIME + 30L);
+        sourceRequests.get(0).onLocationAvailable(snapshot);
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) assertSame(snapshot, results.get(i));
+
+        // Location still fresh : no new request
+        provider.getLocation(results::add, CURRENT_TIME + 30L + FRESHNESS_WINDOW);
+        assertEquals(1, sourceRequests.size());
+        assertEquals(4, results.size());
+
+        // Location expired : new request
+        provider.getLocation(results::add, CURRENT_TIME + 31L + FRESHNESS_WINDOW);
+        assertEquals(2, sourceRequests.size());
+    }
+
+    /**
+     * TEST #2 : Checks if a failed location fix is answered with the last location received,
+     * and if a location received by another request is shared.
+     */
+    @Test
+    public void test_failed_location_fix_falls_back_to_last_location() {
+        // No location available : consumer not answered
+        provider.getLocation(results::add, CURRENT_TIME);
+        sourceRequests.get(0).onLocationAvailable(null);
+        assertTrue(results.isEmpty());
+
+        // Location received from the map
+        provider.updateLocation(48.84, 2.23, CURRENT_TIME);
+        provider.getLocation(results::add, CURRENT_TIME + 10L);
+        assertEquals(1, sourceRequests.size());
+        assertEquals(1, results.size());
+
+        // Expired location used when the new fix fails
+        provider.getLocation(results::add, CURRENT_TIME + 1L + FRESHNESS_WINDOW);
+        sourceRequests.get(1).onLocationAvailable(null);
+        assertEquals(2, results.size());
+        assertSame(provider.getLastSnapshot(), results.get(1));
+        assertEquals(48.84, results.get(1).getLatitude(), 0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.network.NetworkMetricsInterceptor;
+import com.openclassrooms.go4lunch.service.network.NetworkMetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.IOException;
+import java.util.List;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * File providing tests to cover @{@link NetworkMetricsInterceptor} and
+ * @{@link NetworkMetricsRegistry} class files.
+ */
+@RunWith(JUnit4.class)
+public class NetworkMetricsInterceptorUnitTest {
+
+    private static final String BODY = "{\"results\":[],\"status\":\"ZERO_RESULTS\"}";
+
+    private MockWebServer server;
+    private NetworkMetricsRegistry registry;
+    private OkHttpClient client;
+
+    @Rule
+    public final TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        registry = new NetworkMetricsRegistry(2);
+        client = new OkHttpClient.Builder()
+                .addNetworkInterceptor(new NetworkMetricsInterceptor(registry))
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private Request createRequest(String path) {
+        return new Request.Builder().url(server.url(path + "?key=SECRET")).build();
+    }
+
+    /**
+     * TEST #1 : Checks if the metrics of a call are recorded, without consuming the response body.
+     */
+    @Test
+    public void test_call_metrics_are_recorded() throws IOException {
+        server.enqueue(new MockResponse().setBody(BODY));
+
+        try (Response response = client.newCall(createRequest("/nearbysearch/json")).execute()) {
+            // Body is still available to the caller
+            assertEquals(BODY, response.body().string());
+        }
+
+        List<NetworkMetricsRegistry.CallMetrics> records = registry.getRecords();
+        assertEquals(1, records.size());
+        assertEquals("GET", records.get(0).getMethod());
+        assertEquals("/nearbysearch/json", records.get(0).getEndpoint());
+        assertEquals(200, records.get(0).getStatusCode());
+        assertEquals(BODY.length(), records.get(0).getResponseBytes());
+        assertTrue(records.get(0).getDurationMs() >= 0);
+    }
+
+    /**
+     * TEST #2 : Checks if errors and network failures are recorded, and aggregated by endpoint.
+     */
+    @Test
+    public void test_failures_are_recorded_by_endpoint() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+
+        client.newCall(createRequest("/details/json")).execute().close();
+        try {
+            client.newCall(createRequest("/details/json")).execute().close();
+            fail("IOException expected");
+        } catch (IOException exception) { /* Expected */ }
+
+        List<NetworkMetricsRegistry.CallMetrics> records = registry.getRecords();
+        assertEquals(2, records.size());
+        assertEquals(500, records.get(0).getStatusCode());
+        assertFalse(records.get(0).isSuccessful());
+        assertEquals(NetworkMetricsRegistry.STATUS_NETWORK_FAILURE, records.get(1).getStatusCode());
+        NetworkMetricsRegistry.EndpointMetrics endpointMetrics =
+                                                    registry.getEndpointMetrics("/details/json");
+        assertEquals(2, endpointMetrics.getNbCalls());
+        assertEquals(2, endpointMetrics.getNbFailures());
+    }
+
+    /**
+     * TEST #3 : Checks if the registry only keeps the last records.
+     */
+    @Test
+    public void test_registry_keeps_last_records() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody(BODY));
+            client.newCall(createRequest("/path" + i)).execute().close();
+        }
+
+        List<NetworkMetricsRegistry.CallMetrics> records = registry.getRecords();
+        assertEquals(2, records.size());
+        assertEquals("/path1", records.get(0).getEndpoint());
+        assertEquals("/path2", records.get(1).getEndpoint());
+        assertEquals(1, registry.getEndpointMetrics("/path0").getNbCalls());
+    }
+
+    /**
+     * TEST #4 : Checks if the bytes of a chunked response (without content length) are counted,
+     * and if responses served by the HTTP cache are not recorded.
+     */
+    @Test
+    public void test_chunked_and_cached_responses() throws IOException {
+        OkHttpClient cachedClient = client.newBuilder()
+                .cache(new Cache(cacheFolder.getRoot(), 1024 * 1024))
+                .build();
+        server.enqueue(new MockResponse().setChunkedBody(BODY, 8)
+                                         .setHeader("Cache-Control", "max-age=60"));
+
+        for (int i = 0; i < 2; i++) {
+            try (Response response =
+                         cachedClient.newCall(createRequest("/details/json")).execute()) {
+                assertEquals(BODY, response.body().string());
+            }
+        }
+
+        List<NetworkMetricsRegistry.CallMetrics> records = registry.getRecords();
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, records.size());
+        assertEquals(BODY.length(), records.get(0).getResponseBytes());
+    }
+}
@@ -0,0 +1,198 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.Benchmark;
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.service.places.PlacesDetailsFetcher;
+import com.openclassrooms.go4lunch.service.places.ServiceRestaurantDetailsCallback;
+import com.openclassrooms.go4lunch.service.places.request.PlaceService;
+import com.openclassrooms.go4lunch.service.scheduler.TaskGroup;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link PlacesDetailsFetcher} class file, using a local
+ * MockWebServer answering each Place Details request with a fixed latency.
+ */
+@RunWith(JUnit4.class)
+public class PlacesDetailsFetcherUnitTest {
+
+    private static final long LATENCY_MS = 150L;
+    private static final int NB_RESTAURANTS = 12;
+    private static final String DETAILS_JSON = "{\"result\":{\"formatted_phone_number\":" +
+            "\"01 46 05 06 07\",\"website\":\"https://www.example.com/\"},\"status\":\"OK\"}";
+
+    private MockWebServer server;
+    private PlaceService service;
+    private List<Restaurant> listRestaurants;
+
+    // Network pool large enough for the concurrency limits of the tests
+    private TaskGroup tasks;
+
+    @Before
+    public void setup() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody(DETAILS_JSON)
+                                         .setHeadersDelay(LATENCY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(PlaceService.class);
+        tasks = new TaskScheduler(NB_RESTAURANTS, 1, 1).newGroup();
+
+        listRestaurants = new ArrayList<>();
+        for (int i = 0; i < NB_RESTAURANTS; i++) {
+            listRestaurants.add(new Restaurant("PLACE_ID_" + i, "Restaurant " + i,
+                                               "Address " + i, 48.84, 2.23, 4.0));
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        tasks.cancel();
+        server.shutdown();
+    }
+
+    /**
+     * Fetches the details of all restaurants, and waits until all requests are completed.
+     * @param fetcher : Fetcher
+     * @param callback : Callback interface called once per received response
+     */
+    private void fetchAndWait(PlacesDetailsFetcher fetcher,
+                              ServiceRestaurantDetailsCallback callback)
+            throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        fetcher.fetchPlacesDetails(listRestaurants, TaskScheduler.Priority.NORMAL, callback,
+                                   latch::countDown);
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Fetches the details of all restaurants and returns the elapsed time.
+     * @param maxConcurrentRequests : Concurrency limit of the fetcher
+     * @param receivedIds : Set filled with the id of each restaurant sent back
+     * @return : Elapsed wall-clock time in ms
+     */
+    private long measureFetch(int maxConcurrentRequests, Set<String> receivedIds)
+            throws InterruptedException {
+        PlacesDetailsFetcher fetcher = new PlacesDetailsFetcher(service, tasks,
+                                                                maxConcurrentRequests);
+        long start = System.nanoTime();
+        fetchAndWait(fetcher,
+                     (restaurant, response) -> receivedIds.add(restaurant.getPlaceId()));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * TEST #1 : Checks if each restaurant is sent back once with its details.
+     */
+    @Test
+    public void test_each_restaurant_details_are_sent_back() throws InterruptedException {
+        Set<String> receivedIds = Collections.synchronizedSet(new HashSet<>());
+        List<String> phoneNumbers = Collections.synchronizedList(new ArrayList<>());
+        PlacesDetailsFetcher fetcher = new PlacesDetailsFetcher(service, tasks, 4);
+
+        fetchAndWait(fetcher, (restaurant, response) -> {
+            receivedIds.add(restaurant.getPlaceId());
+            phoneNumbers.add(response.getResult().getFormattedPhoneNumber());
+        });
+
+        assertEquals(NB_RESTAURANTS, receivedIds.size());
+        assertEquals(NB_RESTAURANTS, phoneNumbers.size());
+        assertEquals("01 46 05 06 07", phoneNumbers.get(0));
+        assertEquals(NB_RESTAURANTS, server.getRequestCount());
+    }
+
+    /**
+     * TEST #2 : Checks if the wall-clock time of a fetch scales with the concurrency limit
+     * (number of "waves" of requests) rather than with the number of restaurants.
+     */
+    @Test
+    @Category(Benchmark.class)
+    public void test_fetch_duration_scales_with_concurrency_limit() throws InterruptedException {
+        Set<String> receivedIds = Collections.synchronizedSet(new HashSet<>());
+
+        long sequentialDuration = measureFetch(1, receivedIds);
+        long limitedDuration = measureFetch(4, receivedIds);
+        long unboundedDuration = measureFetch(NB_RESTAURANTS, receivedIds);
+
+        // Limit 1 : 12 waves - Limit 4 : 3 waves - Limit 12 : 1 wave
+        assertTrue(sequentialDuration >= NB_RESTAURANTS * LATENCY_MS);
+        assertTrue(limitedDuration >= 3 * LATENCY_MS);
+        assertTrue(limitedDuration < sequentialDuration / 2);
+        assertTrue(unboundedDuration < limitedDuration);
+    }
+
+    /**
+     * TEST #3 : Checks if a failed request does not prevent other restaurants from being
+     * sent back.
+     */
+    @Test
+    public void test_failed_request_is_skipped() throws InterruptedException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("PLACE_ID_0".equals(request.getRequestUrl().queryParameter("place_id")))
+                    return new MockResponse().setResponseCode(500).setBody("error");
+                return new MockResponse().setBody(DETAILS_JSON);
+            }
+        });
+        Set<String> receivedIds = Collections.synchronizedSet(new HashSet<>());
+
+        measureFetch(4, receivedIds);
+
+        assertEquals(NB_RESTAURANTS - 1, receivedIds.size());
+        assertFalse(receivedIds.contains("PLACE_ID_0"));
+    }
+
+    /**
+     * TEST #4 : Checks if a fetch started from a task of the network pool completes, even if
+     * this pool has a single thread.
+     */
+    @Test
+    public void test_fetch_from_network_pool_completes() throws InterruptedException {
+        TaskGroup singleThreadTasks = new TaskScheduler(1, 1, 1).newGroup();
+        PlacesDetailsFetcher fetcher = new PlacesDetailsFetcher(service, singleThreadTasks, 4);
+        Set<String> receivedIds = Collections.synchronizedSet(new HashSet<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        singleThreadTasks.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.NORMAL)
+                         .execute(() -> fetcher.fetchPlacesDetails(listRestaurants,
+                                 TaskScheduler.Priority.NORMAL,
+                                 (restaurant, response) -> receivedIds.add(restaurant.getPlaceId()),
+                                 latch::countDown));
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertEquals(NB_RESTAURANTS, receivedIds.size());
+        singleThreadTasks.cancel();
+    }
+}
@@ -0,0 +1,95 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.openclassrooms.go4lunch.Benchmark;
+import com.openclassrooms.go4lunch.service.places.response.PlacesJsonParser;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing a benchmark of the @{@link PlacesJsonParser} streaming parser, compared to the
+ * reflective Gson decoding previously used by Retrofit, over recorded Search Nearby and
+ * Place Details API responses : measures allocated bytes per Search Nearby response.
+ */
+@RunWith(JUnit4.class)
+@Category(Benchmark.class)
+public class PlacesJsonParserBenchmarkUnitTest {
+
+    private static final int NB_WARM_UP_ITERATIONS = 2000;
+    private static final int NB_ITERATIONS = 5000;
+
+    /**
+     * Task decoding a response.
+     */
+    private interface ParseTask {
+        void parse() throws IOException;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, if the JVM supports it.
+     * @return : Allocated bytes, or -1 if not supported
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                                       .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    /**
+     * Runs a parse task, and returns the average parse time and allocated bytes.
+     * @param task : Task to run
+     * @return : { parse time in ns, allocated bytes (or -1 if not supported) }
+     */
+    private static long[] measure(ParseTask task) throws IOException {
+        for (int i = 0; i < NB_WARM_UP_ITERATIONS; i++) task.parse();
+        long startBytes = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_ITERATIONS; i++) task.parse();
+        long duration = System.nanoTime() - start;
+        long allocatedBytes = startBytes >= 0 ? getAllocatedBytes() - startBytes : -1L;
+        return new long[] { duration / NB_ITERATIONS,
+                            allocatedBytes >= 0 ? allocatedBytes / NB_ITERATIONS : -1L };
+    }
+
+    /**
+     * TEST #1 : Compares Gson and streaming decoding of recorded responses. Both decoders must
+     * produce the same information, and the streaming parser must allocate less memory when
+     * decoding Search Nearby responses.
+     */
+    @Test
+    public void test_streaming_parser_benchmark() throws IOException {
+        String placesJson = PlacesJsonParserUnitTest.readResource("nearbysearch.json");
+        String detailsJson = PlacesJsonParserUnitTest.readResource("details.json");
+        Gson gson = new Gson();
+
+        // Same decoded information
+        PlacesJsonParserUnitTest.assertSamePlaceResponse(
+                gson.fromJson(placesJson, PlaceResponse.class),
+                PlacesJsonParser.readPlaceResponse(new JsonReader(new StringReader(placesJson))));
+        PlacesJsonParserUnitTest.assertSameDetailsResponse(
+                gson.fromJson(detailsJson, DetailsResponse.class),
+                PlacesJsonParser.readDetailsResponse(new JsonReader(new StringReader(detailsJson))));
+
+        long[] gsonPlaces = measure(() -> gson.fromJson(new StringReader(placesJson),
+                                                        PlaceResponse.class));
+        long[] streamingPlaces = measure(() -> PlacesJsonParser.readPlaceResponse(
+                                                    new JsonReader(new StringReader(placesJson))));
+
+        // Details responses only contain the requested fields : allocations are close, only
+        // Search Nearby responses are compared
+        if (gsonPlaces[1] >= 0) assertTrue(streamingPlaces[1] < gsonPlaces[1]);
+    }
+}
@@ -0,0 +1,172 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.openclassrooms.go4lunch.service.places.response.PlacesJsonParser;
+import com.openclassrooms.go4lunch.service.places.response.StreamingResponseConverterFactory;
+import com.openclassrooms.go4lunch.service.places.response.details.DetailsResponse;
+import com.openclassrooms.go4lunch.service.places.response.details.Period;
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import retrofit2.Retrofit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link PlacesJsonParser} and
+ * @{@link StreamingResponseConverterFactory} class files.
+ */
+@RunWith(JUnit4.class)
+public class PlacesJsonParserUnitTest {
+
+    /**
+     * Reads a recorded API response from the test resources.
+     * @param fileName : Name of the resource file
+     * @return : Content of the file
+     */
+    static String readResource(String fileName) throws IOException {
+        try (InputStream inputStream =
+                     PlacesJsonParserUnitTest.class.getClassLoader().getResourceAsStream(fileName)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) outputStream.write(buffer, 0, length);
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Checks if two PlaceResponse objects contain the same information used by the application
+     * (only the first photo of a place is used).
+     */
+    static void assertSamePlaceResponse(PlaceResponse expected, PlaceResponse actual) {
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getNextPageToken(), actual.getNextPageToken());
+        assertEquals(expected.getResults().size(), actual.getResults().size());
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            ResultPlaces expectedResult = expected.getResults().get(i);
+            ResultPlaces actualResult = actual.getResults().get(i);
+            assertEquals(expectedResult.getName(), actualResult.getName());
+            assertEquals(expectedResult.getPlace_id(), actualResult.getPlace_id());
+            assertEquals(expectedResult.getVicinity(), actualResult.getVicinity());
+            assertEquals(expectedResult.getRating(), actualResult.getRating(), 0);
+            assertEquals(expectedResult.getGeometry().getLocation().getLat(),
+                         actualResult.getGeometry().getLocation().getLat(), 0);
+            assertEquals(expectedResult.getGeometry().getLocation().getLng(),
+                         actualResult.getGeometry().getLocation().getLng(), 0);
+            if (expectedResult.getPhotos() == null) {
+                assertNull(actualResult.getPhotos());
+            } else {
+                assertEquals(1, actualResult.getPhotos().size());
+                assertEquals(expectedResult.getPhotos().get(0).getPhoto_reference(),
+                             actualResult.getPhotos().get(0).getPhoto_reference());
+                assertEquals(expectedResult.getPhotos().get(0).getHeight(),
+                             actualResult.getPhotos().get(0).getHeight());
+                assertEquals(expectedResult.getPhotos().get(0).getWidth(),
+                             actualResult.getPhotos().get(0).getWidth());
+            }
+        }
+    }
+
+    /**
+     * Checks if two DetailsResponse objects contain the same information.
+     */
+    static void assertSameDetailsResponse(DetailsResponse expected, DetailsResponse actual) {
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getResult().getFormattedPhoneNumber(),
+                     actual.getResult().getFormattedPhoneNumber());
+        assertEquals(expected.getResult().getWebsite(), actual.getResult().getWebsite());
+        assertEquals(expected.getResult().getOpeningHours().getPeriods().size(),
+                     actual.getResult().getOpeningHours().getPeriods().size());
+        for (int i = 0; i < expected.getResult().getOpeningHours().getPeriods().size(); i++) {
+            Period expectedPeriod = expected.getResult().getOpeningHours().getPeriods().get(i);
+            Period actualPeriod = actual.getResult().getOpeningHours().getPeriods().get(i);
+            assertEquals(expectedPeriod.getOpen(), actualPeriod.getOpen());
+            assertEquals(expectedPeriod.getClose(), actualPeriod.getClose());
+        }
+    }
+
+    /**
+     * TEST #1 : Checks if a recorded Search Nearby API response is decoded as Gson does.
+     */
+    @Test
+    public void test_place_response_decoded_as_gson() throws IOException {
+        String json = readResource("nearbysearch.json");
+
+        PlaceResponse response = PlacesJsonParser.readPlaceResponse(
+                                                            new JsonReader(new StringReader(json)));
+
+        assertSamePlaceResponse(new Gson().fromJson(json, PlaceResponse.class), response);
+        assertEquals(20, response.getResults().size());
+    }
+
+    /**
+     * TEST #2 : Checks if a recorded Place Details API response is decoded as Gson does.
+     */
+    @Test
+    public void test_details_response_decoded_as_gson() throws IOException {
+        String json = readResource("details.json");
+
+        DetailsResponse response = PlacesJsonParser.readDetailsResponse(
+                                                            new JsonReader(new StringReader(json)));
+
+        assertSameDetailsResponse(new Gson().fromJson(json, DetailsResponse.class), response);
+        assertEquals(12, response.getResult().getOpeningHours().getPeriods().size());
+    }
+
+    /**
+     * TEST #3 : Checks if null values and missing fields leave default values, as Gson does.
+     */
+    @Test
+    public void test_null_values_and_missing_fields() throws IOException {
+        String placesJson = "{\"results\":[{\"name\":null,\"place_id\":\"id\",\"rating\":null," +
+                "\"geometry\":{\"location\":{\"lat\":48.8,\"lng\":2.2}},\"photos\":[]}]," +
+                "\"next_page_token\":null,\"status\":\"OK\"}";
+        String detailsJson = "{\"result\":{\"opening_hours\":{\"periods\":[{\"open\":" +
+                "{\"day\":0,\"time\":\"0000\"}}]},\"website\":null},\"status\":\"OK\"}";
+
+        PlaceResponse placeResponse = PlacesJsonParser.readPlaceResponse(
+                                                    new JsonReader(new StringReader(placesJson)));
+        DetailsResponse detailsResponse = PlacesJsonParser.readDetailsResponse(
+                                                    new JsonReader(new StringReader(detailsJson)));
+
+        ResultPlaces result = placeResponse.getResults().get(0);
+        assertNull(placeResponse.getNextPageToken());
+        assertNull(result.getName());
+        assertEquals("id", result.getPlace_id());
+        assertNull(result.getVicinity());
+        assertEquals(0, result.getRating(), 0);
+        assertTrue(result.getPhotos().isEmpty());
+        assertNull(detailsResponse.getResult().getWebsite());
+        assertNull(detailsResponse.getResult().getFormattedPhoneNumber());
+        // Place open 24/7 : no closing hours
+        assertNull(detailsResponse.getResult().getOpeningHours().getPeriods().get(0).getClose());
+        assertNotNull(detailsResponse.getResult().getOpeningHours().getPeriods().get(0).getOpen());
+    }
+
+    /**
+     * TEST #4 : Checks if the converter factory only handles PlaceResponse and DetailsResponse
+     * types, and leaves other types to the next factory.
+     */
+    @Test
+    public void test_converter_factory_handled_types() {
+        Retrofit retrofit = new Retrofit.Builder().baseUrl("https://localhost/").build();
+        StreamingResponseConverterFactory factory = StreamingResponseConverterFactory.create();
+        Annotation[] annotations = new Annotation[0];
+
+        assertNotNull(factory.responseBodyConverter(PlaceResponse.class, annotations, retrofit));
+        assertNotNull(factory.responseBodyConverter(DetailsResponse.class, annotations, retrofit));
+        assertNull(factory.responseBodyConverter(String.class, annotations, retrofit));
+    }
+}
@@ -0,0 +1,149 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.places.PlacesPagingPipeline;
+import com.openclassrooms.go4lunch.service.places.response.places.PlaceResponse;
+import com.openclassrooms.go4lunch.service.places.response.places.ResultPlaces;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link PlacesPagingPipeline} class file.
+ */
+@RunWith(JUnit4.class)
+public class PlacesPagingPipelineUnitTest {
+
+    /**
+     * Creates a Search Nearby response.
+     * @param placeId : Id of the single place of the page
+     * @param nextPageToken : Token of the next page
+     * @param status : Status of the response
+     * @return : PlaceResponse object
+     */
+    private static PlaceResponse createResponse(String placeId, String nextPageToken,
+                                                String status) {
+        PlaceResponse response = new PlaceResponse();
+        response.results = Collections.singletonList(
+                             new ResultPlaces("Name", placeId, "Address", 4.0, null, null));
+        response.next_page_token = nextPageToken;
+        response.status = status;
+        return response;
+    }
+
+    /**
+     * TEST #1 : Checks if all next pages are prefetched by following tokens after the first
+     * page, and sent back in order without other requests.
+     */
+    @Test
+    public void test_next_pages_are_prefetched() {
+        List<String> requestedTokens = new ArrayList<>();
+        PlacesPagingPipeline pipeline = new PlacesPagingPipeline(token -> {
+            requestedTokens.add(token);
+            return token.equals("TOKEN_1") ? createResponse("PAGE_2", "TOKEN_2", "OK")
+                                           : createResponse("PAGE_3", "TOKEN_3", "OK");
+        }, Runnable::run, 0L);
+
+        pipeline.start("TOKEN_1");
+
+        // Only 2 next pages can be requested
+        assertEquals(Arrays.asList("TOKEN_1", "TOKEN_2"), requestedTokens);
+        assertEquals(Arrays.asList("TOKEN_1", "TOKEN_2"), pipeline.getTokens());
+        AtomicReference<List<ResultPlaces>> page = new AtomicReference<>();
+        assertTrue(pipeline.hasNextPage());
+        pipeline.takeNextPage(page::set);
+        assertEquals("PAGE_2", page.get().get(0).getPlace_id());
+        pipeline.takeNextPage(page::set);
+        assertEquals("PAGE_3", page.get().get(0).getPlace_id());
+        assertFalse(pipeline.hasNextPage());
+        pipeline.takeNextPage(page::set);
+        assertNull(page.get());
+        assertEquals(2, requestedTokens.size());
+    }
+
+    /**
+     * TEST #2 : Checks if a token not valid yet is requested again.
+     */
+    @Test
+    public void test_invalid_request_is_retried() {
+        List<String> requestedTokens = new ArrayList<>();
+        PlacesPagingPipeline pipeline = new PlacesPagingPipeline(token -> {
+            requestedTokens.add(token);
+            return requestedTokens.size() == 1 ? createResponse(null, null, "INVALID_REQUEST")
+                                               : createResponse("PAGE_2", null, "OK");
+        }, Runnable::run, 0L);
+
+        pipeline.start("TOKEN_1");
+
+        assertEquals(Arrays.asList("TOKEN_1", "TOKEN_1"), requestedTokens);
+        AtomicReference<List<ResultPlaces>> page = new AtomicReference<>();
+        pipeline.takeNextPage(page::set);
+        assertEquals("PAGE_2", page.get().get(0).getPlace_id());
+        assertFalse(pipeline.hasNextPage());
+    }
+
+    /**
+     * TEST #3 : Checks if a page requested before being prefetched is sent back as soon as
+     * it is received.
+     */
+    @Test
+    public void test_pending_request_is_answered() throws InterruptedException {
+        CountDownLatch responseLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PlacesPagingPipeline pipeline = new PlacesPagingPipeline(token -> {
+            try {
+                responseLatch.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return createResponse("PAGE_2", null, "OK");
+        }, executor, 0L);
+
+        pipeline.start("TOKEN_1");
+        CountDownLatch callbackLatch = new CountDownLatch(1);
+        AtomicReference<List<ResultPlaces>> page = new AtomicReference<>();
+        pipeline.takeNextPage(results -> {
+            page.set(results);
+            callbackLatch.countDown();
+        });
+        assertNull(page.get());
+        responseLatch.countDown();
+
+        assertTrue(callbackLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("PAGE_2", page.get().get(0).getPlace_id());
+        executor.shutdown();
+    }
+
+    /**
+     * TEST #4 : Checks if a new search discards the pages of the previous search.
+     */
+    @Test
+    public void test_new_search_discards_previous_pages() {
+        PlacesPagingPipeline pipeline = new PlacesPagingPipeline(
+                token -> createResponse("PAGE_" + token, null, "OK"), Runnable::run, 0L);
+        pipeline.start("A");
+        pipeline.start("B");
+
+        List<List<ResultPlaces>> pages = new ArrayList<>();
+        pipeline.takeNextPage(pages::add);
+        pipeline.takeNextPage(pages::add);
+        assertEquals("PAGE_B", pages.get(0).get(0).getPlace_id());
+        assertNull(pages.get(1));
+
+        pipeline.clear();
+        assertFalse(pipeline.hasNextPage());
+        assertTrue(pipeline.getTokens().isEmpty());
+    }
+}
@@ -0,0 +1,178 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.scheduler.TaskGroup;
+import com.openclassrooms.go4lunch.service.scheduler.TaskScheduler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link TaskScheduler} and @{@link TaskGroup} class files.
+ */
+@RunWith(JUnit4.class)
+public class TaskSchedulerUnitTest {
+
+    private static final long TIMEOUT = 5000L;
+
+    /**
+     * TEST #1 : Checks if queued tasks are run by priority then in submission order, if a busy
+     * pool does not delay the other pools, and if queue depth, wait and run times are measured.
+     */
+    @Test
+    public void test_tasks_are_run_by_priority_with_metrics() throws InterruptedException {
+        TaskScheduler scheduler = new TaskScheduler(1, 1, 1);
+        List<String> runOrder = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Block the single network thread
+        scheduler.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.NORMAL)
+                 .execute(() -> awaitQuietly(release));
+        scheduler.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.LOW)
+                 .execute(() -> runOrder.add("low"));
+        scheduler.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.NORMAL)
+                 .execute(() -> runOrder.add("normal 1"));
+        scheduler.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.HIGH)
+                 .execute(() -> runOrder.add("high"));
+        scheduler.getExecutor(TaskScheduler.Pool.NETWORK, TaskScheduler.Priority.NORMAL)
+                 .execute(() -> runOrder.add("normal 2"));
+
+        // Database task not delayed by the blocked network thread
+        CountDownLatch diskTaskRun = new CountDownLatch(1);
+        scheduler.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.NORMAL)
+                 .execute(diskTaskRun::countDown);
+        assertTrue(diskTaskRun.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        Thread.sleep(20);
+        release.countDown();
+        waitForCompletedTasks(scheduler, TaskScheduler.Pool.NETWORK, 5);
+        assertEquals(Arrays.asList("high", "normal 1", "normal 2", "low"), runOrder);
+
+        TaskScheduler.PoolMetrics metrics = scheduler.getMetrics(TaskScheduler.Pool.NETWORK);
+        assertEquals(1, metrics.getPoolSize());
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(4, metrics.getMaxQueueDepth());
+        assertTrue(metrics.getMaxWaitTime() >= 20.0);
+        assertTrue(metrics.getMaxRunTime() >= 20.0);
+        assertTrue(metrics.getAverageWaitTime() <= metrics.getMaxWaitTime());
+    }
+
+    /**
+     * TEST #2 : Checks if serial executors run their tasks one at a time in order, and if
+     * cancelling a group drops its queued tasks and all tasks submitted afterwards.
+     */
+    @Test
+    public void test_serial_executors_and_group_cancellation() throws InterruptedException {
+        TaskScheduler scheduler = new TaskScheduler(1, 1, 4);
+
+        // Serial executor over a pool of 4 threads
+        List<Integer> values = new ArrayList<>();
+        Executor serialExecutor = scheduler.newSerialExecutor(TaskScheduler.Pool.CPU,
+                                                              TaskScheduler.Priority.NORMAL);
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            serialExecutor.execute(() -> values.add(value));
+        }
+        waitForCompletedTasks(scheduler, TaskScheduler.Pool.CPU, 100);
+        for (int i = 0; i < 100; i++) assertEquals(i, (int) values.get(i));
+
+        // Group cancelled while its tasks are queued behind a blocked thread
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.NORMAL)
+                 .execute(() -> awaitQuietly(release));
+        TaskGroup group = scheduler.newGroup();
+        List<String> runTasks = Collections.synchronizedList(new ArrayList<>());
+        group.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.HIGH)
+             .execute(() -> runTasks.add("queued"));
+        group.newSerialExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.NORMAL)
+             .execute(() -> runTasks.add("serial"));
+        assertFalse(group.isCancelled());
+        group.cancel();
+        group.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.HIGH)
+             .execute(() -> runTasks.add("after cancel"));
+        release.countDown();
+
+        // Other tasks of the pool still run
+        CountDownLatch lastTaskRun = new CountDownLatch(1);
+        scheduler.getExecutor(TaskScheduler.Pool.DISK, TaskScheduler.Priority.LOW)
+                 .execute(lastTaskRun::countDown);
+        assertTrue(lastTaskRun.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(group.isCancelled());
+        assertTrue(runTasks.isEmpty());
+        assertEquals(3, scheduler.getMetrics(TaskScheduler.Pool.DISK).getNbCancelledTasks());
+    }
+
+    /**
+     * TEST #3 : Checks if tasks waiting in a serial executor are counted in the queue depth of
+     * the pool, if their wait time includes the time spent behind the previous task, and if
+     * they are dropped when their group is cancelled.
+     */
+    @Test
+    public void test_serial_executor_metrics() throws InterruptedException {
+        TaskScheduler scheduler = new TaskScheduler(1, 1, 4);
+
+        // Tasks waiting behind a blocked task, while other threads of the pool are idle
+        CountDownLatch release = new CountDownLatch(1);
+        Executor serialExecutor = scheduler.newSerialExecutor(TaskScheduler.Pool.CPU,
+                                                              TaskScheduler.Priority.NORMAL);
+        serialExecutor.execute(() -> awaitQuietly(release));
+        serialExecutor.execute(() -> { });
+        serialExecutor.execute(() -> { });
+        assertEquals(2, scheduler.getMetrics(TaskScheduler.Pool.CPU).getQueueDepth());
+        Thread.sleep(20);
+        release.countDown();
+        waitForCompletedTasks(scheduler, TaskScheduler.Pool.CPU, 3);
+
+        TaskScheduler.PoolMetrics metrics = scheduler.getMetrics(TaskScheduler.Pool.CPU);
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(2, metrics.getMaxQueueDepth());
+        assertTrue(metrics.getMaxWaitTime() >= 20.0);
+
+        // Waiting tasks of a cancelled group, behind a running task
+        CountDownLatch groupTaskStarted = new CountDownLatch(1);
+        CountDownLatch groupRelease = new CountDownLatch(1);
+        TaskGroup group = scheduler.newGroup();
+        Executor groupSerialExecutor = group.newSerialExecutor(TaskScheduler.Pool.CPU,
+                                                               TaskScheduler.Priority.NORMAL);
+        groupSerialExecutor.execute(() -> {
+            groupTaskStarted.countDown();
+            awaitQuietly(groupRelease);
+        });
+        groupSerialExecutor.execute(() -> { });
+        groupSerialExecutor.execute(() -> { });
+        assertTrue(groupTaskStarted.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        group.cancel();
+        groupSerialExecutor.execute(() -> { });
+        assertEquals(0, scheduler.getMetrics(TaskScheduler.Pool.CPU).getQueueDepth());
+        assertEquals(3, scheduler.getMetrics(TaskScheduler.Pool.CPU).getNbCancelledTasks());
+        groupRelease.countDown();
+        waitForCompletedTasks(scheduler, TaskScheduler.Pool.CPU, 4);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForCompletedTasks(TaskScheduler scheduler, TaskScheduler.Pool pool,
+                                              long nbTasks) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (scheduler.getMetrics(pool).getNbCompletedTasks() < nbTasks
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(nbTasks, scheduler.getMetrics(pool).getNbCompletedTasks());
+    }
+}
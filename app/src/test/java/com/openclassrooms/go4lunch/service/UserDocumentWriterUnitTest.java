@@ -0,0 +1,99 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.service.workmates.UserDocumentWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link UserDocumentWriter} class file.
+ */
+@RunWith(JUnit4.class)
+public class UserDocumentWriterUnitTest {
+
+    private static final long DEBOUNCE_DELAY = 500L;
+
+    private final List<List<UserDocumentWriter.PendingWrite>> commits = new ArrayList<>();
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private UserDocumentWriter userDocumentWriter;
+
+    @Before
+    public void setUp() {
+        userDocumentWriter = new UserDocumentWriter(commits::add, (task, delay) -> {
+            assertEquals(DEBOUNCE_DELAY, delay);
+            scheduledTasks.add(task);
+        }, DEBOUNCE_DELAY);
+    }
+
+    /**
+     * TEST #1 : Checks if all updates received during the debounce window are committed once,
+     * with one multi-field update per document and coalesced like/unlike deltas.
+     */
+    @Test
+    public void test_updates_are_coalesced() {
+        userDocumentWriter.updateField("DOC_1", "restaurantName", "Pizza");
+        userDocumentWriter.updateField("DOC_1", "restaurantSelectedID", "PLACE_1");
+        userDocumentWriter.likeRestaurant("DOC_1", "PLACE_1");
+        userDocumentWriter.likeRestaurant("DOC_1", "PLACE_2");
+        userDocumentWriter.unlikeRestaurant("DOC_1", "PLACE_2");
+        userDocumentWriter.unlikeRestaurant("DOC_1", "PLACE_3");
+        userDocumentWriter.updateField("DOC_2", "restaurantName", "");
+        assertEquals(1, scheduledTasks.size());
+        assertTrue(commits.isEmpty());
+
+        scheduledTasks.get(0).run();
+        assertEquals(1, commits.size());
+        assertEquals(2, commits.get(0).size());
+        UserDocumentWriter.PendingWrite write = commits.get(0).get(0);
+        assertEquals("DOC_1", write.getDocumentId());
+        assertEquals(Arrays.asList("restaurantName", "restaurantSelectedID"),
+                     new ArrayList<>(write.getFields().keySet()));
+        assertEquals("PLACE_1", write.getFields().get("restaurantSelectedID"));
+        assertEquals(Collections.singletonList("PLACE_1"),
+                     new ArrayList<>(write.getLikedPlaceIds()));
+        assertEquals(Arrays.asList("PLACE_2", "PLACE_3"),
+                     new ArrayList<>(write.getUnlikedPlaceIds()));
+        assertEquals("DOC_2", commits.get(0).get(1).getDocumentId());
+    }
+
+    /**
+     * TEST #2 : Checks if a flush commits pending updates immediately, if the scheduled commit
+     * is then ignored, and if cancelled updates are never committed, nor the updates of the
+     * next window before its own delay.
+     */
+    @Test
+    public void test_flush_and_cancel() {
+        userDocumentWriter.updateField("DOC_1", "restaurantName", "Pizza");
+        userDocumentWriter.flush();
+        assertEquals(1, commits.size());
+        scheduledTasks.get(0).run();
+        assertEquals(1, commits.size());
+
+        // New window
+        userDocumentWriter.likeRestaurant("DOC_1", "PLACE_1");
+        assertEquals(2, scheduledTasks.size());
+        userDocumentWriter.cancel("DOC_1");
+        scheduledTasks.get(1).run();
+        userDocumentWriter.flush();
+        assertEquals(1, commits.size());
+
+        // Window cancelled before its scheduled commit is run
+        userDocumentWriter.likeRestaurant("DOC_1", "PLACE_1");
+        userDocumentWriter.cancel("DOC_1");
+        userDocumentWriter.updateField("DOC_1", "restaurantName", "Sushi");
+        assertEquals(4, scheduledTasks.size());
+        scheduledTasks.get(2).run();
+        assertEquals(1, commits.size());
+        scheduledTasks.get(3).run();
+        assertEquals(2, commits.size());
+        assertEquals("Sushi", commits.get(1).get(0).getFields().get("restaurantName"));
+        assertTrue(commits.get(1).get(0).getLikedPlaceIds().isEmpty());
+    }
+}
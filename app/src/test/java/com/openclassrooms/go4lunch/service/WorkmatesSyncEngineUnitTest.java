@@ -0,0 +1,198 @@
+package com.openclassrooms.go4lunch.service;
+
+import com.openclassrooms.go4lunch.model.Workmate;
+import com.openclassrooms.go4lunch.service.workmates.WorkmateChange;
+import com.openclassrooms.go4lunch.service.workmates.WorkmatesCache;
+import com.openclassrooms.go4lunch.service.workmates.WorkmatesSource;
+import com.openclassrooms.go4lunch.service.workmates.WorkmatesSyncEngine;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * File providing tests to cover @{@link WorkmatesSyncEngine} class file.
+ */
+@RunWith(JUnit4.class)
+public class WorkmatesSyncEngineUnitTest {
+
+    private WorkmatesSource.ChangesListener changesListener;
+    private WorkmatesSyncEngine workmatesSyncEngine;
+    private final List<List<Workmate>> listsReceived = new ArrayList<>();
+    private final List<List<WorkmateChange>> changesReceived = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        WorkmatesSource workmatesSource = new WorkmatesSource() {
+            @Override
+            public void start(long lastSyncedAt, ChangesListener listener) {
+                // No stored workmates : all documents requested
+                assertEquals(0L, lastSyncedAt);
+                changesListener = listener;
+            }
+
+            @Override
+            public void stop() { changesListener = null; }
+        };
+        workmatesSyncEngine = new WorkmatesSyncEngine(workmatesSource, null, "DOC_CURRENT_USER");
+        workmatesSyncEngine.start((listWorkmates, changes) -> {
+            listsReceived.add(listWorkmates);
+            changesReceived.add(changes);
+        });
+        // First snapshot : all documents added
+        changesListener.onChanges(Arrays.asList(
+                added("DOC_1", new Workmate("Will", "will@gmail.com", "", "", "")),
+                added("DOC_CURRENT_USER", new Workmate("Me", "me@gmail.com", "", "", "")),
+                added("DOC_2", new Workmate("Amy", "amy@gmail.com", "", "", "")),
+                added("DOC_3", new Workmate("Paul", "paul@gmail.com", "", "", ""))), null);
+    }
+
+    /**
+     * TEST #1 : Checks if the first snapshot creates a sorted list without the current user, and
+     * if changes are applied to the list in order.
+     */
+    @Test
+    public void test_changes_are_applied_to_sorted_list() {
+        assertEquals(Arrays.asList("Amy", "Paul", "Will"), getNames(listsReceived.get(0)));
+        assertEquals(3, changesReceived.get(0).size());
+
+        // Modification changing the position of a workmate, addition and removal
+        Workmate previousWill = listsReceived.get(0).get(2);
+        changesListener.onChanges(Arrays.asList(
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_1",
+                                   new Workmate("Bill", "will@gmail.com", "PLACE_1", "", "Pizza")),
+                added("DOC_4", new Workmate("Zoe", "zoe@gmail.com", "", "", "")),
+                new WorkmateChange(WorkmateChange.Type.REMOVED, "DOC_3",
+                                   new Workmate("Paul", "paul@gmail.com", "", "", ""))), null);
+
+        assertEquals(2, listsReceived.size());
+        assertEquals(Arrays.asList("Amy", "Bill", "Zoe"), getNames(listsReceived.get(1)));
+        List<WorkmateChange> changes = changesReceived.get(1);
+        assertEquals(WorkmateChange.Type.MODIFIED, changes.get(0).getType());
+        assertSame(previousWill, changes.get(0).getPreviousWorkmate());
+        assertEquals(WorkmateChange.Type.ADDED, changes.get(1).getType());
+        assertNull(changes.get(1).getPreviousWorkmate());
+        assertEquals(WorkmateChange.Type.REMOVED, changes.get(2).getType());
+        assertEquals(getNames(listsReceived.get(1)), getNames(workmatesSyncEngine.getWorkmates()));
+    }
+
+    /**
+     * TEST #2 : Checks if changes leaving the list unchanged are not sent back, and if no change
+     * is sent back once stopped.
+     */
+    @Test
+    public void test_unchanged_list_is_not_sent_back() {
+        changesListener.onChanges(Arrays.asList(
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_2",
+                                   new Workmate("Amy", "amy@gmail.com", "", "", "")),
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_CURRENT_USER",
+                                   new Workmate("Me", "me@gmail.com", "PLACE_1", "", "Pizza")),
+                new WorkmateChange(WorkmateChange.Type.REMOVED, "DOC_UNKNOWN",
+                                   new Workmate("Bob", "bob@gmail.com", "", "", ""))), null);
+        assertEquals(1, listsReceived.size());
+
+        WorkmatesSource.ChangesListener listener = changesListener;
+        workmatesSyncEngine.stop();
+        listener.onChanges(Collections.singletonList(
+                added("DOC_4", new Workmate("Zoe", "zoe@gmail.com", "", "", ""))), null);
+        assertEquals(1, listsReceived.size());
+    }
+
+    /**
+     * TEST #3 : Checks if stored workmates are sent back before the source is started, if
+     * changes with the update time of the stored document are compared by value, if changes
+     * older than the last applied change are skipped, and if workmates of documents removed
+     * while offline are removed.
+     */
+    @Test
+    public void test_stored_workmates_are_reconciled() {
+        List<List<WorkmateChange>> changesSaved = new ArrayList<>();
+        List<Long> markersSaved = new ArrayList<>();
+        WorkmatesCache workmatesCache = new WorkmatesCache() {
+            @Override
+            public List<WorkmateChange> loadWorkmates() {
+                return Arrays.asList(
+                    new WorkmateChange(WorkmateChange.Type.ADDED, "DOC_1",
+                            new Workmate("Will", "will@gmail.com", "", "", ""), null, 1000L),
+                    new WorkmateChange(WorkmateChange.Type.ADDED, "DOC_2",
+                            new Workmate("Amy", "amy@gmail.com", "", "", ""), null, 2000L));
+            }
+
+            @Override
+            public long getLastSyncedAt() { return 2000L; }
+
+            @Override
+            public void saveChanges(List<WorkmateChange> changes, long lastSyncedAt) {
+                changesSaved.add(changes);
+                markersSaved.add(lastSyncedAt);
+            }
+        };
+        listsReceived.clear();
+        workmatesSyncEngine = new WorkmatesSyncEngine(new WorkmatesSource() {
+            @Override
+            public void start(long lastSyncedAt, ChangesListener listener) {
+                // Stored workmates already sent back, only later changes requested
+                assertEquals(1, listsReceived.size());
+                assertEquals(2000L, lastSyncedAt);
+                changesListener = listener;
+            }
+
+            @Override
+            public void stop() { changesListener = null; }
+        }, workmatesCache, "DOC_CURRENT_USER");
+        workmatesSyncEngine.start((listWorkmates, changes) -> listsReceived.add(listWorkmates));
+        assertEquals(Arrays.asList("Amy", "Will"), getNames(listsReceived.get(0)));
+
+        // First snapshot from server : DOC_1 deleted while offline, DOC_2 updated in the same
+        // millisecond as the stored document, DOC_3 added
+        changesListener.onChanges(Arrays.asList(
+                new WorkmateChange(WorkmateChange.Type.ADDED, "DOC_2",
+                        new Workmate("Amy", "amy@gmail.com", "PLACE_1", "", "Pizza"), null, 2000L),
+                new WorkmateChange(WorkmateChange.Type.ADDED, "DOC_3",
+                        new Workmate("Paul", "paul@gmail.com", "", "", ""), null, 3000L)),
+                new HashSet<>(Arrays.asList("DOC_2", "DOC_3", "DOC_CURRENT_USER")));
+
+        assertEquals(Arrays.asList("Amy", "Paul"), getNames(listsReceived.get(1)));
+        assertEquals("PLACE_1", listsReceived.get(1).get(0).getRestaurantSelectedID());
+        assertEquals(1, changesSaved.size());
+        assertEquals(3, changesSaved.get(0).size());
+        assertEquals("DOC_2", changesSaved.get(0).get(0).getDocumentId());
+        assertEquals(WorkmateChange.Type.MODIFIED, changesSaved.get(0).get(0).getType());
+        assertEquals("DOC_3", changesSaved.get(0).get(1).getDocumentId());
+        assertEquals(WorkmateChange.Type.REMOVED, changesSaved.get(0).get(2).getType());
+        assertEquals("DOC_1", changesSaved.get(0).get(2).getDocumentId());
+        assertEquals(Long.valueOf(3000L), markersSaved.get(0));
+
+        // Changes older than the marker : DOC_3 change older than its last change is skipped,
+        // DOC_2 change newer than its last change is applied
+        changesListener.onChanges(Arrays.asList(
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_3",
+                        new Workmate("Paula", "paul@gmail.com", "", "", ""), null, 2500L),
+                new WorkmateChange(WorkmateChange.Type.MODIFIED, "DOC_2",
+                        new Workmate("Amy", "amy@gmail.com", "", "", ""), null, 2500L)),
+                null);
+        assertEquals(3, listsReceived.size());
+        assertEquals(1, changesSaved.get(1).size());
+        assertEquals("DOC_2", changesSaved.get(1).get(0).getDocumentId());
+        assertEquals(Arrays.asList("Amy", "Paul"), getNames(workmatesSyncEngine.getWorkmates()));
+        assertEquals("", workmatesSyncEngine.getWorkmates().get(0).getRestaurantSelectedID());
+    }
+
+    private static WorkmateChange added(String documentId, Workmate workmate) {
+        return new WorkmateChange(WorkmateChange.Type.ADDED, documentId, workmate);
+    }
+
+    private static List<String> getNames(List<Workmate> listWorkmates) {
+        List<String> names = new ArrayList<>();
+        for (Workmate workmate : listWorkmates) names.add(workmate.getName());
+        return names;
+    }
+}
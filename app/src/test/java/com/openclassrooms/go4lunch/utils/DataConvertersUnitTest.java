@@ -2,8 +2,7 @@ package com.openclassrooms.go4lunch.utils;
 
 import com.openclassrooms.go4lunch.database.HoursData;
 import com.openclassrooms.go4lunch.database.HoursDataUnitTest;
-import com.openclassrooms.go4lunch.model.OpeningAndClosingHours;
-import com.openclassrooms.go4lunch.model.ScheduleType;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
 import com.openclassrooms.go4lunch.service.places.response.details.ClosingHours;
 import com.openclassrooms.go4lunch.service.places.response.details.OpeningHours;
 import org.junit.Test;
@@ -12,7 +11,9 @@ import org.junit.runners.JUnit4;
 import java.util.ArrayList;
 import java.util.List;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * File providing tests to cover @{@link DataConverters} class file.
@@ -21,10 +22,10 @@ import static org.junit.Assert.assertNotNull;
 public class DataConvertersUnitTest {
 
     /**
-     * TEST #1 : Checks if the static method converterHoursDataToOpeningAndClosingHours()
+     * TEST #1 : Checks if the static method converterHoursDataToWeekSchedule()
      * of the @{@link DataConverters}
      * class correctly convert a list of @{@link HoursDataUnitTest} into
-     * an @{@link OpeningAndClosingHours} object.
+     * a @{@link WeekSchedule} object.
      */
     @Test
     public void test_data_converters_conversion() {
@@ -48,46 +49,60 @@ public class DataConvertersUnitTest {
                 new OpeningHours(6, "1000"), "ChIJGz20sdh65kcRCfY0bMPzkVo"));
 
         // After being extracted from database, all the rows corresponding to a specific restaurant are
-        // converted into an OpeningAndClosingHours, before being affected to a Restaurant object
-        OpeningAndClosingHours openingAndClosingHours =
-                DataConverters.converterHoursDataToOpeningAndClosingHours(listHoursData);
+        // converted into a WeekSchedule, before being affected to a Restaurant object
+        WeekSchedule weekSchedule = DataConverters.converterHoursDataToWeekSchedule(listHoursData);
 
-        // Check if conversion has been correctly done
-        // Check non-nullability
-        assertNotNull(openingAndClosingHours);
-        // Check size of each attribute (Closing hours array lists and Opening hours array lists, both
-        // containing String values)
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 1).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 2).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 3).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 4).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 5).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 6).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.OPEN, 0).size());
+        // Check if conversion has been correctly done : each day opens and closes at its hours
+        assertNotNull(weekSchedule);
+        for (int i = 0; i < listHoursData.size(); i++) {
+            HoursData hoursData = listHoursData.get(i);
+            int open = WeekSchedule.getMinuteOfWeek(hoursData.openingHours.day,
+                                                    hoursData.openingHours.time);
+            int close = WeekSchedule.getMinuteOfWeek(hoursData.closingHours.day,
+                                                     hoursData.closingHours.time);
+            assertFalse(weekSchedule.isOpenAt(open - 1));
+            assertTrue(weekSchedule.isOpenAt(open));
+            assertTrue(weekSchedule.isOpenAt(close - 1));
+            assertFalse(weekSchedule.isOpenAt(close));
+            assertEquals(close, weekSchedule.nextTransitionAfter(open));
+        }
+    }
+
+    /**
+     * TEST #2 : Checks if the static method converterHoursDataToWeekSchedule() of the
+     * @{@link DataConverters} class correctly converts a list of @{@link HoursData} into
+     * a @{@link WeekSchedule} object, with overnight and always open periods.
+     */
+    @Test
+    public void test_data_converters_week_schedule_conversion() {
+        List<HoursData> listHoursData = new ArrayList<>();
+        // Friday 19:00 - Saturday 02:00, Saturday 11:30 - 15:00, and an invalid period
+        listHoursData.add(new HoursData(new ClosingHours(6, "0200"),
+                new OpeningHours(5, "1900"), "ChIJGz20sdh65kcRCfY0bMPzkVo"));
+        listHoursData.add(new HoursData(new ClosingHours(6, "1500"),
+                new OpeningHours(6, "1130"), "ChIJGz20sdh65kcRCfY0bMPzkVo"));
+        listHoursData.add(new HoursData(new ClosingHours(2, "2500"),
+                new OpeningHours(2, "1200"), "ChIJGz20sdh65kcRCfY0bMPzkVo"));
+
+        WeekSchedule schedule = DataConverters.converterHoursDataToWeekSchedule(listHoursData);
 
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 1).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 2).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 3).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 4).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 5).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 6).size());
-        assertEquals(1, openingAndClosingHours.getHours(ScheduleType.CLOSE, 0).size());
+        assertTrue(schedule.isOpenAt(WeekSchedule.getMinuteOfWeek(6, "0100")));
+        assertFalse(schedule.isOpenAt(WeekSchedule.getMinuteOfWeek(6, "0900")));
+        assertTrue(schedule.isOpenAt(WeekSchedule.getMinuteOfWeek(6, "1130")));
+        assertFalse(schedule.isOpenAt(WeekSchedule.getMinuteOfWeek(2, "1300")));
+        assertEquals(WeekSchedule.getMinuteOfWeek(6, "0200"),
+                     schedule.nextTransitionAfter(WeekSchedule.getMinuteOfWeek(5, "2000")));
 
-        // Check String values for each array list
-        assertEquals("0900", openingAndClosingHours.getHours(ScheduleType.OPEN, 1).get(0));
-        assertEquals("0930", openingAndClosingHours.getHours(ScheduleType.OPEN, 2).get(0));
-        assertEquals("0930", openingAndClosingHours.getHours(ScheduleType.OPEN, 3).get(0));
-        assertEquals("0900", openingAndClosingHours.getHours(ScheduleType.OPEN, 4).get(0));
-        assertEquals("0900", openingAndClosingHours.getHours(ScheduleType.OPEN, 5).get(0));
-        assertEquals("1000", openingAndClosingHours.getHours(ScheduleType.OPEN, 6).get(0));
-        assertEquals("0900", openingAndClosingHours.getHours(ScheduleType.OPEN, 0).get(0));
+        // Always open : single period without closing hour
+        List<HoursData> alwaysOpenHoursData = new ArrayList<>();
+        alwaysOpenHoursData.add(new HoursData(null, new OpeningHours(0, "0000"),
+                                              "ChIJGz20sdh65kcRCfY0bMPzkVo"));
+        WeekSchedule alwaysOpen =
+                DataConverters.converterHoursDataToWeekSchedule(alwaysOpenHoursData);
+        assertTrue(alwaysOpen.isOpenAt(WeekSchedule.getMinuteOfWeek(3, "0400")));
+        assertEquals(-1, alwaysOpen.nextTransitionAfter(0));
 
-        assertEquals("2100", openingAndClosingHours.getHours(ScheduleType.CLOSE, 1).get(0));
-        assertEquals("2200", openingAndClosingHours.getHours(ScheduleType.CLOSE, 2).get(0));
-        assertEquals("2200", openingAndClosingHours.getHours(ScheduleType.CLOSE, 3).get(0));
-        assertEquals("2100", openingAndClosingHours.getHours(ScheduleType.CLOSE, 4).get(0));
-        assertEquals("2100", openingAndClosingHours.getHours(ScheduleType.CLOSE, 5).get(0));
-        assertEquals("2300", openingAndClosingHours.getHours(ScheduleType.CLOSE, 6).get(0));
-        assertEquals("1300", openingAndClosingHours.getHours(ScheduleType.CLOSE, 0).get(0));
+        // No hours
+        assertTrue(DataConverters.converterHoursDataToWeekSchedule(null).isEmpty());
     }
 }
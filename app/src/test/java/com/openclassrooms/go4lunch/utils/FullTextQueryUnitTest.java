@@ -0,0 +1,46 @@
+package com.openclassrooms.go4lunch.utils;
+
+import com.openclassrooms.go4lunch.utils.search.FullTextQuery;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * File providing tests to cover @{@link FullTextQuery} class file.
+ */
+@RunWith(JUnit4.class)
+public class FullTextQueryUnitTest {
+
+    /**
+     * TEST #1 : Checks if a query is split into words as the "simple" FTS tokenizer does, and
+     * if every word is searched as a prefix, in all columns or in a single column.
+     */
+    @Test
+    public void test_prefix_expressions() {
+        assertEquals(Arrays.asList("l", "atelier", "du", "café"),
+                     FullTextQuery.tokenize("  L'Atelier - du Café "));
+        assertEquals("pizz* ital*", FullTextQuery.getPrefixExpression("Pizz ITAL", null));
+        assertEquals("name:pizz* name:ital*",
+                     FullTextQuery.getPrefixExpression("pizz, ital", "name"));
+        // FTS operators are never sent as is
+        assertEquals("a* b*", FullTextQuery.getPrefixExpression("\"a\" -b*", null));
+        assertNull(FullTextQuery.getPrefixExpression(" -* ", null));
+        assertNull(FullTextQuery.getPrefixExpression(null, null));
+    }
+
+    /**
+     * TEST #2 : Checks if the number of words of a query is limited, and if LIKE wildcards
+     * are escaped in the name prefix pattern.
+     */
+    @Test
+    public void test_query_limits_and_escaping() {
+        assertEquals(FullTextQuery.MAX_NB_WORDS,
+                     FullTextQuery.tokenize("a b c d e f g h i j k").size());
+        assertEquals("100\\% burger%", FullTextQuery.getLikePrefix(" 100% burger "));
+        assertEquals("a\\_b\\\\%", FullTextQuery.getLikePrefix("a_b\\"));
+        assertEquals("%", FullTextQuery.getLikePrefix(null));
+    }
+}
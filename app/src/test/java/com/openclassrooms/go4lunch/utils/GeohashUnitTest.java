@@ -0,0 +1,37 @@
+package com.openclassrooms.go4lunch.utils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link Geohash} class file.
+ */
+@RunWith(JUnit4.class)
+public class GeohashUnitTest {
+
+    /**
+     * TEST #1 : Checks if the static method encode() returns the reference geohash of a location.
+     */
+    @Test
+    public void test_if_encode_method_returns_correct_geohash() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pru", Geohash.encode(57.64911, 10.40744, 5));
+    }
+
+    /**
+     * TEST #2 : Checks if close locations share the same tile, and if distant locations
+     * are in different tiles.
+     */
+    @Test
+    public void test_if_close_locations_share_same_tile() {
+        String tile = Geohash.encode(48.8434249, 2.2317602, 6);
+        assertEquals(6, tile.length());
+        assertEquals(tile, Geohash.encode(48.8434300, 2.2317700, 6));
+        assertNotEquals(tile, Geohash.encode(48.8566, 2.3522, 6));
+        assertTrue(Geohash.encode(48.8434249, 2.2317602, 8).startsWith(tile));
+    }
+}
@@ -25,4 +25,20 @@ public class GeometricUtilUnitTest {
         assertEquals(49.064372405462606, latLng.latitude, 0.01);
         assertEquals(2.3252438127133095, latLng.longitude, 0.01);
     }
+
+    /**
+     * TEST #2 : Checks if the static method getDistance() returns the distance between two
+     * points with a precision of 1 meter.
+     */
+    @Test
+    public void test_if_get_distance_method_return_correct_distance() {
+        double latitudeRef = 49.059875797433016;
+        double longitudeRef = 2.3252438127133095;
+
+        LatLng latLng = GeometricUtils.getCoordinate(latitudeRef, longitudeRef, 0, 500);
+        assertEquals(500.0, GeometricUtils.getDistance(latitudeRef, longitudeRef,
+                                                      latLng.latitude, latLng.longitude), 1.0);
+        assertEquals(0.0, GeometricUtils.getDistance(latitudeRef, longitudeRef,
+                                                    latitudeRef, longitudeRef), 0);
+    }
 }
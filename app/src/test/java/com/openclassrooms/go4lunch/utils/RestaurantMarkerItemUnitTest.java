@@ -23,10 +23,10 @@ public class RestaurantMarkerItemUnitTest {
         String TITLE = "Franprix";
         String SNIPPET = "";
         boolean TYPE = true;
-        int INDICE = 1;
+        String PLACE_ID = "ChIJGz20sdh65kcRCfY0bMPzkVo";
 
         RestaurantMarkerItem restaurantMarkerItem = new RestaurantMarkerItem(
-                        LATLNG, TITLE, SNIPPET, TYPE, INDICE
+                        LATLNG, TITLE, SNIPPET, TYPE, PLACE_ID
         );
 
         assertEquals(LATLNG.latitude, restaurantMarkerItem.getPosition().latitude, 0);
@@ -34,6 +34,6 @@ public class RestaurantMarkerItemUnitTest {
         assertEquals(TITLE, restaurantMarkerItem.getTitle());
         assertEquals(SNIPPET, restaurantMarkerItem.getSnippet());
         assertEquals(TYPE, restaurantMarkerItem.getType());
-        assertEquals(INDICE, restaurantMarkerItem.getIndice());
+        assertEquals(PLACE_ID, restaurantMarkerItem.getPlaceId());
     }
 }
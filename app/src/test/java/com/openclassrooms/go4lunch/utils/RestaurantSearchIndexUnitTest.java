@@ -0,0 +1,61 @@
+package com.openclassrooms.go4lunch.utils;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.utils.search.RestaurantSearchIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link RestaurantSearchIndex} class file.
+ */
+@RunWith(JUnit4.class)
+public class RestaurantSearchIndexUnitTest {
+
+    private List<Restaurant> restaurants;
+    private RestaurantSearchIndex restaurantSearchIndex;
+
+    @Before
+    public void setUp() {
+        restaurants = new ArrayList<>(Arrays.asList(
+                new Restaurant("PLACE_1", "Le Gémini", "12 Rue de la Pizza, Boulogne", 0, 0, 4),
+                new Restaurant("PLACE_2", "Pizzeria Napoli", "3 Avenue Gémini, Paris", 0, 0, 4),
+                new Restaurant("PLACE_3", "Crêperie Bretonne", "8 Rue du Cœur, Paris", 0, 0, 4)));
+        restaurantSearchIndex = RestaurantSearchIndex.build(restaurants);
+    }
+
+    /**
+     * TEST #1 : Checks if queries are matched against word prefixes, without accents and case,
+     * and if name matches are ranked before address matches.
+     */
+    @Test
+    public void test_prefix_queries_are_matched() {
+        assertEquals(Arrays.asList("PLACE_1", "PLACE_2"), restaurantSearchIndex.search("gem"));
+        assertEquals(Arrays.asList("PLACE_2", "PLACE_1"), restaurantSearchIndex.search("PIZZ"));
+        assertEquals(Collections.singletonList("PLACE_3"), restaurantSearchIndex.search("crepe"));
+        assertEquals(Collections.singletonList("PLACE_3"), restaurantSearchIndex.search("coeur"));
+        // All words must match
+        assertEquals(Collections.singletonList("PLACE_2"),
+                     restaurantSearchIndex.search("napoli paris"));
+        assertTrue(restaurantSearchIndex.search("napoli boulogne").isEmpty());
+        assertTrue(restaurantSearchIndex.search(" - ").isEmpty());
+    }
+
+    /**
+     * TEST #2 : Checks if an index only searches the restaurants of the list it was built
+     * from, and if accents and case are folded.
+     */
+    @Test
+    public void test_index_searches_restaurants_indexed_when_built() {
+        restaurants.add(new Restaurant("PLACE_4", "Sushi Gemini", "Paris", 0, 0, 4));
+        assertEquals(Arrays.asList("PLACE_1", "PLACE_2"), restaurantSearchIndex.search("gem"));
+        assertEquals("ecole", RestaurantSearchIndex.fold("École"));
+    }
+}
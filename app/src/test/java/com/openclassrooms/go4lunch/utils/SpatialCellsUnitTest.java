@@ -0,0 +1,57 @@
+package com.openclassrooms.go4lunch.utils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link SpatialCells} class file.
+ */
+@RunWith(JUnit4.class)
+public class SpatialCellsUnitTest {
+
+    /**
+     * TEST #1 : Checks if close locations share the same cell, and if cells are numbered
+     * row by row.
+     */
+    @Test
+    public void test_cell_ids() {
+        long cellId = SpatialCells.getCellId(48.8434, 2.2317);
+        assertEquals(cellId, SpatialCells.getCellId(48.8436, 2.2319));
+        assertEquals(cellId + 1, SpatialCells.getCellId(48.8434, 2.2417));
+        assertEquals(cellId + SpatialCells.NB_LONGITUDE_CELLS,
+                     SpatialCells.getCellId(48.8534, 2.2317));
+        assertNotEquals(cellId, SpatialCells.getCellId(-48.8434, 2.2317));
+        // Poles and antimeridian stay in the grid
+        assertTrue(SpatialCells.getCellId(90.0, 180.0)
+                   < (long) SpatialCells.NB_LATITUDE_CELLS * SpatialCells.NB_LONGITUDE_CELLS);
+    }
+
+    /**
+     * TEST #2 : Checks if a bounding box is covered by one range of cell ids per row, and
+     * by a single range if it is crossed by too many rows.
+     */
+    @Test
+    public void test_cell_ranges() {
+        long[] ranges = SpatialCells.getCellRanges(48.8434, 2.2317, 48.8634, 2.2517);
+        assertEquals(6, ranges.length);
+        for (int i = 0; i < ranges.length; i += 2) {
+            assertEquals(2, ranges[i + 1] - ranges[i]);
+            assertTrue(ranges[i] <= SpatialCells.getCellId(48.8434 + i * 0.005, 2.24));
+            assertTrue(ranges[i + 1] >= SpatialCells.getCellId(48.8434 + i * 0.005, 2.24));
+        }
+
+        long[] largeRanges = SpatialCells.getCellRanges(40.0, 2.0, 50.0, 3.0);
+        assertEquals(2, largeRanges.length);
+        assertEquals(SpatialCells.getCellId(40.0, 2.0), largeRanges[0]);
+        assertEquals(SpatialCells.getCellId(50.0, 3.0), largeRanges[1]);
+
+        // Distances
+        assertEquals(0.009, SpatialCells.getLatitudeDegrees(1000.0), 0.0001);
+        assertTrue(SpatialCells.getLongitudeDegrees(1000.0, 48.8)
+                   > SpatialCells.getLatitudeDegrees(1000.0));
+    }
+}
@@ -0,0 +1,54 @@
+package com.openclassrooms.go4lunch.viewmodels;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link IdSetFilter} class file.
+ */
+@RunWith(JUnit4.class)
+public class IdSetFilterUnitTest {
+
+    private List<Restaurant> restaurants;
+
+    @Before
+    public void setUp() {
+        restaurants = Arrays.asList(
+                new Restaurant("PLACE_1", "Le Gemini", "Boulogne", 0, 0, 4),
+                new Restaurant("PLACE_2", "Pizzeria Napoli", "Paris", 0, 0, 4),
+                new Restaurant("PLACE_3", "Creperie Bretonne", "Paris", 0, 0, 4));
+    }
+
+    /**
+     * TEST #1 : Checks if all matching restaurants are returned in the order of the ranked ids,
+     * and not only the first match.
+     */
+    @Test
+    public void test_all_matches_are_returned_in_ranked_order() {
+        List<Restaurant> filteredRestaurants = IdSetFilter.filter(restaurants,
+                Arrays.asList("PLACE_3", "UNKNOWN", "PLACE_1", "PLACE_3"));
+        assertEquals(2, filteredRestaurants.size());
+        assertSame(restaurants.get(2), filteredRestaurants.get(0));
+        assertSame(restaurants.get(0), filteredRestaurants.get(1));
+    }
+
+    /**
+     * TEST #2 : Checks if empty lists are handled.
+     */
+    @Test
+    public void test_empty_lists_are_handled() {
+        assertTrue(IdSetFilter.filter(restaurants, Collections.emptyList()).isEmpty());
+        assertTrue(IdSetFilter.filter(new ArrayList<>(),
+                                      Collections.singletonList("PLACE_1")).isEmpty());
+    }
+}
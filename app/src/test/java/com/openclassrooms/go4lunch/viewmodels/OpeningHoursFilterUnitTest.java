@@ -0,0 +1,112 @@
+package com.openclassrooms.go4lunch.viewmodels;
+
+import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * File providing tests to cover @{@link OpeningHoursFilter} class file.
+ */
+@RunWith(JUnit4.class)
+public class OpeningHoursFilterUnitTest {
+
+    // Monday 05/01/1970 00:00, in local minutes
+    private static final long MONDAY = 4 * WeekSchedule.MINUTES_PER_DAY;
+
+    private List<Restaurant> restaurants;
+
+    private static long getTime(int hour, int minutes) {
+        return MONDAY + hour * 60 + minutes;
+    }
+
+    private static Restaurant createRestaurant(String placeId, String open, String close) {
+        Restaurant restaurant = new Restaurant(placeId, "Restaurant " + placeId, "Address",
+                                               48.8434, 2.2317, 3.0);
+        WeekSchedule.Builder builder = new WeekSchedule.Builder();
+        for (int day = 0; day < 7; day++) {
+            // Overnight periods close the following day
+            int closeDay = close.compareTo(open) < 0 ? (day + 1) % 7 : day;
+            builder.addPeriod(WeekSchedule.getMinuteOfWeek(day, open),
+                              WeekSchedule.getMinuteOfWeek(closeDay, close));
+        }
+        restaurant.setWeekSchedule(builder.build());
+        return restaurant;
+    }
+
+    @Before
+    public void setUp() {
+        Restaurant withoutHours = new Restaurant("ID_4", "Restaurant ID_4", "Address",
+                                                 48.8434, 2.2317, 3.0);
+        restaurants = Arrays.asList(createRestaurant("ID_1", "1100", "1500"),
+                                    createRestaurant("ID_2", "1200", "2300"),
+                                    createRestaurant("ID_3", "1900", "0100"),
+                                    withoutHours);
+    }
+
+    /**
+     * TEST #1 : Checks if restaurants are filtered by opening state, open restaurants being
+     * sorted by closing time, latest first.
+     */
+    @Test
+    public void test_filter_by_opening_state() {
+        OpeningHoursFilter filter = new OpeningHoursFilter(restaurants, getTime(8, 0));
+
+        assertEquals(4, filter.filter(OpeningHoursFilter.Mode.ALL).size());
+        assertTrue(filter.filter(OpeningHoursFilter.Mode.OPEN_NOW).isEmpty());
+        List<Restaurant> openAtLunch = filter.filter(OpeningHoursFilter.Mode.OPEN_AT_LUNCH);
+        assertEquals(2, openAtLunch.size());
+        assertEquals("ID_1", openAtLunch.get(0).getPlaceId());
+        assertEquals("ID_2", openAtLunch.get(1).getPlaceId());
+
+        assertTrue(filter.update(getTime(14, 0)));
+        List<Restaurant> openNow = filter.filter(OpeningHoursFilter.Mode.OPEN_NOW);
+        assertEquals(2, openNow.size());
+        assertEquals("ID_2", openNow.get(0).getPlaceId());
+        assertEquals("ID_1", openNow.get(1).getPlaceId());
+
+        // Overnight period
+        filter.update(getTime(24, 30));
+        openNow = filter.filter(OpeningHoursFilter.Mode.OPEN_NOW);
+        assertEquals(1, openNow.size());
+        assertEquals("ID_3", openNow.get(0).getPlaceId());
+    }
+
+    /**
+     * TEST #2 : Checks if only restaurants whose opening state changes are evaluated again
+     * when the clock advances.
+     */
+    @Test
+    public void test_update_evaluates_only_restaurants_with_transition() {
+        OpeningHoursFilter filter = new OpeningHoursFilter(restaurants, getTime(8, 0));
+        assertEquals(4, filter.getNbEvaluations());
+        assertEquals(getTime(11, 0), filter.getNextUpdate(OpeningHoursFilter.Mode.OPEN_NOW));
+        assertEquals(getTime(24, 0),
+                     filter.getNextUpdate(OpeningHoursFilter.Mode.OPEN_AT_LUNCH));
+
+        // No transition reached
+        assertFalse(filter.update(getTime(10, 59)));
+        assertEquals(4, filter.getNbEvaluations());
+
+        // Restaurant ID_1 opens
+        assertTrue(filter.update(getTime(11, 0)));
+        assertEquals(5, filter.getNbEvaluations());
+        assertEquals(getTime(12, 0), filter.getNextUpdate(OpeningHoursFilter.Mode.OPEN_NOW));
+
+        // Restaurant ID_2 opens and restaurant ID_1 closes
+        assertTrue(filter.update(getTime(15, 30)));
+        assertEquals(7, filter.getNbEvaluations());
+        assertEquals(1, filter.filter(OpeningHoursFilter.Mode.OPEN_NOW).size());
+
+        // Clock set back : all restaurants evaluated
+        assertTrue(filter.update(getTime(9, 0)));
+        assertEquals(11, filter.getNbEvaluations());
+    }
+}
@@ -1,18 +1,27 @@
 package com.openclassrooms.go4lunch.viewmodels;
 
 import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Observer;
 import com.openclassrooms.go4lunch.model.Restaurant;
+import com.openclassrooms.go4lunch.model.WeekSchedule;
+import com.openclassrooms.go4lunch.repositories.PlacesRepository;
+import com.openclassrooms.go4lunch.service.places.ServicePlacesCallback;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * File providing tests to cover @{@link PlacesViewModel} class file.
@@ -105,4 +114,80 @@ public class PlacesViewModelUnitTest {
         // Set new value to MutableLiveData
         placesViewModel.getListRestaurantsAutocomplete().setValue(listRestaurantIds);
     }
+
+    /**
+     * TEST #3 : Checks if the next page of places is appended to all the restaurants of the
+     * displayed list, including the restaurants hidden by the opening hours filter.
+     */
+    @Test
+    public void test_next_page_is_appended_to_restaurants_hidden_by_filter() throws Exception {
+        // Describe behavior : one restaurant open at lunch time in each page
+        PlacesRepository placesRepository = Mockito.mock(PlacesRepository.class);
+        Mockito.doAnswer(invocation -> {
+            ServicePlacesCallback callback = invocation.getArgument(3);
+            callback.onPlacesAvailable(Arrays.asList(createRestaurant("ID_1", "1100", "1500"),
+                                                     createRestaurant("ID_2", "1900", "2300")));
+            return null;
+        }).when(placesRepository).findPlacesNearby(Mockito.anyDouble(), Mockito.anyDouble(),
+                                                   Mockito.anyString(), Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            ServicePlacesCallback callback = invocation.getArgument(0);
+            callback.onPlacesAvailable(Arrays.asList(createRestaurant("ID_3", "1100", "1500")));
+            return null;
+        }).when(placesRepository).getNextPlacesNearby(Mockito.any());
+        placesViewModel.setRepository(placesRepository);
+
+        // Search places, then hide the restaurant closed at lunch time
+        placesViewModel.findPlacesNearby(48.8434249, 2.2317602, "restaurant");
+        awaitListRestaurants(placesViewModel.getListRestaurants(), 2);
+        placesViewModel.setOpeningHoursFilterMode(OpeningHoursFilter.Mode.OPEN_AT_LUNCH);
+        awaitListRestaurants(placesViewModel.getListRestaurantsOpeningHoursResults(), 1);
+
+        // Load next page
+        placesViewModel.getNextPlacesNearby();
+        List<Restaurant> listRestaurants =
+                            awaitListRestaurants(placesViewModel.getListRestaurants(), 3);
+        assertEquals("ID_1", listRestaurants.get(0).getPlaceId());
+        assertEquals("ID_2", listRestaurants.get(1).getPlaceId());
+        assertEquals("ID_3", listRestaurants.get(2).getPlaceId());
+        List<Restaurant> openingHoursResults = awaitListRestaurants(
+                placesViewModel.getListRestaurantsOpeningHoursResults(), 2);
+        assertEquals("ID_1", openingHoursResults.get(0).getPlaceId());
+        assertEquals("ID_3", openingHoursResults.get(1).getPlaceId());
+    }
+
+    private static Restaurant createRestaurant(String placeId, String open, String close) {
+        Restaurant restaurant = new Restaurant(placeId, "Restaurant " + placeId, "Address",
+                                               48.8434, 2.2317, 3.0);
+        WeekSchedule.Builder builder = new WeekSchedule.Builder();
+        for (int day = 0; day < 7; day++) {
+            builder.addPeriod(WeekSchedule.getMinuteOfWeek(day, open),
+                              WeekSchedule.getMinuteOfWeek(day, close));
+        }
+        restaurant.setWeekSchedule(builder.build());
+        return restaurant;
+    }
+
+    /**
+     * Waits until a list of restaurants of a given size is published in background.
+     * @param liveData : LiveData publishing the list
+     * @param size : Expected size of the list
+     * @return : Published list
+     * @throws InterruptedException : Exception thrown while waiting
+     */
+    private static List<Restaurant> awaitListRestaurants(LiveData<List<Restaurant>> liveData,
+                                                         int size) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<List<Restaurant>> value = new AtomicReference<>();
+        Observer<List<Restaurant>> observer = newListRestaurants -> {
+            if (newListRestaurants.size() == size) {
+                value.set(newListRestaurants);
+                latch.countDown();
+            }
+        };
+        liveData.observeForever(observer);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        liveData.removeObserver(observer);
+        return value.get();
+    }
 }